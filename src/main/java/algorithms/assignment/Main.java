@@ -1,36 +1,144 @@
 package algorithms.assignment;
 
+import algorithms.assignment.batch.BatchRunner;
+import algorithms.assignment.cache.CachedAnalyzer;
+import algorithms.assignment.cache.ResultCache;
 import algorithms.assignment.dag_paths.DAGPathFinder;
-import algorithms.assignment.dag_paths.result.DAGPathResult;
+import algorithms.assignment.dag_paths.result.DAGPathAnalysis;
 import algorithms.assignment.data.DatasetParser;
-import algorithms.assignment.strongly_connected_components.KosarajuSCC;
+import algorithms.assignment.data.EdgeListLoader;
+import algorithms.assignment.graph.AdjacencyIndex;
+import algorithms.assignment.graph.Graph;
+import algorithms.assignment.strongly_connected_components.SCCAlgorithm;
+import algorithms.assignment.strongly_connected_components.SCCSelector;
 import algorithms.assignment.strongly_connected_components.result.SCCResult;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.List;
 
 public class Main {
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("--batch")) {
+            runBatch(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--cached")) {
+            runCached(args);
+            return;
+        }
+        if (args.length > 1 && args[0].equals("--edges")) {
+            runEdgeList(args);
+            return;
+        }
+
         try {
             List<DatasetParser.GraphDataset<String>> datasets = DatasetParser.parse("data/data.json");
             for (DatasetParser.GraphDataset<String> ds : datasets) {
                 System.out.println(ds);
                 System.out.println(ds.graph());
+                System.out.print(ds.graph().estimateMemory());
 
-                KosarajuSCC<String> kosaraju = new KosarajuSCC<>();
-                SCCResult<String> scc = kosaraju.findSCCs(ds.graph());
+                SCCAlgorithm<String> sccAlgorithm = new SCCSelector<>();
+                SCCResult<String> scc = sccAlgorithm.findSCCs(ds.graph());
                 System.out.println("SCC count: " + scc.components().size());
 
                 if (!ds.cyclic()) {
-                    DAGPathFinder<String> finder = new DAGPathFinder<>();
-                    DAGPathResult<String> shortest = finder.shortestPaths(ds.graph(), "A");
-                    DAGPathResult<String> longest = finder.longestPaths(ds.graph(), "A");
-                    System.out.println(shortest);
-                    System.out.println(longest);
+                    printPaths(ds.graph());
                 }
             }
         } catch (IOException e) {
             System.err.println("Error reading dataset file: " + e.getMessage());
         }
     }
+
+    /**
+     * Prints shortest and longest paths from the first vertex without predecessors, which
+     * starts a topological order.
+     */
+    private static void printPaths(Graph<String> graph) {
+        AdjacencyIndex reverse = graph.getReverseAdjacency();
+        int source = -1;
+        for (int v = 0; v < reverse.vertexCount() && source == -1; v++) {
+            if (reverse.degree(v) == 0) {
+                source = v;
+            }
+        }
+        if (source == -1) {
+            System.out.println("No vertex without predecessors, skipping DAG paths");
+            return;
+        }
+
+        try {
+            DAGPathAnalysis paths = new DAGPathFinder<String>().analyze(graph.getForwardAdjacency(), source);
+            System.out.println(paths.format(id -> graph.getVertexById(id).getData()));
+        } catch (IllegalArgumentException e) {
+            System.out.println("Skipping DAG paths: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Usage: --batch [file] [parallelism] [time limit ms] [memory limit MB]
+     */
+    private static void runBatch(String[] args) {
+        String file = args.length > 1 ? args[1] : "data/data.json";
+        int parallelism = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        Duration timeLimit = Duration.ofMillis(args.length > 3 ? Long.parseLong(args[3]) : 60_000);
+        long memoryLimit = args.length > 4 ? Long.parseLong(args[4]) * 1024 * 1024 : 0;
+
+        try {
+            List<DatasetParser.GraphDataset<String>> datasets = DatasetParser.parse(file);
+            Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+            new BatchRunner(parallelism, timeLimit, memoryLimit).run(datasets, out);
+        } catch (IOException e) {
+            System.err.println("Error reading dataset file: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Usage: --cached [file] [cache directory] [cache size MB]
+     */
+    private static void runCached(String[] args) {
+        String file = args.length > 1 ? args[1] : "data/data.json";
+        Path directory = Path.of(args.length > 2 ? args[2] : ".analysis-cache");
+        long maxBytes = (args.length > 3 ? Long.parseLong(args[3]) : 512) * 1024 * 1024;
+
+        try {
+            ResultCache cache = new ResultCache(directory, maxBytes);
+            CachedAnalyzer<String> analyzer = new CachedAnalyzer<>(cache);
+            for (DatasetParser.GraphDataset<String> ds : DatasetParser.parse(file)) {
+                System.out.println(ds);
+                System.out.println(analyzer.analyze(ds.graph()));
+            }
+            System.out.println("Cache hits: " + cache.getHits() + ", misses: " + cache.getMisses()
+                    + ", entries: " + cache.entryCount() + ", bytes: " + cache.sizeInBytes());
+        } catch (IOException e) {
+            System.err.println("Error running cached analysis: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Usage: --edges file [parallelism] [header: true|false]
+     */
+    private static void runEdgeList(String[] args) {
+        int parallelism = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        boolean hasHeader = args.length > 3 && Boolean.parseBoolean(args[3]);
+
+        try {
+            EdgeListLoader loader = new EdgeListLoader(parallelism, 64L << 20, hasHeader);
+            EdgeListLoader.LoadedGraph loaded = loader.load(Path.of(args[1]));
+            System.out.println("Loaded " + loaded.adjacency().vertexCount() + " vertices and "
+                    + loaded.adjacency().edgeCount() + " edges");
+            System.out.println(loader.getMetrics().getSummary());
+        } catch (IOException e) {
+            System.err.println("Error reading edge list: " + e.getMessage());
+        }
+    }
 }
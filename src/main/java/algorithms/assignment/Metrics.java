@@ -1,5 +1,7 @@
 package algorithms.assignment;
 
+import java.util.Map;
+
 /**
  * Common interface for tracking algorithm metrics.
  */
@@ -26,16 +28,32 @@ public interface Metrics {
         return getElapsedTimeNanos() / 1_000_000.0;
     }
 
+    /**
+     * Gets the bytes allocated by the timing thread between {@link #startTimer()} and
+     * {@link #stopTimer()}, or -1 if the JVM does not support allocation accounting.
+     */
+    long getAllocatedBytes();
+
     /**
      * Increments a named counter.
      */
     void incrementCounter(String counterName);
 
+    /**
+     * Adds a value to a named counter, so hot loops can count locally and publish once.
+     */
+    void addToCounter(String counterName, long delta);
+
     /**
      * Gets the value of a named counter.
      */
     long getCounter(String counterName);
 
+    /**
+     * Gets a read-only snapshot of all counters, sorted by name.
+     */
+    Map<String, Long> getCounters();
+
     /**
      * Resets all metrics.
      */
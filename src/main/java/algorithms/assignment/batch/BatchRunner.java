@@ -0,0 +1,177 @@
+package algorithms.assignment.batch;
+
+import algorithms.assignment.Metrics;
+import algorithms.assignment.dag_paths.DAGPathFinder;
+import algorithms.assignment.dag_paths.result.DAGPathResult;
+import algorithms.assignment.data.DatasetParser.GraphDataset;
+import algorithms.assignment.graph.Graph;
+import algorithms.assignment.strongly_connected_components.KosarajuSCC;
+import algorithms.assignment.strongly_connected_components.result.SCCResult;
+import algorithms.assignment.topological_sort.KahnTopologicalSort;
+import algorithms.assignment.topological_sort.result.TopologicalSortResult;
+import algorithms.assignment.util.CancellationToken;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Runs the SCC -> topological sort -> critical path pipeline over many datasets concurrently
+ * and streams one JSON line per dataset as soon as it finishes.
+ *
+ * At most {@code parallelism} datasets are in flight at a time. Virtual threads are used when
+ * the running JVM provides them, otherwise a fixed platform thread pool.
+ *
+ * Limits are enforced cooperatively: a dataset that passes its deadline is reported as
+ * {@code TIMEOUT} immediately and its {@link CancellationToken} is cancelled, so the worker
+ * stops at the next cancellation checkpoint inside the traversals. It keeps holding its slot
+ * until then, so the concurrency bound is never exceeded.
+ */
+public final class BatchRunner {
+    private final int parallelism;
+    private final Duration timeLimit;
+    private final long memoryLimitBytes;
+
+    /**
+     * @param parallelism      maximum number of datasets analysed at the same time
+     * @param timeLimit        wall-clock budget per dataset
+     * @param memoryLimitBytes allocation budget per dataset, or 0 for no limit
+     */
+    public BatchRunner(int parallelism, Duration timeLimit, long memoryLimitBytes) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism must be positive");
+        }
+        this.parallelism = parallelism;
+        this.timeLimit = timeLimit;
+        this.memoryLimitBytes = memoryLimitBytes;
+    }
+
+    /**
+     * Analyses all datasets, writing one JSON report line per dataset to {@code out}
+     * in completion order.
+     *
+     * @return the reports in completion order
+     */
+    public List<DatasetReport> run(List<GraphDataset<String>> datasets, Writer out) throws InterruptedException {
+        ExecutorService executor = newExecutor(parallelism);
+        Semaphore slots = new Semaphore(parallelism);
+        List<DatasetReport> reports = Collections.synchronizedList(new ArrayList<>());
+        List<CompletableFuture<Void>> pending = new ArrayList<>();
+
+        try {
+            for (GraphDataset<String> ds : datasets) {
+                slots.acquire();
+                long submitted = System.nanoTime();
+                CancellationToken token = CancellationToken.create();
+
+                CompletableFuture<Void> future = CompletableFuture
+                        .supplyAsync(() -> {
+                            try {
+                                return analyze(ds, token);
+                            } finally {
+                                slots.release();
+                            }
+                        }, executor)
+                        .orTimeout(timeLimit.toNanos(), TimeUnit.NANOSECONDS)
+                        // Stops a worker that is still running once its report is settled
+                        .whenComplete((report, error) -> token.cancel())
+                        .handle((report, error) -> report != null ? report : failed(ds, error, submitted))
+                        .thenAccept(report -> {
+                            reports.add(report);
+                            writeLine(out, report.toJson());
+                        });
+                pending.add(future);
+            }
+
+            CompletableFuture.allOf(pending.toArray(new CompletableFuture<?>[0])).join();
+        } finally {
+            executor.shutdown();
+        }
+
+        return reports;
+    }
+
+    private DatasetReport analyze(GraphDataset<String> ds, CancellationToken token) {
+        Graph<String> graph = ds.graph();
+        long start = System.nanoTime();
+        LimitGuard guard = new LimitGuard(timeLimit.toNanos(), memoryLimitBytes);
+        Map<String, Metrics> metrics = new LinkedHashMap<>();
+
+        try {
+            KosarajuSCC<String> kosaraju = new KosarajuSCC<>(token);
+            SCCResult<String> scc = kosaraju.findSCCs(graph);
+            metrics.put("scc", scc.metrics());
+            guard.check();
+
+            KahnTopologicalSort<String> kahn = new KahnTopologicalSort<>(token);
+            TopologicalSortResult<String> topo = kahn.sort(graph);
+            metrics.put("topological_sort", topo.metrics());
+            guard.check();
+
+            double criticalPathLength = Double.NaN;
+            List<String> criticalPath = List.of();
+            if (!topo.hasCycle()) {
+                DAGPathFinder<String> finder = new DAGPathFinder<>(token);
+                DAGPathResult<String> longest = finder.criticalPath(graph);
+                metrics.put("dag_paths", longest.metrics());
+                criticalPathLength = longest.criticalPath().isEmpty() ? 0.0 : longest.criticalPathLength();
+                criticalPath = longest.criticalPath();
+                guard.check();
+            }
+
+            return new DatasetReport(
+                    ds.id(), ds.category(), DatasetReport.Status.OK, null,
+                    graph.getVertexCount(), graph.getEdgeCount(),
+                    scc.components().size(), topo.order().size(), topo.hasCycle(),
+                    criticalPathLength, criticalPath,
+                    System.nanoTime() - start, guard.allocatedBytes(), graph.estimateMemory(), metrics
+            );
+        } catch (LimitGuard.LimitExceededException e) {
+            return DatasetReport.aborted(ds.id(), ds.category(), e.status(), e.getMessage(),
+                    graph.getVertexCount(), graph.getEdgeCount(), System.nanoTime() - start);
+        } catch (CancellationException e) {
+            // Only cancelled after the time limit tripped; this report is superseded by that one
+            return DatasetReport.aborted(ds.id(), ds.category(), DatasetReport.Status.TIMEOUT,
+                    "time limit exceeded", graph.getVertexCount(), graph.getEdgeCount(), System.nanoTime() - start);
+        }
+    }
+
+    private static DatasetReport failed(GraphDataset<String> ds, Throwable error, long submitted) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        DatasetReport.Status status = cause instanceof TimeoutException
+                ? DatasetReport.Status.TIMEOUT
+                : DatasetReport.Status.FAILED;
+        String message = status == DatasetReport.Status.TIMEOUT ? "time limit exceeded" : String.valueOf(cause);
+        return DatasetReport.aborted(ds.id(), ds.category(), status, message,
+                ds.graph().getVertexCount(), ds.graph().getEdgeCount(), System.nanoTime() - submitted);
+    }
+
+    private static void writeLine(Writer out, String line) {
+        synchronized (out) {
+            try {
+                out.write(line);
+                out.write('\n');
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Uses a virtual-thread-per-task executor when the JVM supports it (Java 21+),
+     * falling back to a fixed platform thread pool.
+     */
+    private static ExecutorService newExecutor(int parallelism) {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(parallelism);
+        }
+    }
+}
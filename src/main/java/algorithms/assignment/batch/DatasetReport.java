@@ -0,0 +1,85 @@
+package algorithms.assignment.batch;
+
+import algorithms.assignment.Metrics;
+import algorithms.assignment.graph.MemoryFootprint;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of analysing a single dataset in a batch run.
+ */
+public record DatasetReport(
+        int datasetId,
+        String category,
+        Status status,
+        String error,
+        int vertexCount,
+        int edgeCount,
+        int sccCount,
+        int topoOrderSize,
+        boolean hasCycle,
+        double criticalPathLength,
+        List<String> criticalPath,
+        long elapsedNanos,
+        long allocatedBytes,
+        MemoryFootprint graphMemory,
+        Map<String, Metrics> metrics
+) {
+    public enum Status {
+        OK,
+        TIMEOUT,
+        MEMORY_LIMIT,
+        FAILED
+    }
+
+    /**
+     * Creates a report for a dataset whose analysis did not complete.
+     */
+    public static DatasetReport aborted(int datasetId, String category, Status status, String error,
+                                        int vertexCount, int edgeCount, long elapsedNanos) {
+        return new DatasetReport(datasetId, category, status, error, vertexCount, edgeCount,
+                -1, -1, false, Double.NaN, List.of(), elapsedNanos, -1, null, Map.of());
+    }
+
+    /**
+     * Serializes the report as a single-line JSON object.
+     */
+    public String toJson() {
+        JSONObject json = new JSONObject();
+        json.put("dataset_id", datasetId);
+        json.put("category", category);
+        json.put("status", status.name());
+        if (error != null) {
+            json.put("error", error);
+        }
+        json.put("vertices", vertexCount);
+        json.put("edges", edgeCount);
+        json.put("elapsed_ns", elapsedNanos);
+
+        if (status == Status.OK) {
+            json.put("scc_count", sccCount);
+            json.put("topo_order_size", topoOrderSize);
+            json.put("has_cycle", hasCycle);
+            json.put("critical_path_length", Double.isNaN(criticalPathLength) ? JSONObject.NULL : criticalPathLength);
+            json.put("critical_path", new JSONArray(criticalPath));
+            json.put("allocated_bytes", allocatedBytes);
+            json.put("graph_memory", graphMemory.toJson());
+
+            JSONObject metricsJson = new JSONObject();
+            for (Map.Entry<String, Metrics> entry : metrics.entrySet()) {
+                Metrics m = entry.getValue();
+                JSONObject mJson = new JSONObject();
+                mJson.put("time_ns", m.getElapsedTimeNanos());
+                mJson.put("allocated_bytes", m.getAllocatedBytes());
+                mJson.put("counters", new JSONObject(m.getCounters()));
+                metricsJson.put(entry.getKey(), mJson);
+            }
+            json.put("metrics", metricsJson);
+        }
+
+        return json.toString();
+    }
+}
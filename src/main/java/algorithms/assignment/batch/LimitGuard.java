@@ -0,0 +1,59 @@
+package algorithms.assignment.batch;
+
+import algorithms.assignment.metrics.AllocationCounter;
+
+/**
+ * Per-dataset time and allocation budget, checked between analysis phases.
+ */
+final class LimitGuard {
+    private final long deadlineNanos;
+    private final long memoryLimitBytes;
+    private final long startAllocatedBytes;
+
+    LimitGuard(long timeLimitNanos, long memoryLimitBytes) {
+        this.deadlineNanos = System.nanoTime() + timeLimitNanos;
+        this.memoryLimitBytes = memoryLimitBytes;
+        this.startAllocatedBytes = AllocationCounter.currentThreadAllocatedBytes();
+    }
+
+    /**
+     * Throws if the dataset has run past its deadline or allocated more than its budget.
+     */
+    void check() {
+        if (System.nanoTime() - deadlineNanos > 0) {
+            throw new LimitExceededException(DatasetReport.Status.TIMEOUT, "time limit exceeded");
+        }
+        long allocated = allocatedBytes();
+        if (memoryLimitBytes > 0 && allocated > memoryLimitBytes) {
+            throw new LimitExceededException(DatasetReport.Status.MEMORY_LIMIT,
+                    "allocated " + allocated + " bytes, limit is " + memoryLimitBytes);
+        }
+    }
+
+    /**
+     * Gets the bytes allocated by the current thread since this guard was created,
+     * or -1 if the JVM does not support allocation accounting.
+     */
+    long allocatedBytes() {
+        long current = AllocationCounter.currentThreadAllocatedBytes();
+        if (current < 0 || startAllocatedBytes < 0) {
+            return -1;
+        }
+        return current - startAllocatedBytes;
+    }
+
+    static final class LimitExceededException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private final DatasetReport.Status status;
+
+        LimitExceededException(DatasetReport.Status status, String message) {
+            super(message);
+            this.status = status;
+        }
+
+        DatasetReport.Status status() {
+            return status;
+        }
+    }
+}
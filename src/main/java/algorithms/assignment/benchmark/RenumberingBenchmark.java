@@ -0,0 +1,112 @@
+package algorithms.assignment.benchmark;
+
+import algorithms.assignment.dag_paths.DAGPathFinder;
+import algorithms.assignment.graph.AdjacencyIndex;
+import algorithms.assignment.graph.CompressedGraph;
+import algorithms.assignment.graph.Graph;
+import algorithms.assignment.graph.IntGraph;
+import algorithms.assignment.graph.Vertex;
+import algorithms.assignment.graph.VertexRenumbering;
+import algorithms.assignment.strongly_connected_components.TarjanSCC;
+import algorithms.assignment.topological_sort.KahnTopologicalSort;
+
+import java.util.Random;
+import java.util.function.ToLongFunction;
+
+/**
+ * Measures how vertex renumbering affects traversal throughput.
+ *
+ * The generated graph is a DAG whose edges connect vertices that are close in a hidden rank,
+ * but whose vertices are inserted in random order, so the original ids have no locality at all.
+ * Each {@link VertexRenumbering.Order} is applied and Tarjan, Kahn and DAG relaxation are timed
+ * on the renumbered CSR; the best of several repetitions is reported in million edges per second.
+ *
+ * Usage: {@code RenumberingBenchmark [vertices] [average degree] [repetitions]}
+ */
+public final class RenumberingBenchmark {
+    private static final int WINDOW = 64;
+
+    /**
+     * Keeps the JIT from discarding benchmarked results.
+     */
+    private static volatile long blackhole;
+
+    private RenumberingBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        int vertices = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int degree = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        int repetitions = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+
+        Graph<Integer> graph = scrambledLocalDAG(vertices, degree, new Random(36));
+        AdjacencyIndex original = graph.getForwardAdjacency();
+        int source = graph.getVertex(0).getId();
+        System.out.printf("Graph: %d vertices, %d edges%n", original.vertexCount(), original.edgeCount());
+        System.out.printf("%-22s %10s %12s %12s %12s %12s%n",
+                "order", "renumber ms", "tarjan Me/s", "kahn Me/s", "dag Me/s", "bytes/edge");
+
+        report("ORIGINAL", 0, original, source, repetitions);
+        for (VertexRenumbering.Order order : VertexRenumbering.Order.values()) {
+            long start = System.nanoTime();
+            VertexRenumbering renumbering = VertexRenumbering.of(original, order);
+            AdjacencyIndex renumbered = renumbering.apply(original);
+            long renumberNanos = System.nanoTime() - start;
+            report(order.name(), renumberNanos, renumbered, renumbering.toNew(source), repetitions);
+        }
+    }
+
+    private static void report(String name, long renumberNanos, IntGraph graph, int source, int repetitions) {
+        TarjanSCC<Integer> tarjan = new TarjanSCC<>();
+        KahnTopologicalSort<Integer> kahn = new KahnTopologicalSort<>();
+        DAGPathFinder<Integer> finder = new DAGPathFinder<>();
+
+        double tarjanRate = edgesPerSecond(graph, repetitions, g -> tarjan.forEachComponent(g, (ids, offset, length) -> {
+        }));
+        double kahnRate = edgesPerSecond(graph, repetitions, g -> kahn.sortIds(g).length);
+        double dagRate = edgesPerSecond(graph, repetitions, g -> finder.longestDistances(g, source).parents().length);
+        double bytesPerEdge = (double) CompressedGraph.of(graph).sizeInBytes() / Math.max(1, graph.edgeCount());
+
+        System.out.printf("%-22s %10.1f %12.1f %12.1f %12.1f %12.2f%n",
+                name, renumberNanos / 1e6, tarjanRate / 1e6, kahnRate / 1e6, dagRate / 1e6, bytesPerEdge);
+    }
+
+    private static double edgesPerSecond(IntGraph graph, int repetitions, ToLongFunction<IntGraph> run) {
+        long best = Long.MAX_VALUE;
+        for (int r = 0; r < repetitions; r++) {
+            long start = System.nanoTime();
+            blackhole += run.applyAsLong(graph);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return graph.edgeCount() / (best / 1e9);
+    }
+
+    /**
+     * Vertex data is the hidden rank; every edge goes from a rank to one of the next
+     * {@value #WINDOW} ranks, and vertices are inserted in a random permutation of ranks.
+     */
+    private static Graph<Integer> scrambledLocalDAG(int vertices, int degree, Random random) {
+        int[] ranks = new int[vertices];
+        for (int i = 0; i < vertices; i++) {
+            ranks[i] = i;
+        }
+        for (int i = vertices - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = ranks[i];
+            ranks[i] = ranks[j];
+            ranks[j] = tmp;
+        }
+
+        Graph<Integer> graph = new Graph<>();
+        for (int rank : ranks) {
+            graph.addVertex(new Vertex<>(rank));
+        }
+        for (int u = 0; u + 1 < vertices; u++) {
+            for (int k = 0; k < degree; k++) {
+                int v = Math.min(vertices - 1, u + 1 + random.nextInt(WINDOW));
+                graph.addEdge(u, v, 1 + random.nextInt(100));
+            }
+        }
+        return graph;
+    }
+}
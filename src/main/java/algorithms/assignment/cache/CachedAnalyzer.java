@@ -0,0 +1,164 @@
+package algorithms.assignment.cache;
+
+import algorithms.assignment.cache.result.CacheMetrics;
+import algorithms.assignment.cache.result.CachedAnalysis;
+import algorithms.assignment.dag_paths.DAGPathFinder;
+import algorithms.assignment.dag_paths.result.DAGDistanceResult;
+import algorithms.assignment.graph.AdjacencyIndex;
+import algorithms.assignment.graph.Graph;
+import algorithms.assignment.metrics.MetricsRegistry;
+import algorithms.assignment.metrics.PhaseTimer;
+import algorithms.assignment.strongly_connected_components.ComponentConsumer;
+import algorithms.assignment.strongly_connected_components.TarjanSCC;
+import algorithms.assignment.topological_sort.KahnTopologicalSort;
+
+import java.io.*;
+import java.util.Optional;
+
+/**
+ * Runs the standard per-graph analysis (SCCs, topological order, critical path) through a
+ * {@link ResultCache}, so an unchanged graph is answered from disk without recomputation.
+ */
+public final class CachedAnalyzer<T> {
+    /**
+     * Part of every key; bump it whenever the analysis or its binary layout changes.
+     */
+    static final String FORMAT = "analysis-v1";
+
+    private final ResultCache cache;
+    private final CacheMetrics metrics = new CacheMetrics();
+
+    public CachedAnalyzer(ResultCache cache) {
+        this.cache = cache;
+    }
+
+    public CachedAnalysis analyze(Graph<T> graph) throws IOException {
+        metrics.reset();
+        metrics.startTimer();
+
+        int n = graph.getVertexCount();
+        int edgeCount = graph.getEdgeCount();
+        String key;
+        try (PhaseTimer ignored = PhaseTimer.start("cached_analysis", "fingerprint", n, edgeCount)) {
+            key = GraphFingerprint.of(graph, FORMAT);
+        }
+
+        Optional<byte[]> cached;
+        try (PhaseTimer ignored = PhaseTimer.start("cached_analysis", "lookup", n, edgeCount)) {
+            cached = cache.get(key);
+        }
+
+        CachedAnalysis analysis;
+        if (cached.isPresent()) {
+            metrics.incrementCounter("cache_hits");
+            metrics.addToCounter("bytes_read", cached.get().length);
+            analysis = decode(cached.get());
+        } else {
+            metrics.incrementCounter("cache_misses");
+            try (PhaseTimer ignored = PhaseTimer.start("cached_analysis", "compute", n, edgeCount)) {
+                analysis = compute(graph);
+            }
+            byte[] encoded = encode(analysis);
+            cache.put(key, encoded);
+            metrics.addToCounter("bytes_written", encoded.length);
+        }
+
+        metrics.stopTimer();
+        MetricsRegistry.getDefault().record("cached_analysis", metrics);
+        return analysis;
+    }
+
+    public CacheMetrics getMetrics() {
+        return metrics;
+    }
+
+    private CachedAnalysis compute(Graph<T> graph) {
+        int n = graph.getVertexCount();
+        AdjacencyIndex forward = graph.getForwardAdjacency();
+
+        int[] componentIds = new int[n];
+        int componentCount = new TarjanSCC<T>().forEachComponent(forward, new ComponentLabeler(componentIds));
+
+        int[] order = new KahnTopologicalSort<T>().sortIds(forward);
+        if (order.length != n) {
+            return new CachedAnalysis(componentIds, componentCount, order, new double[0], new int[0], Double.NaN);
+        }
+
+        DAGDistanceResult longest = new DAGPathFinder<T>().criticalDistances(forward);
+        int end = -1;
+        for (int v = 0; v < n; v++) {
+            if (end == -1 || longest.distances()[v] > longest.distances()[end]) {
+                end = v;
+            }
+        }
+        int[] criticalPath = end == -1 ? new int[0] : longest.pathTo(end);
+        double length = end == -1 ? 0.0 : longest.distances()[end];
+        return new CachedAnalysis(componentIds, componentCount, order, longest.distances(), criticalPath, length);
+    }
+
+    static byte[] encode(CachedAnalysis analysis) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writeInts(out, analysis.componentIds());
+            out.writeInt(analysis.componentCount());
+            writeInts(out, analysis.topologicalOrder());
+            out.writeInt(analysis.longestDistances().length);
+            for (double d : analysis.longestDistances()) {
+                out.writeDouble(d);
+            }
+            writeInts(out, analysis.criticalPath());
+            out.writeDouble(analysis.criticalPathLength());
+        }
+        return bytes.toByteArray();
+    }
+
+    static CachedAnalysis decode(byte[] payload) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            int[] componentIds = readInts(in);
+            int componentCount = in.readInt();
+            int[] order = readInts(in);
+            double[] longest = new double[in.readInt()];
+            for (int i = 0; i < longest.length; i++) {
+                longest[i] = in.readDouble();
+            }
+            int[] criticalPath = readInts(in);
+            double length = in.readDouble();
+            return new CachedAnalysis(componentIds, componentCount, order, longest, criticalPath, length);
+        }
+    }
+
+    private static void writeInts(DataOutputStream out, int[] values) throws IOException {
+        out.writeInt(values.length);
+        for (int value : values) {
+            out.writeInt(value);
+        }
+    }
+
+    private static int[] readInts(DataInputStream in) throws IOException {
+        int[] values = new int[in.readInt()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = in.readInt();
+        }
+        return values;
+    }
+
+    /**
+     * Assigns consecutive component ids in the order Tarjan emits components.
+     */
+    private static final class ComponentLabeler implements ComponentConsumer {
+        private final int[] componentIds;
+        private int next;
+
+        ComponentLabeler(int[] componentIds) {
+            this.componentIds = componentIds;
+        }
+
+        @Override
+        public void accept(int[] ids, int offset, int length) {
+            for (int i = offset; i < offset + length; i++) {
+                componentIds[ids[i]] = next;
+            }
+            next++;
+        }
+    }
+}
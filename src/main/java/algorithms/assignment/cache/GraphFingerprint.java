@@ -0,0 +1,88 @@
+package algorithms.assignment.cache;
+
+import algorithms.assignment.graph.AdjacencyIndex;
+import algorithms.assignment.graph.Graph;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * SHA-256 content hash of a graph and the parameters of an analysis run on it.
+ *
+ * The hash covers vertex labels in id order and every edge with its weight in adjacency
+ * order. Order matters because it decides which ids and tie-breaks the algorithms produce,
+ * so two graphs only share a key if every cached result is valid for both.
+ */
+public final class GraphFingerprint {
+    private GraphFingerprint() {
+    }
+
+    /**
+     * @param parameters algorithm parameters and result format version, e.g. {@code "analysis-v1"}
+     * @return the digest as lowercase hex
+     */
+    public static String of(Graph<?> graph, String parameters) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        putBytes(digest, buffer, parameters.getBytes(StandardCharsets.UTF_8));
+
+        int n = graph.getVertexCount();
+        putInt(digest, buffer, n);
+        for (int v = 0; v < n; v++) {
+            putBytes(digest, buffer, String.valueOf(graph.getVertexById(v).getData()).getBytes(StandardCharsets.UTF_8));
+        }
+
+        AdjacencyIndex forward = graph.getForwardAdjacency();
+        putInt(digest, buffer, forward.edgeCount());
+        for (int v = 0; v < n; v++) {
+            putInt(digest, buffer, forward.degree(v));
+            for (int i = forward.start(v), end = forward.end(v); i < end; i++) {
+                putInt(digest, buffer, forward.target(i));
+                putInt(digest, buffer, forward.weight(i));
+            }
+        }
+
+        flush(digest, buffer);
+        StringBuilder hex = new StringBuilder(64);
+        for (byte b : digest.digest()) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    private static void putInt(MessageDigest digest, ByteBuffer buffer, int value) {
+        if (buffer.remaining() < Integer.BYTES) {
+            flush(digest, buffer);
+        }
+        buffer.putInt(value);
+    }
+
+    /**
+     * Length-prefixed, so adjacent labels cannot run into each other.
+     */
+    private static void putBytes(MessageDigest digest, ByteBuffer buffer, byte[] bytes) {
+        putInt(digest, buffer, bytes.length);
+        if (bytes.length > buffer.remaining()) {
+            flush(digest, buffer);
+        }
+        if (bytes.length > buffer.remaining()) {
+            digest.update(bytes);
+        } else {
+            buffer.put(bytes);
+        }
+    }
+
+    private static void flush(MessageDigest digest, ByteBuffer buffer) {
+        buffer.flip();
+        digest.update(buffer);
+        buffer.clear();
+    }
+}
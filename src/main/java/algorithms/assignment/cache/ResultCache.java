@@ -0,0 +1,220 @@
+package algorithms.assignment.cache;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.util.*;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Size-bounded, content-addressed store of binary payloads in a local directory.
+ *
+ * Every entry is one file named after its key, holding a header
+ * {@code magic, payload length, CRC32} followed by the payload. Files are written to a
+ * temporary name and then moved into place, so readers never see a partial entry; an entry
+ * whose header or checksum does not match is deleted and reported as a miss.
+ *
+ * When the total size exceeds the limit, least recently used entries are evicted. Recency is
+ * tracked in memory and persisted as file modification times, so it survives restarts.
+ */
+public final class ResultCache {
+    private static final int MAGIC = 0x47524331;
+    private static final int HEADER_BYTES = Integer.BYTES + Integer.BYTES + Long.BYTES;
+    private static final String SUFFIX = ".bin";
+    private static final Pattern KEY = Pattern.compile("[0-9a-f]{16,128}");
+
+    private final Path directory;
+    private final long maxBytes;
+    /**
+     * Entry sizes in access order, eldest first.
+     */
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long corruptEntries;
+
+    /**
+     * Opens (or creates) a cache directory and indexes the entries already in it.
+     *
+     * @param maxBytes total size above which old entries are evicted
+     */
+    public ResultCache(Path directory, long maxBytes) throws IOException {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("maxBytes must be positive");
+        }
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        Files.createDirectories(directory);
+
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(p -> p.getFileName().toString().endsWith(SUFFIX)).toList();
+        }
+        List<Map.Entry<Path, FileTime>> byAge = new ArrayList<>();
+        for (Path file : files) {
+            byAge.add(Map.entry(file, Files.getLastModifiedTime(file)));
+        }
+        byAge.sort(Map.Entry.comparingByValue());
+        for (Map.Entry<Path, FileTime> entry : byAge) {
+            String name = entry.getKey().getFileName().toString();
+            long size = Files.size(entry.getKey());
+            entries.put(name.substring(0, name.length() - SUFFIX.length()), size);
+            totalBytes += size;
+        }
+        evict(null);
+    }
+
+    /**
+     * Gets the payload stored under a key, if present and intact.
+     */
+    public synchronized Optional<byte[]> get(String key) throws IOException {
+        checkKey(key);
+        if (!entries.containsKey(key)) {
+            misses++;
+            return Optional.empty();
+        }
+
+        Path file = fileOf(key);
+        byte[] bytes;
+        try {
+            bytes = Files.readAllBytes(file);
+        } catch (NoSuchFileException e) {
+            forget(key);
+            misses++;
+            return Optional.empty();
+        }
+
+        byte[] payload = verify(bytes);
+        if (payload == null) {
+            corruptEntries++;
+            misses++;
+            forget(key);
+            Files.deleteIfExists(file);
+            return Optional.empty();
+        }
+
+        entries.get(key); // refreshes recency in the access-ordered map
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+        hits++;
+        return Optional.of(payload);
+    }
+
+    /**
+     * Stores a payload under a key, replacing any previous entry, then evicts least
+     * recently used entries until the cache fits its size limit again.
+     */
+    public synchronized void put(String key, byte[] payload) throws IOException {
+        checkKey(key);
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        ByteBuffer bytes = ByteBuffer.allocate(HEADER_BYTES + payload.length);
+        bytes.putInt(MAGIC).putInt(payload.length).putLong(crc.getValue()).put(payload);
+
+        Path temp = Files.createTempFile(directory, key, ".tmp");
+        try {
+            Files.write(temp, bytes.array());
+            try {
+                Files.move(temp, fileOf(key), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, fileOf(key), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+
+        forget(key);
+        entries.put(key, (long) bytes.capacity());
+        totalBytes += bytes.capacity();
+        evict(key);
+    }
+
+    public synchronized boolean contains(String key) {
+        return entries.containsKey(key);
+    }
+
+    public synchronized int entryCount() {
+        return entries.size();
+    }
+
+    public synchronized long sizeInBytes() {
+        return totalBytes;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    public synchronized long getCorruptEntries() {
+        return corruptEntries;
+    }
+
+    /**
+     * Evicts least recently used entries, except {@code keep}, while over the size limit.
+     */
+    private void evict(String keep) throws IOException {
+        Iterator<Map.Entry<String, Long>> it = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && it.hasNext()) {
+            Map.Entry<String, Long> eldest = it.next();
+            if (eldest.getKey().equals(keep)) {
+                continue;
+            }
+            Files.deleteIfExists(fileOf(eldest.getKey()));
+            totalBytes -= eldest.getValue();
+            it.remove();
+            evictions++;
+        }
+    }
+
+    private void forget(String key) {
+        Long size = entries.remove(key);
+        if (size != null) {
+            totalBytes -= size;
+        }
+    }
+
+    /**
+     * @return the payload, or null if the header or checksum does not match
+     */
+    private static byte[] verify(byte[] bytes) {
+        if (bytes.length < HEADER_BYTES) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int magic = buffer.getInt();
+        int length = buffer.getInt();
+        long checksum = buffer.getLong();
+        if (magic != MAGIC || length != bytes.length - HEADER_BYTES) {
+            return null;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(bytes, HEADER_BYTES, length);
+        if (crc.getValue() != checksum) {
+            return null;
+        }
+        return Arrays.copyOfRange(bytes, HEADER_BYTES, bytes.length);
+    }
+
+    private Path fileOf(String key) {
+        return directory.resolve(key + SUFFIX);
+    }
+
+    private static void checkKey(String key) {
+        if (!KEY.matcher(key).matches()) {
+            throw new IllegalArgumentException("Cache keys must be lowercase hex digests: " + key);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package algorithms.assignment.cache.result;
+
+import algorithms.assignment.metrics.AbstractMetrics;
+
+/**
+ * Metrics for the analysis result cache.
+ */
+public final class CacheMetrics extends AbstractMetrics {
+    public CacheMetrics() {
+        super("Result Cache");
+    }
+}
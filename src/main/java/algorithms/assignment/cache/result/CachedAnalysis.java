@@ -0,0 +1,44 @@
+package algorithms.assignment.cache.result;
+
+import java.util.Arrays;
+
+/**
+ * Per-graph analysis results over dense vertex ids, compact enough to store on disk.
+ *
+ * @param componentIds       SCC id of every vertex, in the order Tarjan emits components
+ * @param componentCount     number of strongly connected components
+ * @param topologicalOrder   vertex ids in Kahn order; shorter than the vertex count if cyclic
+ * @param longestDistances   longest distance from any source vertex; empty if cyclic
+ * @param criticalPath       vertex ids on the longest path; empty if cyclic
+ * @param criticalPathLength length of the critical path, or NaN if cyclic
+ */
+public record CachedAnalysis(
+        int[] componentIds,
+        int componentCount,
+        int[] topologicalOrder,
+        double[] longestDistances,
+        int[] criticalPath,
+        double criticalPathLength
+) {
+    public int vertexCount() {
+        return componentIds.length;
+    }
+
+    public boolean hasCycle() {
+        return topologicalOrder.length != componentIds.length;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Cached Analysis:\n");
+        sb.append("  Vertices: ").append(vertexCount()).append("\n");
+        sb.append("  Components: ").append(componentCount).append("\n");
+        sb.append("  Has Cycle: ").append(hasCycle()).append("\n");
+        if (!hasCycle()) {
+            sb.append("  Critical Path Length: ").append(criticalPathLength).append("\n");
+            sb.append("  Critical Path: ").append(Arrays.toString(criticalPath)).append("\n");
+        }
+        return sb.toString();
+    }
+}
@@ -1,27 +1,45 @@
 package algorithms.assignment.dag_paths;
 
+import algorithms.assignment.dag_paths.result.DAGDistanceResult;
+import algorithms.assignment.dag_paths.result.DAGPathAnalysis;
 import algorithms.assignment.dag_paths.result.DAGPathMetrics;
 import algorithms.assignment.dag_paths.result.DAGPathResult;
+import algorithms.assignment.graph.CompressedGraph;
+import algorithms.assignment.graph.EdgeCursor;
 import algorithms.assignment.graph.Graph;
+import algorithms.assignment.graph.IntGraph;
 import algorithms.assignment.graph.Neighbor;
 import algorithms.assignment.graph.Vertex;
+import algorithms.assignment.metrics.MetricsRegistry;
+import algorithms.assignment.metrics.PhaseTimer;
 import algorithms.assignment.topological_sort.KahnTopologicalSort;
 import algorithms.assignment.topological_sort.result.TopologicalSortResult;
+import algorithms.assignment.util.CancellationToken;
 
 import java.util.*;
 
 public final class DAGPathFinder<T> {
     private final DAGPathMetrics metrics;
+    private final CancellationToken cancellation;
 
     public DAGPathFinder() {
+        this(CancellationToken.NONE);
+    }
+
+    /**
+     * @param cancellation polled both while sorting and once per 1024 relaxed vertices and
+     *                     scanned edges
+     */
+    public DAGPathFinder(CancellationToken cancellation) {
         this.metrics = new DAGPathMetrics();
+        this.cancellation = cancellation;
     }
 
     public DAGPathResult<T> shortestPaths(Graph<T> graph, T source) {
         metrics.reset();
         metrics.startTimer();
 
-        KahnTopologicalSort<T> topo = new KahnTopologicalSort<>();
+        KahnTopologicalSort<T> topo = new KahnTopologicalSort<>(cancellation);
         TopologicalSortResult<T> topoResult = topo.sort(graph);
         List<T> order = topoResult.order();
 
@@ -33,24 +51,35 @@ public final class DAGPathFinder<T> {
         }
         dist.put(source, 0.0);
 
-        for (T u : order) {
-            if (dist.get(u) != Double.POSITIVE_INFINITY) {
-                Vertex<T> vertex = graph.getVertex(u);
-                for (Neighbor<T> neighbor : vertex.getNeighbors()) {
-                    metrics.incrementCounter("edges_examined");
-                    T v = neighbor.vertex().getData();
-                    double weight = neighbor.edge().getWeight();
-                    double newDist = dist.get(u) + weight;
-                    if (newDist < dist.get(v)) {
-                        dist.put(v, newDist);
-                        parent.put(v, u);
-                        metrics.incrementCounter("distance_updates");
+        long work = 0;
+        try (PhaseTimer ignored = PhaseTimer.start("dag_shortest_paths", "relaxation",
+                graph.getVertexCount(), graph.getEdgeCount())) {
+            for (T u : order) {
+                if ((++work & CancellationToken.CHECK_INTERVAL) == 0) {
+                    cancellation.checkpoint();
+                }
+                if (dist.get(u) != Double.POSITIVE_INFINITY) {
+                    Vertex<T> vertex = graph.getVertex(u);
+                    for (Neighbor<T> neighbor : vertex.getNeighbors()) {
+                        metrics.incrementCounter("edges_examined");
+                        if ((++work & CancellationToken.CHECK_INTERVAL) == 0) {
+                            cancellation.checkpoint();
+                        }
+                        T v = neighbor.vertex().getData();
+                        double weight = neighbor.edge().getWeight();
+                        double newDist = dist.get(u) + weight;
+                        if (newDist < dist.get(v)) {
+                            dist.put(v, newDist);
+                            parent.put(v, u);
+                            metrics.incrementCounter("distance_updates");
+                        }
                     }
                 }
             }
         }
 
         metrics.stopTimer();
+        MetricsRegistry.getDefault().record("dag_shortest_paths", metrics);
 
         return new DAGPathResult<>(
                 dist, parent, order, source,
@@ -59,10 +88,28 @@ public final class DAGPathFinder<T> {
     }
 
     public DAGPathResult<T> longestPaths(Graph<T> graph, T source) {
+        return longestPaths(graph, List.of(source), source);
+    }
+
+    /**
+     * Computes the critical path of the whole DAG, i.e. the longest path
+     * starting from any vertex with in-degree zero.
+     */
+    public DAGPathResult<T> criticalPath(Graph<T> graph) {
+        List<T> sources = new ArrayList<>();
+        for (Map.Entry<Vertex<T>, Integer> entry : graph.computeInDegrees().entrySet()) {
+            if (entry.getValue() == 0) {
+                sources.add(entry.getKey().getData());
+            }
+        }
+        return longestPaths(graph, sources, null);
+    }
+
+    private DAGPathResult<T> longestPaths(Graph<T> graph, Collection<T> sources, T source) {
         metrics.reset();
         metrics.startTimer();
 
-        KahnTopologicalSort<T> topo = new KahnTopologicalSort<>();
+        KahnTopologicalSort<T> topo = new KahnTopologicalSort<>(cancellation);
         TopologicalSortResult<T> topoResult = topo.sort(graph);
         List<T> order = topoResult.order();
 
@@ -72,43 +119,59 @@ public final class DAGPathFinder<T> {
         for (Vertex<T> v : graph.getVertices()) {
             dist.put(v.getData(), Double.NEGATIVE_INFINITY);
         }
-        dist.put(source, 0.0);
+        for (T s : sources) {
+            dist.put(s, 0.0);
+        }
 
-        for (T u : order) {
-            if (dist.get(u) != Double.NEGATIVE_INFINITY) {
-                Vertex<T> vertex = graph.getVertex(u);
-                for (Neighbor<T> neighbor : vertex.getNeighbors()) {
-                    metrics.incrementCounter("edges_examined");
-                    T v = neighbor.vertex().getData();
-                    double weight = neighbor.edge().getWeight();
-                    double newDist = dist.get(u) + weight;
-                    if (newDist > dist.get(v)) {
-                        dist.put(v, newDist);
-                        parent.put(v, u);
-                        metrics.incrementCounter("distance_updates");
+        long work = 0;
+        try (PhaseTimer ignored = PhaseTimer.start("dag_longest_paths", "relaxation",
+                graph.getVertexCount(), graph.getEdgeCount())) {
+            for (T u : order) {
+                if ((++work & CancellationToken.CHECK_INTERVAL) == 0) {
+                    cancellation.checkpoint();
+                }
+                if (dist.get(u) != Double.NEGATIVE_INFINITY) {
+                    Vertex<T> vertex = graph.getVertex(u);
+                    for (Neighbor<T> neighbor : vertex.getNeighbors()) {
+                        metrics.incrementCounter("edges_examined");
+                        if ((++work & CancellationToken.CHECK_INTERVAL) == 0) {
+                            cancellation.checkpoint();
+                        }
+                        T v = neighbor.vertex().getData();
+                        double weight = neighbor.edge().getWeight();
+                        double newDist = dist.get(u) + weight;
+                        if (newDist > dist.get(v)) {
+                            dist.put(v, newDist);
+                            parent.put(v, u);
+                            metrics.incrementCounter("distance_updates");
+                        }
                     }
                 }
             }
         }
 
         double maxDist = Double.NEGATIVE_INFINITY;
-        T endVertex = null;
-        for (Map.Entry<T, Double> entry : dist.entrySet()) {
-            if (entry.getValue() > maxDist) {
-                maxDist = entry.getValue();
-                endVertex = entry.getKey();
+        List<T> criticalPath = new ArrayList<>();
+        try (PhaseTimer ignored = PhaseTimer.start("dag_longest_paths", "path_reconstruction",
+                graph.getVertexCount(), graph.getEdgeCount())) {
+            T endVertex = null;
+            for (Map.Entry<T, Double> entry : dist.entrySet()) {
+                if (entry.getValue() > maxDist) {
+                    maxDist = entry.getValue();
+                    endVertex = entry.getKey();
+                }
             }
-        }
 
-        List<T> criticalPath = new ArrayList<>();
-        T current = endVertex;
-        while (current != null) {
-            criticalPath.add(current);
-            current = parent.get(current);
+            T current = endVertex;
+            while (current != null) {
+                criticalPath.add(current);
+                current = parent.get(current);
+            }
+            Collections.reverse(criticalPath);
         }
-        Collections.reverse(criticalPath);
 
         metrics.stopTimer();
+        MetricsRegistry.getDefault().record("dag_longest_paths", metrics);
 
         return new DAGPathResult<>(
                 dist, parent, order, source,
@@ -116,6 +179,211 @@ public final class DAGPathFinder<T> {
         );
     }
 
+    /**
+     * Shortest distances on an id-based graph, such as a {@link CompressedGraph}.
+     *
+     * @throws IllegalArgumentException if the graph has a cycle
+     */
+    public DAGDistanceResult shortestDistances(IntGraph graph, int source) {
+        return distances(graph, new int[]{source}, source, false);
+    }
+
+    /**
+     * Longest distances on an id-based graph, such as a {@link CompressedGraph}.
+     *
+     * @throws IllegalArgumentException if the graph has a cycle
+     */
+    public DAGDistanceResult longestDistances(IntGraph graph, int source) {
+        return distances(graph, new int[]{source}, source, true);
+    }
+
+    /**
+     * Longest distances from every vertex with in-degree zero on an id-based graph, i.e. the
+     * id-based counterpart of {@link #criticalPath(Graph)}. The result's source is -1.
+     *
+     * @throws IllegalArgumentException if the graph has a cycle
+     */
+    public DAGDistanceResult criticalDistances(IntGraph graph) {
+        int n = graph.vertexCount();
+        boolean[] hasPredecessor = new boolean[n];
+        EdgeCursor cursor = graph.cursor();
+        for (int v = 0; v < n; v++) {
+            cursor.reset(v);
+            while (cursor.hasNext()) {
+                hasPredecessor[cursor.next()] = true;
+            }
+        }
+        int count = 0;
+        int[] sources = new int[n];
+        for (int v = 0; v < n; v++) {
+            if (!hasPredecessor[v]) {
+                sources[count++] = v;
+            }
+        }
+        return distances(graph, Arrays.copyOf(sources, count), -1, true);
+    }
+
+    /**
+     * Computes what {@link #shortestPaths} and {@link #longestPaths} give for the same source
+     * in one relaxation sweep: a single topological order and one scan of each adjacency
+     * list update both distance and parent arrays. Vertex ids are the graph's dense ids.
+     *
+     * @throws IllegalArgumentException if the source does not exist or the graph has a cycle
+     */
+    public DAGPathAnalysis analyze(Graph<T> graph, T source) {
+        Vertex<T> vertex = graph.getVertex(source);
+        if (vertex == null) {
+            throw new IllegalArgumentException("Source vertex " + source + " does not exist");
+        }
+        return analyze(graph.getForwardAdjacency(), vertex.getId());
+    }
+
+    /**
+     * Single-sweep shortest and longest distances on an id-based graph.
+     *
+     * @throws IllegalArgumentException if the source does not exist or the graph has a cycle
+     */
+    public DAGPathAnalysis analyze(IntGraph graph, int source) {
+        int n = graph.vertexCount();
+        if (source < 0 || source >= n) {
+            throw new IllegalArgumentException("Source vertex " + source + " does not exist");
+        }
+        metrics.reset();
+        metrics.startTimer();
+
+        int[] order;
+        try (PhaseTimer ignored = PhaseTimer.start("dag_path_analysis", "topological_sort", n, graph.edgeCount())) {
+            order = new KahnTopologicalSort<Integer>(cancellation).sortIds(graph);
+        }
+        if (order.length != n) {
+            throw new IllegalArgumentException("Graph contains a cycle");
+        }
+
+        double[] shortest = new double[n];
+        double[] longest = new double[n];
+        int[] shortestParent = new int[n];
+        int[] longestParent = new int[n];
+        Arrays.fill(shortest, Double.POSITIVE_INFINITY);
+        Arrays.fill(longest, Double.NEGATIVE_INFINITY);
+        Arrays.fill(shortestParent, -1);
+        Arrays.fill(longestParent, -1);
+        shortest[source] = 0.0;
+        longest[source] = 0.0;
+
+        long edgesExamined = 0;
+        long work = 0;
+        long shortestUpdates = 0;
+        long longestUpdates = 0;
+        EdgeCursor cursor = graph.cursor();
+        try (PhaseTimer ignored = PhaseTimer.start("dag_path_analysis", "relaxation", n, graph.edgeCount())) {
+            // Both searches reach exactly the same vertices, so one check skips both
+            for (int i = 0; i < n; i++) {
+                int u = order[i];
+                if ((++work & CancellationToken.CHECK_INTERVAL) == 0) {
+                    cancellation.checkpoint();
+                }
+                double near = shortest[u];
+                if (near == Double.POSITIVE_INFINITY) {
+                    continue;
+                }
+                double far = longest[u];
+                cursor.reset(u);
+                while (cursor.hasNext()) {
+                    int v = cursor.next();
+                    int weight = cursor.weight();
+                    edgesExamined++;
+                    if ((++work & CancellationToken.CHECK_INTERVAL) == 0) {
+                        cancellation.checkpoint();
+                    }
+                    if (near + weight < shortest[v]) {
+                        shortest[v] = near + weight;
+                        shortestParent[v] = u;
+                        shortestUpdates++;
+                    }
+                    if (far + weight > longest[v]) {
+                        longest[v] = far + weight;
+                        longestParent[v] = u;
+                        longestUpdates++;
+                    }
+                }
+            }
+        }
+
+        DAGDistanceResult shortestResult = new DAGDistanceResult(source, shortest, shortestParent, metrics);
+        DAGDistanceResult longestResult = new DAGDistanceResult(source, longest, longestParent, metrics);
+        int end = source;
+        for (int v = 0; v < n; v++) {
+            if (longest[v] > longest[end]) {
+                end = v;
+            }
+        }
+        int[] criticalPath = longestResult.pathTo(end);
+
+        metrics.addToCounter("edges_examined", edgesExamined);
+        metrics.addToCounter("shortest_updates", shortestUpdates);
+        metrics.addToCounter("longest_updates", longestUpdates);
+        metrics.stopTimer();
+        MetricsRegistry.getDefault().record("dag_path_analysis", metrics);
+        return new DAGPathAnalysis(source, order, shortestResult, longestResult, criticalPath, longest[end], metrics);
+    }
+
+    private DAGDistanceResult distances(IntGraph graph, int[] sources, int source, boolean longest) {
+        String algorithm = longest ? "dag_longest_paths" : "dag_shortest_paths";
+        metrics.reset();
+        metrics.startTimer();
+
+        int n = graph.vertexCount();
+        int[] order = new KahnTopologicalSort<Integer>(cancellation).sortIds(graph);
+        if (order.length != n) {
+            throw new IllegalArgumentException("Graph contains a cycle");
+        }
+
+        double unreachable = longest ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        double[] dist = new double[n];
+        int[] parent = new int[n];
+        Arrays.fill(dist, unreachable);
+        Arrays.fill(parent, -1);
+        for (int s : sources) {
+            dist[s] = 0.0;
+        }
+
+        long edgesExamined = 0;
+        long work = 0;
+        long distanceUpdates = 0;
+        EdgeCursor cursor = graph.cursor();
+        try (PhaseTimer ignored = PhaseTimer.start(algorithm, "relaxation", n, graph.edgeCount())) {
+            for (int i = 0; i < n; i++) {
+                int u = order[i];
+                if ((++work & CancellationToken.CHECK_INTERVAL) == 0) {
+                    cancellation.checkpoint();
+                }
+                if (dist[u] == unreachable) {
+                    continue;
+                }
+                cursor.reset(u);
+                while (cursor.hasNext()) {
+                    int v = cursor.next();
+                    edgesExamined++;
+                    if ((++work & CancellationToken.CHECK_INTERVAL) == 0) {
+                        cancellation.checkpoint();
+                    }
+                    double newDist = dist[u] + cursor.weight();
+                    if (longest ? newDist > dist[v] : newDist < dist[v]) {
+                        dist[v] = newDist;
+                        parent[v] = u;
+                        distanceUpdates++;
+                    }
+                }
+            }
+        }
+
+        metrics.addToCounter("edges_examined", edgesExamined);
+        metrics.addToCounter("distance_updates", distanceUpdates);
+        metrics.stopTimer();
+        MetricsRegistry.getDefault().record(algorithm, metrics);
+        return new DAGDistanceResult(source, dist, parent, metrics);
+    }
+
     public DAGPathMetrics getMetrics() {
         return metrics;
     }
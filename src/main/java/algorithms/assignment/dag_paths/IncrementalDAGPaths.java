@@ -0,0 +1,378 @@
+package algorithms.assignment.dag_paths;
+
+import algorithms.assignment.dag_paths.result.DAGPathMetrics;
+import algorithms.assignment.dag_paths.result.DAGPathResult;
+import algorithms.assignment.graph.AdjacencyIndex;
+import algorithms.assignment.graph.Edge;
+import algorithms.assignment.graph.Graph;
+import algorithms.assignment.graph.Neighbor;
+import algorithms.assignment.graph.Vertex;
+import algorithms.assignment.metrics.MetricsRegistry;
+import algorithms.assignment.util.EpochMarks;
+import algorithms.assignment.util.IndexedDaryHeap;
+
+import java.util.*;
+
+/**
+ * Keeps single-source shortest or longest path distances of a DAG up to date while
+ * edge weights change and edges are inserted.
+ *
+ * After a change only the vertices downstream of it are re-relaxed, in topological order,
+ * and propagation stops at every vertex whose distance did not change. An affected vertex
+ * recomputes its distance from all of its predecessors, so both increases and decreases are
+ * handled. An insertion that contradicts the current topological order is repaired locally
+ * (Pearce-Kelly); one that would close a cycle is rejected and leaves the graph unchanged.
+ *
+ * Changes must go through this class so its predecessor lists stay in sync with the graph.
+ */
+public final class IncrementalDAGPaths<T> {
+    public enum Mode {
+        SHORTEST,
+        LONGEST
+    }
+
+    private final Graph<T> graph;
+    private final Mode mode;
+    private final int source;
+    private final int n;
+    private final double unreached;
+
+    private final double[] dist;
+    private final int[] parent;
+    private final long[] topoPos;
+    private final int[] topoOrder;
+    private final List<List<Neighbor<T>>> incoming;
+    private final IndexedDaryHeap dirty;
+    private final DAGPathMetrics metrics = new DAGPathMetrics();
+
+    private EpochMarks mark;
+    private int[] forwardSet;
+    private int[] backwardSet;
+    private int[] stack;
+
+    private long edgesExamined;
+    private long verticesRelaxed;
+    private long distanceUpdates;
+
+    public IncrementalDAGPaths(Graph<T> graph, T source, Mode mode) {
+        Vertex<T> sourceVertex = graph.getVertex(source);
+        if (sourceVertex == null) {
+            throw new IllegalArgumentException("Source vertex " + source + " does not exist");
+        }
+
+        this.graph = graph;
+        this.mode = mode;
+        this.source = sourceVertex.getId();
+        this.n = graph.getVertexCount();
+        this.unreached = mode == Mode.SHORTEST ? Double.POSITIVE_INFINITY : Double.NEGATIVE_INFINITY;
+        this.dist = new double[n];
+        this.parent = new int[n];
+        this.topoPos = new long[n];
+        this.topoOrder = new int[n];
+        this.incoming = new ArrayList<>(n);
+        this.dirty = new IndexedDaryHeap(n, 4, topoPos);
+
+        begin();
+        computeTopologicalOrder();
+
+        for (int v = 0; v < n; v++) {
+            incoming.add(new ArrayList<>());
+        }
+        for (int v = 0; v < n; v++) {
+            Vertex<T> vertex = graph.getVertexById(v);
+            for (Neighbor<T> neighbor : vertex.getNeighbors()) {
+                incoming.get(neighbor.vertex().getId()).add(new Neighbor<>(vertex, neighbor.edge()));
+            }
+        }
+
+        Arrays.fill(dist, unreached);
+        Arrays.fill(parent, -1);
+        for (int pos = 0; pos < n; pos++) {
+            verticesRelaxed++;
+            if (recompute(topoOrder[pos])) {
+                distanceUpdates++;
+            }
+        }
+        finish();
+    }
+
+    /**
+     * Changes the weight of the edge from {@code from} to {@code to} and re-relaxes
+     * the affected downstream vertices.
+     */
+    public void updateWeight(T from, T to, int weight) {
+        checkUnchangedVertexSet();
+        begin();
+        graph.setEdgeWeight(from, to, weight);
+        propagate(graph.getVertex(to).getId());
+        finish();
+    }
+
+    /**
+     * Inserts an edge and re-relaxes the affected downstream vertices.
+     *
+     * @throws IllegalArgumentException if the edge would create a cycle
+     */
+    public void addEdge(T from, T to, int weight) {
+        checkUnchangedVertexSet();
+        Vertex<T> fromVertex = graph.getVertex(from);
+        Vertex<T> toVertex = graph.getVertex(to);
+        if (fromVertex == null || toVertex == null) {
+            throw new IllegalArgumentException("Both vertices must exist before adding edge");
+        }
+        int u = fromVertex.getId();
+        int v = toVertex.getId();
+        if (u == v) {
+            throw new IllegalArgumentException("Edge " + from + " -> " + to + " would create a cycle");
+        }
+
+        begin();
+        if (topoPos[u] > topoPos[v]) {
+            reorder(u, v);
+        }
+        Edge edge = graph.addEdge(from, to, weight);
+        incoming.get(v).add(new Neighbor<>(fromVertex, edge));
+        propagate(v);
+        finish();
+    }
+
+    /**
+     * Gets the current distance of a vertex from the source (infinite if unreachable).
+     */
+    public double getDistance(T vertex) {
+        return dist[graph.getVertex(vertex).getId()];
+    }
+
+    /**
+     * Gets the current best path from the source to a vertex, or an empty list if unreachable.
+     */
+    public List<T> getPath(T vertex) {
+        int v = graph.getVertex(vertex).getId();
+        if (dist[v] == unreached) {
+            return List.of();
+        }
+        List<T> path = new ArrayList<>();
+        for (int cur = v; cur != -1; cur = parent[cur]) {
+            path.add(graph.getVertexById(cur).getData());
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    /**
+     * Snapshots the current state in the same shape {@link DAGPathFinder} returns.
+     */
+    public DAGPathResult<T> toResult() {
+        Map<T, Double> distances = new HashMap<>();
+        Map<T, T> parents = new HashMap<>();
+        List<T> order = new ArrayList<>(n);
+        int end = -1;
+
+        for (int pos = 0; pos < n; pos++) {
+            int v = topoOrder[pos];
+            T data = graph.getVertexById(v).getData();
+            order.add(data);
+            distances.put(data, dist[v]);
+            if (parent[v] != -1) {
+                parents.put(data, graph.getVertexById(parent[v]).getData());
+            }
+            if (dist[v] != unreached && (end == -1 || dist[v] > dist[end])) {
+                end = v;
+            }
+        }
+
+        if (mode == Mode.SHORTEST || end == -1) {
+            return new DAGPathResult<>(distances, parents, order, graph.getVertexById(source).getData(),
+                    Double.NaN, List.of(), metrics);
+        }
+        return new DAGPathResult<>(distances, parents, order, graph.getVertexById(source).getData(),
+                dist[end], getPath(graph.getVertexById(end).getData()), metrics);
+    }
+
+    /**
+     * Gets the metrics of the last construction or update.
+     */
+    public DAGPathMetrics getMetrics() {
+        return metrics;
+    }
+
+    private void propagate(int start) {
+        dirty.push(start);
+        while (!dirty.isEmpty()) {
+            int v = dirty.pop();
+            verticesRelaxed++;
+            if (recompute(v)) {
+                distanceUpdates++;
+                for (Neighbor<T> out : graph.getVertexById(v).getNeighbors()) {
+                    int w = out.vertex().getId();
+                    if (!dirty.contains(w)) {
+                        dirty.push(w);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Recomputes the distance of a vertex from its predecessors.
+     *
+     * @return true if the distance changed
+     */
+    private boolean recompute(int v) {
+        double best = v == source ? 0.0 : unreached;
+        int bestParent = -1;
+
+        if (v != source) {
+            List<Neighbor<T>> preds = incoming.get(v);
+            edgesExamined += preds.size();
+            for (Neighbor<T> in : preds) {
+                int p = in.vertex().getId();
+                if (dist[p] == unreached) {
+                    continue;
+                }
+                double candidate = dist[p] + in.edge().getWeight();
+                if (mode == Mode.SHORTEST ? candidate < best : candidate > best) {
+                    best = candidate;
+                    bestParent = p;
+                }
+            }
+        }
+
+        boolean changed = best != dist[v];
+        dist[v] = best;
+        parent[v] = bestParent;
+        return changed;
+    }
+
+    private void computeTopologicalOrder() {
+        AdjacencyIndex forward = graph.getForwardAdjacency();
+        AdjacencyIndex reverse = graph.getReverseAdjacency();
+        int[] inDegree = new int[n];
+        int head = 0;
+        int tail = 0;
+
+        for (int v = 0; v < n; v++) {
+            inDegree[v] = reverse.degree(v);
+            if (inDegree[v] == 0) {
+                topoOrder[tail++] = v;
+            }
+        }
+        while (head < tail) {
+            int v = topoOrder[head];
+            topoPos[v] = head++;
+            for (int i = forward.start(v), end = forward.end(v); i < end; i++) {
+                if (--inDegree[forward.target(i)] == 0) {
+                    topoOrder[tail++] = forward.target(i);
+                }
+            }
+        }
+
+        if (tail != n) {
+            throw new IllegalArgumentException("Graph contains a cycle");
+        }
+    }
+
+    /**
+     * Pearce-Kelly repair for a new edge u -> v with pos(u) > pos(v): the vertices reachable
+     * from v and the vertices reaching u inside that window swap places, keeping their
+     * relative order, so only the affected window of the order is touched.
+     */
+    private void reorder(int u, int v) {
+        if (mark == null) {
+            mark = new EpochMarks(n);
+            forwardSet = new int[n];
+            backwardSet = new int[n];
+            stack = new int[n];
+        }
+        mark.clear();
+        long lower = topoPos[v];
+        long upper = topoPos[u];
+
+        int forwardSize = 0;
+        int top = 0;
+        stack[top++] = v;
+        mark.mark(v);
+        while (top > 0) {
+            int x = stack[--top];
+            forwardSet[forwardSize++] = x;
+            for (Neighbor<T> out : graph.getVertexById(x).getNeighbors()) {
+                edgesExamined++;
+                int w = out.vertex().getId();
+                if (w == u) {
+                    throw new IllegalArgumentException("Edge " + graph.getVertexById(u).getData() + " -> "
+                            + graph.getVertexById(v).getData() + " would create a cycle");
+                }
+                if (topoPos[w] < upper && mark.mark(w)) {
+                    stack[top++] = w;
+                }
+            }
+        }
+
+        int backwardSize = 0;
+        stack[top++] = u;
+        mark.mark(u);
+        while (top > 0) {
+            int x = stack[--top];
+            backwardSet[backwardSize++] = x;
+            for (Neighbor<T> in : incoming.get(x)) {
+                edgesExamined++;
+                int w = in.vertex().getId();
+                if (topoPos[w] > lower && mark.mark(w)) {
+                    stack[top++] = w;
+                }
+            }
+        }
+
+        sortByPosition(backwardSet, backwardSize);
+        sortByPosition(forwardSet, forwardSize);
+
+        long[] slots = new long[backwardSize + forwardSize];
+        for (int i = 0; i < backwardSize; i++) {
+            slots[i] = topoPos[backwardSet[i]];
+        }
+        for (int i = 0; i < forwardSize; i++) {
+            slots[backwardSize + i] = topoPos[forwardSet[i]];
+        }
+        Arrays.sort(slots);
+
+        for (int i = 0; i < slots.length; i++) {
+            int x = i < backwardSize ? backwardSet[i] : forwardSet[i - backwardSize];
+            topoPos[x] = slots[i];
+            topoOrder[(int) slots[i]] = x;
+        }
+        metrics.addToCounter("vertices_reordered", slots.length);
+    }
+
+    private void sortByPosition(int[] vertices, int size) {
+        long[] packed = new long[size];
+        for (int i = 0; i < size; i++) {
+            packed[i] = (topoPos[vertices[i]] << 32) | vertices[i];
+        }
+        Arrays.sort(packed);
+        for (int i = 0; i < size; i++) {
+            vertices[i] = (int) packed[i];
+        }
+    }
+
+    private void checkUnchangedVertexSet() {
+        if (graph.getVertexCount() != n) {
+            throw new IllegalStateException("Vertices were added to the graph after the paths were computed");
+        }
+    }
+
+    private void begin() {
+        metrics.reset();
+        metrics.startTimer();
+        edgesExamined = 0;
+        verticesRelaxed = 0;
+        distanceUpdates = 0;
+    }
+
+    private void finish() {
+        metrics.addToCounter("edges_examined", edgesExamined);
+        metrics.addToCounter("vertices_relaxed", verticesRelaxed);
+        metrics.addToCounter("distance_updates", distanceUpdates);
+        metrics.stopTimer();
+        MetricsRegistry.getDefault().record("incremental_dag_paths", metrics);
+    }
+}
@@ -0,0 +1,49 @@
+package algorithms.assignment.dag_paths.result;
+
+import java.util.Arrays;
+
+/**
+ * Single-source DAG distances over dense vertex ids, as computed on an
+ * {@link algorithms.assignment.graph.IntGraph}.
+ *
+ * Unreachable vertices have an infinite distance (positive for shortest paths,
+ * negative for longest paths) and a parent of -1.
+ */
+public record DAGDistanceResult(
+        int source,
+        double[] distances,
+        int[] parents,
+        DAGPathMetrics metrics
+) {
+    public boolean isReachable(int vertex) {
+        return !Double.isInfinite(distances[vertex]);
+    }
+
+    /**
+     * Gets the ids on the path from the source to a vertex, or an empty array if it is unreachable.
+     */
+    public int[] pathTo(int vertex) {
+        if (!isReachable(vertex)) {
+            return new int[0];
+        }
+        int length = 0;
+        for (int v = vertex; v != -1; v = parents[v]) {
+            length++;
+        }
+        int[] path = new int[length];
+        for (int v = vertex; v != -1; v = parents[v]) {
+            path[--length] = v;
+        }
+        return path;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("DAG Distance Result:\n");
+        sb.append("  Source: ").append(source).append("\n");
+        sb.append("  Distances: ").append(Arrays.toString(distances)).append("\n");
+        sb.append(metrics.getSummary());
+        return sb.toString();
+    }
+}
@@ -0,0 +1,56 @@
+package algorithms.assignment.dag_paths.result;
+
+import java.util.StringJoiner;
+import java.util.function.IntFunction;
+
+/**
+ * Shortest and longest distances from one source, computed together over dense vertex ids.
+ *
+ * Both distance results share the source and the topological order. The critical path is
+ * the longest path from the source, ending at the farthest reachable vertex.
+ */
+public record DAGPathAnalysis(
+        int source,
+        int[] order,
+        DAGDistanceResult shortest,
+        DAGDistanceResult longest,
+        int[] criticalPath,
+        double criticalPathLength,
+        DAGPathMetrics metrics
+) {
+    public boolean isReachable(int vertex) {
+        return shortest.isReachable(vertex);
+    }
+
+    @Override
+    public String toString() {
+        return format(Integer::valueOf);
+    }
+
+    /**
+     * Formats the analysis with every vertex id replaced by its label, listing the distances
+     * of each vertex in topological order.
+     */
+    public String format(IntFunction<?> labelOf) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("DAG Path Analysis:\n");
+        sb.append("  Source: ").append(labelOf.apply(source)).append("\n");
+        sb.append("  Distances (shortest / longest):\n");
+        for (int v : order) {
+            sb.append("    ").append(labelOf.apply(v)).append(": ");
+            if (isReachable(v)) {
+                sb.append(shortest.distances()[v]).append(" / ").append(longest.distances()[v]).append("\n");
+            } else {
+                sb.append("unreachable\n");
+            }
+        }
+        sb.append("  Critical Path Length: ").append(criticalPathLength).append("\n");
+        StringJoiner path = new StringJoiner(", ", "[", "]");
+        for (int v : criticalPath) {
+            path.add(String.valueOf(labelOf.apply(v)));
+        }
+        sb.append("  Critical Path: ").append(path).append("\n");
+        sb.append(metrics.getSummary());
+        return sb.toString();
+    }
+}
@@ -0,0 +1,295 @@
+package algorithms.assignment.dag_profile;
+
+import algorithms.assignment.dag_profile.result.ParallelismProfile;
+import algorithms.assignment.dag_profile.result.ProfileMetrics;
+import algorithms.assignment.graph.EdgeCursor;
+import algorithms.assignment.graph.Graph;
+import algorithms.assignment.graph.IntGraph;
+import algorithms.assignment.metrics.MetricsRegistry;
+import algorithms.assignment.metrics.PhaseTimer;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+/**
+ * Computes the {@link ParallelismProfile} of a DAG in O(V + E + buckets).
+ *
+ * Levels come from Kahn's algorithm run frontier by frontier: every vertex of the current
+ * frontier is on the same level, and a successor joins the next frontier when its last
+ * predecessor is done. Wide frontiers are split into chunks processed in parallel, with
+ * in-degrees counted down atomically. A vertex's earliest start is pulled from its
+ * predecessors, which all sit on earlier levels, so no other state is shared. Concurrency
+ * buckets are filled with per-chunk difference arrays that are summed at the end.
+ */
+public final class ParallelismProfiler<T> {
+    /**
+     * Frontiers (and vertex ranges) smaller than this are processed on the calling thread.
+     */
+    private static final int PARALLEL_THRESHOLD = 4096;
+    private static final int CHUNK_SIZE = 2048;
+
+    private final int bucketCount;
+    private final ProfileMetrics metrics = new ProfileMetrics();
+
+    public ParallelismProfiler() {
+        this(100);
+    }
+
+    /**
+     * @param bucketCount number of time buckets in the concurrency curve
+     */
+    public ParallelismProfiler(int bucketCount) {
+        if (bucketCount <= 0) {
+            throw new IllegalArgumentException("bucketCount must be positive");
+        }
+        this.bucketCount = bucketCount;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the graph has a cycle
+     */
+    public ParallelismProfile profile(Graph<T> graph) {
+        return profile(graph.getForwardAdjacency(), graph.getReverseAdjacency());
+    }
+
+    /**
+     * Profiles an id-based graph; {@code reverse} must hold the same edges flipped.
+     *
+     * @throws IllegalArgumentException if the graph has a cycle
+     */
+    public ParallelismProfile profile(IntGraph forward, IntGraph reverse) {
+        int n = forward.vertexCount();
+        if (reverse.vertexCount() != n || reverse.edgeCount() != forward.edgeCount()) {
+            throw new IllegalArgumentException("Reverse graph does not match the forward graph");
+        }
+        metrics.reset();
+        metrics.startTimer();
+
+        int[] levels = new int[n];
+        double[] starts = new double[n];
+        double[] durations = new double[n];
+        int[] levelWidths;
+        try (PhaseTimer ignored = PhaseTimer.start("parallelism_profile", "levels", n, forward.edgeCount())) {
+            levelWidths = assignLevels(forward, reverse, levels, starts, durations);
+        }
+        int maxWidth = 0;
+        for (int width : levelWidths) {
+            maxWidth = Math.max(maxWidth, width);
+        }
+
+        double timelineStart = 0.0;
+        double makespan = 0.0;
+        for (int v = 0; v < n; v++) {
+            timelineStart = Math.min(timelineStart, starts[v]);
+            makespan = Math.max(makespan, starts[v] + durations[v]);
+        }
+        double bucketWidth = (makespan - timelineStart) / bucketCount;
+        double[] concurrency;
+        try (PhaseTimer ignored = PhaseTimer.start("parallelism_profile", "concurrency", n, forward.edgeCount())) {
+            concurrency = concurrency(starts, durations, timelineStart, bucketWidth);
+        }
+
+        metrics.addToCounter("vertices", n);
+        metrics.addToCounter("levels", levelWidths.length);
+        metrics.addToCounter("max_width", maxWidth);
+        metrics.stopTimer();
+        MetricsRegistry.getDefault().record("parallelism_profile", metrics);
+        return new ParallelismProfile(levels, levelWidths, maxWidth, starts, timelineStart, makespan,
+                bucketWidth, concurrency, metrics);
+    }
+
+    public ProfileMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * @return the width of every level
+     */
+    private int[] assignLevels(IntGraph forward, IntGraph reverse, int[] levels, double[] starts, double[] durations) {
+        int n = forward.vertexCount();
+        AtomicIntegerArray remaining = new AtomicIntegerArray(n);
+        int[] frontier = new int[n];
+        int[] next = new int[n];
+        int size = 0;
+        for (int v = 0; v < n; v++) {
+            int inDegree = reverse.degree(v);
+            remaining.set(v, inDegree);
+            if (inDegree == 0) {
+                frontier[size++] = v;
+            }
+        }
+
+        int[] widths = new int[16];
+        int level = 0;
+        int processed = 0;
+        long edgesExamined = 0;
+        long parallelLevels = 0;
+        Expansion sequential = new Expansion(forward, reverse, remaining, levels, starts, durations, next);
+
+        while (size > 0) {
+            if (level == widths.length) {
+                widths = Arrays.copyOf(widths, level * 2);
+            }
+            widths[level] = size;
+            processed += size;
+
+            int nextSize;
+            if (size < PARALLEL_THRESHOLD) {
+                sequential.size = 0;
+                sequential.edgesExamined = 0;
+                sequential.expand(frontier, 0, size, level);
+                nextSize = sequential.size;
+                edgesExamined += sequential.edgesExamined;
+            } else {
+                parallelLevels++;
+                int[] current = frontier;
+                int currentLevel = level;
+                int chunks = (size + CHUNK_SIZE - 1) / CHUNK_SIZE;
+                int frontierSize = size;
+                List<Expansion> parts = IntStream.range(0, chunks).parallel().mapToObj(chunk -> {
+                    Expansion part = new Expansion(forward, reverse, remaining, levels, starts, durations,
+                            new int[CHUNK_SIZE]);
+                    part.expand(current, chunk * CHUNK_SIZE, Math.min(frontierSize, (chunk + 1) * CHUNK_SIZE),
+                            currentLevel);
+                    return part;
+                }).toList();
+                nextSize = 0;
+                for (Expansion part : parts) {
+                    System.arraycopy(part.next, 0, next, nextSize, part.size);
+                    nextSize += part.size;
+                    edgesExamined += part.edgesExamined;
+                }
+            }
+
+            int[] swap = frontier;
+            frontier = next;
+            next = swap;
+            sequential.next = next;
+            size = nextSize;
+            level++;
+        }
+
+        if (processed != n) {
+            throw new IllegalArgumentException("Graph contains a cycle");
+        }
+        metrics.addToCounter("edges_examined", edgesExamined);
+        metrics.addToCounter("parallel_levels", parallelLevels);
+        return Arrays.copyOf(widths, level);
+    }
+
+    /**
+     * Average number of busy vertices per bucket. A vertex adds its exact overlap to the
+     * buckets where it starts and ends and one unit to a difference array for the buckets
+     * it covers completely.
+     */
+    private double[] concurrency(double[] starts, double[] durations, double timelineStart, double bucketWidth) {
+        double[] concurrency = new double[bucketCount];
+        if (bucketWidth <= 0.0) {
+            return concurrency;
+        }
+        int n = starts.length;
+        int chunks = (n + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        IntStream range = IntStream.range(0, chunks);
+        if (n >= PARALLEL_THRESHOLD) {
+            range = range.parallel();
+        }
+
+        // busy[0, bucketCount) holds partial overlaps, busy[bucketCount, 2 * bucketCount + 1) the differences
+        double[] busy = range.mapToObj(chunk -> {
+            double[] local = new double[2 * bucketCount + 1];
+            for (int v = chunk * CHUNK_SIZE, end = Math.min(n, (chunk + 1) * CHUNK_SIZE); v < end; v++) {
+                if (durations[v] <= 0.0) {
+                    continue;
+                }
+                double from = (starts[v] - timelineStart) / bucketWidth;
+                double to = from + durations[v] / bucketWidth;
+                int first = Math.min(bucketCount - 1, (int) from);
+                int last = Math.min(bucketCount - 1, (int) to);
+                if (first == last) {
+                    local[first] += to - from;
+                } else {
+                    local[first] += first + 1 - from;
+                    local[last] += to - last;
+                    local[bucketCount + first + 1]++;
+                    local[bucketCount + last]--;
+                }
+            }
+            return local;
+        }).reduce(new double[2 * bucketCount + 1], (a, b) -> {
+            double[] sum = new double[a.length];
+            for (int i = 0; i < a.length; i++) {
+                sum[i] = a[i] + b[i];
+            }
+            return sum;
+        });
+
+        double covering = 0.0;
+        for (int b = 0; b < bucketCount; b++) {
+            covering += busy[bucketCount + b];
+            concurrency[b] = busy[b] + covering;
+        }
+        return concurrency;
+    }
+
+    /**
+     * Expands a slice of a frontier: assigns levels, pulls earliest starts from predecessors
+     * and collects the successors that became ready.
+     */
+    private static final class Expansion {
+        private final EdgeCursor forward;
+        private final EdgeCursor reverse;
+        private final IntGraph reverseGraph;
+        private final AtomicIntegerArray remaining;
+        private final int[] levels;
+        private final double[] starts;
+        private final double[] durations;
+        private int[] next;
+        private int size;
+        private long edgesExamined;
+
+        Expansion(IntGraph forward, IntGraph reverse, AtomicIntegerArray remaining,
+                  int[] levels, double[] starts, double[] durations, int[] next) {
+            this.forward = forward.cursor();
+            this.reverse = reverse.cursor();
+            this.reverseGraph = reverse;
+            this.remaining = remaining;
+            this.levels = levels;
+            this.starts = starts;
+            this.durations = durations;
+            this.next = next;
+        }
+
+        void expand(int[] frontier, int from, int to, int level) {
+            for (int i = from; i < to; i++) {
+                int v = frontier[i];
+                levels[v] = level;
+
+                double start = reverseGraph.degree(v) == 0 ? 0.0 : Double.NEGATIVE_INFINITY;
+                reverse.reset(v);
+                while (reverse.hasNext()) {
+                    int u = reverse.next();
+                    start = Math.max(start, starts[u] + reverse.weight());
+                    edgesExamined++;
+                }
+                starts[v] = start;
+
+                double duration = 0.0;
+                forward.reset(v);
+                while (forward.hasNext()) {
+                    int w = forward.next();
+                    duration = Math.max(duration, forward.weight());
+                    edgesExamined++;
+                    if (remaining.decrementAndGet(w) == 0) {
+                        if (size == next.length) {
+                            next = Arrays.copyOf(next, size * 2);
+                        }
+                        next[size++] = w;
+                    }
+                }
+                durations[v] = duration;
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package algorithms.assignment.dag_profile.result;
+
+import java.util.Arrays;
+
+/**
+ * Level structure and concurrency over time of a DAG.
+ *
+ * {@code levels[v]} is the number of edges on the longest path ending at {@code v}, so all
+ * vertices of one level can run at the same time once the previous levels are done;
+ * {@code levelWidths[l]} counts the vertices on level {@code l}.
+ *
+ * On the time axis a vertex starts at {@code earliestStarts[v]} (its longest weighted
+ * distance from any source) and stays busy for its largest outgoing edge weight.
+ * {@code concurrency[b]} is the average number of busy vertices during bucket {@code b},
+ * which covers {@code [timelineStart + b * bucketWidth, timelineStart + (b + 1) * bucketWidth)}.
+ */
+public record ParallelismProfile(
+        int[] levels,
+        int[] levelWidths,
+        int maxWidth,
+        double[] earliestStarts,
+        double timelineStart,
+        double makespan,
+        double bucketWidth,
+        double[] concurrency,
+        ProfileMetrics metrics
+) {
+    /**
+     * Number of levels, i.e. the vertex count of the longest path.
+     */
+    public int depth() {
+        return levelWidths.length;
+    }
+
+    /**
+     * Average number of vertices per level: the speedup unbounded workers could reach
+     * if every vertex took the same time.
+     */
+    public double averageWidth() {
+        return depth() == 0 ? 0.0 : (double) levels.length / depth();
+    }
+
+    public double peakConcurrency() {
+        double peak = 0.0;
+        for (double c : concurrency) {
+            peak = Math.max(peak, c);
+        }
+        return peak;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Parallelism Profile:\n");
+        sb.append("  Depth: ").append(depth()).append("\n");
+        sb.append("  Max Width: ").append(maxWidth).append("\n");
+        sb.append("  Level Widths: ").append(Arrays.toString(levelWidths)).append("\n");
+        sb.append("  Makespan: ").append(makespan - timelineStart).append("\n");
+        sb.append("  Concurrency: ").append(Arrays.toString(concurrency)).append("\n");
+        sb.append(metrics.getSummary());
+        return sb.toString();
+    }
+}
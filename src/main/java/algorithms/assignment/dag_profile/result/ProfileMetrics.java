@@ -0,0 +1,12 @@
+package algorithms.assignment.dag_profile.result;
+
+import algorithms.assignment.metrics.AbstractMetrics;
+
+/**
+ * Metrics for DAG parallelism profiling.
+ */
+public final class ProfileMetrics extends AbstractMetrics {
+    public ProfileMetrics() {
+        super("Profile");
+    }
+}
@@ -1,5 +1,6 @@
 package algorithms.assignment.data;
 
+import algorithms.assignment.graph.AdjacencyIndex;
 import algorithms.assignment.graph.Graph;
 import algorithms.assignment.graph.Vertex;
 import org.json.JSONArray;
@@ -11,6 +12,13 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Reads datasets from a JSON file.
+ *
+ * Labels are interned into a {@link SymbolTable} as they are read, and edges are collected as
+ * parallel id arrays, so each endpoint is resolved exactly once. Vertices are added to the
+ * graph in symbol order, which makes every vertex's graph id equal its symbol id.
+ */
 public final class DatasetParser {
     public record GraphDataset<T>(
             int id,
@@ -28,42 +36,104 @@ public final class DatasetParser {
             }
         }
 
+    /**
+     * A dataset kept entirely by id: labels live only in the symbol table and edges only in
+     * the primitive adjacency index, without any per-vertex or per-edge objects.
+     */
+    public record IndexedDataset(
+            int id,
+            String category,
+            String description,
+            boolean cyclic,
+            SymbolTable symbols,
+            AdjacencyIndex adjacency
+    ) {
+        @Override
+        public String toString() {
+            return "Dataset " + id +
+                    " (" + category + "): " + description +
+                    " | cyclic=" + cyclic +
+                    " | vertices=" + symbols.size();
+        }
+    }
+
     public static List<GraphDataset<String>> parse(String filePath) throws IOException {
         List<GraphDataset<String>> datasets = new ArrayList<>();
 
+        for (JSONObject ds : readDatasets(filePath)) {
+            EdgeList edges = readEdges(ds);
+
+            Graph<String> graph = new Graph<>();
+            for (int v = 0; v < edges.symbols().size(); v++) {
+                graph.addVertex(new Vertex<>(edges.symbols().label(v)));
+            }
+            for (int e = 0; e < edges.sources().length; e++) {
+                graph.addEdgeById(edges.sources()[e], edges.targets()[e], edges.weights()[e]);
+            }
+
+            datasets.add(new GraphDataset<>(ds.getInt("id"), ds.getString("category"),
+                    ds.getString("description"), ds.getBoolean("cyclic"), graph));
+        }
+
+        return datasets;
+    }
+
+    /**
+     * Parses datasets straight into id-based form, for inputs too large for {@link Graph}.
+     */
+    public static List<IndexedDataset> parseIndexed(String filePath) throws IOException {
+        List<IndexedDataset> datasets = new ArrayList<>();
+
+        for (JSONObject ds : readDatasets(filePath)) {
+            EdgeList edges = readEdges(ds);
+            AdjacencyIndex adjacency = AdjacencyIndex.fromEdges(edges.symbols().size(),
+                    edges.sources(), edges.targets(), edges.weights(), edges.sources().length);
+
+            datasets.add(new IndexedDataset(ds.getInt("id"), ds.getString("category"),
+                    ds.getString("description"), ds.getBoolean("cyclic"), edges.symbols(), adjacency));
+        }
+
+        return datasets;
+    }
+
+    private record EdgeList(SymbolTable symbols, int[] sources, int[] targets, int[] weights) {
+    }
+
+    private static List<JSONObject> readDatasets(String filePath) throws IOException {
+        List<JSONObject> datasets = new ArrayList<>();
         try (FileInputStream fis = new FileInputStream(filePath)) {
             JSONObject root = new JSONObject(new JSONTokener(fis));
             JSONArray datasetArray = root.getJSONArray("datasets");
-
             for (int i = 0; i < datasetArray.length(); i++) {
-                JSONObject ds = datasetArray.getJSONObject(i);
-
-                int id = ds.getInt("id");
-                String category = ds.getString("category");
-                String description = ds.getString("description");
-                boolean cyclic = ds.getBoolean("cyclic");
-
-                JSONArray verticesArray = ds.getJSONArray("vertices");
-                JSONArray edgesArray = ds.getJSONArray("edges");
-
-                Graph<String> graph = new Graph<>();
-                for (int v = 0; v < verticesArray.length(); v++) {
-                    String vertexLabel = verticesArray.getString(v);
-                    graph.addVertex(new Vertex<>(vertexLabel));
-                }
-
-                for (int e = 0; e < edgesArray.length(); e++) {
-                    JSONArray edgeArray = edgesArray.getJSONArray(e);
-                    String from = edgeArray.getString(0);
-                    String to = edgeArray.getString(1);
-                    int weight = edgeArray.length() > 2 ? edgeArray.getInt(2) : 1;
-                    graph.addEdge(from, to, weight);
-                }
-
-                datasets.add(new GraphDataset<>(id, category, description, cyclic, graph));
+                datasets.add(datasetArray.getJSONObject(i));
             }
         }
-
         return datasets;
     }
-}
\ No newline at end of file
+
+    private static EdgeList readEdges(JSONObject ds) {
+        JSONArray verticesArray = ds.getJSONArray("vertices");
+        JSONArray edgesArray = ds.getJSONArray("edges");
+
+        SymbolTable symbols = new SymbolTable();
+        for (int v = 0; v < verticesArray.length(); v++) {
+            symbols.intern(verticesArray.getString(v));
+        }
+
+        int m = edgesArray.length();
+        int[] sources = new int[m];
+        int[] targets = new int[m];
+        int[] weights = new int[m];
+        for (int e = 0; e < m; e++) {
+            JSONArray edgeArray = edgesArray.getJSONArray(e);
+            sources[e] = symbols.idOf(edgeArray.getString(0));
+            targets[e] = symbols.idOf(edgeArray.getString(1));
+            weights[e] = edgeArray.length() > 2 ? edgeArray.getInt(2) : 1;
+            if (sources[e] == -1 || targets[e] == -1) {
+                throw new IllegalArgumentException("Both vertices must exist before adding edge");
+            }
+        }
+
+        return new EdgeList(symbols, sources, targets, weights);
+    }
+}
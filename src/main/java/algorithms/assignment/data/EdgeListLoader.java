@@ -0,0 +1,434 @@
+package algorithms.assignment.data;
+
+import algorithms.assignment.data.result.LoadMetrics;
+import algorithms.assignment.graph.AdjacencyIndex;
+import algorithms.assignment.graph.Graph;
+import algorithms.assignment.graph.Vertex;
+import algorithms.assignment.metrics.MetricsRegistry;
+import algorithms.assignment.metrics.PhaseTimer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Loads {@code from,to[,weight]} edge lists (comma- or tab-separated) in parallel.
+ *
+ * 1. The file is split into chunks of roughly {@code chunkBytes}, moved forward to the next
+ *    line break, and every chunk is memory-mapped separately, so files far beyond 2 GB work.
+ * 2. Chunks are parsed concurrently. Each keeps a thread-local open-addressing table keyed by
+ *    the label bytes in the mapping, so a {@code String} is only created for a label's first
+ *    occurrence in that chunk.
+ * 3. Local tables are merged into one {@link SymbolTable} in chunk order, so ids follow first
+ *    sight in the file exactly as with a sequential reader, and edge ids are remapped in parallel.
+ * 4. A counting sort by source builds the {@link AdjacencyIndex}, keeping each source's edges
+ *    in file order.
+ *
+ * Blank lines and lines starting with {@code #} are skipped; a missing weight defaults to 1.
+ */
+public final class EdgeListLoader {
+    /**
+     * An edge list loaded by id: labels in the symbol table, edges in the index.
+     */
+    public record LoadedGraph(SymbolTable symbols, AdjacencyIndex adjacency) {
+        /**
+         * Builds an object graph whose vertex ids equal the symbol ids.
+         */
+        public Graph<String> toGraph() {
+            Graph<String> graph = new Graph<>();
+            for (int v = 0; v < symbols.size(); v++) {
+                graph.addVertex(new Vertex<>(symbols.label(v)));
+            }
+            for (int v = 0; v < adjacency.vertexCount(); v++) {
+                for (int i = adjacency.start(v), end = adjacency.end(v); i < end; i++) {
+                    graph.addEdgeById(v, adjacency.target(i), adjacency.weight(i));
+                }
+            }
+            return graph;
+        }
+    }
+
+    private final int parallelism;
+    private final long chunkBytes;
+    private final boolean hasHeader;
+    private final LoadMetrics metrics = new LoadMetrics();
+
+    public EdgeListLoader() {
+        this(Runtime.getRuntime().availableProcessors(), 64L << 20, false);
+    }
+
+    /**
+     * @param parallelism number of chunks parsed at the same time
+     * @param chunkBytes  target chunk size; chunks end at the first line break after it
+     * @param hasHeader   whether the first line is a header to skip
+     */
+    public EdgeListLoader(int parallelism, long chunkBytes, boolean hasHeader) {
+        if (parallelism <= 0 || chunkBytes <= 0) {
+            throw new IllegalArgumentException("parallelism and chunkBytes must be positive");
+        }
+        this.parallelism = parallelism;
+        this.chunkBytes = Math.min(chunkBytes, Integer.MAX_VALUE / 2);
+        this.hasHeader = hasHeader;
+    }
+
+    public LoadedGraph load(Path file) throws IOException {
+        metrics.reset();
+        metrics.startTimer();
+
+        List<Chunk> chunks = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long[] bounds = lineBounds(channel, size);
+            metrics.addToCounter("bytes_read", size);
+            metrics.addToCounter("chunks", bounds.length - 1);
+
+            try (PhaseTimer ignored = PhaseTimer.start("edge_list_load", "parse", 0, 0)) {
+                List<Future<Chunk>> futures = new ArrayList<>();
+                for (int k = 0; k + 1 < bounds.length; k++) {
+                    MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY,
+                            bounds[k], bounds[k + 1] - bounds[k]);
+                    boolean skipFirstLine = hasHeader && k == 0;
+                    long base = bounds[k];
+                    futures.add(executor.submit(() -> new ChunkParser(buffer, base).parse(skipFirstLine)));
+                }
+                for (Future<Chunk> future : futures) {
+                    chunks.add(await(future));
+                }
+            }
+
+            SymbolTable symbols = new SymbolTable();
+            int[] offsets = new int[chunks.size() + 1];
+            List<int[]> remaps = new ArrayList<>();
+            try (PhaseTimer ignored = PhaseTimer.start("edge_list_load", "merge_symbols", 0, 0)) {
+                for (int k = 0; k < chunks.size(); k++) {
+                    Chunk chunk = chunks.get(k);
+                    int[] remap = new int[chunk.labels.length];
+                    for (int local = 0; local < remap.length; local++) {
+                        remap[local] = symbols.intern(chunk.labels[local]);
+                    }
+                    remaps.add(remap);
+                    long total = (long) offsets[k] + chunk.edgeCount;
+                    if (total > Integer.MAX_VALUE - 8) {
+                        throw new IllegalArgumentException("Edge list has more than " + (Integer.MAX_VALUE - 8) + " edges");
+                    }
+                    offsets[k + 1] = (int) total;
+                }
+            }
+
+            int edgeCount = offsets[chunks.size()];
+            int[] sources = new int[edgeCount];
+            int[] targets = new int[edgeCount];
+            int[] weights = new int[edgeCount];
+            try (PhaseTimer ignored = PhaseTimer.start("edge_list_load", "remap", symbols.size(), edgeCount)) {
+                List<Future<Chunk>> futures = new ArrayList<>();
+                for (int k = 0; k < chunks.size(); k++) {
+                    Chunk chunk = chunks.get(k);
+                    int[] remap = remaps.get(k);
+                    int offset = offsets[k];
+                    futures.add(executor.submit(() -> {
+                        for (int e = 0; e < chunk.edgeCount; e++) {
+                            sources[offset + e] = remap[chunk.sources[e]];
+                            targets[offset + e] = remap[chunk.targets[e]];
+                        }
+                        System.arraycopy(chunk.weights, 0, weights, offset, chunk.edgeCount);
+                        return chunk;
+                    }));
+                }
+                for (Future<Chunk> future : futures) {
+                    await(future);
+                }
+            }
+            chunks.clear();
+
+            AdjacencyIndex adjacency;
+            try (PhaseTimer ignored = PhaseTimer.start("edge_list_load", "build_index", symbols.size(), edgeCount)) {
+                adjacency = AdjacencyIndex.fromEdges(symbols.size(), sources, targets, weights, edgeCount);
+            }
+
+            metrics.addToCounter("vertices", symbols.size());
+            metrics.addToCounter("edges", edgeCount);
+            metrics.stopTimer();
+            MetricsRegistry.getDefault().record("edge_list_load", metrics);
+            return new LoadedGraph(symbols, adjacency);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    public LoadMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Splits the file at the first line break at or after every multiple of {@code chunkBytes}.
+     */
+    private long[] lineBounds(FileChannel channel, long size) throws IOException {
+        List<Long> bounds = new ArrayList<>();
+        bounds.add(0L);
+        ByteBuffer probe = ByteBuffer.allocate(4096);
+        long next = chunkBytes;
+        while (next < size) {
+            long boundary = -1;
+            long pos = next;
+            while (boundary == -1 && pos < size) {
+                probe.clear();
+                int read = channel.read(probe, pos);
+                for (int i = 0; i < read && boundary == -1; i++) {
+                    if (probe.get(i) == '\n') {
+                        boundary = pos + i + 1;
+                    }
+                }
+                pos += Math.max(read, 0);
+            }
+            if (boundary == -1 || boundary >= size) {
+                break;
+            }
+            bounds.add(boundary);
+            next = boundary + chunkBytes;
+        }
+        bounds.add(size);
+        return bounds.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static Chunk await(Future<Chunk> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while loading edge list", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    /**
+     * Edges of one chunk over chunk-local label ids.
+     */
+    private static final class Chunk {
+        String[] labels;
+        int[] sources;
+        int[] targets;
+        int[] weights;
+        int edgeCount;
+    }
+
+    /**
+     * Parses one mapped chunk with a local open-addressing table over label byte ranges.
+     */
+    private static final class ChunkParser {
+        private final MappedByteBuffer buffer;
+        private final long base;
+
+        private int[] slots = new int[1024];
+        private int[] labelStart = new int[256];
+        private int[] labelLength = new int[256];
+        private int[] labelHash = new int[256];
+        private int labelCount;
+
+        private int[] sources = new int[1024];
+        private int[] targets = new int[1024];
+        private int[] weights = new int[1024];
+        private int edgeCount;
+
+        ChunkParser(MappedByteBuffer buffer, long base) {
+            this.buffer = buffer;
+            this.base = base;
+        }
+
+        Chunk parse(boolean skipFirstLine) {
+            int limit = buffer.limit();
+            int pos = 0;
+            boolean skip = skipFirstLine;
+            while (pos < limit) {
+                int eol = pos;
+                while (eol < limit && buffer.get(eol) != '\n') {
+                    eol++;
+                }
+                int end = eol > pos && buffer.get(eol - 1) == '\r' ? eol - 1 : eol;
+                if (skip) {
+                    skip = false;
+                } else {
+                    parseLine(pos, end);
+                }
+                pos = eol + 1;
+            }
+
+            Chunk chunk = new Chunk();
+            chunk.labels = new String[labelCount];
+            byte[] bytes = new byte[64];
+            for (int id = 0; id < labelCount; id++) {
+                if (bytes.length < labelLength[id]) {
+                    bytes = new byte[labelLength[id]];
+                }
+                buffer.get(labelStart[id], bytes, 0, labelLength[id]);
+                chunk.labels[id] = new String(bytes, 0, labelLength[id], StandardCharsets.UTF_8);
+            }
+            chunk.sources = sources;
+            chunk.targets = targets;
+            chunk.weights = weights;
+            chunk.edgeCount = edgeCount;
+            return chunk;
+        }
+
+        private void parseLine(int start, int end) {
+            start = skipSpaces(start, end);
+            if (start == end || buffer.get(start) == '#') {
+                return;
+            }
+
+            int first = delimiter(start, end);
+            if (first == end) {
+                throw malformed(start);
+            }
+            int second = delimiter(first + 1, end);
+
+            int from = intern(start, first);
+            int to = intern(first + 1, second);
+            int weight = second < end ? parseInt(second + 1, end) : 1;
+            if (from == -1 || to == -1) {
+                throw malformed(start);
+            }
+
+            if (edgeCount == sources.length) {
+                sources = Arrays.copyOf(sources, edgeCount * 2);
+                targets = Arrays.copyOf(targets, edgeCount * 2);
+                weights = Arrays.copyOf(weights, edgeCount * 2);
+            }
+            sources[edgeCount] = from;
+            targets[edgeCount] = to;
+            weights[edgeCount] = weight;
+            edgeCount++;
+        }
+
+        /**
+         * Gets the local id of the trimmed label in {@code [start, end)}, or -1 if it is empty.
+         */
+        private int intern(int start, int end) {
+            start = skipSpaces(start, end);
+            while (end > start && isSpace(buffer.get(end - 1))) {
+                end--;
+            }
+            int length = end - start;
+            if (length == 0) {
+                return -1;
+            }
+
+            int hash = 0x811C9DC5;
+            for (int i = start; i < end; i++) {
+                hash = (hash ^ buffer.get(i)) * 0x01000193;
+            }
+
+            int mask = slots.length - 1;
+            int slot = hash & mask;
+            while (slots[slot] != 0) {
+                int id = slots[slot] - 1;
+                if (labelHash[id] == hash && labelLength[id] == length && sameBytes(labelStart[id], start, length)) {
+                    return id;
+                }
+                slot = (slot + 1) & mask;
+            }
+
+            int id = labelCount++;
+            if (id == labelStart.length) {
+                labelStart = Arrays.copyOf(labelStart, id * 2);
+                labelLength = Arrays.copyOf(labelLength, id * 2);
+                labelHash = Arrays.copyOf(labelHash, id * 2);
+            }
+            labelStart[id] = start;
+            labelLength[id] = length;
+            labelHash[id] = hash;
+            slots[slot] = id + 1;
+            if (labelCount * 2 > slots.length) {
+                rehash();
+            }
+            return id;
+        }
+
+        private void rehash() {
+            slots = new int[slots.length * 2];
+            int mask = slots.length - 1;
+            for (int id = 0; id < labelCount; id++) {
+                int slot = labelHash[id] & mask;
+                while (slots[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                slots[slot] = id + 1;
+            }
+        }
+
+        private boolean sameBytes(int a, int b, int length) {
+            for (int i = 0; i < length; i++) {
+                if (buffer.get(a + i) != buffer.get(b + i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private int parseInt(int start, int end) {
+            start = skipSpaces(start, end);
+            while (end > start && isSpace(buffer.get(end - 1))) {
+                end--;
+            }
+            boolean negative = start < end && buffer.get(start) == '-';
+            int pos = negative || (start < end && buffer.get(start) == '+') ? start + 1 : start;
+            if (pos == end) {
+                throw malformed(start);
+            }
+            long value = 0;
+            for (; pos < end; pos++) {
+                int digit = buffer.get(pos) - '0';
+                if (digit < 0 || digit > 9) {
+                    throw malformed(start);
+                }
+                value = value * 10 + digit;
+                if (value > Integer.MAX_VALUE + 1L) {
+                    throw malformed(start);
+                }
+            }
+            value = negative ? -value : value;
+            if (value > Integer.MAX_VALUE) {
+                throw malformed(start);
+            }
+            return (int) value;
+        }
+
+        private int delimiter(int start, int end) {
+            int pos = start;
+            while (pos < end && buffer.get(pos) != ',' && buffer.get(pos) != '\t') {
+                pos++;
+            }
+            return pos;
+        }
+
+        private int skipSpaces(int start, int end) {
+            while (start < end && isSpace(buffer.get(start))) {
+                start++;
+            }
+            return start;
+        }
+
+        private static boolean isSpace(byte b) {
+            return b == ' ' || b == '\r';
+        }
+
+        private IllegalArgumentException malformed(int position) {
+            return new IllegalArgumentException("Malformed edge at byte " + (base + position));
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package algorithms.assignment.data;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Interns vertex labels and assigns them dense int ids in order of first sight.
+ *
+ * The table holds the only copy of each label; everything downstream refers to vertices by id.
+ */
+public final class SymbolTable {
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> labels = new ArrayList<>();
+
+    /**
+     * Gets the id of a label, assigning the next free id if it has not been seen before.
+     */
+    public int intern(String label) {
+        Integer id = ids.get(label);
+        if (id != null) {
+            return id;
+        }
+        int next = labels.size();
+        ids.put(label, next);
+        labels.add(label);
+        return next;
+    }
+
+    /**
+     * Gets the id of a label, or -1 if it has not been interned.
+     */
+    public int idOf(String label) {
+        return ids.getOrDefault(label, -1);
+    }
+
+    public String label(int id) {
+        return labels.get(id);
+    }
+
+    public int size() {
+        return labels.size();
+    }
+
+    /**
+     * Gets all labels, indexed by id.
+     */
+    public List<String> labels() {
+        return List.copyOf(labels);
+    }
+}
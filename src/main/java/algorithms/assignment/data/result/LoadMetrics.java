@@ -0,0 +1,12 @@
+package algorithms.assignment.data.result;
+
+import algorithms.assignment.metrics.AbstractMetrics;
+
+/**
+ * Metrics for dataset loading.
+ */
+public final class LoadMetrics extends AbstractMetrics {
+    public LoadMetrics() {
+        super("Load");
+    }
+}
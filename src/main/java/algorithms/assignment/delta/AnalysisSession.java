@@ -0,0 +1,938 @@
+package algorithms.assignment.delta;
+
+import algorithms.assignment.delta.result.DeltaMetrics;
+import algorithms.assignment.delta.result.DeltaReport;
+import algorithms.assignment.graph.Edge;
+import algorithms.assignment.graph.Graph;
+import algorithms.assignment.graph.Neighbor;
+import algorithms.assignment.graph.Vertex;
+import algorithms.assignment.metrics.MetricsRegistry;
+import algorithms.assignment.metrics.PhaseTimer;
+import algorithms.assignment.strongly_connected_components.PathBasedSCC;
+import algorithms.assignment.util.IndexedDaryHeap;
+
+import java.util.*;
+
+/**
+ * Keeps the strongly connected components of a graph, a topological order of its
+ * condensation and the critical-path distances up to date while {@link GraphDelta}s are
+ * applied to the graph in place, instead of rerunning the whole pipeline after every change.
+ *
+ * Components are ordered by sparse labels, and every component owns the label range up to
+ * its successor's, so a component that splits places its parts inside its own range without
+ * moving anything else. A new edge that contradicts the order is repaired locally
+ * (Pearce-Kelly) by permuting the labels of the components between its endpoints; if it
+ * closes a cycle, the components on the cycle are merged. Removing an edge or a vertex inside
+ * a component only marks it, and once the whole delta is applied every marked component is
+ * re-run through a path-based SCC restricted to its own members. Last, the components whose
+ * incoming edges changed, and whatever lies downstream of a changed distance, are re-relaxed
+ * in label order.
+ *
+ * Distances are those of {@code DAGPathFinder#criticalDistances} on the condensation: the
+ * heaviest chain of edges between components that ends in a component, and 0 for components
+ * without predecessors.
+ *
+ * Changes must go through {@link #apply} so the predecessor lists stay in sync with the graph.
+ */
+public final class AnalysisSession<T> {
+    /**
+     * Label range given to every component by a full relabelling.
+     */
+    static final long SPAN = 1L << 31;
+
+    private static final int ASSIGNED = -1;
+
+    private final Graph<T> graph;
+    private final DeltaMetrics metrics = new DeltaMetrics();
+    private final List<List<Neighbor<T>>> incoming = new ArrayList<>();
+    private final List<Iterator<Neighbor<T>>> iterators = new ArrayList<>();
+
+    // Per vertex id
+    private int n;
+    private int edgeCount;
+    private int[] componentOf = new int[0];
+    private int[] slotOf = new int[0];
+    private int[] preorder = new int[0];
+    private int[] stack = new int[0];
+    private int[] boundaries = new int[0];
+    private int[] callStack = new int[0];
+
+    // Per component id; a freed id has null members and is reused
+    private int componentLimit;
+    private int liveComponents;
+    private int[][] members = new int[0][];
+    private int[] memberCount = new int[0];
+    private long[] label = new long[0];
+    private long[] span = new long[0];
+    private double[] distance = new double[0];
+    private int[] parent = new int[0];
+    private boolean[] needsSplit = new boolean[0];
+    private int[] touchedIn = new int[0];
+    private int[] seededIn = new int[0];
+    private int[] forcedIn = new int[0];
+    private int[] changedIn = new int[0];
+    private int[] forwardMark = new int[0];
+    private int[] backwardMark = new int[0];
+    private int[] forwardSet = new int[0];
+    private int[] backwardSet = new int[0];
+    private int[] componentStack = new int[0];
+    private int[] free = new int[0];
+    private int freeCount;
+    private IndexedDaryHeap byLabel;
+    private long nextLabel;
+
+    // Per delta
+    private int deltaEpoch;
+    private int searchEpoch;
+    private int[] seeds = new int[16];
+    private int seedCount;
+    private int[] splitQueue = new int[16];
+    private int splitCount;
+    private int[] changed = new int[16];
+    private int changedCount;
+
+    private long verticesVisited;
+    private long edgesExamined;
+    private int componentsAffected;
+    private int componentsMerged;
+    private int componentsSplit;
+    private int componentsReordered;
+    private int componentsRelaxed;
+
+    /**
+     * Analyses the graph in full; later deltas are applied incrementally.
+     */
+    public AnalysisSession(Graph<T> graph) {
+        this.graph = graph;
+        this.n = graph.getVertexCount();
+        this.edgeCount = graph.getEdgeCount();
+        ensureVertexCapacity(n);
+        begin();
+
+        for (int v = 0; v < n; v++) {
+            incoming.add(new ArrayList<>());
+        }
+        for (int v = 0; v < n; v++) {
+            Vertex<T> vertex = graph.getVertexById(v);
+            for (Neighbor<T> neighbor : vertex.getNeighbors()) {
+                incoming.get(neighbor.vertex().getId()).add(new Neighbor<>(vertex, neighbor.edge()));
+            }
+        }
+
+        PathBasedSCC<T> scc = new PathBasedSCC<>();
+        int count = scc.forEachComponent(graph, (ids, offset, length) -> {
+            int c = newComponent();
+            for (int i = offset; i < offset + length; i++) {
+                addMember(c, ids[i]);
+            }
+        });
+        verticesVisited += scc.getMetrics().getCounter("dfs_calls");
+        edgesExamined += scc.getMetrics().getCounter("edges_examined");
+
+        // Components came out in reverse topological order
+        try (PhaseTimer ignored = PhaseTimer.start("analysis_session", "relax", n, edgeCount)) {
+            for (int c = 0; c < count; c++) {
+                label[c] = (count - 1 - c) * SPAN;
+                span[c] = SPAN;
+            }
+            nextLabel = count * SPAN;
+            for (int c = count - 1; c >= 0; c--) {
+                recompute(c);
+            }
+        }
+        finish(0);
+    }
+
+    /**
+     * Applies a delta to the graph in place and brings the components, their order and the
+     * distances up to date, touching only what the delta affected.
+     *
+     * @throws IllegalArgumentException at the first change that does not fit the graph; the
+     *                                  changes before it stay applied, analysed and recorded
+     * @throws IllegalStateException    if the graph was changed without going through the session
+     */
+    public DeltaReport apply(GraphDelta<T> delta) {
+        if (graph.getVertexCount() != n || graph.getEdgeCount() != edgeCount) {
+            throw new IllegalStateException("Graph was changed outside the analysis session");
+        }
+        begin();
+        int applied = 0;
+        DeltaReport report;
+
+        try (PhaseTimer ignored = PhaseTimer.start("analysis_session", "apply", n, edgeCount)) {
+            for (GraphDelta.Change<T> change : delta.getChanges()) {
+                switch (change.kind()) {
+                    case ADD_VERTEX -> addVertex(change.source());
+                    case REMOVE_VERTEX -> removeVertex(change.source());
+                    case ADD_EDGE -> addEdge(change.source(), change.target(), change.weight());
+                    case REMOVE_EDGE -> removeEdge(change.source(), change.target());
+                    case SET_WEIGHT -> setWeight(change.source(), change.target(), change.weight());
+                }
+                applied++;
+            }
+        } finally {
+            // A failed change still leaves the earlier ones analysed and the run recorded
+            try (PhaseTimer ignored = PhaseTimer.start("analysis_session", "split", n, edgeCount)) {
+                splitMarked();
+            }
+            try (PhaseTimer ignored = PhaseTimer.start("analysis_session", "relax", n, edgeCount)) {
+                relax();
+            }
+            report = finish(applied);
+        }
+        return report;
+    }
+
+    public int getComponentCount() {
+        return liveComponents;
+    }
+
+    public boolean sameComponent(T a, T b) {
+        return componentOf[idOf(a)] == componentOf[idOf(b)];
+    }
+
+    /**
+     * Gets the members of the component that holds a vertex.
+     */
+    public List<T> getComponent(T vertex) {
+        return dataOf(componentOf[idOf(vertex)]);
+    }
+
+    /**
+     * Gets every component in topological order of the condensation. O(C log C).
+     */
+    public List<List<T>> getTopologicalOrder() {
+        List<List<T>> order = new ArrayList<>(liveComponents);
+        for (int c : componentsByLabel()) {
+            order.add(dataOf(c));
+        }
+        return order;
+    }
+
+    /**
+     * Gets the critical-path distance of the component that holds a vertex.
+     */
+    public double getDistance(T vertex) {
+        return distance[componentOf[idOf(vertex)]];
+    }
+
+    /**
+     * Gets the length of the heaviest chain of components, or 0 for an empty graph. O(C).
+     */
+    public double getCriticalPathLength() {
+        int end = criticalEnd();
+        return end == -1 ? 0.0 : distance[end];
+    }
+
+    /**
+     * Gets the components along the heaviest chain, in order. O(C).
+     */
+    public List<List<T>> getCriticalPath() {
+        List<List<T>> path = new ArrayList<>();
+        for (int c = criticalEnd(); c != -1; c = parent[c] == -1 ? -1 : componentOf[parent[c]]) {
+            path.add(dataOf(c));
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    /**
+     * Gets the metrics of the construction or of the last delta.
+     */
+    public DeltaMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Gets what a full run of all three analyses counts on the graph as it is now: one pass
+     * over every vertex and edge for the SCCs and one for the distances.
+     */
+    public long fullRunWork() {
+        return 2L * ((long) n + edgeCount);
+    }
+
+    private void addVertex(T data) {
+        if (graph.getVertex(data) != null) {
+            throw new IllegalArgumentException("Vertex " + data + " already exists");
+        }
+        graph.addVertex(new Vertex<>(data));
+        int v = n++;
+        ensureVertexCapacity(n);
+        incoming.add(new ArrayList<>());
+
+        if (nextLabel > Long.MAX_VALUE - SPAN) {
+            relabel();
+        }
+        int c = newComponent();
+        label[c] = nextLabel;
+        span[c] = SPAN;
+        nextLabel += SPAN;
+        addMember(c, v);
+        touch(c);
+        seed(c, true);
+    }
+
+    private void removeVertex(T data) {
+        Vertex<T> vertex = graph.getVertex(data);
+        if (vertex == null) {
+            throw new IllegalArgumentException("Vertex " + data + " does not exist");
+        }
+        int v = vertex.getId();
+        while (!vertex.getNeighbors().isEmpty()) {
+            removeEdge(vertex, vertex.getNeighbors().get(0).vertex());
+        }
+        List<Neighbor<T>> preds = incoming.get(v);
+        while (!preds.isEmpty()) {
+            removeEdge(preds.get(preds.size() - 1).vertex(), vertex);
+        }
+
+        int c = componentOf[v];
+        touch(c);
+        removeMember(v);
+        if (memberCount[c] == 0) {
+            freeComponent(c);
+        } else {
+            markSplit(c);
+        }
+
+        // The vertex with the highest id takes over v
+        graph.removeVertex(data);
+        int last = --n;
+        if (last != v) {
+            componentOf[v] = componentOf[last];
+            slotOf[v] = slotOf[last];
+            members[componentOf[v]][slotOf[v]] = v;
+            incoming.set(v, incoming.get(last));
+            for (Neighbor<T> out : graph.getVertexById(v).getNeighbors()) {
+                int w = componentOf[out.vertex().getId()];
+                if (parent[w] == last) {
+                    parent[w] = v;
+                }
+            }
+        }
+        incoming.remove(last);
+    }
+
+    private void addEdge(T from, T to, int weight) {
+        Vertex<T> fromVertex = graph.getVertex(from);
+        Vertex<T> toVertex = graph.getVertex(to);
+        if (fromVertex == null || toVertex == null) {
+            throw new IllegalArgumentException("Both vertices must exist before adding edge");
+        }
+        Edge edge = graph.addEdge(from, to, weight);
+        edgeCount++;
+        incoming.get(toVertex.getId()).add(new Neighbor<>(fromVertex, edge));
+
+        int cu = componentOf[fromVertex.getId()];
+        int cv = componentOf[toVertex.getId()];
+        touch(cu);
+        touch(cv);
+        if (cu == cv) {
+            return;
+        }
+        if (label[cu] > label[cv]) {
+            repairOrder(cu, cv);
+        } else {
+            seed(cv, false);
+        }
+    }
+
+    private void removeEdge(T from, T to) {
+        Vertex<T> fromVertex = graph.getVertex(from);
+        Vertex<T> toVertex = graph.getVertex(to);
+        if (fromVertex == null || toVertex == null) {
+            throw new IllegalArgumentException("Both vertices must exist before removing edge");
+        }
+        removeEdge(fromVertex, toVertex);
+    }
+
+    private void removeEdge(Vertex<T> from, Vertex<T> to) {
+        Edge edge = graph.removeEdge(from.getData(), to.getData());
+        edgeCount--;
+        List<Neighbor<T>> preds = incoming.get(to.getId());
+        for (int i = preds.size() - 1; i >= 0; i--) {
+            if (preds.get(i).edge() == edge) {
+                preds.remove(i);
+                break;
+            }
+        }
+
+        int cu = componentOf[from.getId()];
+        int cv = componentOf[to.getId()];
+        touch(cu);
+        touch(cv);
+        if (cu != cv) {
+            seed(cv, false);
+        } else if (from != to) {
+            markSplit(cu);
+        }
+    }
+
+    private void setWeight(T from, T to, int weight) {
+        graph.setEdgeWeight(from, to, weight);
+        int cu = componentOf[graph.getVertex(from).getId()];
+        int cv = componentOf[graph.getVertex(to).getId()];
+        touch(cu);
+        touch(cv);
+        if (cu != cv) {
+            seed(cv, false);
+        }
+    }
+
+    /**
+     * Pearce-Kelly repair for a new edge into {@code cv} from {@code cu}, which is ordered
+     * after it. Only components with labels between the two are searched: those reachable
+     * from cv and those reaching cu swap places, keeping their relative order. If cv reaches
+     * cu the edge closed a cycle, and the components on it merge into one, placed between
+     * the two groups.
+     */
+    private void repairOrder(int cu, int cv) {
+        searchEpoch++;
+        long lower = label[cv];
+        long upper = label[cu];
+        boolean cycle = false;
+
+        int forwardSize = 0;
+        int top = 0;
+        componentStack[top++] = cv;
+        forwardMark[cv] = searchEpoch;
+        while (top > 0) {
+            int c = componentStack[--top];
+            forwardSet[forwardSize++] = c;
+            for (int i = 0; i < memberCount[c]; i++) {
+                verticesVisited++;
+                for (Neighbor<T> out : graph.getVertexById(members[c][i]).getNeighbors()) {
+                    edgesExamined++;
+                    int w = componentOf[out.vertex().getId()];
+                    if (w == cu) {
+                        cycle = true;
+                        forwardMark[cu] = searchEpoch;
+                    } else if (label[w] < upper && forwardMark[w] != searchEpoch) {
+                        forwardMark[w] = searchEpoch;
+                        componentStack[top++] = w;
+                    }
+                }
+            }
+        }
+
+        int backwardSize = 0;
+        componentStack[top++] = cu;
+        backwardMark[cu] = searchEpoch;
+        while (top > 0) {
+            int c = componentStack[--top];
+            backwardSet[backwardSize++] = c;
+            for (int i = 0; i < memberCount[c]; i++) {
+                verticesVisited++;
+                for (Neighbor<T> in : incoming.get(members[c][i])) {
+                    edgesExamined++;
+                    int w = componentOf[in.vertex().getId()];
+                    if (label[w] > lower && backwardMark[w] != searchEpoch) {
+                        backwardMark[w] = searchEpoch;
+                        componentStack[top++] = w;
+                    }
+                }
+            }
+        }
+
+        // Components on a cycle were found by both searches; only cu is missing from the forward set
+        if (cycle) {
+            int kept = 0;
+            for (int i = 0; i < backwardSize; i++) {
+                int c = backwardSet[i];
+                if (c == cu || forwardMark[c] != searchEpoch) {
+                    backwardSet[kept++] = c;
+                }
+            }
+            backwardSize = kept;
+        }
+        sortByLabel(forwardSet, forwardSize);
+        sortByLabel(backwardSet, backwardSize);
+        int slots = forwardSize + backwardSize;
+        long[] slotLabel = new long[slots];
+        long[] slotSpan = new long[slots];
+        for (int i = 0, f = 0, b = 0; i < slots; i++) {
+            int c = b < backwardSize && (f == forwardSize || label[backwardSet[b]] < label[forwardSet[f]])
+                    ? backwardSet[b++]
+                    : forwardSet[f++];
+            slotLabel[i] = label[c];
+            slotSpan[i] = span[c];
+        }
+
+        if (!cycle) {
+            for (int i = 0; i < slots; i++) {
+                int c = i < backwardSize ? backwardSet[i] : forwardSet[i - backwardSize];
+                label[c] = slotLabel[i];
+                span[c] = slotSpan[i];
+                markChanged(c);
+            }
+            componentsReordered += slots;
+            seed(cv, false);
+            return;
+        }
+
+        // On the cycle: reachable from cv and reaching cu
+        backwardMark[cv] = searchEpoch;
+        int merged = cv;
+        for (int i = 0; i < forwardSize; i++) {
+            int c = forwardSet[i];
+            if (backwardMark[c] == searchEpoch && memberCount[c] > memberCount[merged]) {
+                merged = c;
+            }
+        }
+        if (memberCount[cu] > memberCount[merged]) {
+            merged = cu;
+        }
+
+        int slot = 0;
+        for (int i = 0; i < backwardSize; i++) {
+            int c = backwardSet[i];
+            if (forwardMark[c] != searchEpoch) {
+                label[c] = slotLabel[slot];
+                span[c] = slotSpan[slot++];
+            }
+        }
+        label[merged] = slotLabel[slot];
+        span[merged] = slotSpan[slot];
+        slot = slots;
+        for (int i = forwardSize - 1; i >= 0; i--) {
+            int c = forwardSet[i];
+            if (backwardMark[c] != searchEpoch) {
+                label[c] = slotLabel[--slot];
+                span[c] = slotSpan[slot];
+            }
+        }
+        componentsReordered += slots;
+        markChanged(merged);
+        for (int i = 0; i < backwardSize + forwardSize; i++) {
+            markChanged(i < backwardSize ? backwardSet[i] : forwardSet[i - backwardSize]);
+        }
+
+        boolean split = needsSplit[merged];
+        for (int i = 0; i < backwardSize + forwardSize; i++) {
+            int c = i < backwardSize ? backwardSet[i] : forwardSet[i - backwardSize];
+            if (c == merged || members[c] == null || forwardMark[c] != searchEpoch
+                    || backwardMark[c] != searchEpoch) {
+                continue;
+            }
+            split |= needsSplit[c];
+            for (int k = 0; k < memberCount[c]; k++) {
+                verticesVisited++;
+                addMember(merged, members[c][k]);
+            }
+            freeComponent(c);
+            componentsMerged++;
+        }
+        if (split) {
+            markSplit(merged);
+        }
+        seed(merged, true);
+    }
+
+    /**
+     * Re-runs the SCC search inside every component that lost an edge or a vertex.
+     */
+    private void splitMarked() {
+        for (int q = 0; q < splitCount; q++) {
+            int c = splitQueue[q];
+            if (members[c] != null && needsSplit[c]) {
+                needsSplit[c] = false;
+                split(c);
+            }
+        }
+        splitCount = 0;
+    }
+
+    /**
+     * Gabow's path-based search over the members of one component, following only edges
+     * that stay inside it. The parts share the component's label range in topological order.
+     */
+    private void split(int c) {
+        int size = memberCount[c];
+        int[] ids = Arrays.copyOf(members[c], size);
+        int[] grouped = new int[size];
+        int[] partEnd = new int[size];
+        int groupedSize = 0;
+        int parts = 0;
+        int counter = 0;
+        int top = 0;
+        int boundaryTop = 0;
+
+        for (int root : ids) {
+            if (preorder[root] != 0) {
+                continue;
+            }
+            int depth = 0;
+            callStack[depth++] = root;
+            iterators.add(graph.getVertexById(root).getNeighbors().iterator());
+            preorder[root] = ++counter;
+            stack[top++] = root;
+            boundaries[boundaryTop++] = root;
+            verticesVisited++;
+
+            while (depth > 0) {
+                int v = callStack[depth - 1];
+                Iterator<Neighbor<T>> it = iterators.get(depth - 1);
+                boolean descended = false;
+                while (it.hasNext()) {
+                    int w = it.next().vertex().getId();
+                    edgesExamined++;
+                    if (componentOf[w] != c) {
+                        continue;
+                    }
+                    int order = preorder[w];
+                    if (order == 0) {
+                        callStack[depth++] = w;
+                        iterators.add(graph.getVertexById(w).getNeighbors().iterator());
+                        preorder[w] = ++counter;
+                        stack[top++] = w;
+                        boundaries[boundaryTop++] = w;
+                        verticesVisited++;
+                        descended = true;
+                        break;
+                    } else if (order != ASSIGNED) {
+                        while (preorder[boundaries[boundaryTop - 1]] > order) {
+                            boundaryTop--;
+                        }
+                    }
+                }
+                if (descended) {
+                    continue;
+                }
+
+                iterators.remove(--depth);
+                if (boundaries[boundaryTop - 1] == v) {
+                    boundaryTop--;
+                    int w;
+                    do {
+                        w = stack[--top];
+                        preorder[w] = ASSIGNED;
+                        grouped[groupedSize++] = w;
+                    } while (w != v);
+                    partEnd[parts++] = groupedSize;
+                }
+            }
+        }
+        for (int v : ids) {
+            preorder[v] = 0;
+        }
+        if (parts == 1) {
+            return;
+        }
+
+        componentsSplit++;
+        if (span[c] < parts) {
+            relabel();
+        }
+        long base = label[c];
+        long width = span[c] / parts;
+        memberCount[c] = 0;
+        // Parts came out in reverse topological order; the last one keeps c's id and place
+        for (int k = 0, start = 0; k < parts; k++) {
+            int part = k == parts - 1 ? c : newComponent();
+            label[part] = base + (parts - 1 - k) * width;
+            span[part] = width;
+            for (int i = start; i < partEnd[k]; i++) {
+                addMember(part, grouped[i]);
+            }
+            start = partEnd[k];
+            seed(part, true);
+            markChanged(part);
+        }
+        componentsReordered += parts;
+    }
+
+    /**
+     * Re-relaxes the seeded components in label order. A component whose distance changed,
+     * or that was created by the delta, passes the change on to its successors.
+     */
+    private void relax() {
+        IndexedDaryHeap heap = byLabel();
+        for (int i = 0; i < seedCount; i++) {
+            int c = seeds[i];
+            if (members[c] != null && !heap.contains(c)) {
+                heap.push(c);
+            }
+        }
+        seedCount = 0;
+
+        while (!heap.isEmpty()) {
+            int c = heap.pop();
+            componentsRelaxed++;
+            markChanged(c);
+            if (!recompute(c) && forcedIn[c] != deltaEpoch) {
+                continue;
+            }
+            for (int i = 0; i < memberCount[c]; i++) {
+                for (Neighbor<T> out : graph.getVertexById(members[c][i]).getNeighbors()) {
+                    edgesExamined++;
+                    int w = componentOf[out.vertex().getId()];
+                    if (w != c && !heap.contains(w)) {
+                        heap.push(w);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Recomputes the distance of a component from the edges entering it.
+     *
+     * @return true if the distance changed
+     */
+    private boolean recompute(int c) {
+        double best = 0.0;
+        int bestParent = -1;
+        for (int i = 0; i < memberCount[c]; i++) {
+            List<Neighbor<T>> preds = incoming.get(members[c][i]);
+            verticesVisited++;
+            edgesExamined += preds.size();
+            for (Neighbor<T> in : preds) {
+                int p = in.vertex().getId();
+                int pc = componentOf[p];
+                if (pc == c) {
+                    continue;
+                }
+                double candidate = distance[pc] + in.edge().getWeight();
+                if (bestParent == -1 || candidate > best) {
+                    best = candidate;
+                    bestParent = p;
+                }
+            }
+        }
+        boolean changed = best != distance[c];
+        distance[c] = best;
+        parent[c] = bestParent;
+        return changed;
+    }
+
+    /**
+     * Spreads all components evenly over the label space again, keeping their order.
+     * Only needed when a range is too narrow to split or new components ran out of room.
+     */
+    private void relabel() {
+        int[] order = componentsByLabel();
+        for (int i = 0; i < order.length; i++) {
+            label[order[i]] = i * SPAN;
+            span[order[i]] = SPAN;
+        }
+        nextLabel = order.length * SPAN;
+        metrics.incrementCounter("relabels");
+    }
+
+    private int[] componentsByLabel() {
+        IndexedDaryHeap heap = byLabel();
+        for (int c = 0; c < componentLimit; c++) {
+            if (members[c] != null) {
+                heap.push(c);
+            }
+        }
+        int[] order = new int[heap.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = heap.pop();
+        }
+        return order;
+    }
+
+    private void sortByLabel(int[] components, int size) {
+        IndexedDaryHeap heap = byLabel();
+        for (int i = 0; i < size; i++) {
+            heap.push(components[i]);
+        }
+        for (int i = 0; i < size; i++) {
+            components[i] = heap.pop();
+        }
+    }
+
+    private int criticalEnd() {
+        int end = -1;
+        for (int c = 0; c < componentLimit; c++) {
+            if (members[c] != null && (end == -1 || distance[c] > distance[end])) {
+                end = c;
+            }
+        }
+        return end;
+    }
+
+    private IndexedDaryHeap byLabel() {
+        if (byLabel == null) {
+            byLabel = new IndexedDaryHeap(label.length, 4, label);
+        }
+        return byLabel;
+    }
+
+    private int newComponent() {
+        int c;
+        if (freeCount > 0) {
+            c = free[--freeCount];
+        } else {
+            ensureComponentCapacity(componentLimit + 1);
+            c = componentLimit++;
+        }
+        members[c] = new int[4];
+        memberCount[c] = 0;
+        needsSplit[c] = false;
+        distance[c] = 0.0;
+        parent[c] = -1;
+        liveComponents++;
+        return c;
+    }
+
+    private void freeComponent(int c) {
+        members[c] = null;
+        memberCount[c] = 0;
+        needsSplit[c] = false;
+        free[freeCount++] = c;
+        liveComponents--;
+    }
+
+    private void addMember(int c, int v) {
+        int count = memberCount[c];
+        if (count == members[c].length) {
+            members[c] = Arrays.copyOf(members[c], count * 2);
+        }
+        members[c][count] = v;
+        memberCount[c] = count + 1;
+        slotOf[v] = count;
+        componentOf[v] = c;
+    }
+
+    private void removeMember(int v) {
+        int c = componentOf[v];
+        int last = members[c][--memberCount[c]];
+        members[c][slotOf[v]] = last;
+        slotOf[last] = slotOf[v];
+    }
+
+    private void touch(int c) {
+        if (touchedIn[c] != deltaEpoch) {
+            touchedIn[c] = deltaEpoch;
+            componentsAffected++;
+        }
+    }
+
+    private void seed(int c, boolean forced) {
+        if (forced) {
+            forcedIn[c] = deltaEpoch;
+        }
+        if (seededIn[c] != deltaEpoch) {
+            seededIn[c] = deltaEpoch;
+            if (seedCount == seeds.length) {
+                seeds = Arrays.copyOf(seeds, seedCount * 2);
+            }
+            seeds[seedCount++] = c;
+        }
+    }
+
+    private void markChanged(int c) {
+        if (changedIn[c] != deltaEpoch) {
+            changedIn[c] = deltaEpoch;
+            if (changedCount == changed.length) {
+                changed = Arrays.copyOf(changed, changedCount * 2);
+            }
+            changed[changedCount++] = c;
+        }
+    }
+
+    private void markSplit(int c) {
+        if (!needsSplit[c]) {
+            needsSplit[c] = true;
+            if (splitCount == splitQueue.length) {
+                splitQueue = Arrays.copyOf(splitQueue, splitCount * 2);
+            }
+            splitQueue[splitCount++] = c;
+        }
+    }
+
+    private void ensureVertexCapacity(int size) {
+        if (componentOf.length >= size) {
+            return;
+        }
+        int capacity = Math.max(size, componentOf.length * 2);
+        componentOf = Arrays.copyOf(componentOf, capacity);
+        slotOf = Arrays.copyOf(slotOf, capacity);
+        preorder = Arrays.copyOf(preorder, capacity);
+        stack = Arrays.copyOf(stack, capacity);
+        boundaries = Arrays.copyOf(boundaries, capacity);
+        callStack = Arrays.copyOf(callStack, capacity);
+    }
+
+    private void ensureComponentCapacity(int size) {
+        if (label.length >= size) {
+            return;
+        }
+        int capacity = Math.max(Math.max(size, 16), label.length * 2);
+        members = Arrays.copyOf(members, capacity);
+        memberCount = Arrays.copyOf(memberCount, capacity);
+        label = Arrays.copyOf(label, capacity);
+        span = Arrays.copyOf(span, capacity);
+        distance = Arrays.copyOf(distance, capacity);
+        parent = Arrays.copyOf(parent, capacity);
+        needsSplit = Arrays.copyOf(needsSplit, capacity);
+        touchedIn = Arrays.copyOf(touchedIn, capacity);
+        seededIn = Arrays.copyOf(seededIn, capacity);
+        forcedIn = Arrays.copyOf(forcedIn, capacity);
+        changedIn = Arrays.copyOf(changedIn, capacity);
+        forwardMark = Arrays.copyOf(forwardMark, capacity);
+        backwardMark = Arrays.copyOf(backwardMark, capacity);
+        forwardSet = Arrays.copyOf(forwardSet, capacity);
+        backwardSet = Arrays.copyOf(backwardSet, capacity);
+        componentStack = Arrays.copyOf(componentStack, capacity);
+        free = Arrays.copyOf(free, capacity);
+        byLabel = null;
+    }
+
+    private int idOf(T data) {
+        Vertex<T> vertex = graph.getVertex(data);
+        if (vertex == null) {
+            throw new IllegalArgumentException("Vertex " + data + " does not exist");
+        }
+        return vertex.getId();
+    }
+
+    private List<T> dataOf(int c) {
+        List<T> data = new ArrayList<>(memberCount[c]);
+        for (int i = 0; i < memberCount[c]; i++) {
+            data.add(graph.getVertexById(members[c][i]).getData());
+        }
+        return data;
+    }
+
+    private void begin() {
+        metrics.reset();
+        metrics.startTimer();
+        deltaEpoch++;
+        changedCount = 0;
+        verticesVisited = 0;
+        edgesExamined = 0;
+        componentsAffected = 0;
+        componentsMerged = 0;
+        componentsSplit = 0;
+        componentsReordered = 0;
+        componentsRelaxed = 0;
+    }
+
+    private DeltaReport finish(int changes) {
+        // Components merged away were freed; their vertices are counted with the survivor
+        int verticesAffected = 0;
+        for (int i = 0; i < changedCount; i++) {
+            int c = changed[i];
+            if (members[c] != null) {
+                verticesAffected += memberCount[c];
+            }
+        }
+        long work = verticesVisited + edgesExamined;
+        metrics.addToCounter("vertices_visited", verticesVisited);
+        metrics.addToCounter("edges_examined", edgesExamined);
+        metrics.addToCounter("components_merged", componentsMerged);
+        metrics.addToCounter("components_split", componentsSplit);
+        metrics.addToCounter("components_reordered", componentsReordered);
+        metrics.addToCounter("components_relaxed", componentsRelaxed);
+        metrics.addToCounter("vertices_affected", verticesAffected);
+        metrics.addToCounter("work", work);
+        metrics.addToCounter("full_run_work", fullRunWork());
+        metrics.stopTimer();
+        MetricsRegistry.getDefault().record("analysis_session", metrics);
+        return new DeltaReport(changes, verticesAffected, componentsAffected, componentsMerged, componentsSplit,
+                componentsReordered, componentsRelaxed, work, fullRunWork(), metrics);
+    }
+}
@@ -0,0 +1,153 @@
+package algorithms.assignment.delta;
+
+import algorithms.assignment.graph.Graph;
+import algorithms.assignment.graph.Vertex;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An ordered change set for a {@link Graph}: vertex and edge insertions and removals and
+ * edge reweights. Changes are applied in order, so a delta may add a vertex and then edges
+ * to it. Edges are addressed by their endpoints; with parallel edges the first one is meant.
+ *
+ * The JSON form is an object with a {@code changes} array, for example
+ * <pre>
+ * {"changes": [
+ *   {"op": "add_vertex", "vertex": "X"},
+ *   {"op": "add_edge", "from": "A", "to": "X", "weight": 3},
+ *   {"op": "set_weight", "from": "A", "to": "B", "weight": 5},
+ *   {"op": "remove_edge", "from": "B", "to": "C"},
+ *   {"op": "remove_vertex", "vertex": "D"}
+ * ]}
+ * </pre>
+ * A missing weight defaults to 1.
+ */
+public final class GraphDelta<T> {
+    public enum Kind {
+        ADD_VERTEX,
+        REMOVE_VERTEX,
+        ADD_EDGE,
+        REMOVE_EDGE,
+        SET_WEIGHT
+    }
+
+    /**
+     * One change. Vertex changes only use {@code source}; the weight is only meaningful
+     * for edge insertions and reweights.
+     */
+    public record Change<T>(Kind kind, T source, T target, int weight) {
+    }
+
+    private final List<Change<T>> changes = new ArrayList<>();
+
+    public GraphDelta<T> addVertex(T vertex) {
+        changes.add(new Change<>(Kind.ADD_VERTEX, vertex, null, 0));
+        return this;
+    }
+
+    public GraphDelta<T> removeVertex(T vertex) {
+        changes.add(new Change<>(Kind.REMOVE_VERTEX, vertex, null, 0));
+        return this;
+    }
+
+    public GraphDelta<T> addEdge(T from, T to, int weight) {
+        changes.add(new Change<>(Kind.ADD_EDGE, from, to, weight));
+        return this;
+    }
+
+    public GraphDelta<T> removeEdge(T from, T to) {
+        changes.add(new Change<>(Kind.REMOVE_EDGE, from, to, 0));
+        return this;
+    }
+
+    public GraphDelta<T> setWeight(T from, T to, int weight) {
+        changes.add(new Change<>(Kind.SET_WEIGHT, from, to, weight));
+        return this;
+    }
+
+    public List<Change<T>> getChanges() {
+        return Collections.unmodifiableList(changes);
+    }
+
+    public int size() {
+        return changes.size();
+    }
+
+    /**
+     * Applies every change to the graph in place, without any analysis.
+     *
+     * @throws IllegalArgumentException at the first change that does not fit the graph;
+     *                                  the changes before it stay applied
+     */
+    public void applyTo(Graph<T> graph) {
+        for (Change<T> change : changes) {
+            switch (change.kind()) {
+                case ADD_VERTEX -> {
+                    if (graph.getVertex(change.source()) != null) {
+                        throw new IllegalArgumentException("Vertex " + change.source() + " already exists");
+                    }
+                    graph.addVertex(new Vertex<>(change.source()));
+                }
+                case REMOVE_VERTEX -> graph.removeVertex(change.source());
+                case ADD_EDGE -> graph.addEdge(change.source(), change.target(), change.weight());
+                case REMOVE_EDGE -> graph.removeEdge(change.source(), change.target());
+                case SET_WEIGHT -> graph.setEdgeWeight(change.source(), change.target(), change.weight());
+            }
+        }
+    }
+
+    /**
+     * Reads a delta over string labels from a JSON file.
+     */
+    public static GraphDelta<String> parse(String filePath) throws IOException {
+        try (FileInputStream fis = new FileInputStream(filePath)) {
+            return fromJson(new JSONObject(new JSONTokener(fis)));
+        }
+    }
+
+    public static GraphDelta<String> fromJson(JSONObject root) {
+        GraphDelta<String> delta = new GraphDelta<>();
+        JSONArray changeArray = root.getJSONArray("changes");
+        for (int i = 0; i < changeArray.length(); i++) {
+            JSONObject change = changeArray.getJSONObject(i);
+            String op = change.getString("op");
+            switch (op) {
+                case "add_vertex" -> delta.addVertex(change.getString("vertex"));
+                case "remove_vertex" -> delta.removeVertex(change.getString("vertex"));
+                case "add_edge" -> delta.addEdge(change.getString("from"), change.getString("to"),
+                        change.optInt("weight", 1));
+                case "remove_edge" -> delta.removeEdge(change.getString("from"), change.getString("to"));
+                case "set_weight" -> delta.setWeight(change.getString("from"), change.getString("to"),
+                        change.optInt("weight", 1));
+                default -> throw new IllegalArgumentException("Unknown change '" + op + "' at index " + i);
+            }
+        }
+        return delta;
+    }
+
+    public JSONObject toJson() {
+        JSONArray changeArray = new JSONArray();
+        for (Change<T> change : changes) {
+            JSONObject json = new JSONObject();
+            json.put("op", change.kind().name().toLowerCase());
+            if (change.kind() == Kind.ADD_VERTEX || change.kind() == Kind.REMOVE_VERTEX) {
+                json.put("vertex", String.valueOf(change.source()));
+            } else {
+                json.put("from", String.valueOf(change.source()));
+                json.put("to", String.valueOf(change.target()));
+                if (change.kind() != Kind.REMOVE_EDGE) {
+                    json.put("weight", change.weight());
+                }
+            }
+            changeArray.put(json);
+        }
+        return new JSONObject().put("changes", changeArray);
+    }
+}
@@ -0,0 +1,12 @@
+package algorithms.assignment.delta.result;
+
+import algorithms.assignment.metrics.AbstractMetrics;
+
+/**
+ * Metrics for incremental analysis sessions.
+ */
+public final class DeltaMetrics extends AbstractMetrics {
+    public DeltaMetrics() {
+        super("Delta");
+    }
+}
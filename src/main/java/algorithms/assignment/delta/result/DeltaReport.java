@@ -0,0 +1,54 @@
+package algorithms.assignment.delta.result;
+
+/**
+ * How much of the analysis one delta invalidated, and how much work recomputing it took
+ * compared with analysing the changed graph from scratch.
+ *
+ * Work is counted as vertices visited plus edges examined by all three analyses (SCCs,
+ * order of the components and critical-path distances); {@code fullRunWork} is what a full
+ * run counts on the graph as it is after the delta.
+ *
+ * @param changes               changes applied; fewer than in the delta if one of them failed
+ * @param verticesAffected      vertices of the components that were reordered, merged, split
+ *                              or re-relaxed
+ * @param componentsAffected    components that held a changed vertex or edge
+ * @param componentsMerged      components absorbed into another one by a new cycle
+ * @param componentsSplit       components that fell apart into more than one
+ * @param componentsReordered   components that moved in the topological order
+ * @param componentsRelaxed     components whose critical-path distance was recomputed
+ */
+public record DeltaReport(
+        int changes,
+        int verticesAffected,
+        int componentsAffected,
+        int componentsMerged,
+        int componentsSplit,
+        int componentsReordered,
+        int componentsRelaxed,
+        long work,
+        long fullRunWork,
+        DeltaMetrics metrics
+) {
+    /**
+     * Gets the work of the delta as a fraction of a full run.
+     */
+    public double workRatio() {
+        return fullRunWork == 0 ? 0.0 : (double) work / fullRunWork;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Delta Report:\n");
+        sb.append("  Changes: ").append(changes).append("\n");
+        sb.append("  Vertices Affected: ").append(verticesAffected).append("\n");
+        sb.append("  Components Affected: ").append(componentsAffected).append("\n");
+        sb.append("  Components Merged: ").append(componentsMerged).append("\n");
+        sb.append("  Components Split: ").append(componentsSplit).append("\n");
+        sb.append("  Components Reordered: ").append(componentsReordered).append("\n");
+        sb.append("  Components Relaxed: ").append(componentsRelaxed).append("\n");
+        sb.append(String.format("  Work: %d of %d for a full run (%.2f%%)\n", work, fullRunWork, 100.0 * workRatio()));
+        sb.append(metrics.getSummary());
+        return sb.toString();
+    }
+}
@@ -0,0 +1,204 @@
+package algorithms.assignment.external_memory;
+
+import algorithms.assignment.graph.EdgeCursor;
+import algorithms.assignment.graph.IntGraph;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Binary edge list on disk, read in sequential blocks.
+ *
+ * Layout (little-endian): {@code magic, vertexCount, edgeCount (long), (source, target)[edgeCount]}.
+ * Edges may appear in any order; weights are not stored. Files are produced either from an
+ * in-memory {@link IntGraph} or edge by edge through a {@link Writer}, so graphs that never
+ * fit in memory can be written by their producer directly.
+ */
+public final class EdgeFile {
+    static final int MAGIC = 0x53454631;
+    static final int HEADER_BYTES = Integer.BYTES + Integer.BYTES + Long.BYTES;
+    static final int EDGE_BYTES = 2 * Integer.BYTES;
+
+    private static final int BUFFER_BYTES = 1 << 20;
+
+    private EdgeFile() {
+    }
+
+    /**
+     * Writes all edges of a graph, vertex by vertex.
+     */
+    public static void write(Path file, IntGraph graph) throws IOException {
+        try (Writer writer = Writer.open(file, graph.vertexCount())) {
+            EdgeCursor cursor = graph.cursor();
+            for (int v = 0; v < graph.vertexCount(); v++) {
+                cursor.reset(v);
+                while (cursor.hasNext()) {
+                    writer.add(v, cursor.next());
+                }
+            }
+        }
+    }
+
+    /**
+     * Appends edges to a new file; the edge count in the header is filled in on close.
+     */
+    public static final class Writer implements AutoCloseable {
+        private final FileChannel channel;
+        private final int vertexCount;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        private long edgeCount;
+
+        private Writer(FileChannel channel, int vertexCount) {
+            this.channel = channel;
+            this.vertexCount = vertexCount;
+        }
+
+        public static Writer open(Path file, int vertexCount) throws IOException {
+            if (vertexCount < 0) {
+                throw new IllegalArgumentException("vertexCount must not be negative");
+            }
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            Writer writer = new Writer(channel, vertexCount);
+            writer.buffer.putInt(MAGIC).putInt(vertexCount).putLong(0);
+            return writer;
+        }
+
+        public void add(int source, int target) throws IOException {
+            if (source < 0 || source >= vertexCount || target < 0 || target >= vertexCount) {
+                throw new IllegalArgumentException("Edge " + source + " -> " + target + " is outside [0, " + vertexCount + ")");
+            }
+            if (buffer.remaining() < EDGE_BYTES) {
+                flush();
+            }
+            buffer.putInt(source).putInt(target);
+            edgeCount++;
+        }
+
+        public long edgeCount() {
+            return edgeCount;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+                header.putInt(MAGIC).putInt(vertexCount).putLong(edgeCount).flip();
+                while (header.hasRemaining()) {
+                    channel.write(header, header.position());
+                }
+            } finally {
+                channel.close();
+            }
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+
+    /**
+     * One sequential pass over the edges of a file, delivered in blocks.
+     */
+    public static final class Reader implements AutoCloseable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        private final int vertexCount;
+        private final long edgeCount;
+        private long edgesLeft;
+        private long bytesRead;
+
+        private Reader(FileChannel channel) throws IOException {
+            this.channel = channel;
+            buffer.limit(0);
+            fill(HEADER_BYTES);
+            int magic = buffer.getInt();
+            if (magic != MAGIC) {
+                throw new IOException("Not an edge file: 0x" + Integer.toHexString(magic));
+            }
+            this.vertexCount = buffer.getInt();
+            this.edgeCount = buffer.getLong();
+            this.edgesLeft = edgeCount;
+            if (vertexCount < 0 || edgeCount < 0 || channel.size() != HEADER_BYTES + edgeCount * EDGE_BYTES) {
+                throw new IOException("Corrupt edge file header");
+            }
+        }
+
+        public static Reader open(Path file) throws IOException {
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+            try {
+                return new Reader(channel);
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+        }
+
+        public int vertexCount() {
+            return vertexCount;
+        }
+
+        public long edgeCount() {
+            return edgeCount;
+        }
+
+        /**
+         * Bytes read from the file so far, header included.
+         */
+        public long bytesRead() {
+            return bytesRead;
+        }
+
+        /**
+         * Reads the next block of edges.
+         *
+         * @return the number of edges stored in {@code sources} and {@code targets}, 0 at the end
+         */
+        public int next(int[] sources, int[] targets) throws IOException {
+            int count = (int) Math.min(Math.min(sources.length, targets.length), edgesLeft);
+            for (int i = 0; i < count; i++) {
+                if (buffer.remaining() < EDGE_BYTES) {
+                    fill(EDGE_BYTES);
+                }
+                int source = buffer.getInt();
+                int target = buffer.getInt();
+                if (source < 0 || source >= vertexCount || target < 0 || target >= vertexCount) {
+                    throw new IOException("Edge " + source + " -> " + target + " is outside [0, " + vertexCount + ")");
+                }
+                sources[i] = source;
+                targets[i] = target;
+            }
+            edgesLeft -= count;
+            return count;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+
+        /**
+         * Compacts the buffer and reads until at least {@code needed} bytes are available.
+         */
+        private void fill(int needed) throws IOException {
+            buffer.compact();
+            while (buffer.position() < needed) {
+                int read = channel.read(buffer);
+                if (read < 0) {
+                    throw new IOException("Unexpected end of edge file");
+                }
+                bytesRead += read;
+            }
+            buffer.flip();
+        }
+    }
+}
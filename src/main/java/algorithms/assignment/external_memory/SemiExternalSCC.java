@@ -0,0 +1,232 @@
+package algorithms.assignment.external_memory;
+
+import algorithms.assignment.external_memory.result.SemiExternalSCCResult;
+import algorithms.assignment.metrics.MetricsRegistry;
+import algorithms.assignment.metrics.PhaseTimer;
+import algorithms.assignment.strongly_connected_components.result.SCCMetrics;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Strongly connected components of a graph whose edges stay on disk in an {@link EdgeFile}.
+ *
+ * Only three ints per vertex are kept in memory; the edges are streamed in sequential passes.
+ * Every round works on the vertices not yet assigned to a component:
+ *
+ * 1. Trim: vertices without remaining predecessors or successors are singleton components.
+ *    Repeated while it removes anything.
+ * 2. Forward colouring: each vertex takes the smallest id that can reach it, propagated
+ *    along edges until a pass changes nothing.
+ * 3. Backward marking: a vertex whose colour is its own id is a root; everything of the same
+ *    colour that reaches the root is in its component, whose smallest member is the root.
+ *
+ * Updates are applied during a pass, so edges stored in topological-ish order (e.g. after
+ * {@link algorithms.assignment.graph.VertexRenumbering}) propagate in very few passes. The
+ * number of passes still grows with the depth of the graph, as for every colouring approach.
+ */
+public final class SemiExternalSCC {
+    private static final int UNASSIGNED = -1;
+    private static final int MARKED = -2;
+
+    private final int blockEdges;
+    private final SCCMetrics metrics = new SCCMetrics();
+
+    private Path file;
+    private int[] sources;
+    private int[] targets;
+
+    public SemiExternalSCC() {
+        this(1 << 16);
+    }
+
+    /**
+     * @param blockEdges number of edges decoded into memory at a time
+     */
+    public SemiExternalSCC(int blockEdges) {
+        if (blockEdges <= 0) {
+            throw new IllegalArgumentException("blockEdges must be positive");
+        }
+        this.blockEdges = blockEdges;
+    }
+
+    public SemiExternalSCCResult run(Path edgeFile) throws IOException {
+        metrics.reset();
+        metrics.startTimer();
+        file = edgeFile;
+        sources = new int[blockEdges];
+        targets = new int[blockEdges];
+
+        int n;
+        long edgeCount;
+        try (EdgeFile.Reader reader = EdgeFile.Reader.open(edgeFile)) {
+            n = reader.vertexCount();
+            edgeCount = reader.edgeCount();
+        }
+
+        // component[v] is the final id, UNASSIGNED, or MARKED during backward marking
+        int[] component = new int[n];
+        int[] color = new int[n];
+        int[] scratch = new int[n];
+        Arrays.fill(component, UNASSIGNED);
+        int remaining = n;
+        int componentCount = 0;
+        long trimmed = 0;
+        long rounds = 0;
+
+        while (remaining > 0) {
+            rounds++;
+
+            try (PhaseTimer ignored = PhaseTimer.start("semi_external_scc", "trim", remaining, edgeCount)) {
+                int removed;
+                do {
+                    removed = trim(component, color, scratch, n);
+                    remaining -= removed;
+                    componentCount += removed;
+                    trimmed += removed;
+                } while (removed > 0 && remaining > 0);
+            }
+            if (remaining == 0) {
+                break;
+            }
+
+            try (PhaseTimer ignored = PhaseTimer.start("semi_external_scc", "forward_colors", remaining, edgeCount)) {
+                for (int v = 0; v < n; v++) {
+                    if (component[v] == UNASSIGNED) {
+                        color[v] = v;
+                    }
+                }
+                while (propagateColors(component, color) > 0) {
+                    // until no colour changes
+                }
+            }
+
+            try (PhaseTimer ignored = PhaseTimer.start("semi_external_scc", "backward_marks", remaining, edgeCount)) {
+                for (int v = 0; v < n; v++) {
+                    if (component[v] == UNASSIGNED && color[v] == v) {
+                        component[v] = MARKED;
+                    }
+                }
+                while (markBackward(component, color) > 0) {
+                    // until no vertex is newly marked
+                }
+            }
+
+            for (int v = 0; v < n; v++) {
+                if (component[v] == MARKED) {
+                    component[v] = color[v];
+                    remaining--;
+                    if (color[v] == v) {
+                        componentCount++;
+                    }
+                }
+            }
+        }
+
+        metrics.addToCounter("rounds", rounds);
+        metrics.addToCounter("trimmed", trimmed);
+        metrics.addToCounter("components", componentCount);
+        metrics.stopTimer();
+        MetricsRegistry.getDefault().record("semi_external_scc", metrics);
+        sources = null;
+        targets = null;
+        return new SemiExternalSCCResult(component, componentCount, metrics);
+    }
+
+    public SCCMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * One pass counting remaining in- and out-degrees, ignoring self-loops, then assigns
+     * every remaining vertex lacking either as its own component.
+     *
+     * @return the number of vertices assigned
+     */
+    private int trim(int[] component, int[] inDegree, int[] outDegree, int n) throws IOException {
+        Arrays.fill(inDegree, 0);
+        Arrays.fill(outDegree, 0);
+        try (EdgeFile.Reader reader = open()) {
+            int count;
+            while ((count = reader.next(sources, targets)) > 0) {
+                for (int i = 0; i < count; i++) {
+                    int u = sources[i];
+                    int v = targets[i];
+                    if (u != v && component[u] == UNASSIGNED && component[v] == UNASSIGNED) {
+                        outDegree[u]++;
+                        inDegree[v]++;
+                    }
+                }
+            }
+            finish(reader);
+        }
+
+        int removed = 0;
+        for (int v = 0; v < n; v++) {
+            if (component[v] == UNASSIGNED && (inDegree[v] == 0 || outDegree[v] == 0)) {
+                component[v] = v;
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * One pass pushing smaller colours along edges between remaining vertices.
+     *
+     * @return the number of colour changes
+     */
+    private long propagateColors(int[] component, int[] color) throws IOException {
+        long changes = 0;
+        try (EdgeFile.Reader reader = open()) {
+            int count;
+            while ((count = reader.next(sources, targets)) > 0) {
+                for (int i = 0; i < count; i++) {
+                    int u = sources[i];
+                    int v = targets[i];
+                    if (color[u] < color[v] && component[u] == UNASSIGNED && component[v] == UNASSIGNED) {
+                        color[v] = color[u];
+                        changes++;
+                    }
+                }
+            }
+            finish(reader);
+        }
+        return changes;
+    }
+
+    /**
+     * One pass marking remaining vertices that have an edge into a marked vertex of their colour.
+     *
+     * @return the number of newly marked vertices
+     */
+    private long markBackward(int[] component, int[] color) throws IOException {
+        long marked = 0;
+        try (EdgeFile.Reader reader = open()) {
+            int count;
+            while ((count = reader.next(sources, targets)) > 0) {
+                for (int i = 0; i < count; i++) {
+                    int u = sources[i];
+                    int v = targets[i];
+                    if (component[v] == MARKED && component[u] == UNASSIGNED && color[u] == color[v]) {
+                        component[u] = MARKED;
+                        marked++;
+                    }
+                }
+            }
+            finish(reader);
+        }
+        return marked;
+    }
+
+    private EdgeFile.Reader open() throws IOException {
+        metrics.incrementCounter("passes");
+        return EdgeFile.Reader.open(file);
+    }
+
+    private void finish(EdgeFile.Reader reader) {
+        metrics.addToCounter("bytes_read", reader.bytesRead());
+        metrics.addToCounter("edges_streamed", reader.edgeCount());
+    }
+}
@@ -0,0 +1,25 @@
+package algorithms.assignment.external_memory.result;
+
+import algorithms.assignment.strongly_connected_components.result.SCCMetrics;
+
+/**
+ * Components found by a semi-external SCC run.
+ *
+ * {@code componentIds[v]} is the smallest vertex id in the component of {@code v}, so two
+ * runs (or a run and an in-memory algorithm) agree on ids whenever they agree on the partition.
+ */
+public record SemiExternalSCCResult(
+        int[] componentIds,
+        int componentCount,
+        SCCMetrics metrics
+) {
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Semi-External SCC Result:\n");
+        sb.append("  Vertices: ").append(componentIds.length).append("\n");
+        sb.append("  Components: ").append(componentCount).append("\n");
+        sb.append(metrics.getSummary());
+        return sb.toString();
+    }
+}
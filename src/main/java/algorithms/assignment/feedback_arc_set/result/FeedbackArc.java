@@ -0,0 +1,11 @@
+package algorithms.assignment.feedback_arc_set.result;
+
+/**
+ * A directed edge selected for removal.
+ */
+public record FeedbackArc<T>(T from, T to, int weight) {
+    @Override
+    public String toString() {
+        return from + " -> " + to + " (w=" + weight + ")";
+    }
+}
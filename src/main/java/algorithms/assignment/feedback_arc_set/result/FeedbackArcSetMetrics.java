@@ -0,0 +1,12 @@
+package algorithms.assignment.feedback_arc_set.result;
+
+import algorithms.assignment.metrics.AbstractMetrics;
+
+/**
+ * Metrics for feedback arc set heuristics.
+ */
+public final class FeedbackArcSetMetrics extends AbstractMetrics {
+    public FeedbackArcSetMetrics() {
+        super("Feedback Arc Set");
+    }
+}
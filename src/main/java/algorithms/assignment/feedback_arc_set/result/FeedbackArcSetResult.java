@@ -0,0 +1,22 @@
+package algorithms.assignment.feedback_arc_set.result;
+
+import java.util.List;
+
+/**
+ * Edges whose removal makes the graph acyclic.
+ */
+public record FeedbackArcSetResult<T>(
+        List<FeedbackArc<T>> arcs,
+        FeedbackArcSetMetrics metrics
+) {
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Feedback Arc Set Result: ").append(arcs.size()).append(" arcs\n");
+        for (FeedbackArc<T> arc : arcs) {
+            sb.append("  ").append(arc).append("\n");
+        }
+        sb.append(metrics.getSummary());
+        return sb.toString();
+    }
+}
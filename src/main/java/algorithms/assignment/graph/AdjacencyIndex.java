@@ -0,0 +1,229 @@
+package algorithms.assignment.graph;
+
+import java.util.List;
+
+/**
+ * Compressed sparse row (CSR) adjacency over dense vertex ids.
+ *
+ * The edges of vertex {@code v} occupy positions {@code start(v)} (inclusive) to
+ * {@code end(v)} (exclusive); each position holds the other endpoint and the edge weight.
+ * Everything is stored in primitive arrays, so walking an index allocates nothing.
+ */
+public final class AdjacencyIndex implements IntGraph {
+    private final int[] offsets;
+    private final int[] targets;
+    private final int[] weights;
+
+    AdjacencyIndex(int[] offsets, int[] targets, int[] weights) {
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    /**
+     * Builds the forward (successor) index of the given vertices in O(V + E),
+     * preserving each vertex's neighbor order.
+     */
+    static <T> AdjacencyIndex forwardOf(List<Vertex<T>> vertices) {
+        int n = vertices.size();
+        int edgeCount = 0;
+        for (Vertex<T> vertex : vertices) {
+            edgeCount += vertex.getNeighbors().size();
+        }
+        int[] offsets = new int[n + 1];
+        int[] targets = new int[edgeCount];
+        int[] weights = new int[edgeCount];
+
+        int pos = 0;
+        for (int v = 0; v < n; v++) {
+            offsets[v] = pos;
+            for (Neighbor<T> neighbor : vertices.get(v).getNeighbors()) {
+                targets[pos] = neighbor.vertex().getId();
+                weights[pos] = neighbor.edge().getWeight();
+                pos++;
+            }
+        }
+        offsets[n] = pos;
+
+        return new AdjacencyIndex(offsets, targets, weights);
+    }
+
+    /**
+     * Builds the reverse (predecessor) index of the given vertices in O(V + E)
+     * using a counting sort on the edge targets.
+     */
+    static <T> AdjacencyIndex reverseOf(List<Vertex<T>> vertices) {
+        int n = vertices.size();
+        int[] offsets = new int[n + 1];
+
+        for (Vertex<T> vertex : vertices) {
+            for (Neighbor<T> neighbor : vertex.getNeighbors()) {
+                offsets[neighbor.vertex().getId() + 1]++;
+            }
+        }
+        for (int v = 0; v < n; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+
+        int[] targets = new int[offsets[n]];
+        int[] weights = new int[offsets[n]];
+        int[] next = new int[n];
+        System.arraycopy(offsets, 0, next, 0, n);
+
+        for (Vertex<T> vertex : vertices) {
+            int source = vertex.getId();
+            for (Neighbor<T> neighbor : vertex.getNeighbors()) {
+                int pos = next[neighbor.vertex().getId()]++;
+                targets[pos] = source;
+                weights[pos] = neighbor.edge().getWeight();
+            }
+        }
+
+        return new AdjacencyIndex(offsets, targets, weights);
+    }
+
+    /**
+     * Builds a forward index straight from parallel edge arrays in O(V + E), e.g. from a
+     * parser that has already mapped labels to ids. Edges keep their input order per source.
+     *
+     * @param edgeCount number of leading entries of the arrays that hold edges
+     */
+    public static AdjacencyIndex fromEdges(int vertexCount, int[] sources, int[] targets, int[] weights,
+                                           int edgeCount) {
+        int[] offsets = new int[vertexCount + 1];
+        for (int e = 0; e < edgeCount; e++) {
+            if (sources[e] < 0 || sources[e] >= vertexCount || targets[e] < 0 || targets[e] >= vertexCount) {
+                throw new IllegalArgumentException("Edge " + sources[e] + " -> " + targets[e]
+                        + " is outside 0.." + (vertexCount - 1));
+            }
+            offsets[sources[e] + 1]++;
+        }
+        for (int v = 0; v < vertexCount; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+
+        int[] sortedTargets = new int[edgeCount];
+        int[] sortedWeights = new int[edgeCount];
+        int[] next = new int[vertexCount];
+        System.arraycopy(offsets, 0, next, 0, vertexCount);
+        for (int e = 0; e < edgeCount; e++) {
+            int pos = next[sources[e]]++;
+            sortedTargets[pos] = targets[e];
+            sortedWeights[pos] = weights[e];
+        }
+
+        return new AdjacencyIndex(offsets, sortedTargets, sortedWeights);
+    }
+
+    /**
+     * Builds the reverse index of any id-based graph with the same counting sort.
+     */
+    static AdjacencyIndex transposeOf(IntGraph graph) {
+        int n = graph.vertexCount();
+        int[] offsets = new int[n + 1];
+        EdgeCursor cursor = graph.cursor();
+        for (int v = 0; v < n; v++) {
+            cursor.reset(v);
+            while (cursor.hasNext()) {
+                offsets[cursor.next() + 1]++;
+            }
+        }
+        for (int v = 0; v < n; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+
+        int[] targets = new int[offsets[n]];
+        int[] weights = new int[offsets[n]];
+        int[] next = new int[n];
+        System.arraycopy(offsets, 0, next, 0, n);
+        for (int v = 0; v < n; v++) {
+            cursor.reset(v);
+            while (cursor.hasNext()) {
+                int pos = next[cursor.next()]++;
+                targets[pos] = v;
+                weights[pos] = cursor.weight();
+            }
+        }
+
+        return new AdjacencyIndex(offsets, targets, weights);
+    }
+
+    @Override
+    public int vertexCount() {
+        return offsets.length - 1;
+    }
+
+    @Override
+    public int edgeCount() {
+        return targets.length;
+    }
+
+    /**
+     * Gets the first edge position of a vertex.
+     */
+    public int start(int vertex) {
+        return offsets[vertex];
+    }
+
+    /**
+     * Gets the position after the last edge of a vertex.
+     */
+    public int end(int vertex) {
+        return offsets[vertex + 1];
+    }
+
+    @Override
+    public int degree(int vertex) {
+        return offsets[vertex + 1] - offsets[vertex];
+    }
+
+    /**
+     * Gets the other endpoint of the edge at a position.
+     */
+    public int target(int position) {
+        return targets[position];
+    }
+
+    /**
+     * Gets the weight of the edge at a position.
+     */
+    public int weight(int position) {
+        return weights[position];
+    }
+
+    @Override
+    public EdgeCursor cursor() {
+        return new Cursor();
+    }
+
+    private final class Cursor implements EdgeCursor {
+        private int position;
+        private int end;
+
+        @Override
+        public boolean hasNext() {
+            return position < end;
+        }
+
+        @Override
+        public int next() {
+            return targets[position++];
+        }
+
+        @Override
+        public int weight() {
+            return weights[position - 1];
+        }
+
+        @Override
+        public long save() {
+            return position;
+        }
+
+        @Override
+        public void restore(int vertex, long state) {
+            position = state == START ? offsets[vertex] : (int) state;
+            end = offsets[vertex + 1];
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package algorithms.assignment.graph;
+
+import java.util.Arrays;
+
+/**
+ * Immutable adjacency stored as gap-encoded varints, in the spirit of WebGraph.
+ *
+ * Each vertex's successors are sorted and written as:
+ * {@code degree, zigzag(first - v), gap, gap, ...} where a gap is the (non-negative)
+ * difference to the previous successor. If any edge weight differs from 1, every target is
+ * followed by its zigzag-encoded weight; unweighted graphs store no weights at all.
+ * Varints use 7 bits per byte, so the sorted, local successor lists of typical sparse
+ * graphs take one or two bytes per edge instead of eight in {@link AdjacencyIndex}.
+ *
+ * Decoding is strictly sequential through {@link EdgeCursor}; a cursor's saved state is the
+ * byte position and the previous target, so depth-first traversals can resume cheaply.
+ * The encoded edges of all vertices must fit in a single array (about 2 GB).
+ */
+public final class CompressedGraph implements IntGraph {
+    private final byte[] data;
+    private final int[] offsets;
+    private final int edgeCount;
+    private final boolean weighted;
+
+    private CompressedGraph(byte[] data, int[] offsets, int edgeCount, boolean weighted) {
+        this.data = data;
+        this.offsets = offsets;
+        this.edgeCount = edgeCount;
+        this.weighted = weighted;
+    }
+
+    /**
+     * Compresses the successor lists of a graph.
+     */
+    public static CompressedGraph of(Graph<?> graph) {
+        return of(graph.getForwardAdjacency());
+    }
+
+    /**
+     * Compresses any id-based graph, e.g. an {@link AdjacencyIndex} or another compressed graph.
+     */
+    public static CompressedGraph of(IntGraph graph) {
+        int n = graph.vertexCount();
+        EdgeCursor cursor = graph.cursor();
+
+        boolean weighted = false;
+        int maxDegree = 0;
+        for (int v = 0; v < n; v++) {
+            maxDegree = Math.max(maxDegree, graph.degree(v));
+            if (!weighted) {
+                cursor.reset(v);
+                while (cursor.hasNext() && !weighted) {
+                    cursor.next();
+                    weighted = cursor.weight() != 1;
+                }
+            }
+        }
+
+        Encoder encoder = new Encoder(n, weighted);
+        long[] edges = new long[maxDegree];
+        for (int v = 0; v < n; v++) {
+            int degree = 0;
+            cursor.reset(v);
+            while (cursor.hasNext()) {
+                int target = cursor.next();
+                edges[degree++] = ((long) target << 32) | (cursor.weight() & 0xFFFFFFFFL);
+            }
+            Arrays.sort(edges, 0, degree);
+            encoder.vertex(v, edges, 0, degree);
+        }
+        return encoder.finish(graph.edgeCount());
+    }
+
+    /**
+     * Builds the compressed graph with every edge reversed, e.g. as the predecessor side
+     * of a Kosaraju pass. Uses a temporary counting sort over plain int arrays.
+     */
+    public CompressedGraph transpose() {
+        int n = vertexCount();
+        int[] start = new int[n + 1];
+        EdgeCursor cursor = cursor();
+        for (int v = 0; v < n; v++) {
+            cursor.reset(v);
+            while (cursor.hasNext()) {
+                start[cursor.next() + 1]++;
+            }
+        }
+        for (int v = 0; v < n; v++) {
+            start[v + 1] += start[v];
+        }
+
+        // Sources arrive in increasing order, so every reversed list is already sorted by target
+        long[] edges = new long[edgeCount];
+        int[] next = Arrays.copyOf(start, n);
+        for (int v = 0; v < n; v++) {
+            cursor.reset(v);
+            while (cursor.hasNext()) {
+                int target = cursor.next();
+                edges[next[target]++] = ((long) v << 32) | (cursor.weight() & 0xFFFFFFFFL);
+            }
+        }
+
+        Encoder encoder = new Encoder(n, weighted);
+        for (int v = 0; v < n; v++) {
+            encoder.vertex(v, edges, start[v], start[v + 1]);
+        }
+        return encoder.finish(edgeCount);
+    }
+
+    @Override
+    public int vertexCount() {
+        return offsets.length - 1;
+    }
+
+    @Override
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    @Override
+    public int degree(int vertex) {
+        int pos = offsets[vertex];
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = data[pos++];
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+
+    public boolean isWeighted() {
+        return weighted;
+    }
+
+    /**
+     * Approximate heap footprint of the encoded edges and the per-vertex offsets.
+     */
+    public long sizeInBytes() {
+        return (long) data.length + (long) offsets.length * Integer.BYTES;
+    }
+
+    @Override
+    public EdgeCursor cursor() {
+        return new Cursor();
+    }
+
+    private final class Cursor implements EdgeCursor {
+        private int position;
+        private int end;
+        private int firstPosition;
+        private int vertex;
+        private int previous;
+        private int weight = 1;
+
+        @Override
+        public boolean hasNext() {
+            return position < end;
+        }
+
+        @Override
+        public int next() {
+            boolean first = position == firstPosition;
+            int raw = readVarint();
+            previous = first ? vertex + unzigzag(raw) : previous + raw;
+            if (weighted) {
+                weight = unzigzag(readVarint());
+            }
+            return previous;
+        }
+
+        @Override
+        public int weight() {
+            return weight;
+        }
+
+        @Override
+        public long save() {
+            return ((long) position << 32) | (previous & 0xFFFFFFFFL);
+        }
+
+        @Override
+        public void restore(int vertex, long state) {
+            this.vertex = vertex;
+            this.end = offsets[vertex + 1];
+            position = offsets[vertex];
+            readVarint();
+            firstPosition = position;
+            if (state != START) {
+                position = (int) (state >>> 32);
+                previous = (int) state;
+            }
+        }
+
+        private int readVarint() {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[position++];
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return value;
+        }
+    }
+
+    private static int zigzag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static int unzigzag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Appends vertices in id order to a growing byte array.
+     */
+    private static final class Encoder {
+        private final int[] offsets;
+        private final boolean weighted;
+        private byte[] buffer;
+        private int size;
+
+        Encoder(int vertexCount, boolean weighted) {
+            this.offsets = new int[vertexCount + 1];
+            this.weighted = weighted;
+            this.buffer = new byte[(int) Math.min(Integer.MAX_VALUE - 8, Math.max(16, 2L * vertexCount))];
+        }
+
+        /**
+         * Encodes one vertex's edges {@code edges[from, to)}, packed as
+         * {@code target << 32 | weight} and sorted.
+         */
+        void vertex(int v, long[] edges, int from, int to) {
+            offsets[v] = size;
+            writeVarint(to - from);
+            int previous = v;
+            for (int i = from; i < to; i++) {
+                int target = (int) (edges[i] >>> 32);
+                writeVarint(i == from ? zigzag(target - v) : target - previous);
+                if (weighted) {
+                    writeVarint(zigzag((int) edges[i]));
+                }
+                previous = target;
+            }
+        }
+
+        CompressedGraph finish(int edgeCount) {
+            offsets[offsets.length - 1] = size;
+            return new CompressedGraph(Arrays.copyOf(buffer, size), offsets, edgeCount, weighted);
+        }
+
+        private void writeVarint(int value) {
+            if (size + 5 > buffer.length) {
+                long grown = Math.min((long) buffer.length * 2, Integer.MAX_VALUE - 8);
+                if (grown < size + 5) {
+                    throw new IllegalStateException("Compressed graph exceeds the maximum array size");
+                }
+                buffer = Arrays.copyOf(buffer, (int) grown);
+            }
+            while ((value & ~0x7F) != 0) {
+                buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[size++] = (byte) value;
+        }
+    }
+}
@@ -4,7 +4,7 @@ package algorithms.assignment.graph;
  * Represents a directed edge in a graph with weight and inclusion flag.
  */
 public final class Edge {
-    private final int weight;
+    private int weight;
     private boolean included;
 
     public Edge() {
@@ -20,6 +20,13 @@ public final class Edge {
         return weight;
     }
 
+    /**
+     * Changes the weight. Goes through {@link Graph#setEdgeWeight} so cached indexes are invalidated.
+     */
+    void setWeight(int weight) {
+        this.weight = weight;
+    }
+
     public boolean isIncluded() {
         return included;
     }
@@ -0,0 +1,44 @@
+package algorithms.assignment.graph;
+
+/**
+ * Sequential iterator over the out-edges of one vertex of an {@link IntGraph}.
+ *
+ * Depth-first traversals keep one cursor and park their position in each stack frame with
+ * {@link #save()} / {@link #restore(int, long)}, so no iterator object is allocated per vertex.
+ */
+public interface EdgeCursor {
+    /**
+     * Saved state meaning "before the first edge".
+     */
+    long START = -1;
+
+    /**
+     * Positions the cursor before the first edge of a vertex.
+     */
+    default void reset(int vertex) {
+        restore(vertex, START);
+    }
+
+    boolean hasNext();
+
+    /**
+     * Advances to the next edge and returns its target.
+     */
+    int next();
+
+    /**
+     * Gets the weight of the edge last returned by {@link #next()}.
+     */
+    int weight();
+
+    /**
+     * Captures the current position within the current vertex.
+     */
+    long save();
+
+    /**
+     * Continues iterating a vertex from a state returned by {@link #save()}, or from its
+     * first edge if the state is {@link #START}.
+     */
+    void restore(int vertex, long state);
+}
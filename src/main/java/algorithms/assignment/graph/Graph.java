@@ -1,29 +1,55 @@
 package algorithms.assignment.graph;
 
+import algorithms.assignment.metrics.PhaseTimer;
+
 import java.util.*;
 
 /**
  * Directed graph implementation using adjacency list representation.
  * Uses generic Vertex type.
+ *
+ * Every vertex is assigned a dense id (0..V-1) in insertion order, which
+ * primitive-array structures such as {@link AdjacencyIndex} are indexed by.
  */
 public final class Graph<T> {
     private final Map<T, Vertex<T>> vertices;
+    private final List<Vertex<T>> vertexList;
+    private int edgeCount;
+    private AdjacencyIndex forwardIndex;
+    private AdjacencyIndex reverseIndex;
 
     public Graph() {
         this.vertices = new HashMap<>();
+        this.vertexList = new ArrayList<>();
     }
 
     /**
-     * Adds a vertex to the graph.
+     * Adds a vertex to the graph. A vertex replacing one with the same data keeps its id and
+     * the edges into it, but the edges out of the replaced vertex are removed.
      */
     public void addVertex(Vertex<T> vertex) {
-        vertices.put(vertex.getData(), vertex);
+        Vertex<T> previous = vertices.put(vertex.getData(), vertex);
+        if (previous != null) {
+            for (Neighbor<T> neighbor : previous.getNeighbors()) {
+                neighbor.vertex().adjustInDegree(-1);
+                edgeCount--;
+            }
+            vertex.setId(previous.getId());
+            vertex.adjustInDegree(previous.getInDegree());
+            vertexList.set(previous.getId(), vertex);
+        } else {
+            vertex.setId(vertexList.size());
+            vertexList.add(vertex);
+        }
+        invalidateIndexes();
     }
 
     /**
      * Adds a directed edge from source to destination.
+     *
+     * @return the created edge
      */
-    public void addEdge(T sourceData, T destData, int weight) {
+    public Edge addEdge(T sourceData, T destData, int weight) {
         Vertex<T> source = vertices.get(sourceData);
         Vertex<T> dest = vertices.get(destData);
 
@@ -31,15 +57,123 @@ public final class Graph<T> {
             throw new IllegalArgumentException("Both vertices must exist before adding edge");
         }
 
-        Edge edge = new Edge(weight);
-        source.addNeighbor(dest, edge);
+        return link(source, dest, weight);
+    }
+
+    /**
+     * Adds a directed edge between vertices given by dense id, skipping the data lookups.
+     *
+     * @return the created edge
+     */
+    public Edge addEdgeById(int sourceId, int destId, int weight) {
+        if (sourceId < 0 || sourceId >= vertexList.size() || destId < 0 || destId >= vertexList.size()) {
+            throw new IllegalArgumentException("Both vertices must exist before adding edge");
+        }
+
+        return link(vertexList.get(sourceId), vertexList.get(destId), weight);
     }
 
     /**
      * Adds a directed edge with default weight of 1.
      */
-    public void addEdge(T sourceData, T destData) {
-        addEdge(sourceData, destData, 1);
+    public Edge addEdge(T sourceData, T destData) {
+        return addEdge(sourceData, destData, 1);
+    }
+
+    /**
+     * Removes the first edge from source to destination.
+     *
+     * @return the removed edge
+     */
+    public Edge removeEdge(T sourceData, T destData) {
+        Vertex<T> source = vertices.get(sourceData);
+        Vertex<T> dest = vertices.get(destData);
+
+        if (source == null || dest == null) {
+            throw new IllegalArgumentException("Both vertices must exist before removing edge");
+        }
+
+        Iterator<Neighbor<T>> it = source.getNeighbors().iterator();
+        while (it.hasNext()) {
+            Neighbor<T> neighbor = it.next();
+            if (neighbor.vertex() == dest) {
+                it.remove();
+                dest.adjustInDegree(-1);
+                edgeCount--;
+                invalidateIndexes();
+                return neighbor.edge();
+            }
+        }
+        throw new IllegalArgumentException("No edge from " + sourceData + " to " + destData);
+    }
+
+    /**
+     * Removes a vertex together with every edge into or out of it. The vertex with the
+     * highest id takes over the removed id, so ids stay dense; all other ids are unchanged.
+     *
+     * Edges into the vertex are found by scanning every adjacency list, O(V + E). Callers
+     * that keep predecessor lists can remove those edges first, which makes the call
+     * O(out-degree).
+     *
+     * @return the removed vertex
+     */
+    public Vertex<T> removeVertex(T data) {
+        Vertex<T> vertex = vertices.get(data);
+        if (vertex == null) {
+            throw new IllegalArgumentException("Vertex " + data + " does not exist");
+        }
+
+        for (Neighbor<T> neighbor : vertex.getNeighbors()) {
+            neighbor.vertex().adjustInDegree(-1);
+            edgeCount--;
+        }
+        vertex.getNeighbors().clear();
+        if (vertex.getInDegree() > 0) {
+            for (Vertex<T> other : vertexList) {
+                Iterator<Neighbor<T>> it = other.getNeighbors().iterator();
+                while (it.hasNext()) {
+                    if (it.next().vertex() == vertex) {
+                        it.remove();
+                        vertex.adjustInDegree(-1);
+                        edgeCount--;
+                    }
+                }
+            }
+        }
+
+        int id = vertex.getId();
+        Vertex<T> last = vertexList.remove(vertexList.size() - 1);
+        if (last != vertex) {
+            last.setId(id);
+            vertexList.set(id, last);
+        }
+        vertices.remove(data);
+        vertex.setId(-1);
+        invalidateIndexes();
+        return vertex;
+    }
+
+    /**
+     * Changes the weight of the first edge from source to destination.
+     *
+     * @return the updated edge
+     */
+    public Edge setEdgeWeight(T sourceData, T destData, int weight) {
+        Vertex<T> source = vertices.get(sourceData);
+        Vertex<T> dest = vertices.get(destData);
+
+        if (source == null || dest == null) {
+            throw new IllegalArgumentException("Both vertices must exist before updating edge");
+        }
+
+        for (Neighbor<T> neighbor : source.getNeighbors()) {
+            if (neighbor.vertex() == dest) {
+                neighbor.edge().setWeight(weight);
+                invalidateIndexes();
+                return neighbor.edge();
+            }
+        }
+        throw new IllegalArgumentException("No edge from " + sourceData + " to " + destData);
     }
 
     /**
@@ -49,6 +183,13 @@ public final class Graph<T> {
         return vertices.get(data);
     }
 
+    /**
+     * Gets a vertex by its dense id.
+     */
+    public Vertex<T> getVertexById(int id) {
+        return vertexList.get(id);
+    }
+
     /**
      * Gets all vertices.
      */
@@ -63,6 +204,13 @@ public final class Graph<T> {
         return vertices.size();
     }
 
+    /**
+     * Gets the number of edges.
+     */
+    public int getEdgeCount() {
+        return edgeCount;
+    }
+
     /**
      * Gets all vertex data keys.
      */
@@ -74,27 +222,86 @@ public final class Graph<T> {
      * Computes in-degree for all vertices.
      */
     public Map<Vertex<T>, Integer> computeInDegrees() {
-        Map<Vertex<T>, Integer> inDegrees = new HashMap<>();
+        try (PhaseTimer ignored = PhaseTimer.start("graph", "in_degrees", vertices.size(), edgeCount)) {
+            Map<Vertex<T>, Integer> inDegrees = new HashMap<>();
 
-        // Initialize all vertices with in-degree 0
-        for (Vertex<T> vertex : vertices.values()) {
-            inDegrees.put(vertex, 0);
+            // Initialize all vertices with in-degree 0
+            for (Vertex<T> vertex : vertices.values()) {
+                inDegrees.put(vertex, 0);
+            }
+
+            // Count incoming edges
+            for (Vertex<T> vertex : vertices.values()) {
+                for (Neighbor<T> neighbor : vertex.getNeighbors()) {
+                    Vertex<T> dest = neighbor.vertex();
+                    inDegrees.put(dest, inDegrees.get(dest) + 1);
+                }
+            }
+
+            return inDegrees;
         }
+    }
 
-        // Count incoming edges
-        for (Vertex<T> vertex : vertices.values()) {
-            for (Neighbor<T> neighbor : vertex.getNeighbors()) {
-                Vertex<T> dest = neighbor.vertex();
-                inDegrees.put(dest, inDegrees.get(dest) + 1);
+    /**
+     * Gets the forward adjacency (successors of every vertex, with edge weights) as a
+     * primitive CSR index. Built lazily in O(V + E) and cached until the graph changes.
+     */
+    public AdjacencyIndex getForwardAdjacency() {
+        AdjacencyIndex index = forwardIndex;
+        if (index == null) {
+            try (PhaseTimer ignored = PhaseTimer.start("graph", "forward_index", vertexList.size(), edgeCount)) {
+                index = AdjacencyIndex.forwardOf(vertexList);
+            }
+            forwardIndex = index;
+        }
+        return index;
+    }
+
+    /**
+     * Gets the reverse adjacency (predecessors of every vertex, with edge weights) as a
+     * primitive CSR index. Built lazily in O(V + E) and cached until the graph changes.
+     */
+    public AdjacencyIndex getReverseAdjacency() {
+        AdjacencyIndex index = reverseIndex;
+        if (index == null) {
+            try (PhaseTimer ignored = PhaseTimer.start("graph", "reverse_index", vertexList.size(), edgeCount)) {
+                index = AdjacencyIndex.reverseOf(vertexList);
             }
+            reverseIndex = index;
         }
+        return index;
+    }
+
+    /**
+     * Estimates how much heap the graph retains, by kind of object, including any cached
+     * adjacency indexes. Computed from the counts in O(log V), without walking the graph.
+     */
+    public MemoryFootprint estimateMemory() {
+        int builtIndexes = (forwardIndex != null ? 1 : 0) + (reverseIndex != null ? 1 : 0);
+        return MemoryFootprint.estimate(vertexList.size(), edgeCount, builtIndexes);
+    }
+
+    private Edge link(Vertex<T> source, Vertex<T> dest, int weight) {
+        Edge edge = new Edge(weight);
+        source.addNeighbor(dest, edge);
+        dest.adjustInDegree(1);
+        edgeCount++;
+        invalidateIndexes();
+        return edge;
+    }
 
-        return inDegrees;
+    private void invalidateIndexes() {
+        forwardIndex = null;
+        reverseIndex = null;
     }
 
     /**
      * Resets the visited flag for all vertices.
+     *
+     * @deprecated O(V) and mutates vertices shared by every traversal; traversals track
+     * visits by vertex id in an {@link algorithms.assignment.util.EpochMarks} instead.
      */
+    @Deprecated
     public void resetVisited() {
         for (Vertex<T> vertex : vertices.values()) {
             vertex.setVisited(false);
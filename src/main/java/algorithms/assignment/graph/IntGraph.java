@@ -0,0 +1,21 @@
+package algorithms.assignment.graph;
+
+/**
+ * Read-only directed graph over dense vertex ids {@code 0 .. vertexCount() - 1}.
+ *
+ * Implemented by the plain {@link AdjacencyIndex} and by {@link CompressedGraph}, so id-based
+ * traversals can run on either representation.
+ */
+public interface IntGraph {
+    int vertexCount();
+
+    int edgeCount();
+
+    int degree(int vertex);
+
+    /**
+     * Creates a cursor over this graph's edges. A cursor is reusable across vertices
+     * but not thread-safe.
+     */
+    EdgeCursor cursor();
+}
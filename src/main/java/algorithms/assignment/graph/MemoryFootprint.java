@@ -0,0 +1,110 @@
+package algorithms.assignment.graph;
+
+import org.json.JSONObject;
+
+/**
+ * Estimated retained size of a {@link Graph}, broken down by the objects that hold it.
+ *
+ * Sizes assume a 64-bit HotSpot JVM with compressed references: 12-byte object headers,
+ * 4-byte references and 8-byte alignment. The vertex data objects themselves are not
+ * counted, since they are usually shared with the caller.
+ *
+ * @param vertexBytes   {@link Vertex} objects
+ * @param neighborBytes {@link Neighbor} records plus the linked lists that hold them
+ * @param edgeBytes     {@link Edge} objects
+ * @param mapBytes      the data-to-vertex hash map and the id-to-vertex list
+ * @param indexBytes    cached {@link AdjacencyIndex} arrays, if they have been built
+ */
+public record MemoryFootprint(
+        long vertexBytes,
+        long neighborBytes,
+        long edgeBytes,
+        long mapBytes,
+        long indexBytes
+) {
+    private static final int HEADER = 12;
+    private static final int REFERENCE = 4;
+    private static final int ARRAY_HEADER = 16;
+
+    private static final long VERTEX = align(HEADER + REFERENCE + 4 + 4 + 1 + REFERENCE);
+    private static final long LINKED_LIST = align(HEADER + 4 + 4 + 2 * REFERENCE);
+    private static final long LINKED_LIST_NODE = align(HEADER + 3 * REFERENCE);
+    private static final long NEIGHBOR = align(HEADER + 2 * REFERENCE);
+    private static final long EDGE = align(HEADER + 4 + 1);
+    private static final long HASH_MAP = align(HEADER + 4 * REFERENCE + 4 * 4);
+    private static final long HASH_MAP_NODE = align(HEADER + 4 + 3 * REFERENCE);
+    private static final long ARRAY_LIST = align(HEADER + 4 + 4 + REFERENCE);
+    private static final long ADJACENCY_INDEX = align(HEADER + 3 * REFERENCE);
+
+    /**
+     * Estimates a graph with the given counts whose vertices were added one by one.
+     */
+    static MemoryFootprint estimate(int vertexCount, int edgeCount, int builtIndexes) {
+        long vertices = VERTEX * vertexCount;
+        long neighbors = (LINKED_LIST * vertexCount) + (LINKED_LIST_NODE + NEIGHBOR) * (long) edgeCount;
+        long edges = EDGE * (long) edgeCount;
+        long maps = HASH_MAP + align(ARRAY_HEADER + (long) REFERENCE * hashTableCapacity(vertexCount))
+                + HASH_MAP_NODE * vertexCount
+                + ARRAY_LIST + align(ARRAY_HEADER + (long) REFERENCE * arrayListCapacity(vertexCount));
+        long index = ADJACENCY_INDEX + align(ARRAY_HEADER + 4L * (vertexCount + 1))
+                + 2 * align(ARRAY_HEADER + 4L * edgeCount);
+        return new MemoryFootprint(vertices, neighbors, edges, maps, index * builtIndexes);
+    }
+
+    public long totalBytes() {
+        return vertexBytes + neighborBytes + edgeBytes + mapBytes + indexBytes;
+    }
+
+    public JSONObject toJson() {
+        JSONObject json = new JSONObject();
+        json.put("vertex_bytes", vertexBytes);
+        json.put("neighbor_bytes", neighborBytes);
+        json.put("edge_bytes", edgeBytes);
+        json.put("map_bytes", mapBytes);
+        json.put("index_bytes", indexBytes);
+        json.put("total_bytes", totalBytes());
+        return json;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Graph Memory (estimated):\n");
+        sb.append(String.format("  Vertices: %d bytes\n", vertexBytes));
+        sb.append(String.format("  Neighbors: %d bytes\n", neighborBytes));
+        sb.append(String.format("  Edges: %d bytes\n", edgeBytes));
+        sb.append(String.format("  Maps: %d bytes\n", mapBytes));
+        sb.append(String.format("  Indexes: %d bytes\n", indexBytes));
+        sb.append(String.format("  Total: %d bytes\n", totalBytes()));
+        return sb.toString();
+    }
+
+    /**
+     * HashMap doubles its table from 16 whenever it is more than three quarters full.
+     */
+    private static long hashTableCapacity(int size) {
+        long capacity = 16;
+        while (size > capacity * 3 / 4) {
+            capacity *= 2;
+        }
+        return capacity;
+    }
+
+    /**
+     * ArrayList starts at 10 elements on the first add and grows by half each time it is full.
+     */
+    private static long arrayListCapacity(int size) {
+        if (size == 0) {
+            return 0;
+        }
+        long capacity = 10;
+        while (capacity < size) {
+            capacity += capacity >> 1;
+        }
+        return capacity;
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+}
@@ -5,9 +5,12 @@ import java.util.List;
 
 /**
  * Represents a vertex in a directed graph with generic data type.
+ * A vertex belongs to at most one graph, which assigns its id.
  */
 public final class Vertex<T> {
     private final T data;
+    private int id = -1;
+    private int inDegree;
     private boolean visited;
     private List<Neighbor<T>> neighbors = new LinkedList<>();
 
@@ -19,7 +22,11 @@ public final class Vertex<T> {
         return neighbors;
     }
 
-    public void addNeighbor(Vertex<T> vertex, Edge edge) {
+    /**
+     * Links only this side of an edge; {@link Graph} keeps its edge count and the target's
+     * in-degree in step, so edges are added through the graph.
+     */
+    void addNeighbor(Vertex<T> vertex, Edge edge) {
         neighbors.add(new Neighbor<>(vertex, edge));
     }
 
@@ -31,6 +38,28 @@ public final class Vertex<T> {
         this.visited = visited;
     }
 
+    /**
+     * Gets the dense id assigned by the owning graph, or -1 if not yet added to one.
+     */
+    public int getId() {
+        return id;
+    }
+
+    void setId(int id) {
+        this.id = id;
+    }
+
+    /**
+     * Gets the number of edges into this vertex, maintained by the owning graph.
+     */
+    public int getInDegree() {
+        return inDegree;
+    }
+
+    void adjustInDegree(int delta) {
+        inDegree += delta;
+    }
+
     public T getData() {
         return data;
     }
@@ -0,0 +1,301 @@
+package algorithms.assignment.graph;
+
+import algorithms.assignment.util.EpochMarks;
+
+import java.util.Arrays;
+
+/**
+ * A permutation of dense vertex ids chosen to improve memory locality, with its inverse.
+ *
+ * Insertion order rarely matches the graph's structure, so neighbouring vertices end up far
+ * apart in every per-vertex array. Renumbering so that vertices visited together get nearby
+ * ids keeps traversals within a few cache lines and shrinks the gaps a
+ * {@link CompressedGraph} has to encode. Run the analysis on {@link #apply(IntGraph)} and
+ * translate ids back with {@link #toOld(int)} or {@link #toOldOrder(double[])}.
+ */
+public final class VertexRenumbering {
+    public enum Order {
+        /**
+         * Breadth-first order over edges in both directions, from the lowest unvisited id.
+         */
+        BFS,
+        /**
+         * Reverse Cuthill-McKee: breadth-first from a minimum-degree vertex, visiting
+         * neighbours by increasing degree, then reversed. Minimises the bandwidth of the
+         * adjacency matrix.
+         */
+        REVERSE_CUTHILL_MCKEE,
+        /**
+         * Decreasing total degree, so hubs share the first cache lines.
+         */
+        DEGREE,
+        /**
+         * Kahn order, so DAG relaxation sweeps ids left to right. Vertices on cycles
+         * follow in their original order.
+         */
+        TOPOLOGICAL
+    }
+
+    private final int[] oldToNew;
+    private final int[] newToOld;
+
+    private VertexRenumbering(int[] newToOld) {
+        this.newToOld = newToOld;
+        this.oldToNew = new int[newToOld.length];
+        for (int i = 0; i < newToOld.length; i++) {
+            oldToNew[newToOld[i]] = i;
+        }
+    }
+
+    public static VertexRenumbering of(Graph<?> graph, Order order) {
+        return of(graph.getForwardAdjacency(), order);
+    }
+
+    public static VertexRenumbering of(IntGraph graph, Order order) {
+        return new VertexRenumbering(switch (order) {
+            case BFS -> breadthFirst(graph, false);
+            case REVERSE_CUTHILL_MCKEE -> breadthFirst(graph, true);
+            case DEGREE -> byDegree(graph);
+            case TOPOLOGICAL -> topological(graph);
+        });
+    }
+
+    public int vertexCount() {
+        return newToOld.length;
+    }
+
+    public int toNew(int oldId) {
+        return oldToNew[oldId];
+    }
+
+    public int toOld(int newId) {
+        return newToOld[newId];
+    }
+
+    /**
+     * Maps an array of new ids (e.g. a component or a path) back to original ids.
+     */
+    public int[] toOld(int[] newIds) {
+        int[] oldIds = new int[newIds.length];
+        for (int i = 0; i < newIds.length; i++) {
+            oldIds[i] = newToOld[newIds[i]];
+        }
+        return oldIds;
+    }
+
+    /**
+     * Rearranges a per-vertex array indexed by new id into one indexed by original id.
+     */
+    public double[] toOldOrder(double[] valuesByNewId) {
+        double[] valuesByOldId = new double[valuesByNewId.length];
+        for (int i = 0; i < valuesByNewId.length; i++) {
+            valuesByOldId[newToOld[i]] = valuesByNewId[i];
+        }
+        return valuesByOldId;
+    }
+
+    /**
+     * Builds the renumbered CSR of a graph. Each adjacency list is sorted by new id, so
+     * a traversal touches per-vertex arrays in increasing address order.
+     */
+    public AdjacencyIndex apply(IntGraph graph) {
+        int n = graph.vertexCount();
+        if (n != newToOld.length) {
+            throw new IllegalArgumentException("Graph has " + n + " vertices, renumbering has " + newToOld.length);
+        }
+
+        int[] offsets = new int[n + 1];
+        for (int v = 0; v < n; v++) {
+            offsets[v + 1] = offsets[v] + graph.degree(newToOld[v]);
+        }
+        int[] targets = new int[offsets[n]];
+        int[] weights = new int[offsets[n]];
+        long[] edges = new long[0];
+        EdgeCursor cursor = graph.cursor();
+        for (int v = 0; v < n; v++) {
+            int degree = offsets[v + 1] - offsets[v];
+            if (edges.length < degree) {
+                edges = new long[Math.max(degree, edges.length * 2)];
+            }
+            int k = 0;
+            cursor.reset(newToOld[v]);
+            while (cursor.hasNext()) {
+                int target = oldToNew[cursor.next()];
+                edges[k++] = ((long) target << 32) | (cursor.weight() & 0xFFFFFFFFL);
+            }
+            Arrays.sort(edges, 0, k);
+            for (int i = 0; i < k; i++) {
+                targets[offsets[v] + i] = (int) (edges[i] >>> 32);
+                weights[offsets[v] + i] = (int) edges[i];
+            }
+        }
+        return new AdjacencyIndex(offsets, targets, weights);
+    }
+
+    private static int[] breadthFirst(IntGraph graph, boolean cuthillMcKee) {
+        int n = graph.vertexCount();
+        AdjacencyIndex reverse = AdjacencyIndex.transposeOf(graph);
+        EdgeCursor cursor = graph.cursor();
+        int[] degree = new int[n];
+        for (int v = 0; v < n; v++) {
+            degree[v] = graph.degree(v) + reverse.degree(v);
+        }
+
+        // Roots are tried in id order, or by increasing degree for Cuthill-McKee
+        int[] roots = cuthillMcKee ? sortByDegree(degree, false) : identity(n);
+        EpochMarks visited = new EpochMarks(n);
+        int[] order = new int[n];
+        int head = 0;
+        int tail = 0;
+        long[] scratch = new long[0];
+
+        for (int root : roots) {
+            if (!visited.mark(root)) {
+                continue;
+            }
+            order[tail++] = root;
+
+            while (head < tail) {
+                int v = order[head++];
+                int levelStart = tail;
+                cursor.reset(v);
+                while (cursor.hasNext()) {
+                    int w = cursor.next();
+                    if (visited.mark(w)) {
+                        order[tail++] = w;
+                    }
+                }
+                for (int i = reverse.start(v), end = reverse.end(v); i < end; i++) {
+                    int w = reverse.target(i);
+                    if (visited.mark(w)) {
+                        order[tail++] = w;
+                    }
+                }
+                if (cuthillMcKee && tail - levelStart > 1) {
+                    if (scratch.length < tail - levelStart) {
+                        scratch = new long[Math.max(tail - levelStart, scratch.length * 2)];
+                    }
+                    sortSliceByDegree(order, levelStart, tail, degree, scratch);
+                }
+            }
+        }
+
+        if (cuthillMcKee) {
+            for (int i = 0, j = n - 1; i < j; i++, j--) {
+                int tmp = order[i];
+                order[i] = order[j];
+                order[j] = tmp;
+            }
+        }
+        return order;
+    }
+
+    private static int[] byDegree(IntGraph graph) {
+        int n = graph.vertexCount();
+        int[] degree = new int[n];
+        EdgeCursor cursor = graph.cursor();
+        for (int v = 0; v < n; v++) {
+            degree[v] += graph.degree(v);
+            cursor.reset(v);
+            while (cursor.hasNext()) {
+                degree[cursor.next()]++;
+            }
+        }
+        return sortByDegree(degree, true);
+    }
+
+    private static int[] topological(IntGraph graph) {
+        int n = graph.vertexCount();
+        int[] inDegree = new int[n];
+        EdgeCursor cursor = graph.cursor();
+        for (int v = 0; v < n; v++) {
+            cursor.reset(v);
+            while (cursor.hasNext()) {
+                inDegree[cursor.next()]++;
+            }
+        }
+
+        int[] order = new int[n];
+        int head = 0;
+        int tail = 0;
+        for (int v = 0; v < n; v++) {
+            if (inDegree[v] == 0) {
+                order[tail++] = v;
+            }
+        }
+        while (head < tail) {
+            int v = order[head++];
+            cursor.reset(v);
+            while (cursor.hasNext()) {
+                int w = cursor.next();
+                if (--inDegree[w] == 0) {
+                    order[tail++] = w;
+                }
+            }
+        }
+        for (int v = 0; v < n && tail < n; v++) {
+            if (inDegree[v] > 0) {
+                order[tail++] = v;
+            }
+        }
+        return order;
+    }
+
+    /**
+     * Counting sort of all ids by degree, stable in id order.
+     */
+    private static int[] sortByDegree(int[] degree, boolean descending) {
+        int n = degree.length;
+        int maxDegree = 0;
+        for (int d : degree) {
+            maxDegree = Math.max(maxDegree, d);
+        }
+        int[] start = new int[maxDegree + 2];
+        for (int d : degree) {
+            start[(descending ? maxDegree - d : d) + 1]++;
+        }
+        for (int d = 0; d <= maxDegree; d++) {
+            start[d + 1] += start[d];
+        }
+        int[] sorted = new int[n];
+        for (int v = 0; v < n; v++) {
+            sorted[start[descending ? maxDegree - degree[v] : degree[v]]++] = v;
+        }
+        return sorted;
+    }
+
+    /**
+     * Sorts {@code ids[from, to)} by increasing degree, ties by id. Slices are the newly
+     * discovered neighbours of one vertex: short ones use insertion sort, hubs a packed
+     * primitive sort.
+     */
+    private static void sortSliceByDegree(int[] ids, int from, int to, int[] degree, long[] scratch) {
+        if (to - from > 16) {
+            for (int i = from; i < to; i++) {
+                scratch[i - from] = ((long) degree[ids[i]] << 32) | ids[i];
+            }
+            Arrays.sort(scratch, 0, to - from);
+            for (int i = from; i < to; i++) {
+                ids[i] = (int) scratch[i - from];
+            }
+            return;
+        }
+        for (int i = from + 1; i < to; i++) {
+            int id = ids[i];
+            int j = i - 1;
+            while (j >= from && (degree[ids[j]] > degree[id] || degree[ids[j]] == degree[id] && ids[j] > id)) {
+                ids[j + 1] = ids[j];
+                j--;
+            }
+            ids[j + 1] = id;
+        }
+    }
+
+    private static int[] identity(int n) {
+        int[] ids = new int[n];
+        for (int i = 0; i < n; i++) {
+            ids[i] = i;
+        }
+        return ids;
+    }
+}
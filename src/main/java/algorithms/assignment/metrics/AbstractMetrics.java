@@ -0,0 +1,94 @@
+package algorithms.assignment.metrics;
+
+import algorithms.assignment.Metrics;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Timer, allocation and counter bookkeeping shared by every {@link Metrics} implementation.
+ * Subclasses only supply the label that heads their summary.
+ */
+public abstract class AbstractMetrics implements Metrics {
+    private final String label;
+    private long startTime;
+    private long endTime;
+    private long startAllocated;
+    private long endAllocated;
+    private final Map<String, Long> counters;
+
+    protected AbstractMetrics(String label) {
+        this.label = label;
+        this.counters = new HashMap<>();
+        reset();
+    }
+
+    @Override
+    public void startTimer() {
+        startAllocated = AllocationCounter.currentThreadAllocatedBytes();
+        startTime = System.nanoTime();
+    }
+
+    @Override
+    public void stopTimer() {
+        endTime = System.nanoTime();
+        endAllocated = AllocationCounter.currentThreadAllocatedBytes();
+    }
+
+    @Override
+    public long getElapsedTimeNanos() {
+        return endTime - startTime;
+    }
+
+    @Override
+    public long getAllocatedBytes() {
+        return startAllocated < 0 || endAllocated < 0 ? -1 : endAllocated - startAllocated;
+    }
+
+    @Override
+    public void incrementCounter(String name) {
+        counters.put(name, counters.getOrDefault(name, 0L) + 1);
+    }
+
+    @Override
+    public void addToCounter(String name, long delta) {
+        counters.merge(name, delta, Long::sum);
+    }
+
+    @Override
+    public long getCounter(String name) {
+        return counters.getOrDefault(name, 0L);
+    }
+
+    @Override
+    public Map<String, Long> getCounters() {
+        return Collections.unmodifiableMap(new TreeMap<>(counters));
+    }
+
+    @Override
+    public void reset() {
+        startTime = 0;
+        endTime = 0;
+        startAllocated = 0;
+        endAllocated = 0;
+        counters.clear();
+    }
+
+    @Override
+    public String getSummary() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(label).append(" Metrics:\n");
+        sb.append(String.format("  Time: %.3f ms\n", getElapsedTimeMillis()));
+        if (getAllocatedBytes() >= 0) {
+            sb.append(String.format("  Allocated: %d bytes\n", getAllocatedBytes()));
+        }
+
+        for (Map.Entry<String, Long> entry : counters.entrySet()) {
+            sb.append(String.format("  %s: %d\n", entry.getKey(), entry.getValue()));
+        }
+
+        return sb.toString();
+    }
+}
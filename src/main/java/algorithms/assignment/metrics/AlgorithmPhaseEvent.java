@@ -0,0 +1,33 @@
+package algorithms.assignment.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder event spanning one phase of a graph algorithm.
+ *
+ * Enabled in recordings as {@code algorithms.assignment.AlgorithmPhase}; when no recording
+ * has it enabled the JVM reduces it to a no-op.
+ */
+@Name("algorithms.assignment.AlgorithmPhase")
+@Label("Algorithm Phase")
+@Category("Graph Algorithms")
+@Description("Duration and input size of a graph algorithm phase")
+@StackTrace(false)
+public final class AlgorithmPhaseEvent extends Event {
+    @Label("Algorithm")
+    String algorithm;
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Vertex Count")
+    int vertexCount;
+
+    @Label("Edge Count")
+    long edgeCount;
+}
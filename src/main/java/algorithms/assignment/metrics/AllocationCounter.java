@@ -0,0 +1,42 @@
+package algorithms.assignment.metrics;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Reads the number of bytes the current thread has allocated so far, via
+ * {@link com.sun.management.ThreadMXBean#getCurrentThreadAllocatedBytes()}.
+ *
+ * The value is cumulative, so the difference of two readings on the same thread is what that
+ * thread allocated in between. Work handed to other threads (parallel streams, pools) is not
+ * included.
+ */
+public final class AllocationCounter {
+    private static final com.sun.management.ThreadMXBean THREAD_BEAN = loadThreadBean();
+
+    private AllocationCounter() {
+    }
+
+    public static boolean isSupported() {
+        return THREAD_BEAN != null;
+    }
+
+    /**
+     * Gets the bytes allocated by the current thread since it started,
+     * or -1 if the JVM does not support allocation accounting.
+     */
+    public static long currentThreadAllocatedBytes() {
+        if (THREAD_BEAN == null) {
+            return -1;
+        }
+        return THREAD_BEAN.getCurrentThreadAllocatedBytes();
+    }
+
+    private static com.sun.management.ThreadMXBean loadThreadBean() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean sunBean && sunBean.isThreadAllocatedMemorySupported()) {
+            sunBean.setThreadAllocatedMemoryEnabled(true);
+            return sunBean;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,55 @@
+package algorithms.assignment.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Supplier;
+
+/**
+ * Embedded HTTP endpoint exposing a {@link MetricsRegistry}.
+ *
+ * Serves {@code /metrics} in Prometheus text format and {@code /metrics.json} as JSON.
+ */
+public final class MetricsHttpServer implements AutoCloseable {
+    private final HttpServer server;
+
+    /**
+     * Starts serving the registry on the given address. Port 0 picks a free port.
+     */
+    public MetricsHttpServer(MetricsRegistry registry, InetSocketAddress address) throws IOException {
+        this.server = HttpServer.create(address, 0);
+        server.createContext("/metrics", exchange -> {
+            if (exchange.getRequestURI().getPath().equals("/metrics.json")) {
+                respond(exchange, "application/json", () -> registry.toJson().toString());
+            } else {
+                respond(exchange, "text/plain; version=0.0.4", registry::toPrometheus);
+            }
+        });
+        server.start();
+    }
+
+    /**
+     * Gets the port the server is listening on.
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private static void respond(HttpExchange exchange, String contentType, Supplier<String> body) throws IOException {
+        byte[] bytes = body.get().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package algorithms.assignment.metrics;
+
+import algorithms.assignment.Metrics;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Aggregates algorithm runs into latency histograms per algorithm and phase,
+ * plus running totals of their operation counters and allocated bytes.
+ *
+ * The algorithms record every run into {@link #getDefault()}; the registry can then
+ * be exported in Prometheus text format or JSON, to a file or via {@link MetricsHttpServer}.
+ */
+public final class MetricsRegistry {
+    /**
+     * Phase name used for the whole run of an algorithm.
+     */
+    public static final String TOTAL_PHASE = "total";
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+    private static final MetricsRegistry DEFAULT = new MetricsRegistry();
+
+    private final Map<Key, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+    private final Map<Key, LongAdder> counters = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> allocatedBytes = new ConcurrentHashMap<>();
+    private volatile boolean enabled = true;
+
+    private record Key(String algorithm, String name) implements Comparable<Key> {
+        @Override
+        public int compareTo(Key o) {
+            int c = algorithm.compareTo(o.algorithm);
+            return c != 0 ? c : name.compareTo(o.name);
+        }
+    }
+
+    /**
+     * Gets the process-wide registry the algorithms record into.
+     */
+    public static MetricsRegistry getDefault() {
+        return DEFAULT;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Records the duration of one phase of an algorithm run.
+     */
+    public void recordLatency(String algorithm, String phase, long nanos) {
+        if (!enabled) {
+            return;
+        }
+        latencies.computeIfAbsent(new Key(algorithm, phase), k -> new LatencyHistogram()).record(nanos);
+    }
+
+    /**
+     * Records a finished run: its total time, all of its counters and, where the JVM
+     * supports it, the bytes it allocated.
+     */
+    public void record(String algorithm, Metrics metrics) {
+        if (!enabled) {
+            return;
+        }
+        recordLatency(algorithm, TOTAL_PHASE, metrics.getElapsedTimeNanos());
+        for (Map.Entry<String, Long> e : metrics.getCounters().entrySet()) {
+            counters.computeIfAbsent(new Key(algorithm, e.getKey()), k -> new LongAdder()).add(e.getValue());
+        }
+        long allocated = metrics.getAllocatedBytes();
+        if (allocated >= 0) {
+            allocatedBytes.computeIfAbsent(algorithm, k -> new LongAdder()).add(allocated);
+        }
+    }
+
+    /**
+     * Gets the histogram for an algorithm phase, or null if it was never recorded.
+     */
+    public LatencyHistogram getLatency(String algorithm, String phase) {
+        return latencies.get(new Key(algorithm, phase));
+    }
+
+    /**
+     * Gets the accumulated value of a counter across all recorded runs.
+     */
+    public long getCounterTotal(String algorithm, String counter) {
+        LongAdder adder = counters.get(new Key(algorithm, counter));
+        return adder == null ? 0 : adder.sum();
+    }
+
+    /**
+     * Gets the bytes allocated across all recorded runs of an algorithm.
+     */
+    public long getAllocatedBytesTotal(String algorithm) {
+        LongAdder adder = allocatedBytes.get(algorithm);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    /**
+     * Clears all histograms and counters.
+     */
+    public void reset() {
+        latencies.clear();
+        counters.clear();
+        allocatedBytes.clear();
+    }
+
+    /**
+     * Exports the registry in the Prometheus text exposition format.
+     */
+    public String toPrometheus() {
+        StringBuilder sb = new StringBuilder();
+
+        sb.append("# HELP graph_algorithm_latency_seconds Latency of graph algorithm phases.\n");
+        sb.append("# TYPE graph_algorithm_latency_seconds summary\n");
+        for (Map.Entry<Key, LatencyHistogram> e : new TreeMap<>(latencies).entrySet()) {
+            String labels = "algorithm=\"" + e.getKey().algorithm() + "\",phase=\"" + e.getKey().name() + "\"";
+            LatencyHistogram h = e.getValue();
+            for (double q : QUANTILES) {
+                sb.append("graph_algorithm_latency_seconds{").append(labels)
+                        .append(",quantile=\"").append(q).append("\"} ")
+                        .append(toSeconds(h.getValueAtQuantile(q))).append('\n');
+            }
+            sb.append("graph_algorithm_latency_seconds_sum{").append(labels).append("} ")
+                    .append(toSeconds(h.getSum())).append('\n');
+            sb.append("graph_algorithm_latency_seconds_count{").append(labels).append("} ")
+                    .append(h.getCount()).append('\n');
+        }
+
+        sb.append("# HELP graph_algorithm_operations_total Operation counters summed over all runs.\n");
+        sb.append("# TYPE graph_algorithm_operations_total counter\n");
+        for (Map.Entry<Key, LongAdder> e : new TreeMap<>(counters).entrySet()) {
+            sb.append("graph_algorithm_operations_total{algorithm=\"").append(e.getKey().algorithm())
+                    .append("\",counter=\"").append(sanitize(e.getKey().name())).append("\"} ")
+                    .append(e.getValue().sum()).append('\n');
+        }
+
+        sb.append("# HELP graph_algorithm_allocated_bytes_total Bytes allocated by algorithm runs.\n");
+        sb.append("# TYPE graph_algorithm_allocated_bytes_total counter\n");
+        for (Map.Entry<String, LongAdder> e : new TreeMap<>(allocatedBytes).entrySet()) {
+            sb.append("graph_algorithm_allocated_bytes_total{algorithm=\"").append(e.getKey()).append("\"} ")
+                    .append(e.getValue().sum()).append('\n');
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * Exports the registry as JSON:
+     * {algorithm: {latency: {phase: {...}}, counters: {...}, allocated_bytes: n}}.
+     */
+    public JSONObject toJson() {
+        JSONObject root = new JSONObject();
+
+        for (Map.Entry<Key, LatencyHistogram> e : latencies.entrySet()) {
+            LatencyHistogram h = e.getValue();
+            JSONObject phase = new JSONObject();
+            phase.put("count", h.getCount());
+            phase.put("sum_ns", h.getSum());
+            phase.put("max_ns", h.getMax());
+            phase.put("p50_ns", h.getValueAtQuantile(0.5));
+            phase.put("p90_ns", h.getValueAtQuantile(0.9));
+            phase.put("p99_ns", h.getValueAtQuantile(0.99));
+            phase.put("p999_ns", h.getValueAtQuantile(0.999));
+            algorithmJson(root, e.getKey().algorithm(), "latency").put(e.getKey().name(), phase);
+        }
+
+        for (Map.Entry<Key, LongAdder> e : counters.entrySet()) {
+            algorithmJson(root, e.getKey().algorithm(), "counters").put(e.getKey().name(), e.getValue().sum());
+        }
+
+        for (Map.Entry<String, LongAdder> e : allocatedBytes.entrySet()) {
+            algorithmJson(root, e.getKey()).put("allocated_bytes", e.getValue().sum());
+        }
+
+        return root;
+    }
+
+    /**
+     * Writes the Prometheus export to a file, replacing it atomically.
+     */
+    public void writePrometheus(Path file) throws IOException {
+        writeAtomically(file, toPrometheus());
+    }
+
+    /**
+     * Writes the JSON export to a file, replacing it atomically.
+     */
+    public void writeJson(Path file) throws IOException {
+        writeAtomically(file, toJson().toString(2));
+    }
+
+    private static JSONObject algorithmJson(JSONObject root, String algorithm) {
+        JSONObject algorithmJson = root.optJSONObject(algorithm);
+        if (algorithmJson == null) {
+            algorithmJson = new JSONObject();
+            root.put(algorithm, algorithmJson);
+        }
+        return algorithmJson;
+    }
+
+    private static JSONObject algorithmJson(JSONObject root, String algorithm, String section) {
+        JSONObject algorithmJson = algorithmJson(root, algorithm);
+        JSONObject sectionJson = algorithmJson.optJSONObject(section);
+        if (sectionJson == null) {
+            sectionJson = new JSONObject();
+            algorithmJson.put(section, sectionJson);
+        }
+        return sectionJson;
+    }
+
+    private static void writeAtomically(Path file, String content) throws IOException {
+        Path dir = file.toAbsolutePath().getParent();
+        Path tmp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+        Files.writeString(tmp, content, StandardCharsets.UTF_8);
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static String toSeconds(long nanos) {
+        return Double.toString(nanos / 1_000_000_000.0);
+    }
+
+    private static String sanitize(String name) {
+        return name.replaceAll("[^a-zA-Z0-9_]", "_");
+    }
+}
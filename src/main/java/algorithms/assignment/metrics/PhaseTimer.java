@@ -0,0 +1,52 @@
+package algorithms.assignment.metrics;
+
+/**
+ * Times one algorithm phase, emitting an {@link AlgorithmPhaseEvent} and recording
+ * the duration in the default {@link MetricsRegistry}.
+ *
+ * Intended for try-with-resources:
+ * <pre>
+ * try (PhaseTimer ignored = PhaseTimer.start("kosaraju_scc", "transpose", v, e)) {
+ *     ...
+ * }
+ * </pre>
+ */
+public final class PhaseTimer implements AutoCloseable {
+    private final AlgorithmPhaseEvent event;
+    private final String algorithm;
+    private final String phase;
+    private final int vertexCount;
+    private final long edgeCount;
+    private final long startTime;
+
+    private PhaseTimer(String algorithm, String phase, int vertexCount, long edgeCount) {
+        this.algorithm = algorithm;
+        this.phase = phase;
+        this.vertexCount = vertexCount;
+        this.edgeCount = edgeCount;
+        this.event = new AlgorithmPhaseEvent();
+        this.event.begin();
+        this.startTime = System.nanoTime();
+    }
+
+    /**
+     * Starts timing a phase over an input of the given size.
+     */
+    public static PhaseTimer start(String algorithm, String phase, int vertexCount, long edgeCount) {
+        return new PhaseTimer(algorithm, phase, vertexCount, edgeCount);
+    }
+
+    @Override
+    public void close() {
+        long elapsed = System.nanoTime() - startTime;
+        event.end();
+        if (event.shouldCommit()) {
+            event.algorithm = algorithm;
+            event.phase = phase;
+            event.vertexCount = vertexCount;
+            event.edgeCount = edgeCount;
+            event.commit();
+        }
+        MetricsRegistry.getDefault().recordLatency(algorithm, phase, elapsed);
+    }
+}
@@ -0,0 +1,223 @@
+package algorithms.assignment.reachability;
+
+import algorithms.assignment.graph.AdjacencyIndex;
+import algorithms.assignment.graph.Graph;
+import algorithms.assignment.graph.Vertex;
+import algorithms.assignment.metrics.MetricsRegistry;
+import algorithms.assignment.metrics.PhaseTimer;
+import algorithms.assignment.reachability.result.PathQueryResult;
+import algorithms.assignment.reachability.result.ReachabilityMetrics;
+import algorithms.assignment.util.EpochMarks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Answers "is there a path from X to Y, and which one" with a bidirectional BFS:
+ * forward from X over the successors and backward from Y over the reverse adjacency,
+ * until the two searches meet.
+ *
+ * Each round expands one whole level of the side whose frontier has fewer outgoing edges,
+ * so a query only explores the neighbourhoods of its two endpoints instead of everything
+ * reachable from X. Queues, parent arrays and epoch-stamped visited sets are kept between
+ * queries; a query allocates nothing but its answer.
+ *
+ * The queries always run on the graph's current indexes, so the graph may change between
+ * queries. Instances are not thread-safe.
+ */
+public final class BidirectionalReachability<T> {
+    private final Graph<T> graph;
+    private final ReachabilityMetrics metrics = new ReachabilityMetrics();
+
+    private final EpochMarks forwardMarks = new EpochMarks(0);
+    private final EpochMarks backwardMarks = new EpochMarks(0);
+    private int[] forwardQueue = new int[0];
+    private int[] backwardQueue = new int[0];
+    /**
+     * Predecessor of each forward-reached vertex on the path from the source.
+     */
+    private int[] forwardParent = new int[0];
+    /**
+     * Successor of each backward-reached vertex on the path to the target.
+     */
+    private int[] backwardParent = new int[0];
+
+    public BidirectionalReachability(Graph<T> graph) {
+        this.graph = graph;
+    }
+
+    /**
+     * Finds a path between two vertices given by data.
+     */
+    public PathQueryResult<T> findPath(T source, T target) {
+        Vertex<T> from = graph.getVertex(source);
+        Vertex<T> to = graph.getVertex(target);
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Both vertices must exist in the graph");
+        }
+
+        int meet = search(from.getId(), to.getId());
+        List<T> path = new ArrayList<>();
+        if (meet != -1) {
+            for (int id : pathThrough(meet)) {
+                path.add(graph.getVertexById(id).getData());
+            }
+        }
+        return new PathQueryResult<>(source, target, meet != -1, path, metrics);
+    }
+
+    /**
+     * Checks whether a path exists between two vertices given by dense id.
+     */
+    public boolean isReachable(int source, int target) {
+        return search(source, target) != -1;
+    }
+
+    /**
+     * Finds a path between two vertices given by dense id.
+     *
+     * @return the ids on the path, both endpoints included, or an empty array if there is none
+     */
+    public int[] findPathIds(int source, int target) {
+        int meet = search(source, target);
+        return meet == -1 ? new int[0] : pathThrough(meet);
+    }
+
+    public ReachabilityMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Runs one query and leaves its parents in place.
+     *
+     * @return the vertex where the searches met, or -1 if the target is unreachable
+     */
+    private int search(int source, int target) {
+        AdjacencyIndex forward = graph.getForwardAdjacency();
+        AdjacencyIndex reverse = graph.getReverseAdjacency();
+        int n = forward.vertexCount();
+        if (source < 0 || source >= n || target < 0 || target >= n) {
+            throw new IllegalArgumentException("Both vertices must exist in the graph");
+        }
+
+        metrics.reset();
+        metrics.startTimer();
+        ensureCapacity(n);
+        forwardMarks.clear();
+        backwardMarks.clear();
+
+        long edgesExamined = 0;
+        int forwardLevels = 0;
+        int backwardLevels = 0;
+        int meet = -1;
+
+        forwardMarks.mark(source);
+        backwardMarks.mark(target);
+        forwardParent[source] = -1;
+        backwardParent[target] = -1;
+        forwardQueue[0] = source;
+        backwardQueue[0] = target;
+        int forwardHead = 0;
+        int forwardTail = 1;
+        int backwardHead = 0;
+        int backwardTail = 1;
+        long forwardWork = forward.degree(source);
+        long backwardWork = reverse.degree(target);
+        if (source == target) {
+            meet = source;
+        }
+
+        try (PhaseTimer ignored = PhaseTimer.start("bidirectional_reachability", "search", n, forward.edgeCount())) {
+            while (meet == -1 && forwardHead < forwardTail && backwardHead < backwardTail) {
+                if (forwardWork <= backwardWork) {
+                    forwardLevels++;
+                    forwardWork = 0;
+                    int levelEnd = forwardTail;
+                    while (forwardHead < levelEnd && meet == -1) {
+                        int v = forwardQueue[forwardHead++];
+                        for (int i = forward.start(v), end = forward.end(v); i < end; i++) {
+                            int w = forward.target(i);
+                            edgesExamined++;
+                            if (forwardMarks.mark(w)) {
+                                forwardParent[w] = v;
+                                if (backwardMarks.isMarked(w)) {
+                                    meet = w;
+                                    break;
+                                }
+                                forwardQueue[forwardTail++] = w;
+                                forwardWork += forward.degree(w);
+                            }
+                        }
+                    }
+                } else {
+                    backwardLevels++;
+                    backwardWork = 0;
+                    int levelEnd = backwardTail;
+                    while (backwardHead < levelEnd && meet == -1) {
+                        int v = backwardQueue[backwardHead++];
+                        for (int i = reverse.start(v), end = reverse.end(v); i < end; i++) {
+                            int u = reverse.target(i);
+                            edgesExamined++;
+                            if (backwardMarks.mark(u)) {
+                                backwardParent[u] = v;
+                                if (forwardMarks.isMarked(u)) {
+                                    meet = u;
+                                    break;
+                                }
+                                backwardQueue[backwardTail++] = u;
+                                backwardWork += reverse.degree(u);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        metrics.incrementCounter("queries");
+        metrics.addToCounter("vertices_visited", forwardTail + backwardTail);
+        metrics.addToCounter("edges_examined", edgesExamined);
+        metrics.addToCounter("forward_levels", forwardLevels);
+        metrics.addToCounter("backward_levels", backwardLevels);
+        metrics.addToCounter(meet != -1 ? "reachable" : "unreachable", 1);
+        metrics.stopTimer();
+        MetricsRegistry.getDefault().record("bidirectional_reachability", metrics);
+        return meet;
+    }
+
+    /**
+     * Joins the forward parents up to {@code meet} with the backward parents after it.
+     */
+    private int[] pathThrough(int meet) {
+        int before = 0;
+        for (int v = forwardParent[meet]; v != -1; v = forwardParent[v]) {
+            before++;
+        }
+        int after = 0;
+        for (int v = backwardParent[meet]; v != -1; v = backwardParent[v]) {
+            after++;
+        }
+
+        int[] path = new int[before + 1 + after];
+        int i = before;
+        for (int v = meet; v != -1; v = forwardParent[v]) {
+            path[i--] = v;
+        }
+        i = before + 1;
+        for (int v = backwardParent[meet]; v != -1; v = backwardParent[v]) {
+            path[i++] = v;
+        }
+        return path;
+    }
+
+    private void ensureCapacity(int n) {
+        if (forwardQueue.length < n) {
+            int capacity = Math.max(n, forwardQueue.length + (forwardQueue.length >> 1));
+            forwardQueue = new int[capacity];
+            backwardQueue = new int[capacity];
+            forwardParent = new int[capacity];
+            backwardParent = new int[capacity];
+            forwardMarks.ensureCapacity(capacity);
+            backwardMarks.ensureCapacity(capacity);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package algorithms.assignment.reachability.result;
+
+import java.util.List;
+
+/**
+ * Answer to a path-existence query: whether the target is reachable and, if so, one
+ * witness path from the source to the target (both included).
+ */
+public record PathQueryResult<T>(
+        T source,
+        T target,
+        boolean reachable,
+        List<T> path,
+        ReachabilityMetrics metrics
+) {
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Path Query Result:\n");
+        sb.append("  ").append(source).append(" -> ").append(target).append(": ");
+        sb.append(reachable ? "reachable via " + path : "unreachable").append("\n");
+        sb.append(metrics.getSummary());
+        return sb.toString();
+    }
+}
@@ -0,0 +1,12 @@
+package algorithms.assignment.reachability.result;
+
+import algorithms.assignment.metrics.AbstractMetrics;
+
+/**
+ * Metrics for bidirectional reachability queries.
+ */
+public final class ReachabilityMetrics extends AbstractMetrics {
+    public ReachabilityMetrics() {
+        super("Reachability");
+    }
+}
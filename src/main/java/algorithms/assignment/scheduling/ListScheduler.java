@@ -0,0 +1,171 @@
+package algorithms.assignment.scheduling;
+
+import algorithms.assignment.graph.EdgeCursor;
+import algorithms.assignment.graph.Graph;
+import algorithms.assignment.graph.IntGraph;
+import algorithms.assignment.metrics.MetricsRegistry;
+import algorithms.assignment.metrics.PhaseTimer;
+import algorithms.assignment.scheduling.result.Schedule;
+import algorithms.assignment.scheduling.result.SchedulingMetrics;
+import algorithms.assignment.topological_sort.KahnTopologicalSort;
+import algorithms.assignment.util.IndexedDaryHeap;
+
+/**
+ * Event-driven list scheduling of a task DAG on a fixed number of identical workers.
+ *
+ * Whenever a worker is free, the ready task with the highest priority starts on it; a task
+ * becomes ready when its last predecessor finishes. Running tasks wait in a heap keyed by
+ * finish time, so the simulation jumps from one completion to the next and costs
+ * O((V + E) log V) regardless of the time scale. Both queues are {@link IndexedDaryHeap}s
+ * over task ids, so nothing is boxed.
+ *
+ * With {@link Priority#CRITICAL_PATH} the priority is a task's upward rank (its duration
+ * plus the longest chain of durations after it), which is HEFT for identical workers.
+ */
+public final class ListScheduler<T> {
+    public enum Priority {
+        /**
+         * Longest remaining chain of durations first.
+         */
+        CRITICAL_PATH,
+        /**
+         * Smallest id first, i.e. insertion order.
+         */
+        ID
+    }
+
+    private static final int HEAP_ARITY = 4;
+
+    private final Priority priority;
+    private final SchedulingMetrics metrics = new SchedulingMetrics();
+
+    public ListScheduler() {
+        this(Priority.CRITICAL_PATH);
+    }
+
+    public ListScheduler(Priority priority) {
+        this.priority = priority;
+    }
+
+    /**
+     * @param durations duration of every task, indexed by vertex id
+     * @throws IllegalArgumentException if the graph has a cycle or the durations do not fit
+     */
+    public Schedule schedule(Graph<T> graph, long[] durations, int workerCount) {
+        return schedule(graph.getForwardAdjacency(), durations, workerCount);
+    }
+
+    /**
+     * Schedules an id-based graph, such as a {@link algorithms.assignment.graph.CompressedGraph}.
+     *
+     * @throws IllegalArgumentException if the graph has a cycle or the durations do not fit
+     */
+    public Schedule schedule(IntGraph graph, long[] durations, int workerCount) {
+        int n = graph.vertexCount();
+        if (workerCount <= 0) {
+            throw new IllegalArgumentException("workerCount must be positive");
+        }
+        if (durations.length != n) {
+            throw new IllegalArgumentException("Expected " + n + " durations, got " + durations.length);
+        }
+        metrics.reset();
+        metrics.startTimer();
+
+        int[] inDegree = new int[n];
+        long[] rank = new long[n];
+        long totalWork = 0;
+        long criticalPath = 0;
+        EdgeCursor cursor = graph.cursor();
+        try (PhaseTimer ignored = PhaseTimer.start("list_scheduling", "ranks", n, graph.edgeCount())) {
+            int[] order = new KahnTopologicalSort<Integer>().sortIds(graph);
+            if (order.length != n) {
+                throw new IllegalArgumentException("Graph contains a cycle");
+            }
+            for (int i = n - 1; i >= 0; i--) {
+                int v = order[i];
+                if (durations[v] < 0) {
+                    throw new IllegalArgumentException("Task " + v + " has a negative duration");
+                }
+                long longestAfter = 0;
+                cursor.reset(v);
+                while (cursor.hasNext()) {
+                    int w = cursor.next();
+                    inDegree[w]++;
+                    longestAfter = Math.max(longestAfter, rank[w]);
+                }
+                rank[v] = durations[v] + longestAfter;
+                totalWork += durations[v];
+                criticalPath = Math.max(criticalPath, rank[v]);
+            }
+        }
+
+        // The ready heap pops the smallest key, so negate the rank
+        long[] readyKeys = new long[n];
+        if (priority == Priority.CRITICAL_PATH) {
+            for (int v = 0; v < n; v++) {
+                readyKeys[v] = -rank[v];
+            }
+        }
+        long[] startTimes = new long[n];
+        long[] finishTimes = new long[n];
+        int[] workers = new int[n];
+        IndexedDaryHeap ready = new IndexedDaryHeap(n, HEAP_ARITY, readyKeys);
+        IndexedDaryHeap running = new IndexedDaryHeap(n, HEAP_ARITY, finishTimes);
+        int[] freeWorkers = new int[workerCount];
+        for (int w = 0; w < workerCount; w++) {
+            freeWorkers[w] = workerCount - 1 - w;
+        }
+        int free = workerCount;
+
+        long time = 0;
+        long events = 0;
+        long edgesExamined = 0;
+        int completed = 0;
+        try (PhaseTimer ignored = PhaseTimer.start("list_scheduling", "simulation", n, graph.edgeCount())) {
+            for (int v = 0; v < n; v++) {
+                if (inDegree[v] == 0) {
+                    ready.push(v);
+                }
+            }
+
+            while (completed < n) {
+                while (free > 0 && !ready.isEmpty()) {
+                    int v = ready.pop();
+                    startTimes[v] = time;
+                    finishTimes[v] = time + durations[v];
+                    workers[v] = freeWorkers[--free];
+                    running.push(v);
+                }
+
+                // Advance to the next completion and release every task finishing then
+                time = finishTimes[running.peek()];
+                events++;
+                while (!running.isEmpty() && finishTimes[running.peek()] == time) {
+                    int v = running.pop();
+                    completed++;
+                    freeWorkers[free++] = workers[v];
+                    cursor.reset(v);
+                    while (cursor.hasNext()) {
+                        int w = cursor.next();
+                        edgesExamined++;
+                        if (--inDegree[w] == 0) {
+                            ready.push(w);
+                        }
+                    }
+                }
+            }
+        }
+
+        metrics.addToCounter("tasks", n);
+        metrics.addToCounter("workers", workerCount);
+        metrics.addToCounter("events", events);
+        metrics.addToCounter("edges_examined", edgesExamined);
+        metrics.stopTimer();
+        MetricsRegistry.getDefault().record("list_scheduling", metrics);
+        return new Schedule(startTimes, finishTimes, workers, workerCount, time, criticalPath, totalWork, metrics);
+    }
+
+    public SchedulingMetrics getMetrics() {
+        return metrics;
+    }
+}
@@ -0,0 +1,46 @@
+package algorithms.assignment.scheduling.result;
+
+/**
+ * A non-preemptive schedule of DAG tasks on identical workers.
+ *
+ * Task {@code v} runs on worker {@code workers[v]} during {@code [startTimes[v], finishTimes[v])}.
+ * {@code criticalPathLength} and the total work spread over all workers are both lower bounds
+ * on the makespan of any schedule.
+ */
+public record Schedule(
+        long[] startTimes,
+        long[] finishTimes,
+        int[] workers,
+        int workerCount,
+        long makespan,
+        long criticalPathLength,
+        long totalWork,
+        SchedulingMetrics metrics
+) {
+    /**
+     * The larger of the critical path and the total work per worker.
+     */
+    public long lowerBound() {
+        return Math.max(criticalPathLength, (totalWork + workerCount - 1) / workerCount);
+    }
+
+    /**
+     * Fraction of worker time spent running tasks.
+     */
+    public double utilization() {
+        return makespan == 0 ? 0.0 : (double) totalWork / ((double) makespan * workerCount);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Schedule:\n");
+        sb.append("  Tasks: ").append(startTimes.length).append("\n");
+        sb.append("  Workers: ").append(workerCount).append("\n");
+        sb.append("  Makespan: ").append(makespan).append("\n");
+        sb.append("  Lower Bound: ").append(lowerBound()).append("\n");
+        sb.append(String.format("  Utilization: %.3f%n", utilization()));
+        sb.append(metrics.getSummary());
+        return sb.toString();
+    }
+}
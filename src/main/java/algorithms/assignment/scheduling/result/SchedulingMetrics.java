@@ -0,0 +1,12 @@
+package algorithms.assignment.scheduling.result;
+
+import algorithms.assignment.metrics.AbstractMetrics;
+
+/**
+ * Metrics for list scheduling.
+ */
+public final class SchedulingMetrics extends AbstractMetrics {
+    public SchedulingMetrics() {
+        super("Scheduling");
+    }
+}
@@ -0,0 +1,218 @@
+package algorithms.assignment.service;
+
+import algorithms.assignment.Metrics;
+import algorithms.assignment.dag_paths.DAGPathFinder;
+import algorithms.assignment.dag_paths.result.DAGDistanceResult;
+import algorithms.assignment.graph.AdjacencyIndex;
+import algorithms.assignment.graph.Graph;
+import algorithms.assignment.graph.Vertex;
+import algorithms.assignment.metrics.PhaseTimer;
+import algorithms.assignment.service.result.AnalysisReport;
+import algorithms.assignment.strongly_connected_components.KosarajuSCC;
+import algorithms.assignment.topological_sort.KahnTopologicalSort;
+import algorithms.assignment.util.CancellationToken;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the SCC -> condensation -> topological sort -> critical path pipeline off the
+ * caller's thread and hands back a {@link CompletableFuture}.
+ *
+ * At most {@code parallelism} graphs are analysed at once and at most {@code queueCapacity}
+ * more wait for a worker; further requests fail immediately with a
+ * {@link RejectedExecutionException}, so overload turns into fast rejections instead of
+ * piling up threads. Every request has a deadline counted from submission. When the deadline
+ * passes, or the caller cancels the future, the future completes at once and the worker
+ * stops at the next cancellation checkpoint inside the traversal loops, freeing its slot.
+ *
+ * Graphs must not be modified while they are being analysed.
+ */
+public final class GraphAnalysisService implements AutoCloseable {
+    private final ThreadPoolExecutor executor;
+    private final Duration defaultDeadline;
+    private final Set<CancellationToken> inFlight = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @param parallelism     maximum number of graphs analysed at the same time
+     * @param queueCapacity   maximum number of requests waiting for a worker
+     * @param defaultDeadline deadline for requests that do not give their own
+     */
+    public GraphAnalysisService(int parallelism, int queueCapacity, Duration defaultDeadline) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism must be positive");
+        }
+        if (queueCapacity < 0) {
+            throw new IllegalArgumentException("queueCapacity must not be negative");
+        }
+        BlockingQueue<Runnable> queue = queueCapacity == 0
+                ? new SynchronousQueue<>()
+                : new ArrayBlockingQueue<>(queueCapacity);
+        this.executor = new ThreadPoolExecutor(parallelism, parallelism, 0L, TimeUnit.MILLISECONDS,
+                queue, daemonThreads(), new ThreadPoolExecutor.AbortPolicy());
+        this.defaultDeadline = defaultDeadline;
+    }
+
+    public <T> CompletableFuture<AnalysisReport<T>> analyze(Graph<T> graph) {
+        return analyze(graph, defaultDeadline);
+    }
+
+    /**
+     * Queues a graph for analysis.
+     *
+     * The future fails with a {@link TimeoutException} once {@code deadline} has passed, with a
+     * {@link RejectedExecutionException} if the service is saturated or closed, and with a
+     * {@link CancellationException} if it is cancelled. Cancelling also stops the analysis.
+     */
+    public <T> CompletableFuture<AnalysisReport<T>> analyze(Graph<T> graph, Duration deadline) {
+        CancellationToken token = CancellationToken.withTimeout(deadline);
+        CompletableFuture<AnalysisReport<T>> future = new CompletableFuture<>();
+        Runnable task = () -> {
+            try {
+                token.checkpoint();
+                future.complete(run(graph, token));
+            } catch (CancellationToken.DeadlineExceededException e) {
+                future.completeExceptionally(new TimeoutException("deadline exceeded"));
+            } catch (CancellationException e) {
+                future.cancel(false);
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        };
+
+        inFlight.add(token);
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(token);
+            return CompletableFuture.failedFuture(new RejectedExecutionException(
+                    "Analysis service is saturated: " + executor.getActiveCount() + " running, "
+                            + executor.getQueue().size() + " queued", e));
+        }
+
+        // Whichever way the future completes, stop the work and give back its queue slot
+        future.orTimeout(deadline.toNanos(), TimeUnit.NANOSECONDS).whenComplete((report, error) -> {
+            token.cancel();
+            inFlight.remove(token);
+            executor.remove(task);
+        });
+        return future;
+    }
+
+    /**
+     * Gets the number of requests waiting for a worker.
+     */
+    public int queuedCount() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * Gets the number of requests being analysed.
+     */
+    public int activeCount() {
+        return executor.getActiveCount();
+    }
+
+    /**
+     * Cancels every pending and running analysis and stops the workers.
+     */
+    @Override
+    public void close() {
+        for (CancellationToken token : inFlight) {
+            token.cancel();
+        }
+        executor.shutdown();
+    }
+
+    private static <T> AnalysisReport<T> run(Graph<T> graph, CancellationToken token) {
+        long start = System.nanoTime();
+        Map<String, Metrics> metrics = new LinkedHashMap<>();
+        int n = graph.getVertexCount();
+
+        // Kosaraju emits components in topological order of the condensation
+        int[] componentOf = new int[n];
+        List<List<Vertex<T>>> components = new ArrayList<>();
+        KosarajuSCC<T> kosaraju = new KosarajuSCC<>(token);
+        kosaraju.forEachComponent(graph, (ids, offset, length) -> {
+            List<Vertex<T>> component = new ArrayList<>(length);
+            for (int i = offset; i < offset + length; i++) {
+                componentOf[ids[i]] = components.size();
+                component.add(graph.getVertexById(ids[i]));
+            }
+            components.add(component);
+        });
+        metrics.put("scc", kosaraju.getMetrics());
+
+        AdjacencyIndex condensation;
+        try (PhaseTimer ignored = PhaseTimer.start("graph_analysis", "condensation", n, graph.getEdgeCount())) {
+            condensation = condense(graph.getForwardAdjacency(), componentOf, components.size(), token);
+        }
+
+        KahnTopologicalSort<Integer> kahn = new KahnTopologicalSort<>(token);
+        int[] order = kahn.sortIds(condensation);
+        metrics.put("topological_sort", kahn.getMetrics());
+
+        int[] criticalPath = new int[0];
+        double criticalPathLength = 0.0;
+        if (!components.isEmpty()) {
+            DAGPathFinder<Integer> finder = new DAGPathFinder<>(token);
+            DAGDistanceResult longest = finder.criticalDistances(condensation);
+            double[] distances = longest.distances();
+            int end = 0;
+            for (int c = 1; c < distances.length; c++) {
+                if (distances[c] > distances[end]) {
+                    end = c;
+                }
+            }
+            criticalPath = longest.pathTo(end);
+            criticalPathLength = distances[end];
+            metrics.put("dag_paths", finder.getMetrics());
+        }
+
+        return new AnalysisReport<>(components, componentOf, condensation, order, criticalPath,
+                criticalPathLength, System.nanoTime() - start, metrics);
+    }
+
+    /**
+     * Maps every edge between two different components onto the component graph, keeping
+     * parallel edges so that the heaviest one decides the critical path.
+     */
+    private static AdjacencyIndex condense(AdjacencyIndex forward, int[] componentOf, int componentCount,
+                                           CancellationToken token) {
+        int[] sources = new int[forward.edgeCount()];
+        int[] targets = new int[forward.edgeCount()];
+        int[] weights = new int[forward.edgeCount()];
+        int count = 0;
+        long work = 0;
+        for (int v = 0; v < forward.vertexCount(); v++) {
+            if ((++work & CancellationToken.CHECK_INTERVAL) == 0) {
+                token.checkpoint();
+            }
+            int cu = componentOf[v];
+            for (int i = forward.start(v); i < forward.end(v); i++) {
+                if ((++work & CancellationToken.CHECK_INTERVAL) == 0) {
+                    token.checkpoint();
+                }
+                int cw = componentOf[forward.target(i)];
+                if (cu != cw) {
+                    sources[count] = cu;
+                    targets[count] = cw;
+                    weights[count] = forward.weight(i);
+                    count++;
+                }
+            }
+        }
+        return AdjacencyIndex.fromEdges(componentCount, sources, targets, weights, count);
+    }
+
+    private static ThreadFactory daemonThreads() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "graph-analysis-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,47 @@
+package algorithms.assignment.service.result;
+
+import algorithms.assignment.Metrics;
+import algorithms.assignment.graph.AdjacencyIndex;
+import algorithms.assignment.graph.Vertex;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of the SCC -> condensation -> topological sort -> critical path pipeline.
+ *
+ * Components are numbered in topological order of the condensation, so {@code componentOf}
+ * maps every vertex id to a component id and {@code condensation} has an edge between
+ * components for every graph edge that crosses them. The critical path is a chain of
+ * component ids through the condensation; its length is the heaviest such chain.
+ */
+public record AnalysisReport<T>(
+        List<List<Vertex<T>>> components,
+        int[] componentOf,
+        AdjacencyIndex condensation,
+        int[] topologicalOrder,
+        int[] criticalPath,
+        double criticalPathLength,
+        long elapsedNanos,
+        Map<String, Metrics> metrics
+) {
+    public int componentCount() {
+        return components.size();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Analysis Report:\n");
+        sb.append("  Components: ").append(componentCount()).append("\n");
+        sb.append("  Condensation Edges: ").append(condensation.edgeCount()).append("\n");
+        sb.append("  Critical Path Length: ").append(criticalPathLength).append("\n");
+        sb.append("  Critical Path: ").append(Arrays.toString(criticalPath)).append("\n");
+        sb.append(String.format("  Elapsed: %.3f ms%n", elapsedNanos / 1_000_000.0));
+        for (Map.Entry<String, Metrics> entry : metrics.entrySet()) {
+            sb.append(entry.getValue().getSummary());
+        }
+        return sb.toString();
+    }
+}
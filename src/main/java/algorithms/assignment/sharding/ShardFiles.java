@@ -0,0 +1,67 @@
+package algorithms.assignment.sharding;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Binary layout of the memory-mapped files exchanged between the coordinator and shard workers.
+ *
+ * Shard input: {@code magic, lo, hi, edgeCount, inDegree[hi - lo], (source, target)[edgeCount]}
+ * where the edges are all out-edges of the shard's vertices and {@code inDegree} counts
+ * predecessors in the whole graph.
+ *
+ * Shard output: {@code magic, trimmed, localComponents, label[hi - lo]} where a label is the
+ * local component id of a vertex, or -1 if it was trimmed as a trivial component.
+ */
+final class ShardFiles {
+    static final int INPUT_MAGIC = 0x53484431;
+    static final int OUTPUT_MAGIC = 0x53484F31;
+    static final int INPUT_HEADER_INTS = 4;
+    static final int OUTPUT_HEADER_INTS = 3;
+
+    private ShardFiles() {
+    }
+
+    /**
+     * Maps a file of the given number of ints for writing, creating or truncating it.
+     */
+    static IntBuffer mapForWrite(Path file, long ints) throws IOException {
+        long bytes = checkedSize(ints);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes);
+            return buffer.order(ByteOrder.nativeOrder()).asIntBuffer();
+        }
+    }
+
+    /**
+     * Maps a whole file for reading.
+     */
+    static IntBuffer mapForRead(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return buffer.order(ByteOrder.nativeOrder()).asIntBuffer();
+        }
+    }
+
+    static void checkMagic(IntBuffer buffer, int expected, Path file) throws IOException {
+        int magic = buffer.get(0);
+        if (magic != expected) {
+            throw new IOException("Unexpected file format in " + file + ": 0x" + Integer.toHexString(magic));
+        }
+    }
+
+    private static long checkedSize(long ints) {
+        long bytes = ints * Integer.BYTES;
+        if (bytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Shard file of " + bytes + " bytes exceeds the 2 GB mapping limit;"
+                    + " use more shards");
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,167 @@
+package algorithms.assignment.sharding;
+
+import algorithms.assignment.graph.Graph;
+import algorithms.assignment.graph.Vertex;
+import algorithms.assignment.strongly_connected_components.ComponentConsumer;
+import algorithms.assignment.strongly_connected_components.TarjanSCC;
+
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Analyses one vertex-range shard, normally inside its own JVM.
+ *
+ * 1. Trims vertices that cannot lie on a cycle (no remaining predecessors or successors),
+ *    propagating removals along the shard's local edges.
+ * 2. Runs Tarjan on the remaining intra-shard edges. Every local component is strongly
+ *    connected in the whole graph, so the coordinator can contract it into one vertex.
+ */
+public final class ShardWorker {
+    private ShardWorker() {
+    }
+
+    /**
+     * Entry point for worker processes: {@code ShardWorker <input file> <output file>}.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: ShardWorker <input file> <output file>");
+            System.exit(2);
+        }
+        process(Path.of(args[0]), Path.of(args[1]));
+    }
+
+    /**
+     * Reads a shard input file and writes the shard's labels to the output file.
+     */
+    public static void process(Path inputFile, Path outputFile) throws IOException {
+        IntBuffer in = ShardFiles.mapForRead(inputFile);
+        ShardFiles.checkMagic(in, ShardFiles.INPUT_MAGIC, inputFile);
+
+        int lo = in.get(1);
+        int hi = in.get(2);
+        int edgeCount = in.get(3);
+        int m = hi - lo;
+        int edgeBase = ShardFiles.INPUT_HEADER_INTS + m;
+
+        int[] inDegree = new int[m];
+        int[] outDegree = new int[m];
+        for (int v = 0; v < m; v++) {
+            inDegree[v] = in.get(ShardFiles.INPUT_HEADER_INTS + v);
+        }
+
+        // Local CSR in both directions, over intra-shard edges only
+        int[] localOut = new int[m + 1];
+        int[] localIn = new int[m + 1];
+        for (int e = 0; e < edgeCount; e++) {
+            int u = in.get(edgeBase + 2 * e) - lo;
+            int v = in.get(edgeBase + 2 * e + 1) - lo;
+            outDegree[u]++;
+            if (v >= 0 && v < m) {
+                localOut[u + 1]++;
+                localIn[v + 1]++;
+            }
+        }
+        for (int v = 0; v < m; v++) {
+            localOut[v + 1] += localOut[v];
+            localIn[v + 1] += localIn[v];
+        }
+        int[] successors = new int[localOut[m]];
+        int[] predecessors = new int[localIn[m]];
+        int[] nextOut = Arrays.copyOf(localOut, m);
+        int[] nextIn = Arrays.copyOf(localIn, m);
+        for (int e = 0; e < edgeCount; e++) {
+            int u = in.get(edgeBase + 2 * e) - lo;
+            int v = in.get(edgeBase + 2 * e + 1) - lo;
+            if (v >= 0 && v < m) {
+                successors[nextOut[u]++] = v;
+                predecessors[nextIn[v]++] = u;
+            }
+        }
+
+        int[] label = new int[m];
+        int trimmed = trim(m, inDegree, outDegree, localOut, successors, localIn, predecessors, label);
+
+        Graph<Integer> local = new Graph<>();
+        for (int v = 0; v < m; v++) {
+            if (label[v] != -1) {
+                local.addVertex(new Vertex<>(v));
+            }
+        }
+        for (int u = 0; u < m; u++) {
+            if (label[u] == -1) {
+                continue;
+            }
+            for (int i = localOut[u]; i < localOut[u + 1]; i++) {
+                if (label[successors[i]] != -1) {
+                    local.addEdge(u, successors[i]);
+                }
+            }
+        }
+
+        int components = new TarjanSCC<Integer>().forEachComponent(local, new ComponentConsumer() {
+            private int next;
+
+            @Override
+            public void accept(int[] ids, int offset, int length) {
+                for (int i = offset; i < offset + length; i++) {
+                    label[local.getVertexById(ids[i]).getData()] = next;
+                }
+                next++;
+            }
+        });
+
+        IntBuffer out = ShardFiles.mapForWrite(outputFile, ShardFiles.OUTPUT_HEADER_INTS + (long) m);
+        out.put(0, ShardFiles.OUTPUT_MAGIC);
+        out.put(1, trimmed);
+        out.put(2, components);
+        for (int v = 0; v < m; v++) {
+            out.put(ShardFiles.OUTPUT_HEADER_INTS + v, label[v]);
+        }
+    }
+
+    /**
+     * Marks trivially acyclic vertices with -1 and all others with 0.
+     *
+     * Degrees start as global counts and are only decremented for local edges, so they never
+     * drop below the true remaining degree and trimming stays conservative.
+     *
+     * @return the number of trimmed vertices
+     */
+    private static int trim(int m, int[] inDegree, int[] outDegree,
+                            int[] localOut, int[] successors, int[] localIn, int[] predecessors,
+                            int[] label) {
+        int[] queue = new int[m];
+        int head = 0;
+        int tail = 0;
+
+        for (int v = 0; v < m; v++) {
+            if (inDegree[v] == 0 || outDegree[v] == 0) {
+                label[v] = -1;
+                queue[tail++] = v;
+            }
+        }
+
+        while (head < tail) {
+            int v = queue[head++];
+            for (int i = localOut[v]; i < localOut[v + 1]; i++) {
+                int w = successors[i];
+                if (label[w] != -1 && --inDegree[w] == 0) {
+                    label[w] = -1;
+                    queue[tail++] = w;
+                }
+            }
+            for (int i = localIn[v]; i < localIn[v + 1]; i++) {
+                int w = predecessors[i];
+                if (label[w] != -1 && --outDegree[w] == 0) {
+                    label[w] = -1;
+                    queue[tail++] = w;
+                }
+            }
+        }
+
+        return tail;
+    }
+}
@@ -0,0 +1,338 @@
+package algorithms.assignment.sharding;
+
+import algorithms.assignment.graph.AdjacencyIndex;
+import algorithms.assignment.graph.Graph;
+import algorithms.assignment.graph.Neighbor;
+import algorithms.assignment.graph.Vertex;
+import algorithms.assignment.metrics.MetricsRegistry;
+import algorithms.assignment.metrics.PhaseTimer;
+import algorithms.assignment.sharding.result.ShardedAnalysisResult;
+import algorithms.assignment.strongly_connected_components.ComponentConsumer;
+import algorithms.assignment.strongly_connected_components.TarjanSCC;
+import algorithms.assignment.strongly_connected_components.result.SCCMetrics;
+import algorithms.assignment.strongly_connected_components.result.SCCResult;
+import algorithms.assignment.topological_sort.KahnTopologicalSort;
+import algorithms.assignment.topological_sort.result.TopologicalSortResult;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Coordinator for SCC analysis split across worker JVMs on the same host.
+ *
+ * The graph is partitioned into contiguous vertex-id ranges. Each shard's out-edges and
+ * global in-degrees are written to a memory-mapped file, and a child JVM running
+ * {@link ShardWorker} trims acyclic vertices and finds the shard-local components.
+ * The coordinator contracts every local component into a single vertex, runs Tarjan on
+ * that much smaller quotient graph, and topologically sorts the resulting condensation.
+ *
+ * The coordinator never builds an index or object graph over all edges: shards are written
+ * from the adjacency lists, and the quotient and condensation are deduplicated id pairs in
+ * primitive arrays, turned into {@link AdjacencyIndex}es.
+ */
+public final class ShardedSCC<T> {
+    private final int shardCount;
+    private final boolean forkWorkers;
+    private final Duration workerTimeout;
+    private final SCCMetrics metrics = new SCCMetrics();
+
+    public ShardedSCC(int shardCount) {
+        this(shardCount, true, Duration.ofMinutes(30));
+    }
+
+    /**
+     * @param shardCount    number of vertex ranges (and worker processes)
+     * @param forkWorkers   run workers as child JVMs; if false they run in this JVM, one after another
+     * @param workerTimeout how long to wait for each worker process
+     */
+    public ShardedSCC(int shardCount, boolean forkWorkers, Duration workerTimeout) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("shardCount must be positive");
+        }
+        this.shardCount = shardCount;
+        this.forkWorkers = forkWorkers;
+        this.workerTimeout = workerTimeout;
+    }
+
+    public ShardedAnalysisResult<T> analyze(Graph<T> graph) throws IOException, InterruptedException {
+        metrics.reset();
+        metrics.startTimer();
+
+        int n = graph.getVertexCount();
+        int edgeCount = graph.getEdgeCount();
+        int shards = Math.max(1, Math.min(shardCount, n));
+        int[] bounds = new int[shards + 1];
+        for (int k = 0; k <= shards; k++) {
+            bounds[k] = (int) ((long) k * n / shards);
+        }
+
+        // Written straight from the adjacency lists, so no CSR index is built for the whole graph
+        int[] inDegree = new int[n];
+        for (int u = 0; u < n; u++) {
+            for (Neighbor<T> neighbor : graph.getVertexById(u).getNeighbors()) {
+                inDegree[neighbor.vertex().getId()]++;
+            }
+        }
+
+        Path dir = Files.createTempDirectory("sharded-scc");
+        int[] superId = new int[n];
+        int superCount;
+        long[] quotientEdges;
+
+        try {
+            try (PhaseTimer ignored = PhaseTimer.start("sharded_scc", "write_shards", n, edgeCount)) {
+                for (int k = 0; k < shards; k++) {
+                    writeShard(graph, inDegree, bounds[k], bounds[k + 1], inputFile(dir, k));
+                }
+            }
+            inDegree = null;
+
+            try (PhaseTimer ignored = PhaseTimer.start("sharded_scc", "workers", n, edgeCount)) {
+                runWorkers(dir, shards);
+            }
+
+            try (PhaseTimer ignored = PhaseTimer.start("sharded_scc", "read_shards", n, edgeCount)) {
+                superCount = readShards(dir, bounds, superId);
+                quotientEdges = readQuotientEdges(dir, shards, superId);
+            }
+        } finally {
+            deleteRecursively(dir);
+        }
+
+        SCCResult<T> scc;
+        TopologicalSortResult<Integer> order;
+        try (PhaseTimer ignored = PhaseTimer.start("sharded_scc", "merge", superCount, quotientEdges.length)) {
+            AdjacencyIndex quotient = indexOf(superCount, quotientEdges, quotientEdges.length);
+            metrics.addToCounter("quotient_vertices", superCount);
+            metrics.addToCounter("quotient_edges", quotient.edgeCount());
+
+            int[] componentOf = new int[superCount];
+            int componentCount = new TarjanSCC<Integer>().forEachComponent(quotient, new ComponentConsumer() {
+                private int next;
+
+                @Override
+                public void accept(int[] ids, int offset, int length) {
+                    for (int i = offset; i < offset + length; i++) {
+                        componentOf[ids[i]] = next;
+                    }
+                    next++;
+                }
+            });
+            List<List<Vertex<T>>> components = new ArrayList<>(componentCount);
+            for (int c = 0; c < componentCount; c++) {
+                components.add(new ArrayList<>());
+            }
+            for (int v = 0; v < n; v++) {
+                components.get(componentOf[superId[v]]).add(graph.getVertexById(v));
+            }
+            metrics.addToCounter("scc_found", componentCount);
+
+            // Map the quotient edges onto components in place; the write position never passes the read one
+            int count = 0;
+            for (long pair : quotientEdges) {
+                int cu = componentOf[(int) (pair >>> 32)];
+                int cv = componentOf[(int) pair];
+                if (cu != cv) {
+                    quotientEdges[count++] = ((long) cu << 32) | cv;
+                }
+            }
+            count = sortedUnique(quotientEdges, count);
+            AdjacencyIndex condensation = indexOf(componentCount, quotientEdges, count);
+
+            KahnTopologicalSort<Integer> kahn = new KahnTopologicalSort<>();
+            int[] sorted = kahn.sortIds(condensation);
+            List<Integer> orderList = new ArrayList<>(sorted.length);
+            for (int c : sorted) {
+                orderList.add(c);
+            }
+            order = new TopologicalSortResult<>(orderList, sorted.length != componentCount, kahn.getMetrics());
+            scc = new SCCResult<>(components, metrics);
+        }
+
+        metrics.stopTimer();
+        MetricsRegistry.getDefault().record("sharded_scc", metrics);
+        return new ShardedAnalysisResult<>(scc, order);
+    }
+
+    public SCCMetrics getMetrics() {
+        return metrics;
+    }
+
+    private void writeShard(Graph<T> graph, int[] inDegree, int lo, int hi, Path file) throws IOException {
+        int m = hi - lo;
+        int edges = 0;
+        for (int u = lo; u < hi; u++) {
+            edges += graph.getVertexById(u).getNeighbors().size();
+        }
+        long ints = ShardFiles.INPUT_HEADER_INTS + (long) m + 2L * edges;
+
+        IntBuffer buffer = ShardFiles.mapForWrite(file, ints);
+        buffer.put(0, ShardFiles.INPUT_MAGIC);
+        buffer.put(1, lo);
+        buffer.put(2, hi);
+        buffer.put(3, edges);
+        for (int v = 0; v < m; v++) {
+            buffer.put(ShardFiles.INPUT_HEADER_INTS + v, inDegree[lo + v]);
+        }
+        int pos = ShardFiles.INPUT_HEADER_INTS + m;
+        for (int u = lo; u < hi; u++) {
+            for (Neighbor<T> neighbor : graph.getVertexById(u).getNeighbors()) {
+                buffer.put(pos++, u);
+                buffer.put(pos++, neighbor.vertex().getId());
+            }
+        }
+
+        metrics.addToCounter("bytes_exchanged", ints * Integer.BYTES);
+    }
+
+    private void runWorkers(Path dir, int shards) throws IOException, InterruptedException {
+        metrics.addToCounter("shards", shards);
+        if (!forkWorkers) {
+            for (int k = 0; k < shards; k++) {
+                ShardWorker.process(inputFile(dir, k), outputFile(dir, k));
+            }
+            return;
+        }
+
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        String classpath = System.getProperty("java.class.path");
+        List<Process> processes = new ArrayList<>();
+        try {
+            for (int k = 0; k < shards; k++) {
+                ProcessBuilder builder = new ProcessBuilder(java, "-cp", classpath, ShardWorker.class.getName(),
+                        inputFile(dir, k).toString(), outputFile(dir, k).toString());
+                builder.redirectErrorStream(true);
+                builder.redirectOutput(logFile(dir, k).toFile());
+                processes.add(builder.start());
+                metrics.incrementCounter("worker_processes");
+            }
+
+            for (int k = 0; k < shards; k++) {
+                Process process = processes.get(k);
+                if (!process.waitFor(workerTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                    throw new IOException("Shard worker " + k + " timed out after " + workerTimeout);
+                }
+                if (process.exitValue() != 0) {
+                    throw new IOException("Shard worker " + k + " failed with exit code " + process.exitValue()
+                            + ":\n" + Files.readString(logFile(dir, k)));
+                }
+            }
+        } finally {
+            for (Process process : processes) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    /**
+     * Assigns a quotient-graph vertex to every local component and every trimmed vertex.
+     *
+     * @return the number of quotient vertices
+     */
+    private int readShards(Path dir, int[] bounds, int[] superId) throws IOException {
+        int next = 0;
+        for (int k = 0; k + 1 < bounds.length; k++) {
+            Path file = outputFile(dir, k);
+            IntBuffer buffer = ShardFiles.mapForRead(file);
+            ShardFiles.checkMagic(buffer, ShardFiles.OUTPUT_MAGIC, file);
+
+            int trimmed = buffer.get(1);
+            int localComponents = buffer.get(2);
+            int singleton = next + localComponents;
+            for (int v = bounds[k]; v < bounds[k + 1]; v++) {
+                int label = buffer.get(ShardFiles.OUTPUT_HEADER_INTS + v - bounds[k]);
+                superId[v] = label == -1 ? singleton++ : next + label;
+            }
+            next = singleton;
+
+            metrics.addToCounter("trimmed_vertices", trimmed);
+            metrics.addToCounter("local_components", localComponents);
+            metrics.addToCounter("bytes_exchanged", (long) buffer.capacity() * Integer.BYTES);
+        }
+        return next;
+    }
+
+    /**
+     * Reads the edges back from the shard inputs and keeps every distinct edge between two
+     * quotient vertices, packed as {@code su << 32 | sv} in ascending order.
+     */
+    private long[] readQuotientEdges(Path dir, int shards, int[] superId) throws IOException {
+        long[] pairs = new long[1024];
+        int count = 0;
+        for (int k = 0; k < shards; k++) {
+            Path file = inputFile(dir, k);
+            IntBuffer buffer = ShardFiles.mapForRead(file);
+            ShardFiles.checkMagic(buffer, ShardFiles.INPUT_MAGIC, file);
+
+            int edges = buffer.get(3);
+            int pos = ShardFiles.INPUT_HEADER_INTS + buffer.get(2) - buffer.get(1);
+            for (int e = 0; e < edges; e++) {
+                int su = superId[buffer.get(pos++)];
+                int sv = superId[buffer.get(pos++)];
+                if (su != sv) {
+                    if (count == pairs.length) {
+                        pairs = Arrays.copyOf(pairs, count * 2);
+                    }
+                    pairs[count++] = ((long) su << 32) | sv;
+                }
+            }
+        }
+        metrics.addToCounter("cross_edges", count);
+        return Arrays.copyOf(pairs, sortedUnique(pairs, count));
+    }
+
+    /**
+     * Sorts the first {@code count} pairs and drops duplicates.
+     *
+     * @return the number of distinct pairs, which now lead the array
+     */
+    private static int sortedUnique(long[] pairs, int count) {
+        Arrays.sort(pairs, 0, count);
+        int unique = 0;
+        for (int i = 0; i < count; i++) {
+            if (unique == 0 || pairs[unique - 1] != pairs[i]) {
+                pairs[unique++] = pairs[i];
+            }
+        }
+        return unique;
+    }
+
+    private static AdjacencyIndex indexOf(int vertexCount, long[] pairs, int count) {
+        int[] sources = new int[count];
+        int[] targets = new int[count];
+        for (int e = 0; e < count; e++) {
+            sources[e] = (int) (pairs[e] >>> 32);
+            targets[e] = (int) pairs[e];
+        }
+        int[] weights = new int[count];
+        Arrays.fill(weights, 1);
+        return AdjacencyIndex.fromEdges(vertexCount, sources, targets, weights, count);
+    }
+
+    private static Path inputFile(Path dir, int shard) {
+        return dir.resolve("shard-" + shard + ".in");
+    }
+
+    private static Path outputFile(Path dir, int shard) {
+        return dir.resolve("shard-" + shard + ".out");
+    }
+
+    private static Path logFile(Path dir, int shard) {
+        return dir.resolve("shard-" + shard + ".log");
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path p : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(p);
+            }
+        }
+    }
+}
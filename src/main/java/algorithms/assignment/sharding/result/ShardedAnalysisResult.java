@@ -0,0 +1,20 @@
+package algorithms.assignment.sharding.result;
+
+import algorithms.assignment.strongly_connected_components.result.SCCResult;
+import algorithms.assignment.topological_sort.result.TopologicalSortResult;
+
+/**
+ * Merged result of a sharded analysis.
+ *
+ * {@code condensationOrder} is a topological order of the condensation graph, given as
+ * indices into {@code scc.components()}.
+ */
+public record ShardedAnalysisResult<T>(
+        SCCResult<T> scc,
+        TopologicalSortResult<Integer> condensationOrder
+) {
+    @Override
+    public String toString() {
+        return scc + "Condensation order: " + condensationOrder.order() + "\n";
+    }
+}
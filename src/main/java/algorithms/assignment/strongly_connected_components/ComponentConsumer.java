@@ -0,0 +1,13 @@
+package algorithms.assignment.strongly_connected_components;
+
+/**
+ * Receives strongly connected components one at a time, as soon as the algorithm finds them.
+ *
+ * Members are passed as dense vertex ids ({@link algorithms.assignment.graph.Vertex#getId()})
+ * in {@code ids[offset, offset + length)}. The array is the algorithm's own working buffer:
+ * it is only valid during the call, must not be modified, and must be copied if kept.
+ */
+@FunctionalInterface
+public interface ComponentConsumer {
+    void accept(int[] ids, int offset, int length);
+}
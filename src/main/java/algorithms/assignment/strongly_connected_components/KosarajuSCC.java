@@ -1,94 +1,224 @@
 package algorithms.assignment.strongly_connected_components;
 
+import algorithms.assignment.graph.CompressedGraph;
+import algorithms.assignment.graph.EdgeCursor;
 import algorithms.assignment.graph.Graph;
+import algorithms.assignment.graph.IntGraph;
 import algorithms.assignment.graph.Vertex;
-import algorithms.assignment.graph.Neighbor;
+import algorithms.assignment.metrics.MetricsRegistry;
+import algorithms.assignment.metrics.PhaseTimer;
 import algorithms.assignment.strongly_connected_components.result.SCCMetrics;
 import algorithms.assignment.strongly_connected_components.result.SCCResult;
+import algorithms.assignment.util.CancellationToken;
+import algorithms.assignment.util.EpochMarks;
 
 import java.util.*;
-
-public final class KosarajuSCC<T> {
+import java.util.function.Supplier;
+
+/**
+ * Kosaraju's algorithm: an iterative DFS records finish order on the forward graph, then
+ * components are collected over the reverse graph in decreasing finish order.
+ *
+ * Scratch arrays are kept between runs and visits are tracked with epoch stamps, so
+ * repeated runs neither allocate nor clear O(V) state.
+ *
+ * Both passes poll the {@link CancellationToken} given at construction every
+ * 1024 units of work, counting each vertex finished or collected and each edge scanned.
+ */
+public final class KosarajuSCC<T> implements SCCAlgorithm<T> {
     private final SCCMetrics metrics = new SCCMetrics();
+    private final CancellationToken cancellation;
+    private final EpochMarks visited = new EpochMarks(0);
+    private final EpochMarks assigned = new EpochMarks(0);
+    private int[] finishOrder = new int[0];
+    private int[] stack = new int[0];
+    private int[] component = new int[0];
+    private long[] edgeState = new long[0];
+    private long work;
+
+    public KosarajuSCC() {
+        this(CancellationToken.NONE);
+    }
+
+    public KosarajuSCC(CancellationToken cancellation) {
+        this.cancellation = cancellation;
+    }
 
+    @Override
     public SCCResult<T> findSCCs(Graph<T> graph) {
+        List<List<Vertex<T>>> sccList = new ArrayList<>();
+        forEachComponent(graph, (ids, offset, length) -> {
+            List<Vertex<T>> scc = new ArrayList<>(length);
+            for (int i = offset; i < offset + length; i++) {
+                scc.add(graph.getVertexById(ids[i]));
+            }
+            sccList.add(scc);
+        });
+        return new SCCResult<>(sccList, metrics);
+    }
+
+    /**
+     * Streams each component to {@code consumer} as soon as the second pass has collected it,
+     * in topological order of the condensation. The id buffer is reused for every component.
+     *
+     * @return the number of components
+     */
+    @Override
+    public int forEachComponent(Graph<T> graph, ComponentConsumer consumer) {
+        return forEachComponent(graph.getForwardAdjacency(), graph::getReverseAdjacency, consumer);
+    }
+
+    /**
+     * Streams the components of an id-based graph, such as a {@link CompressedGraph}.
+     * {@code reverse} must hold the same edges with their directions flipped.
+     *
+     * @return the number of components
+     */
+    public int forEachComponent(IntGraph forward, IntGraph reverse, ComponentConsumer consumer) {
+        return forEachComponent(forward, () -> reverse, consumer);
+    }
+
+    private int forEachComponent(IntGraph forward, Supplier<? extends IntGraph> reverseIndex,
+                                 ComponentConsumer consumer) {
         metrics.reset();
         metrics.startTimer();
 
-        List<List<Vertex<T>>> sccList = new ArrayList<>();
-        Set<Vertex<T>> visited = new HashSet<>();
-        Stack<Vertex<T>> stack = new Stack<>();
+        int vertexCount = forward.vertexCount();
+        int edgeCount = forward.edgeCount();
+        ensureCapacity(vertexCount);
+        visited.clear();
+        assigned.clear();
+        work = 0;
+        int sccFound = 0;
 
-        for (Vertex<T> vertex : graph.getVertices()) {
-            if (!visited.contains(vertex)) {
-                fillOrder(vertex, visited, stack);
-            }
+        try (PhaseTimer ignored = PhaseTimer.start("kosaraju_scc", "first_dfs", vertexCount, edgeCount)) {
+            fillOrder(forward);
         }
 
-        Graph<T> transposed = transposeGraph(graph);
+        IntGraph reverse;
+        try (PhaseTimer ignored = PhaseTimer.start("kosaraju_scc", "reverse_index", vertexCount, edgeCount)) {
+            reverse = reverseIndex.get();
+        }
 
-        visited.clear();
-        while (!stack.isEmpty()) {
-            Vertex<T> vertex = transposed.getVertex(stack.pop().getData());
-            if (vertex != null && !visited.contains(vertex)) {
-                List<Vertex<T>> scc = new ArrayList<>();
-                dfs(vertex, visited, scc);
-                sccList.add(scc);
-                metrics.incrementCounter("scc_found");
+        try (PhaseTimer ignored = PhaseTimer.start("kosaraju_scc", "second_dfs", vertexCount, edgeCount)) {
+            EdgeCursor cursor = reverse.cursor();
+            for (int i = vertexCount - 1; i >= 0; i--) {
+                int v = finishOrder[i];
+                if (!assigned.isMarked(v)) {
+                    int size = collectComponent(cursor, v);
+                    consumer.accept(component, 0, size);
+                    sccFound++;
+                }
             }
+            // Every vertex is collected once and scans all of its in-edges
+            metrics.addToCounter("dfs_calls", vertexCount);
+            metrics.addToCounter("edges_examined", reverse.edgeCount());
         }
 
+        metrics.addToCounter("scc_found", sccFound);
         metrics.stopTimer();
-        return new SCCResult<>(sccList, metrics);
+        MetricsRegistry.getDefault().record("kosaraju_scc", metrics);
+        return sccFound;
     }
 
-    private void fillOrder(Vertex<T> v, Set<Vertex<T>> visited, Stack<Vertex<T>> stack) {
-        visited.add(v);
-        metrics.incrementCounter("dfs_calls");
-
-        for (Neighbor<T> neighbor : v.getNeighbors()) {
-            metrics.incrementCounter("edges_examined");
-            Vertex<T> next = neighbor.vertex();
-            if (!visited.contains(next)) {
-                fillOrder(next, visited, stack);
+    /**
+     * Iterative first pass: records vertices in order of DFS completion.
+     */
+    private void fillOrder(IntGraph forward) {
+        int n = forward.vertexCount();
+        EdgeCursor cursor = forward.cursor();
+        int finished = 0;
+        long dfsCalls = 0;
+        long edgesExamined = 0;
+
+        for (int root = 0; root < n; root++) {
+            if (!visited.mark(root)) {
+                continue;
             }
-        }
-        stack.push(v);
-    }
-
-    private void dfs(Vertex<T> v, Set<Vertex<T>> visited, List<Vertex<T>> scc) {
-        visited.add(v);
-        scc.add(v);
-        metrics.incrementCounter("dfs_calls");
-
-        for (Neighbor<T> neighbor : v.getNeighbors()) {
-            metrics.incrementCounter("edges_examined");
-            Vertex<T> next = neighbor.vertex();
-            if (!visited.contains(next)) {
-                dfs(next, visited, scc);
+            int depth = 0;
+            stack[depth++] = root;
+            edgeState[root] = EdgeCursor.START;
+            dfsCalls++;
+
+            while (depth > 0) {
+                int v = stack[depth - 1];
+                boolean descended = false;
+                cursor.restore(v, edgeState[v]);
+                while (cursor.hasNext()) {
+                    int w = cursor.next();
+                    edgesExamined++;
+                    if ((++work & CancellationToken.CHECK_INTERVAL) == 0) {
+                        cancellation.checkpoint();
+                    }
+                    if (visited.mark(w)) {
+                        edgeState[v] = cursor.save();
+                        edgeState[w] = EdgeCursor.START;
+                        stack[depth++] = w;
+                        dfsCalls++;
+                        descended = true;
+                        break;
+                    }
+                }
+                if (!descended) {
+                    depth--;
+                    finishOrder[finished++] = v;
+                    if ((++work & CancellationToken.CHECK_INTERVAL) == 0) {
+                        cancellation.checkpoint();
+                    }
+                }
             }
         }
-    }
 
-    private Graph<T> transposeGraph(Graph<T> graph) {
-        Graph<T> transposed = new Graph<>();
+        metrics.addToCounter("dfs_calls", dfsCalls);
+        metrics.addToCounter("edges_examined", edgesExamined);
+    }
 
-        for (Vertex<T> v : graph.getVertices()) {
-            transposed.addVertex(new Vertex<>(v.getData()));
-        }
+    /**
+     * Collects every unassigned vertex that reaches {@code root} into {@code component},
+     * walking predecessors through the reverse graph instead of a transposed copy of the graph.
+     *
+     * @return the component size
+     */
+    private int collectComponent(EdgeCursor reverse, int root) {
+        int top = 0;
+        int size = 0;
+        stack[top++] = root;
+        assigned.mark(root);
+
+        while (top > 0) {
+            int v = stack[--top];
+            component[size++] = v;
+            if ((++work & CancellationToken.CHECK_INTERVAL) == 0) {
+                cancellation.checkpoint();
+            }
 
-        for (Vertex<T> v : graph.getVertices()) {
-            for (Neighbor<T> neighbor : v.getNeighbors()) {
-                Vertex<T> from = transposed.getVertex(neighbor.vertex().getData());
-                Vertex<T> to = transposed.getVertex(v.getData());
-                transposed.addEdge(from.getData(), to.getData());
+            reverse.reset(v);
+            while (reverse.hasNext()) {
+                int pred = reverse.next();
+                if ((++work & CancellationToken.CHECK_INTERVAL) == 0) {
+                    cancellation.checkpoint();
+                }
+                if (assigned.mark(pred)) {
+                    stack[top++] = pred;
+                }
             }
         }
-
-        return transposed;
+        return size;
     }
 
+    @Override
     public SCCMetrics getMetrics() {
         return metrics;
     }
+
+    private void ensureCapacity(int n) {
+        if (finishOrder.length < n) {
+            finishOrder = new int[n];
+            stack = new int[n];
+            component = new int[n];
+            edgeState = new long[n];
+            visited.ensureCapacity(n);
+            assigned.ensureCapacity(n);
+        }
+    }
 }
@@ -0,0 +1,176 @@
+package algorithms.assignment.strongly_connected_components;
+
+import algorithms.assignment.graph.CompressedGraph;
+import algorithms.assignment.graph.EdgeCursor;
+import algorithms.assignment.graph.Graph;
+import algorithms.assignment.graph.IntGraph;
+import algorithms.assignment.graph.Vertex;
+import algorithms.assignment.metrics.MetricsRegistry;
+import algorithms.assignment.metrics.PhaseTimer;
+import algorithms.assignment.strongly_connected_components.result.SCCMetrics;
+import algorithms.assignment.strongly_connected_components.result.SCCResult;
+
+import java.util.*;
+
+/**
+ * Gabow's path-based algorithm with an explicit call stack over an id-based graph.
+ *
+ * Instead of lowlinks it keeps a second stack of path boundaries: an edge back into the
+ * current path pops every boundary above its target, merging them into one tentative
+ * component. A vertex that is still the top boundary when it finishes is a component root.
+ *
+ * One preorder array doubles as the visited set and the on-stack test: 0 means unvisited,
+ * a positive number means visited and not yet in a component, and -1 means assigned. That
+ * makes it 24 bytes of scratch per vertex where {@link TarjanSCC} needs 32, at the cost of
+ * clearing the preorder array at the start of every run.
+ */
+public final class PathBasedSCC<T> implements SCCAlgorithm<T> {
+    /**
+     * Scratch bytes per vertex: preorder, both stacks and the call stack as ints,
+     * plus the saved edge cursor as a long.
+     */
+    public static final int BYTES_PER_VERTEX = 4 * 4 + 8;
+
+    private static final int ASSIGNED = -1;
+
+    private final SCCMetrics metrics = new SCCMetrics();
+    private int[] preorder = new int[0];
+    private int[] stack = new int[0];
+    private int[] boundaries = new int[0];
+    private int[] callStack = new int[0];
+    private long[] edgeState = new long[0];
+
+    @Override
+    public SCCResult<T> findSCCs(Graph<T> graph) {
+        List<List<Vertex<T>>> sccList = new ArrayList<>();
+        forEachComponent(graph, (ids, offset, length) -> {
+            List<Vertex<T>> scc = new ArrayList<>(length);
+            for (int i = offset + length - 1; i >= offset; i--) {
+                scc.add(graph.getVertexById(ids[i]));
+            }
+            sccList.add(scc);
+        });
+        return new SCCResult<>(sccList, metrics);
+    }
+
+    /**
+     * Streams each component to {@code consumer} as it is popped, in reverse topological
+     * order of the condensation.
+     *
+     * @return the number of components
+     */
+    @Override
+    public int forEachComponent(Graph<T> graph, ComponentConsumer consumer) {
+        return forEachComponent(graph.getForwardAdjacency(), consumer);
+    }
+
+    /**
+     * Streams the components of an id-based graph, such as a {@link CompressedGraph}.
+     *
+     * @return the number of components
+     */
+    public int forEachComponent(IntGraph graph, ComponentConsumer consumer) {
+        metrics.reset();
+        metrics.startTimer();
+
+        int n = graph.vertexCount();
+        EdgeCursor cursor = graph.cursor();
+        ensureCapacity(n);
+        int[] preorder = this.preorder;
+        int[] stack = this.stack;
+        int[] boundaries = this.boundaries;
+        int[] callStack = this.callStack;
+        long[] edgeState = this.edgeState;
+        Arrays.fill(preorder, 0, n, 0);
+        int counter = 0;
+        int top = 0;
+        int boundaryTop = 0;
+        long dfsCalls = 0;
+        long edgesExamined = 0;
+        long merges = 0;
+        int sccFound = 0;
+
+        try (PhaseTimer ignored = PhaseTimer.start("path_based_scc", "dfs", n, graph.edgeCount())) {
+            for (int root = 0; root < n; root++) {
+                if (preorder[root] != 0) {
+                    continue;
+                }
+                int depth = 0;
+                callStack[depth++] = root;
+                preorder[root] = ++counter;
+                edgeState[root] = EdgeCursor.START;
+                stack[top++] = root;
+                boundaries[boundaryTop++] = root;
+                dfsCalls++;
+
+                while (depth > 0) {
+                    int v = callStack[depth - 1];
+                    boolean descended = false;
+                    cursor.restore(v, edgeState[v]);
+                    while (cursor.hasNext()) {
+                        int w = cursor.next();
+                        edgesExamined++;
+                        int order = preorder[w];
+                        if (order == 0) {
+                            edgeState[v] = cursor.save();
+                            callStack[depth++] = w;
+                            preorder[w] = ++counter;
+                            edgeState[w] = EdgeCursor.START;
+                            stack[top++] = w;
+                            boundaries[boundaryTop++] = w;
+                            dfsCalls++;
+                            descended = true;
+                            break;
+                        } else if (order != ASSIGNED) {
+                            // w is on the current path: everything after it joins its component
+                            while (preorder[boundaries[boundaryTop - 1]] > order) {
+                                boundaryTop--;
+                                merges++;
+                            }
+                        }
+                    }
+                    if (descended) {
+                        continue;
+                    }
+
+                    depth--;
+                    if (boundaries[boundaryTop - 1] == v) {
+                        boundaryTop--;
+                        int from = top;
+                        int w;
+                        do {
+                            w = stack[--from];
+                            preorder[w] = ASSIGNED;
+                        } while (w != v);
+                        consumer.accept(stack, from, top - from);
+                        top = from;
+                        sccFound++;
+                    }
+                }
+            }
+        }
+
+        metrics.addToCounter("dfs_calls", dfsCalls);
+        metrics.addToCounter("edges_examined", edgesExamined);
+        metrics.addToCounter("boundary_merges", merges);
+        metrics.addToCounter("scc_found", sccFound);
+        metrics.stopTimer();
+        MetricsRegistry.getDefault().record("path_based_scc", metrics);
+        return sccFound;
+    }
+
+    @Override
+    public SCCMetrics getMetrics() {
+        return metrics;
+    }
+
+    private void ensureCapacity(int n) {
+        if (preorder.length < n) {
+            preorder = new int[n];
+            stack = new int[n];
+            boundaries = new int[n];
+            callStack = new int[n];
+            edgeState = new long[n];
+        }
+    }
+}
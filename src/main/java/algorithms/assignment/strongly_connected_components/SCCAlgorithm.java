@@ -0,0 +1,28 @@
+package algorithms.assignment.strongly_connected_components;
+
+import algorithms.assignment.graph.Graph;
+import algorithms.assignment.strongly_connected_components.result.SCCMetrics;
+import algorithms.assignment.strongly_connected_components.result.SCCResult;
+
+/**
+ * A strongly connected components engine. Implementations differ in the order they emit
+ * components in and in how much scratch memory they need per vertex.
+ */
+public interface SCCAlgorithm<T> {
+    /**
+     * Collects every component as a list of vertices.
+     */
+    SCCResult<T> findSCCs(Graph<T> graph);
+
+    /**
+     * Streams each component to {@code consumer} as soon as it is found, without building lists.
+     *
+     * @return the number of components
+     */
+    int forEachComponent(Graph<T> graph, ComponentConsumer consumer);
+
+    /**
+     * Gets the metrics of the most recent run.
+     */
+    SCCMetrics getMetrics();
+}
@@ -0,0 +1,149 @@
+package algorithms.assignment.strongly_connected_components;
+
+import algorithms.assignment.graph.Graph;
+import algorithms.assignment.metrics.MetricsRegistry;
+import algorithms.assignment.strongly_connected_components.result.SCCMetrics;
+import algorithms.assignment.strongly_connected_components.result.SCCResult;
+import algorithms.assignment.strongly_connected_components.result.SelectionMetrics;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Picks an {@link SCCAlgorithm} per graph from its size, its density and the free heap,
+ * and records the choice in its own {@link SelectionMetrics}, next to the metrics the engine
+ * records for the run itself.
+ *
+ * Every engine needs the forward adjacency index (4 bytes per vertex and 8 per edge, so
+ * density drives it on dense graphs) plus its own scratch arrays; Kosaraju also needs the
+ * reverse index. Small graphs go to {@link TarjanSCC}, whose epoch-stamped scratch is reused
+ * between runs without clearing. Everything else goes to {@link PathBasedSCC}, which needs
+ * the least memory and measured at least as fast as the other engines from average degree
+ * 2 to 128. Kosaraju is never cheaper and is only used when asked for explicitly.
+ */
+public final class SCCSelector<T> implements SCCAlgorithm<T> {
+    public enum Engine {
+        TARJAN(32, 1),
+        KOSARAJU(28, 2),
+        PATH_BASED(PathBasedSCC.BYTES_PER_VERTEX, 1);
+
+        private final int scratchBytesPerVertex;
+        private final int adjacencyIndexes;
+
+        Engine(int scratchBytesPerVertex, int adjacencyIndexes) {
+            this.scratchBytesPerVertex = scratchBytesPerVertex;
+            this.adjacencyIndexes = adjacencyIndexes;
+        }
+
+        /**
+         * Estimates the working memory of a run, including the adjacency indexes it builds.
+         */
+        public long estimateBytes(int vertexCount, int edgeCount) {
+            long index = 4L * (vertexCount + 1) + 8L * edgeCount;
+            return (long) scratchBytesPerVertex * vertexCount + adjacencyIndexes * index;
+        }
+    }
+
+    /**
+     * Graphs up to this many vertices go to Tarjan when memory allows.
+     */
+    public static final int SMALL_GRAPH = 1 << 12;
+
+    private final Engine fixed;
+    private final LongSupplier availableMemory;
+    private final Map<Engine, SCCAlgorithm<T>> engines = new EnumMap<>(Engine.class);
+    private final SelectionMetrics selection = new SelectionMetrics();
+    private Engine lastEngine;
+
+    /**
+     * Selects by graph and free heap.
+     */
+    public SCCSelector() {
+        this(null, SCCSelector::freeHeap);
+    }
+
+    /**
+     * Always uses {@code engine}; the choice is still recorded in the selection metrics.
+     */
+    public SCCSelector(Engine engine) {
+        this(engine, SCCSelector::freeHeap);
+    }
+
+    /**
+     * @param fixed           engine to always use, or null to select per graph
+     * @param availableMemory bytes the analysis may still allocate
+     */
+    public SCCSelector(Engine fixed, LongSupplier availableMemory) {
+        this.fixed = fixed;
+        this.availableMemory = availableMemory;
+    }
+
+    /**
+     * Chooses the engine for a graph with these counts, without running it.
+     */
+    public Engine select(int vertexCount, int edgeCount) {
+        if (fixed != null) {
+            return fixed;
+        }
+        // Leave half of the free heap for the results and the caller
+        long budget = availableMemory.getAsLong() / 2;
+        if (vertexCount <= SMALL_GRAPH && Engine.TARJAN.estimateBytes(vertexCount, edgeCount) <= budget) {
+            return Engine.TARJAN;
+        }
+        return Engine.PATH_BASED;
+    }
+
+    @Override
+    public SCCResult<T> findSCCs(Graph<T> graph) {
+        Engine engine = choose(graph);
+        return engine(engine).findSCCs(graph);
+    }
+
+    @Override
+    public int forEachComponent(Graph<T> graph, ComponentConsumer consumer) {
+        Engine engine = choose(graph);
+        return engine(engine).forEachComponent(graph, consumer);
+    }
+
+    /**
+     * Gets the metrics of the engine that ran last, as that engine recorded them.
+     */
+    @Override
+    public SCCMetrics getMetrics() {
+        return lastEngine == null ? new SCCMetrics() : engine(lastEngine).getMetrics();
+    }
+
+    /**
+     * Gets the last choice: an {@code engine_*} counter naming the engine and the
+     * {@code estimated_bytes} the selector expected it to need.
+     */
+    public SelectionMetrics getSelectionMetrics() {
+        return selection;
+    }
+
+    private SCCAlgorithm<T> engine(Engine engine) {
+        return engines.computeIfAbsent(engine, e -> switch (e) {
+            case TARJAN -> new TarjanSCC<>();
+            case KOSARAJU -> new KosarajuSCC<>();
+            case PATH_BASED -> new PathBasedSCC<>();
+        });
+    }
+
+    private Engine choose(Graph<T> graph) {
+        selection.reset();
+        selection.startTimer();
+        Engine engine = select(graph.getVertexCount(), graph.getEdgeCount());
+        selection.addToCounter("engine_" + engine.name().toLowerCase(), 1);
+        selection.addToCounter("estimated_bytes", engine.estimateBytes(graph.getVertexCount(), graph.getEdgeCount()));
+        selection.stopTimer();
+        MetricsRegistry.getDefault().record("scc_selector", selection);
+        lastEngine = engine;
+        return engine;
+    }
+
+    private static long freeHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.maxMemory() - (runtime.totalMemory() - runtime.freeMemory());
+    }
+}
@@ -1,81 +1,167 @@
 package algorithms.assignment.strongly_connected_components;
 
+import algorithms.assignment.graph.CompressedGraph;
+import algorithms.assignment.graph.EdgeCursor;
 import algorithms.assignment.graph.Graph;
+import algorithms.assignment.graph.IntGraph;
 import algorithms.assignment.graph.Vertex;
-import algorithms.assignment.graph.Neighbor;
+import algorithms.assignment.metrics.MetricsRegistry;
+import algorithms.assignment.metrics.PhaseTimer;
 import algorithms.assignment.strongly_connected_components.result.SCCMetrics;
 import algorithms.assignment.strongly_connected_components.result.SCCResult;
+import algorithms.assignment.util.EpochMarks;
 
 import java.util.*;
 
-public final class TarjanSCC<T> {
+/**
+ * Tarjan's algorithm with an explicit call stack over an id-based graph, either the
+ * forward adjacency index of a {@link Graph} or a {@link CompressedGraph}.
+ *
+ * Every component is contiguous on top of the Tarjan stack when its root finishes, so
+ * {@link #forEachComponent} hands that slice straight to the consumer without copying.
+ *
+ * The per-vertex arrays are kept between runs and visits are tracked with epoch stamps,
+ * so repeated runs on graphs of similar size neither allocate nor clear O(V) state.
+ */
+public final class TarjanSCC<T> implements SCCAlgorithm<T> {
     private final SCCMetrics metrics = new SCCMetrics();
+    private final EpochMarks discovered = new EpochMarks(0);
+    private final EpochMarks onStack = new EpochMarks(0);
+    private int[] discovery = new int[0];
+    private int[] lowlink = new int[0];
+    private long[] edgeState = new long[0];
+    private int[] callStack = new int[0];
+    private int[] stack = new int[0];
 
+    @Override
     public SCCResult<T> findSCCs(Graph<T> graph) {
-        metrics.reset();
-        metrics.startTimer();
-
         List<List<Vertex<T>>> sccList = new ArrayList<>();
-        Map<Vertex<T>, Integer> indexMap = new HashMap<>();
-        Map<Vertex<T>, Integer> lowlinkMap = new HashMap<>();
-        Stack<Vertex<T>> stack = new Stack<>();
-        Set<Vertex<T>> onStack = new HashSet<>();
-        int[] index = {0};
-
-        for (Vertex<T> v : graph.getVertices()) {
-            if (!indexMap.containsKey(v)) {
-                strongConnect(v, indexMap, lowlinkMap, onStack, stack, index, sccList);
+        forEachComponent(graph, (ids, offset, length) -> {
+            List<Vertex<T>> scc = new ArrayList<>(length);
+            for (int i = offset + length - 1; i >= offset; i--) {
+                scc.add(graph.getVertexById(ids[i]));
             }
-        }
-
-        metrics.stopTimer();
-        metrics.incrementCounter("scc_count");
-
+            sccList.add(scc);
+        });
         return new SCCResult<>(sccList, metrics);
     }
 
-    private void strongConnect(Vertex<T> v,
-                               Map<Vertex<T>, Integer> indexMap,
-                               Map<Vertex<T>, Integer> lowlinkMap,
-                               Set<Vertex<T>> onStack,
-                               Stack<Vertex<T>> stack,
-                               int[] index,
-                               List<List<Vertex<T>>> sccList) {
-        metrics.incrementCounter("dfs_calls");
+    /**
+     * Streams each component to {@code consumer} as it is popped, in reverse topological
+     * order of the condensation.
+     *
+     * @return the number of components
+     */
+    @Override
+    public int forEachComponent(Graph<T> graph, ComponentConsumer consumer) {
+        return forEachComponent(graph.getForwardAdjacency(), consumer);
+    }
 
-        indexMap.put(v, index[0]);
-        lowlinkMap.put(v, index[0]);
-        index[0]++;
+    /**
+     * Streams the components of an id-based graph, such as a {@link CompressedGraph}.
+     *
+     * @return the number of components
+     */
+    public int forEachComponent(IntGraph graph, ComponentConsumer consumer) {
+        metrics.reset();
+        metrics.startTimer();
+
+        int n = graph.vertexCount();
+        EdgeCursor cursor = graph.cursor();
+        ensureCapacity(n);
+        discovered.clear();
+        onStack.clear();
+        int[] discovery = this.discovery;
+        int[] lowlink = this.lowlink;
+        long[] edgeState = this.edgeState;
+        int[] callStack = this.callStack;
+        int[] stack = this.stack;
+        int time = 0;
+        int top = 0;
+        long dfsCalls = 0;
+        long edgesExamined = 0;
+        int sccFound = 0;
 
-        stack.push(v);
-        onStack.add(v);
+        try (PhaseTimer ignored = PhaseTimer.start("tarjan_scc", "dfs", n, graph.edgeCount())) {
+            for (int root = 0; root < n; root++) {
+                if (!discovered.mark(root)) {
+                    continue;
+                }
+                int depth = 0;
+                callStack[depth++] = root;
+                discovery[root] = lowlink[root] = ++time;
+                edgeState[root] = EdgeCursor.START;
+                stack[top++] = root;
+                onStack.mark(root);
+                dfsCalls++;
 
-        for (Neighbor<T> neighbor : v.getNeighbors()) {
-            metrics.incrementCounter("edges_examined");
+                while (depth > 0) {
+                    int v = callStack[depth - 1];
+                    boolean descended = false;
+                    cursor.restore(v, edgeState[v]);
+                    while (cursor.hasNext()) {
+                        int w = cursor.next();
+                        edgesExamined++;
+                        if (discovered.mark(w)) {
+                            edgeState[v] = cursor.save();
+                            callStack[depth++] = w;
+                            discovery[w] = lowlink[w] = ++time;
+                            edgeState[w] = EdgeCursor.START;
+                            stack[top++] = w;
+                            onStack.mark(w);
+                            dfsCalls++;
+                            descended = true;
+                            break;
+                        } else if (onStack.isMarked(w)) {
+                            lowlink[v] = Math.min(lowlink[v], discovery[w]);
+                        }
+                    }
+                    if (descended) {
+                        continue;
+                    }
 
-            Vertex<T> w = neighbor.vertex();
-            if (!indexMap.containsKey(w)) {
-                strongConnect(w, indexMap, lowlinkMap, onStack, stack, index, sccList);
-                lowlinkMap.put(v, Math.min(lowlinkMap.get(v), lowlinkMap.get(w)));
-            } else if (onStack.contains(w)) {
-                lowlinkMap.put(v, Math.min(lowlinkMap.get(v), indexMap.get(w)));
+                    depth--;
+                    if (lowlink[v] == discovery[v]) {
+                        int from = top;
+                        int w;
+                        do {
+                            w = stack[--from];
+                            onStack.unmark(w);
+                        } while (w != v);
+                        consumer.accept(stack, from, top - from);
+                        top = from;
+                        sccFound++;
+                    }
+                    if (depth > 0) {
+                        int parent = callStack[depth - 1];
+                        lowlink[parent] = Math.min(lowlink[parent], lowlink[v]);
+                    }
+                }
             }
         }
 
-        if (lowlinkMap.get(v).equals(indexMap.get(v))) {
-            metrics.incrementCounter("scc_found");
-            List<Vertex<T>> scc = new ArrayList<>();
-            Vertex<T> w;
-            do {
-                w = stack.pop();
-                onStack.remove(w);
-                scc.add(w);
-            } while (!w.equals(v));
-            sccList.add(scc);
-        }
+        metrics.addToCounter("dfs_calls", dfsCalls);
+        metrics.addToCounter("edges_examined", edgesExamined);
+        metrics.addToCounter("scc_found", sccFound);
+        metrics.stopTimer();
+        MetricsRegistry.getDefault().record("tarjan_scc", metrics);
+        return sccFound;
     }
 
+    @Override
     public SCCMetrics getMetrics() {
         return metrics;
     }
+
+    private void ensureCapacity(int n) {
+        if (discovery.length < n) {
+            discovery = new int[n];
+            lowlink = new int[n];
+            edgeState = new long[n];
+            callStack = new int[n];
+            stack = new int[n];
+            discovered.ensureCapacity(n);
+            onStack.ensureCapacity(n);
+        }
+    }
 }
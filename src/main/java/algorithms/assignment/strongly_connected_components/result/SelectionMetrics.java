@@ -0,0 +1,13 @@
+package algorithms.assignment.strongly_connected_components.result;
+
+import algorithms.assignment.metrics.AbstractMetrics;
+
+/**
+ * Metrics for SCC engine selection: which engine was chosen and the memory it was expected
+ * to need, kept apart from the metrics of the engine's run.
+ */
+public final class SelectionMetrics extends AbstractMetrics {
+    public SelectionMetrics() {
+        super("SCC Selection");
+    }
+}
@@ -0,0 +1,64 @@
+package algorithms.assignment.topological_sort;
+
+import algorithms.assignment.graph.AdjacencyIndex;
+import algorithms.assignment.graph.Graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+/**
+ * Extracts a cycle from the vertices a Kahn-style sort could not emit.
+ */
+final class CycleWitness {
+    private CycleWitness() {
+    }
+
+    /**
+     * Every vertex Kahn leaves behind still has an unprocessed predecessor, which is itself
+     * left behind. Walking such predecessors from any remaining vertex must therefore revisit
+     * a vertex, closing a cycle in O(V + E).
+     *
+     * @param remaining tests whether a vertex id was left unprocessed
+     */
+    static <T> List<T> fromRemaining(Graph<T> graph, IntPredicate remaining) {
+        int n = graph.getVertexCount();
+        int start = -1;
+        for (int v = 0; v < n && start == -1; v++) {
+            if (remaining.test(v)) {
+                start = v;
+            }
+        }
+        if (start == -1) {
+            return List.of();
+        }
+
+        AdjacencyIndex reverse = graph.getReverseAdjacency();
+        int[] step = new int[n];
+        Arrays.fill(step, -1);
+        List<Integer> walk = new ArrayList<>();
+
+        int v = start;
+        while (step[v] == -1) {
+            step[v] = walk.size();
+            walk.add(v);
+            int next = -1;
+            for (int i = reverse.start(v), end = reverse.end(v); i < end && next == -1; i++) {
+                if (remaining.test(reverse.target(i))) {
+                    next = reverse.target(i);
+                }
+            }
+            v = next;
+        }
+
+        // The walk follows edges backwards, so reverse the closed segment into path order
+        List<T> cycle = new ArrayList<>();
+        for (int i = step[v]; i < walk.size(); i++) {
+            cycle.add(graph.getVertexById(walk.get(i)).getData());
+        }
+        Collections.reverse(cycle);
+        return cycle;
+    }
+}
@@ -3,8 +3,11 @@ package algorithms.assignment.topological_sort;
 import algorithms.assignment.graph.Graph;
 import algorithms.assignment.graph.Neighbor;
 import algorithms.assignment.graph.Vertex;
+import algorithms.assignment.metrics.MetricsRegistry;
+import algorithms.assignment.metrics.PhaseTimer;
 import algorithms.assignment.topological_sort.result.TopologicalSortMetrics;
 import algorithms.assignment.topological_sort.result.TopologicalSortResult;
+import algorithms.assignment.util.EpochMarks;
 
 import java.util.*;
 
@@ -15,13 +18,22 @@ import java.util.*;
  * 1. Perform DFS from each unvisited vertex
  * 2. After visiting all descendants, add vertex to result (post-order)
  * 3. Reverse the result to get topological order
- * 4. Detect cycles using a recursive stack
+ * 4. Detect cycles with an on-path mark; the explicit DFS stack then
+ *    yields the cycle itself as a witness
+ *
+ * The DFS keeps its own stack of vertices and neighbor iterators, so deep graphs cannot
+ * overflow the call stack. Visited and on-path sets are epoch-stamped arrays indexed by
+ * vertex id, reused across calls.
  */
 public final class DFSTopologicalSort<T> {
     private final TopologicalSortMetrics metrics;
-    private Set<Vertex<T>> visited;
-    private Set<Vertex<T>> recursionStack;
-    private Deque<T> stack;
+    private final EpochMarks visited = new EpochMarks(0);
+    private final EpochMarks onPath = new EpochMarks(0);
+    private final List<Vertex<T>> path = new ArrayList<>();
+    private final List<Iterator<Neighbor<T>>> pending = new ArrayList<>();
+    private int[] depthOf = new int[0];
+    private List<T> cycle;
+    private Deque<T> postOrder;
     private boolean cycleDetected;
 
     public DFSTopologicalSort() {
@@ -32,65 +44,93 @@ public final class DFSTopologicalSort<T> {
         metrics.reset();
         metrics.startTimer();
 
-        visited = new HashSet<>();
-        recursionStack = new HashSet<>();
-        stack = new ArrayDeque<>();
+        int n = graph.getVertexCount();
+        visited.ensureCapacity(n);
+        onPath.ensureCapacity(n);
+        visited.clear();
+        onPath.clear();
+        if (depthOf.length < n) {
+            depthOf = new int[n];
+        }
+        path.clear();
+        pending.clear();
+        cycle = List.of();
+        postOrder = new ArrayDeque<>();
         cycleDetected = false;
 
-        for (Vertex<T> vertex : graph.getVertices()) {
-            if (!visited.contains(vertex)) {
-                dfs(vertex);
-                if (cycleDetected) {
-                    break;
+        try (PhaseTimer ignored = PhaseTimer.start("dfs_topological_sort", "dfs",
+                graph.getVertexCount(), graph.getEdgeCount())) {
+            for (Vertex<T> vertex : graph.getVertices()) {
+                if (!visited.isMarked(vertex.getId())) {
+                    dfs(vertex);
+                    if (cycleDetected) {
+                        break;
+                    }
                 }
             }
         }
 
         metrics.stopTimer();
+        MetricsRegistry.getDefault().record("dfs_topological_sort", metrics);
 
         if (cycleDetected) {
-            return new TopologicalSortResult<>(Collections.emptyList(), true, metrics);
+            return new TopologicalSortResult<>(Collections.emptyList(), true, metrics, cycle);
         }
 
-        List<T> order = new ArrayList<>(stack);
+        List<T> order = new ArrayList<>(postOrder);
         return new TopologicalSortResult<>(order, false, metrics);
     }
 
-    private void dfs(Vertex<T> vertex) {
-        if (cycleDetected) {
-            return;
-        }
+    private void dfs(Vertex<T> root) {
+        enter(root);
 
-        if (recursionStack.contains(vertex)) {
-            cycleDetected = true;
-            return;
-        }
+        while (!path.isEmpty()) {
+            int top = path.size() - 1;
+            Iterator<Neighbor<T>> neighbors = pending.get(top);
+            if (neighbors.hasNext()) {
+                Vertex<T> neighborVertex = neighbors.next().vertex();
+                metrics.incrementCounter("edges_traversed");
 
-        if (visited.contains(vertex)) {
-            return;
+                if (onPath.isMarked(neighborVertex.getId())) {
+                    cycleDetected = true;
+                    cycle = extractCycle(neighborVertex);
+                    return;
+                }
+                if (!visited.isMarked(neighborVertex.getId())) {
+                    enter(neighborVertex);
+                }
+            } else {
+                Vertex<T> vertex = path.remove(top);
+                pending.remove(top);
+                onPath.unmark(vertex.getId());
+                postOrder.push(vertex.getData());
+                metrics.incrementCounter("stack_pushes");
+            }
         }
+    }
 
-        visited.add(vertex);
-        recursionStack.add(vertex);
+    private void enter(Vertex<T> vertex) {
+        visited.mark(vertex.getId());
+        onPath.mark(vertex.getId());
+        depthOf[vertex.getId()] = path.size();
+        path.add(vertex);
+        pending.add(vertex.getNeighbors().iterator());
         metrics.incrementCounter("vertices_visited");
+    }
 
-        for (Neighbor<T> neighbor : vertex.getNeighbors()) {
-            Vertex<T> neighborVertex = neighbor.vertex();
-            metrics.incrementCounter("edges_traversed");
-            dfs(neighborVertex);
-
-            if (cycleDetected) {
-                return;
-            }
+    /**
+     * The back edge ends at {@code start}, which is on the explicit stack at
+     * {@code depthOf[start]}, so the stack from there to its top is a cycle.
+     */
+    private List<T> extractCycle(Vertex<T> start) {
+        List<T> result = new ArrayList<>(path.size() - depthOf[start.getId()]);
+        for (int i = depthOf[start.getId()]; i < path.size(); i++) {
+            result.add(path.get(i).getData());
         }
-
-        recursionStack.remove(vertex);
-        stack.push(vertex.getData());
-        metrics.incrementCounter("stack_pushes");
+        return result;
     }
 
     public TopologicalSortMetrics getMetrics() {
         return metrics;
     }
 }
-
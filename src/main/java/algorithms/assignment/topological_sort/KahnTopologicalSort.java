@@ -1,18 +1,34 @@
 package algorithms.assignment.topological_sort;
 
+import algorithms.assignment.graph.CompressedGraph;
+import algorithms.assignment.graph.EdgeCursor;
 import algorithms.assignment.graph.Graph;
+import algorithms.assignment.graph.IntGraph;
 import algorithms.assignment.graph.Neighbor;
 import algorithms.assignment.graph.Vertex;
+import algorithms.assignment.metrics.MetricsRegistry;
+import algorithms.assignment.metrics.PhaseTimer;
 import algorithms.assignment.topological_sort.result.TopologicalSortMetrics;
 import algorithms.assignment.topological_sort.result.TopologicalSortResult;
+import algorithms.assignment.util.CancellationToken;
 
 import java.util.*;
 
 public final class KahnTopologicalSort<T> {
     private final TopologicalSortMetrics metrics;
+    private final CancellationToken cancellation;
 
     public KahnTopologicalSort() {
+        this(CancellationToken.NONE);
+    }
+
+    /**
+     * @param cancellation polled once per 1024 units of work, counting dequeued vertices and
+     *                     scanned edges
+     */
+    public KahnTopologicalSort(CancellationToken cancellation) {
         this.metrics = new TopologicalSortMetrics();
+        this.cancellation = cancellation;
     }
 
     public TopologicalSortResult<T> sort(Graph<T> graph) {
@@ -34,37 +50,112 @@ public final class KahnTopologicalSort<T> {
             }
         }
 
-        while (!queue.isEmpty()) {
-            Vertex<T> current = queue.poll();
-            metrics.incrementCounter("queue_pops");
-            order.add(current.getData());
-            metrics.incrementCounter("vertices_processed");
-
-            for (Neighbor<T> neighbor : current.getNeighbors()) {
-                Vertex<T> neighborVertex = neighbor.vertex();
-                metrics.incrementCounter("edges_examined");
-
-                int newInDegree = inDegrees.get(neighborVertex) - 1;
-                inDegrees.put(neighborVertex, newInDegree);
-
-                if (newInDegree == 0) {
-                    queue.offer(neighborVertex);
-                    metrics.incrementCounter("queue_pushes");
+        long work = 0;
+        try (PhaseTimer ignored = PhaseTimer.start("kahn_topological_sort", "queue_processing",
+                n, graph.getEdgeCount())) {
+            while (!queue.isEmpty()) {
+                Vertex<T> current = queue.poll();
+                metrics.incrementCounter("queue_pops");
+                order.add(current.getData());
+                if ((++work & CancellationToken.CHECK_INTERVAL) == 0) {
+                    cancellation.checkpoint();
+                }
+                metrics.incrementCounter("vertices_processed");
+
+                for (Neighbor<T> neighbor : current.getNeighbors()) {
+                    Vertex<T> neighborVertex = neighbor.vertex();
+                    metrics.incrementCounter("edges_examined");
+                    if ((++work & CancellationToken.CHECK_INTERVAL) == 0) {
+                        cancellation.checkpoint();
+                    }
+
+                    int newInDegree = inDegrees.get(neighborVertex) - 1;
+                    inDegrees.put(neighborVertex, newInDegree);
+
+                    if (newInDegree == 0) {
+                        queue.offer(neighborVertex);
+                        metrics.incrementCounter("queue_pushes");
+                    }
                 }
             }
         }
 
         metrics.stopTimer();
+        MetricsRegistry.getDefault().record("kahn_topological_sort", metrics);
 
         boolean hasCycle = order.size() != n;
 
         if (hasCycle) {
-            return new TopologicalSortResult<>(Collections.emptyList(), true, metrics);
+            List<T> cycle = CycleWitness.fromRemaining(graph, id -> inDegrees.get(graph.getVertexById(id)) > 0);
+            return new TopologicalSortResult<>(Collections.emptyList(), true, metrics, cycle);
         }
 
         return new TopologicalSortResult<>(order, false, metrics);
     }
 
+    /**
+     * Sorts an id-based graph, such as a {@link CompressedGraph}, with primitive queues.
+     *
+     * @return vertex ids in topological order; shorter than the vertex count if the graph has a cycle
+     */
+    public int[] sortIds(IntGraph graph) {
+        metrics.reset();
+        metrics.startTimer();
+
+        int n = graph.vertexCount();
+        EdgeCursor cursor = graph.cursor();
+        int[] inDegree = new int[n];
+        for (int v = 0; v < n; v++) {
+            cursor.reset(v);
+            while (cursor.hasNext()) {
+                inDegree[cursor.next()]++;
+            }
+        }
+        metrics.incrementCounter("in-degree_computations");
+
+        // The order array doubles as the FIFO queue: everything before tail has been pushed
+        int[] order = new int[n];
+        int head = 0;
+        int tail = 0;
+        for (int v = 0; v < n; v++) {
+            if (inDegree[v] == 0) {
+                order[tail++] = v;
+            }
+        }
+
+        long edgesExamined = 0;
+        long work = 0;
+        try (PhaseTimer ignored = PhaseTimer.start("kahn_topological_sort", "queue_processing",
+                n, graph.edgeCount())) {
+            while (head < tail) {
+                int v = order[head++];
+                if ((++work & CancellationToken.CHECK_INTERVAL) == 0) {
+                    cancellation.checkpoint();
+                }
+                cursor.reset(v);
+                while (cursor.hasNext()) {
+                    int w = cursor.next();
+                    edgesExamined++;
+                    if ((++work & CancellationToken.CHECK_INTERVAL) == 0) {
+                        cancellation.checkpoint();
+                    }
+                    if (--inDegree[w] == 0) {
+                        order[tail++] = w;
+                    }
+                }
+            }
+        }
+
+        metrics.addToCounter("queue_pushes", tail);
+        metrics.addToCounter("queue_pops", tail);
+        metrics.addToCounter("vertices_processed", tail);
+        metrics.addToCounter("edges_examined", edgesExamined);
+        metrics.stopTimer();
+        MetricsRegistry.getDefault().record("kahn_topological_sort", metrics);
+
+        return tail == n ? order : Arrays.copyOf(order, tail);
+    }
+
     public TopologicalSortMetrics getMetrics() {
         return metrics;
     }
@@ -8,8 +8,13 @@ import java.util.List;
 public record TopologicalSortResult<T>(
         List<T> order,
         boolean hasCycle,
-        TopologicalSortMetrics metrics
+        TopologicalSortMetrics metrics,
+        List<T> cycle
 ) {
+    public TopologicalSortResult(List<T> order, boolean hasCycle, TopologicalSortMetrics metrics) {
+        this(order, hasCycle, metrics, List.of());
+    }
+
     /**
      * Gets the topological order of vertices (or components).
      * Empty if the graph has a cycle.
@@ -35,12 +40,20 @@ public record TopologicalSortResult<T>(
         return metrics;
     }
 
+    /**
+     * Gets a witness cycle if one was found: vertices in path order, where the last
+     * vertex has an edge back to the first. Empty for a DAG.
+     */
+    @Override
+    public List<T> cycle() {
+        return cycle;
+    }
+
     @Override
     public String toString() {
         if (hasCycle) {
-            return "Topological Sort Result: CYCLE DETECTED (not a DAG)";
+            return "Topological Sort Result: CYCLE DETECTED (not a DAG)" + (cycle.isEmpty() ? "" : " " + cycle);
         }
         return "Topological Sort Result: " + order;
     }
 }
-
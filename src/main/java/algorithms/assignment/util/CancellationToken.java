@@ -0,0 +1,89 @@
+package algorithms.assignment.util;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Cooperative stop signal for long-running traversals.
+ *
+ * Algorithms count units of work, one per vertex taken and one per edge scanned, and call
+ * {@link #checkpoint()} once per 1024 of them, so a cancelled or expired run stops within a
+ * bounded amount of extra work instead of pinning its thread until the traversal ends.
+ * A checkpoint is a volatile read plus a clock read.
+ */
+public final class CancellationToken {
+    /**
+     * A token that is never cancelled and has no deadline.
+     */
+    public static final CancellationToken NONE = new CancellationToken(Long.MAX_VALUE, false);
+
+    /**
+     * Loops call {@link #checkpoint()} when their work counter has these low bits clear,
+     * i.e. once every 1024 units of work. Inner edge loops count too, so a single
+     * high-degree vertex cannot delay a checkpoint.
+     */
+    public static final int CHECK_INTERVAL = 1023;
+
+    private final long deadlineNanos;
+    private final boolean hasDeadline;
+    private volatile boolean cancelled;
+
+    private CancellationToken(long deadlineNanos, boolean hasDeadline) {
+        this.deadlineNanos = deadlineNanos;
+        this.hasDeadline = hasDeadline;
+    }
+
+    /**
+     * Creates a token that can only be stopped by {@link #cancel()}.
+     */
+    public static CancellationToken create() {
+        return new CancellationToken(Long.MAX_VALUE, false);
+    }
+
+    /**
+     * Creates a token that also expires {@code timeout} from now.
+     */
+    public static CancellationToken withTimeout(Duration timeout) {
+        return new CancellationToken(System.nanoTime() + timeout.toNanos(), true);
+    }
+
+    public void cancel() {
+        if (this != NONE) {
+            cancelled = true;
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public boolean isExpired() {
+        return hasDeadline && System.nanoTime() - deadlineNanos > 0;
+    }
+
+    /**
+     * Throws if the token has been cancelled or its deadline has passed.
+     *
+     * @throws CancellationException     if {@link #cancel()} was called
+     * @throws DeadlineExceededException if the deadline has passed
+     */
+    public void checkpoint() {
+        if (cancelled) {
+            throw new CancellationException("cancelled");
+        }
+        if (isExpired()) {
+            throw new DeadlineExceededException();
+        }
+    }
+
+    /**
+     * Thrown by {@link #checkpoint()} once the deadline has passed.
+     */
+    public static final class DeadlineExceededException extends CancellationException {
+        private static final long serialVersionUID = 1L;
+
+        DeadlineExceededException() {
+            super("deadline exceeded");
+        }
+    }
+}
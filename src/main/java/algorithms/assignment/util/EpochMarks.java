@@ -0,0 +1,66 @@
+package algorithms.assignment.util;
+
+import java.util.Arrays;
+
+/**
+ * Reusable visited set over int ids in the range [0, capacity).
+ *
+ * An id counts as marked when its stamp equals the current epoch, so {@link #clear()} is
+ * O(1): it just advances the epoch. The stamp array is only wiped when the epoch counter
+ * wraps around, which makes back-to-back traversals over the same ids allocation-free.
+ */
+public final class EpochMarks {
+    private int[] stamps;
+    private int epoch = 1;
+
+    public EpochMarks(int capacity) {
+        this.stamps = new int[capacity];
+    }
+
+    /**
+     * Unmarks every id.
+     */
+    public void clear() {
+        if (++epoch == Integer.MAX_VALUE) {
+            Arrays.fill(stamps, 0);
+            epoch = 1;
+        }
+    }
+
+    /**
+     * Marks an id.
+     *
+     * @return true if it was not marked before
+     */
+    public boolean mark(int id) {
+        if (stamps[id] == epoch) {
+            return false;
+        }
+        stamps[id] = epoch;
+        return true;
+    }
+
+    /**
+     * Unmarks a single id, e.g. when it leaves a stack.
+     */
+    public void unmark(int id) {
+        stamps[id] = 0;
+    }
+
+    public boolean isMarked(int id) {
+        return stamps[id] == epoch;
+    }
+
+    /**
+     * Grows the set to hold at least {@code capacity} ids, keeping the current marks.
+     */
+    public void ensureCapacity(int capacity) {
+        if (stamps.length < capacity) {
+            stamps = Arrays.copyOf(stamps, Math.max(capacity, stamps.length + (stamps.length >> 1)));
+        }
+    }
+
+    public int capacity() {
+        return stamps.length;
+    }
+}
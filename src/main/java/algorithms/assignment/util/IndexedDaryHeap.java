@@ -0,0 +1,180 @@
+package algorithms.assignment.util;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Indexed d-ary min-heap over int ids in the range [0, capacity).
+ *
+ * Ids are ordered either by a {@code long[]} key array or by an {@link IntComparator};
+ * ties are always broken by the smaller id, so pop order is deterministic. Every id is
+ * in the heap at most once and its position is tracked, which allows {@link #update(int)}
+ * after its key changed. No operation allocates or boxes.
+ */
+public final class IndexedDaryHeap {
+    /**
+     * Primitive comparator over ids.
+     */
+    @FunctionalInterface
+    public interface IntComparator {
+        int compare(int a, int b);
+    }
+
+    private final int arity;
+    private final long[] keys;
+    private final IntComparator comparator;
+    private final int[] heap;
+    private final int[] position;
+    private int size;
+
+    /**
+     * Creates a heap ordering ids by {@code keys[id]}, smallest first.
+     * The key array is read live, so callers may change a key and call {@link #update(int)}.
+     */
+    public IndexedDaryHeap(int capacity, int arity, long[] keys) {
+        this(capacity, arity, keys, null);
+    }
+
+    /**
+     * Creates a heap ordering ids by a comparator, smallest first.
+     */
+    public IndexedDaryHeap(int capacity, int arity, IntComparator comparator) {
+        this(capacity, arity, null, comparator);
+    }
+
+    private IndexedDaryHeap(int capacity, int arity, long[] keys, IntComparator comparator) {
+        if (arity < 2) {
+            throw new IllegalArgumentException("arity must be at least 2");
+        }
+        this.arity = arity;
+        this.keys = keys;
+        this.comparator = comparator;
+        this.heap = new int[capacity];
+        this.position = new int[capacity];
+        Arrays.fill(position, -1);
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean contains(int id) {
+        return position[id] >= 0;
+    }
+
+    /**
+     * Inserts an id that is not yet in the heap.
+     */
+    public void push(int id) {
+        if (position[id] >= 0) {
+            throw new IllegalArgumentException("id " + id + " is already in the heap");
+        }
+        heap[size] = id;
+        position[id] = size;
+        siftUp(size++);
+    }
+
+    /**
+     * Gets the smallest id without removing it.
+     */
+    public int peek() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return heap[0];
+    }
+
+    /**
+     * Removes and returns the smallest id.
+     */
+    public int pop() {
+        int top = peek();
+        position[top] = -1;
+        size--;
+        if (size > 0) {
+            int last = heap[size];
+            heap[0] = last;
+            position[last] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    /**
+     * Restores heap order after the key of an id in the heap changed.
+     */
+    public void update(int id) {
+        int pos = position[id];
+        if (pos < 0) {
+            throw new IllegalArgumentException("id " + id + " is not in the heap");
+        }
+        siftUp(pos);
+        siftDown(position[id]);
+    }
+
+    /**
+     * Removes all ids in O(size).
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            position[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    private void siftUp(int pos) {
+        int id = heap[pos];
+        while (pos > 0) {
+            int parentPos = (pos - 1) / arity;
+            int parent = heap[parentPos];
+            if (!less(id, parent)) {
+                break;
+            }
+            heap[pos] = parent;
+            position[parent] = pos;
+            pos = parentPos;
+        }
+        heap[pos] = id;
+        position[id] = pos;
+    }
+
+    private void siftDown(int pos) {
+        int id = heap[pos];
+        while (true) {
+            int firstChild = pos * arity + 1;
+            if (firstChild >= size) {
+                break;
+            }
+            int lastChild = Math.min(firstChild + arity, size);
+            int best = firstChild;
+            for (int c = firstChild + 1; c < lastChild; c++) {
+                if (less(heap[c], heap[best])) {
+                    best = c;
+                }
+            }
+            int child = heap[best];
+            if (!less(child, id)) {
+                break;
+            }
+            heap[pos] = child;
+            position[child] = pos;
+            pos = best;
+        }
+        heap[pos] = id;
+        position[id] = pos;
+    }
+
+    private boolean less(int a, int b) {
+        int c;
+        if (keys != null) {
+            c = Long.compare(keys[a], keys[b]);
+        } else {
+            c = comparator.compare(a, b);
+        }
+        return c < 0 || (c == 0 && a < b);
+    }
+}
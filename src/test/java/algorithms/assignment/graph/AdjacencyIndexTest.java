@@ -0,0 +1,91 @@
+package algorithms.assignment.graph;
+
+import algorithms.assignment.strongly_connected_components.KosarajuSCC;
+import algorithms.assignment.strongly_connected_components.result.SCCResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AdjacencyIndexTest {
+    @Test
+    public void testReverseAdjacencyKeepsWeights() {
+        Graph<String> graph = new Graph<>();
+        for (String label : List.of("A", "B", "C")) graph.addVertex(new Vertex<>(label));
+        graph.addEdge("A", "C", 5);
+        graph.addEdge("B", "C", 7);
+        graph.addEdge("C", "A", 2);
+
+        AdjacencyIndex reverse = graph.getReverseAdjacency();
+        int c = graph.getVertex("C").getId();
+
+        assertEquals(3, reverse.edgeCount());
+        assertEquals(2, reverse.degree(c));
+        Map<String, Integer> preds = new HashMap<>();
+        for (int i = reverse.start(c); i < reverse.end(c); i++) {
+            preds.put(graph.getVertexById(reverse.target(i)).getData(), reverse.weight(i));
+        }
+        assertEquals(Map.of("A", 5, "B", 7), preds);
+        assertSame(reverse, graph.getReverseAdjacency());
+
+        graph.addEdge("A", "B", 1);
+        assertEquals(4, graph.getReverseAdjacency().edgeCount());
+    }
+
+    @Test
+    public void testReplacingAVertexDropsItsOutEdges() {
+        Graph<String> graph = new Graph<>();
+        for (String label : List.of("A", "B")) graph.addVertex(new Vertex<>(label));
+        graph.addEdge("A", "B", 1);
+        graph.addEdge("B", "A", 2);
+        graph.getForwardAdjacency();
+
+        graph.addVertex(new Vertex<>("A"));
+        int a = graph.getVertex("A").getId();
+        int b = graph.getVertex("B").getId();
+        assertEquals(1, graph.getEdgeCount());
+        assertEquals(0, graph.getVertex("B").getInDegree());
+        assertEquals(1, graph.getVertex("A").getInDegree());
+        assertEquals(1, graph.getForwardAdjacency().edgeCount());
+        assertEquals(0, graph.getForwardAdjacency().degree(a));
+        assertEquals(0, graph.getReverseAdjacency().degree(b));
+        assertEquals(1, graph.getReverseAdjacency().degree(a));
+    }
+
+    @Test
+    public void testIndexesFollowTheNeighborLists() {
+        // A neighbor linked without going through the graph must not overrun the index
+        Graph<String> graph = new Graph<>();
+        for (String label : List.of("A", "B")) graph.addVertex(new Vertex<>(label));
+        graph.getVertex("A").addNeighbor(graph.getVertex("B"), new Edge(1));
+
+        int b = graph.getVertex("B").getId();
+        assertEquals(1, graph.getForwardAdjacency().edgeCount());
+        assertEquals(b, graph.getForwardAdjacency().target(0));
+        assertEquals(1, graph.getReverseAdjacency().degree(b));
+    }
+
+    @Test
+    public void testKosarajuReturnsOriginalVertices() {
+        Graph<Integer> graph = new Graph<>();
+        for (int i = 0; i < 5; i++) graph.addVertex(new Vertex<>(i));
+        graph.addEdge(0, 1);
+        graph.addEdge(1, 2);
+        graph.addEdge(2, 0);
+        graph.addEdge(2, 3);
+        graph.addEdge(3, 4);
+        graph.addEdge(4, 3);
+
+        SCCResult<Integer> result = new KosarajuSCC<Integer>().findSCCs(graph);
+
+        assertEquals(2, result.components().size());
+        for (List<Vertex<Integer>> component : result.components()) {
+            for (Vertex<Integer> v : component) {
+                assertSame(graph.getVertex(v.getData()), v);
+            }
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package algorithms.assignment.graph;
+
+import algorithms.assignment.dag_paths.DAGPathFinder;
+import algorithms.assignment.dag_paths.result.DAGDistanceResult;
+import algorithms.assignment.dag_paths.result.DAGPathResult;
+import algorithms.assignment.strongly_connected_components.KosarajuSCC;
+import algorithms.assignment.strongly_connected_components.TarjanSCC;
+import algorithms.assignment.topological_sort.KahnTopologicalSort;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CompressedGraphTest {
+    @Test
+    public void testRoundTripKeepsEdgesAndWeights() {
+        Graph<Integer> graph = randomGraph(new Random(35), 300, 1500, true);
+        CompressedGraph compressed = CompressedGraph.of(graph);
+        AdjacencyIndex forward = graph.getForwardAdjacency();
+
+        assertTrue(compressed.isWeighted());
+        assertEquals(forward.vertexCount(), compressed.vertexCount());
+        assertEquals(forward.edgeCount(), compressed.edgeCount());
+        for (int v = 0; v < forward.vertexCount(); v++) {
+            assertEquals(forward.degree(v), compressed.degree(v));
+            assertEquals(edgesOf(forward, v), edgesOf(compressed, v));
+        }
+
+        CompressedGraph transposed = compressed.transpose();
+        AdjacencyIndex reverse = graph.getReverseAdjacency();
+        for (int v = 0; v < reverse.vertexCount(); v++) {
+            assertEquals(edgesOf(reverse, v), edgesOf(transposed, v));
+        }
+    }
+
+    @Test
+    public void testCursorResumesFromSavedState() {
+        Graph<Integer> graph = randomGraph(new Random(7), 50, 400, false);
+        CompressedGraph compressed = CompressedGraph.of(graph);
+        assertFalse(compressed.isWeighted());
+
+        EdgeCursor cursor = compressed.cursor();
+        for (int v = 0; v < compressed.vertexCount(); v++) {
+            List<Integer> targets = new ArrayList<>();
+            cursor.reset(v);
+            while (cursor.hasNext()) {
+                targets.add(cursor.next());
+                long state = cursor.save();
+                cursor.reset((v + 1) % compressed.vertexCount());
+                cursor.restore(v, state);
+            }
+            List<Integer> expected = new ArrayList<>();
+            for (long edge : edgesOf(graph.getForwardAdjacency(), v)) {
+                expected.add((int) (edge >>> 32));
+            }
+            assertEquals(expected, targets);
+        }
+    }
+
+    @Test
+    public void testUnweightedSparseGraphIsSmallerThanIndex() {
+        // Mostly local edges, as in graphs whose ids follow some locality-preserving order
+        Graph<Integer> graph = new Graph<>();
+        int n = 20_000;
+        Random random = new Random(1);
+        for (int i = 0; i < n; i++) graph.addVertex(new Vertex<>(i));
+        for (int i = 0; i < n; i++) {
+            for (int k = 0; k < 4; k++) {
+                graph.addEdge(i, Math.min(n - 1, i + 1 + random.nextInt(50)));
+            }
+        }
+
+        CompressedGraph compressed = CompressedGraph.of(graph);
+        long csrBytes = (long) Integer.BYTES * (n + 1 + 2L * graph.getEdgeCount());
+        assertTrue(compressed.sizeInBytes() * 3 < csrBytes,
+                compressed.sizeInBytes() + " bytes vs " + csrBytes + " bytes");
+    }
+
+    @Test
+    public void testAlgorithmsMatchOnCompressedGraph() {
+        Graph<Integer> graph = randomGraph(new Random(11), 500, 900, true);
+        CompressedGraph compressed = CompressedGraph.of(graph);
+
+        Set<Set<Integer>> expected = new HashSet<>();
+        new TarjanSCC<Integer>().forEachComponent(graph, (ids, offset, length) -> expected.add(idSet(ids, offset, length)));
+        Set<Set<Integer>> tarjan = new HashSet<>();
+        new TarjanSCC<Integer>().forEachComponent(compressed, (ids, offset, length) -> tarjan.add(idSet(ids, offset, length)));
+        Set<Set<Integer>> kosaraju = new HashSet<>();
+        new KosarajuSCC<Integer>().forEachComponent(compressed, compressed.transpose(),
+                (ids, offset, length) -> kosaraju.add(idSet(ids, offset, length)));
+        assertEquals(expected, tarjan);
+        assertEquals(expected, kosaraju);
+    }
+
+    @Test
+    public void testTopologicalSortAndPathsOnCompressedDAG() {
+        Graph<Integer> graph = new Graph<>();
+        Random random = new Random(3);
+        int n = 200;
+        for (int i = 0; i < n; i++) graph.addVertex(new Vertex<>(i));
+        for (int e = 0; e < 800; e++) {
+            int u = random.nextInt(n - 1);
+            graph.addEdge(u, u + 1 + random.nextInt(n - u - 1), 1 + random.nextInt(9));
+        }
+        CompressedGraph compressed = CompressedGraph.of(graph);
+
+        int[] order = new KahnTopologicalSort<Integer>().sortIds(compressed);
+        assertEquals(n, order.length);
+        int[] position = new int[n];
+        for (int i = 0; i < n; i++) position[order[i]] = i;
+        EdgeCursor cursor = compressed.cursor();
+        for (int v = 0; v < n; v++) {
+            cursor.reset(v);
+            while (cursor.hasNext()) {
+                assertTrue(position[v] < position[cursor.next()]);
+            }
+        }
+
+        DAGPathFinder<Integer> finder = new DAGPathFinder<>();
+        DAGPathResult<Integer> shortest = finder.shortestPaths(graph, 0);
+        DAGPathResult<Integer> longest = finder.longestPaths(graph, 0);
+        DAGDistanceResult compressedShortest = finder.shortestDistances(compressed, 0);
+        DAGDistanceResult compressedLongest = finder.longestDistances(compressed, 0);
+        for (int v = 0; v < n; v++) {
+            int id = graph.getVertex(v).getId();
+            assertEquals(shortest.distances().get(v), compressedShortest.distances()[id]);
+            assertEquals(longest.distances().get(v), compressedLongest.distances()[id]);
+        }
+        int[] path = compressedLongest.pathTo(n - 1);
+        if (path.length > 0) {
+            assertEquals(0, path[0]);
+            assertEquals(n - 1, path[path.length - 1]);
+        }
+    }
+
+    @Test
+    public void testCycleIsRejectedByDistances() {
+        Graph<Integer> graph = new Graph<>();
+        for (int i = 0; i < 3; i++) graph.addVertex(new Vertex<>(i));
+        graph.addEdge(0, 1);
+        graph.addEdge(1, 2);
+        graph.addEdge(2, 1);
+        CompressedGraph compressed = CompressedGraph.of(graph);
+
+        assertEquals(1, new KahnTopologicalSort<Integer>().sortIds(compressed).length);
+        assertThrows(IllegalArgumentException.class,
+                () -> new DAGPathFinder<Integer>().shortestDistances(compressed, 0));
+    }
+
+    private static Graph<Integer> randomGraph(Random random, int n, int edges, boolean weighted) {
+        Graph<Integer> graph = new Graph<>();
+        for (int i = 0; i < n; i++) graph.addVertex(new Vertex<>(i));
+        for (int e = 0; e < edges; e++) {
+            int weight = weighted ? random.nextInt(201) - 100 : 1;
+            graph.addEdge(random.nextInt(n), random.nextInt(n), weight);
+        }
+        return graph;
+    }
+
+    /**
+     * Returns a vertex's edges as sorted {@code target << 32 | weight} values.
+     */
+    private static List<Long> edgesOf(IntGraph graph, int v) {
+        List<Long> edges = new ArrayList<>();
+        EdgeCursor cursor = graph.cursor();
+        cursor.reset(v);
+        while (cursor.hasNext()) {
+            int target = cursor.next();
+            edges.add(((long) target << 32) | (cursor.weight() & 0xFFFFFFFFL));
+        }
+        Collections.sort(edges);
+        return edges;
+    }
+
+    private static Set<Integer> idSet(int[] ids, int offset, int length) {
+        Set<Integer> set = new HashSet<>();
+        for (int i = offset; i < offset + length; i++) set.add(ids[i]);
+        return set;
+    }
+}
@@ -0,0 +1,61 @@
+package algorithms.assignment.graph;
+
+import algorithms.assignment.metrics.AllocationCounter;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class MemoryFootprintTest {
+    @Test
+    public void testBreakdownFollowsCounts() {
+        Graph<Integer> graph = new Graph<>();
+        for (int i = 0; i < 3; i++) {
+            graph.addVertex(new Vertex<>(i));
+        }
+        graph.addEdge(0, 1);
+        graph.addEdge(1, 2);
+
+        MemoryFootprint small = graph.estimateMemory();
+        assertEquals(3 * 32, small.vertexBytes());
+        // Per vertex a LinkedList; per edge a list node and a Neighbor
+        assertEquals(3 * 32 + 2 * (24 + 24), small.neighborBytes());
+        assertEquals(2 * 24, small.edgeBytes());
+        assertEquals(0, small.indexBytes());
+
+        graph.addEdge(2, 0);
+        MemoryFootprint withEdge = graph.estimateMemory();
+        assertEquals(24 + 24 + 24, withEdge.totalBytes() - small.totalBytes());
+
+        graph.getForwardAdjacency();
+        graph.getReverseAdjacency();
+        MemoryFootprint indexed = graph.estimateMemory();
+        assertTrue(indexed.indexBytes() > 0);
+        assertEquals(withEdge.totalBytes() + indexed.indexBytes(), indexed.totalBytes());
+
+        JSONObject json = indexed.toJson();
+        assertEquals(indexed.totalBytes(), json.getLong("total_bytes"));
+        assertTrue(indexed.toString().contains("Total: " + indexed.totalBytes() + " bytes"));
+    }
+
+    @Test
+    public void testEstimateIsBelowWhatBuildingAllocated() {
+        assumeTrue(AllocationCounter.isSupported());
+        long before = AllocationCounter.currentThreadAllocatedBytes();
+        Graph<Integer> graph = new Graph<>();
+        for (int i = 0; i < 50_000; i++) {
+            graph.addVertex(new Vertex<>(i));
+        }
+        for (int i = 1; i < 50_000; i++) {
+            graph.addEdge(i - 1, i);
+            graph.addEdge(i / 2, i);
+        }
+        long allocated = AllocationCounter.currentThreadAllocatedBytes() - before;
+
+        // Building also allocates boxed keys and discarded hash tables, but never less than it keeps
+        long estimated = graph.estimateMemory().totalBytes();
+        assertTrue(estimated <= allocated, estimated + " > " + allocated);
+        assertTrue(estimated >= allocated / 2, estimated + " < half of " + allocated);
+    }
+}
@@ -0,0 +1,116 @@
+package algorithms.assignment.graph;
+
+import algorithms.assignment.dag_paths.DAGPathFinder;
+import algorithms.assignment.dag_paths.result.DAGDistanceResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VertexRenumberingTest {
+    @Test
+    public void testEveryOrderIsAPermutationPreservingEdges() {
+        Graph<Integer> graph = new Graph<>();
+        Random random = new Random(36);
+        int n = 120;
+        for (int i = 0; i < n; i++) graph.addVertex(new Vertex<>(i));
+        for (int e = 0; e < 400; e++) graph.addEdge(random.nextInt(n), random.nextInt(n), random.nextInt(10));
+        AdjacencyIndex forward = graph.getForwardAdjacency();
+
+        for (VertexRenumbering.Order order : VertexRenumbering.Order.values()) {
+            VertexRenumbering renumbering = VertexRenumbering.of(graph, order);
+            boolean[] seen = new boolean[n];
+            for (int v = 0; v < n; v++) {
+                assertEquals(v, renumbering.toNew(renumbering.toOld(v)));
+                assertFalse(seen[renumbering.toOld(v)], order + " repeats an id");
+                seen[renumbering.toOld(v)] = true;
+            }
+
+            AdjacencyIndex renumbered = renumbering.apply(forward);
+            assertEquals(edgeSet(forward, null), edgeSet(renumbered, renumbering), order.name());
+        }
+    }
+
+    @Test
+    public void testTopologicalOrderMakesEdgesPointForward() {
+        Graph<String> graph = new Graph<>();
+        for (String label : List.of("E", "D", "C", "B", "A")) graph.addVertex(new Vertex<>(label));
+        graph.addEdge("A", "B", 1);
+        graph.addEdge("B", "C", 2);
+        graph.addEdge("A", "D", 5);
+        graph.addEdge("D", "E", 1);
+        graph.addEdge("C", "E", 1);
+
+        VertexRenumbering renumbering = VertexRenumbering.of(graph, VertexRenumbering.Order.TOPOLOGICAL);
+        AdjacencyIndex renumbered = renumbering.apply(graph.getForwardAdjacency());
+        for (int v = 0; v < renumbered.vertexCount(); v++) {
+            for (int i = renumbered.start(v); i < renumbered.end(v); i++) {
+                assertTrue(v < renumbered.target(i));
+            }
+        }
+
+        int a = renumbering.toNew(graph.getVertex("A").getId());
+        DAGDistanceResult longest = new DAGPathFinder<String>().longestDistances(renumbered, a);
+        double[] byOldId = renumbering.toOldOrder(longest.distances());
+        assertEquals(6.0, byOldId[graph.getVertex("E").getId()]);
+        assertEquals(5.0, byOldId[graph.getVertex("D").getId()]);
+
+        int[] path = renumbering.toOld(longest.pathTo(renumbering.toNew(graph.getVertex("E").getId())));
+        List<String> labels = new ArrayList<>();
+        for (int id : path) labels.add(graph.getVertexById(id).getData());
+        assertEquals(List.of("A", "D", "E"), labels);
+    }
+
+    @Test
+    public void testReverseCuthillMcKeeRestoresScrambledPathBandwidth() {
+        // A long path inserted in shuffled order has huge id gaps; RCM lays it out contiguously
+        int n = 500;
+        List<Integer> labels = new ArrayList<>();
+        for (int i = 0; i < n; i++) labels.add(i);
+        Collections.shuffle(labels, new Random(5));
+        Graph<Integer> graph = new Graph<>();
+        for (int label : labels) graph.addVertex(new Vertex<>(label));
+        for (int i = 0; i + 1 < n; i++) graph.addEdge(i, i + 1);
+
+        VertexRenumbering renumbering = VertexRenumbering.of(graph, VertexRenumbering.Order.REVERSE_CUTHILL_MCKEE);
+        assertTrue(bandwidth(graph.getForwardAdjacency()) > 10);
+        assertEquals(1, bandwidth(renumbering.apply(graph.getForwardAdjacency())));
+    }
+
+    @Test
+    public void testDegreeOrderPutsHubFirst() {
+        Graph<Integer> graph = new Graph<>();
+        for (int i = 0; i < 6; i++) graph.addVertex(new Vertex<>(i));
+        for (int i = 0; i < 5; i++) graph.addEdge(i, 5);
+        graph.addEdge(0, 1);
+
+        VertexRenumbering renumbering = VertexRenumbering.of(graph, VertexRenumbering.Order.DEGREE);
+        assertEquals(graph.getVertex(5).getId(), renumbering.toOld(0));
+    }
+
+    private static int bandwidth(AdjacencyIndex index) {
+        int max = 0;
+        for (int v = 0; v < index.vertexCount(); v++) {
+            for (int i = index.start(v); i < index.end(v); i++) {
+                max = Math.max(max, Math.abs(v - index.target(i)));
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Collects edges as "from->to:weight" in original ids, counting duplicates.
+     */
+    private static Map<String, Integer> edgeSet(AdjacencyIndex index, VertexRenumbering renumbering) {
+        Map<String, Integer> edges = new HashMap<>();
+        for (int v = 0; v < index.vertexCount(); v++) {
+            for (int i = index.start(v); i < index.end(v); i++) {
+                int from = renumbering == null ? v : renumbering.toOld(v);
+                int to = renumbering == null ? index.target(i) : renumbering.toOld(index.target(i));
+                edges.merge(from + "->" + to + ":" + index.weight(i), 1, Integer::sum);
+            }
+        }
+        return edges;
+    }
+}
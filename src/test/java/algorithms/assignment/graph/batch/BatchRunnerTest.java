@@ -0,0 +1,84 @@
+package algorithms.assignment.graph.batch;
+
+import algorithms.assignment.batch.BatchRunner;
+import algorithms.assignment.batch.DatasetReport;
+import algorithms.assignment.data.DatasetParser.GraphDataset;
+import algorithms.assignment.graph.Graph;
+import algorithms.assignment.graph.Vertex;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchRunnerTest {
+    @Test
+    public void testReportsOneJsonLinePerDataset() throws InterruptedException {
+        List<GraphDataset<String>> datasets = new ArrayList<>();
+        for (int id = 1; id <= 5; id++) {
+            Graph<String> graph = new Graph<>();
+            graph.addVertex(new Vertex<>("A"));
+            graph.addVertex(new Vertex<>("B"));
+            graph.addVertex(new Vertex<>("C"));
+            graph.addEdge("A", "B", 2);
+            graph.addEdge("B", "C", id);
+            if (id % 2 == 0) {
+                graph.addEdge("C", "A", 1);
+            }
+            datasets.add(new GraphDataset<>(id, "Small", "test", id % 2 == 0, graph));
+        }
+
+        StringWriter out = new StringWriter();
+        List<DatasetReport> reports = new BatchRunner(2, Duration.ofSeconds(30), 0).run(datasets, out);
+
+        assertEquals(5, reports.size());
+        String[] lines = out.toString().split("\n");
+        assertEquals(5, lines.length);
+
+        for (String line : lines) {
+            JSONObject json = new JSONObject(line);
+            assertEquals("OK", json.getString("status"));
+            int id = json.getInt("dataset_id");
+            if (id % 2 == 0) {
+                assertEquals(1, json.getInt("scc_count"));
+                assertTrue(json.getBoolean("has_cycle"));
+            } else {
+                assertEquals(3, json.getInt("scc_count"));
+                assertEquals(3, json.getInt("topo_order_size"));
+                assertEquals(2.0 + id, json.getDouble("critical_path_length"));
+            }
+        }
+    }
+
+    @Test
+    public void testTimedOutDatasetReleasesItsSlot() throws InterruptedException {
+        Graph<String> large = new Graph<>();
+        int n = 200_000;
+        for (int i = 0; i < n; i++) {
+            large.addVertex(new Vertex<>("v" + i));
+        }
+        for (int i = 0; i + 1 < n; i++) {
+            large.addEdge("v" + i, "v" + (i + 1), 1);
+        }
+        Graph<String> small = new Graph<>();
+        small.addVertex(new Vertex<>("A"));
+
+        // With one slot the second dataset only starts once the cancelled worker has stopped
+        List<GraphDataset<String>> datasets = List.of(
+                new GraphDataset<>(1, "Large", "test", false, large),
+                new GraphDataset<>(2, "Small", "test", false, small));
+        List<DatasetReport> reports = new BatchRunner(1, Duration.ofMillis(1), 0).run(datasets, new StringWriter());
+
+        assertEquals(2, reports.size());
+        for (DatasetReport report : reports) {
+            JSONObject json = new JSONObject(report.toJson());
+            if (json.getInt("dataset_id") == 1) {
+                assertEquals("TIMEOUT", json.getString("status"));
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package algorithms.assignment.graph.cache;
+
+import algorithms.assignment.cache.CachedAnalyzer;
+import algorithms.assignment.cache.GraphFingerprint;
+import algorithms.assignment.cache.ResultCache;
+import algorithms.assignment.cache.result.CachedAnalysis;
+import algorithms.assignment.graph.Graph;
+import algorithms.assignment.graph.Vertex;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResultCacheTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testUnchangedGraphIsServedFromDisk() throws IOException {
+        Graph<String> graph = dag();
+        CachedAnalysis first = new CachedAnalyzer<String>(new ResultCache(directory, 1 << 20)).analyze(graph);
+        assertFalse(first.hasCycle());
+        assertEquals(7.0, first.criticalPathLength());
+        assertArrayEquals(ids(graph, "A", "B", "D"), first.criticalPath());
+
+        // A fresh cache over the same directory, as after a restart
+        ResultCache reopened = new ResultCache(directory, 1 << 20);
+        CachedAnalyzer<String> analyzer = new CachedAnalyzer<>(reopened);
+        CachedAnalysis second = analyzer.analyze(dag());
+        assertEquals(1, analyzer.getMetrics().getCounter("cache_hits"));
+        assertEquals(0, analyzer.getMetrics().getCounter("cache_misses"));
+        assertArrayEquals(first.componentIds(), second.componentIds());
+        assertArrayEquals(first.topologicalOrder(), second.topologicalOrder());
+        assertArrayEquals(first.longestDistances(), second.longestDistances());
+        assertArrayEquals(first.criticalPath(), second.criticalPath());
+    }
+
+    @Test
+    public void testWeightChangeChangesKey() {
+        Graph<String> graph = dag();
+        String before = GraphFingerprint.of(graph, "analysis-v1");
+        assertEquals(before, GraphFingerprint.of(dag(), "analysis-v1"));
+        assertNotEquals(before, GraphFingerprint.of(graph, "analysis-v2"));
+
+        graph.setEdgeWeight("A", "B", 4);
+        assertNotEquals(before, GraphFingerprint.of(graph, "analysis-v1"));
+    }
+
+    @Test
+    public void testCyclicGraphResults() throws IOException {
+        Graph<String> graph = dag();
+        graph.addEdge("D", "A", 1);
+        CachedAnalysis analysis = new CachedAnalyzer<String>(new ResultCache(directory, 1 << 20)).analyze(graph);
+        assertTrue(analysis.hasCycle());
+        assertEquals(1, analysis.componentCount());
+        assertEquals(0, analysis.criticalPath().length);
+    }
+
+    @Test
+    public void testCorruptEntryIsDetectedAndRecomputed() throws IOException {
+        ResultCache cache = new ResultCache(directory, 1 << 20);
+        CachedAnalyzer<String> analyzer = new CachedAnalyzer<>(cache);
+        analyzer.analyze(dag());
+
+        Path entry = entries().get(0);
+        byte[] bytes = Files.readAllBytes(entry);
+        bytes[bytes.length - 1] ^= 0x5A;
+        Files.write(entry, bytes);
+
+        CachedAnalysis recomputed = analyzer.analyze(dag());
+        assertEquals(1, cache.getCorruptEntries());
+        assertEquals(1, analyzer.getMetrics().getCounter("cache_misses"));
+        assertEquals(7.0, recomputed.criticalPathLength());
+        assertEquals(1, cache.entryCount());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEntriesAreEvicted() throws IOException {
+        byte[] payload = new byte[1000];
+        ResultCache cache = new ResultCache(directory, 2500);
+        String a = "aaaaaaaaaaaaaaaa";
+        String b = "bbbbbbbbbbbbbbbb";
+        String c = "cccccccccccccccc";
+
+        cache.put(a, payload);
+        cache.put(b, payload);
+        assertTrue(cache.get(a).isPresent());
+        cache.put(c, payload);
+
+        assertTrue(cache.contains(a));
+        assertFalse(cache.contains(b));
+        assertTrue(cache.contains(c));
+        assertEquals(1, cache.getEvictions());
+        assertTrue(cache.sizeInBytes() <= 2500);
+        assertEquals(2, entries().size());
+        assertThrows(IllegalArgumentException.class, () -> cache.get("../escape"));
+    }
+
+    private static Graph<String> dag() {
+        Graph<String> graph = new Graph<>();
+        for (String label : List.of("A", "B", "C", "D")) graph.addVertex(new Vertex<>(label));
+        graph.addEdge("A", "B", 3);
+        graph.addEdge("A", "C", 1);
+        graph.addEdge("B", "D", 4);
+        graph.addEdge("C", "D", 2);
+        return graph;
+    }
+
+    private static int[] ids(Graph<String> graph, String... labels) {
+        int[] ids = new int[labels.length];
+        for (int i = 0; i < labels.length; i++) ids[i] = graph.getVertex(labels[i]).getId();
+        return ids;
+    }
+
+    private List<Path> entries() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(p -> p.toString().endsWith(".bin")).toList();
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package algorithms.assignment.graph.complexity;
+
+import algorithms.assignment.Metrics;
+import algorithms.assignment.dag_paths.DAGPathFinder;
+import algorithms.assignment.graph.Graph;
+import algorithms.assignment.graph.Neighbor;
+import algorithms.assignment.graph.Vertex;
+import algorithms.assignment.strongly_connected_components.KosarajuSCC;
+import algorithms.assignment.strongly_connected_components.TarjanSCC;
+import algorithms.assignment.topological_sort.DFSTopologicalSort;
+import algorithms.assignment.topological_sort.KahnTopologicalSort;
+import algorithms.assignment.topological_sort.PriorityTopologicalSort;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Guards the O(V + E) claims empirically: every algorithm runs on generated graphs of doubling
+ * size and the growth exponent of its cost in V + E is fitted on a log-log scale.
+ *
+ * Operation counters are deterministic and fitted one by one, since summing them would let a
+ * large linear counter hide a small quadratic one. Counters miss regressions that only make
+ * each operation slower, such as a linked queue or hashed lookups, so runtime is fitted too.
+ * Raw runtimes of the pointer-based {@link Graph} code drift towards an exponent of 1.6 over
+ * these sizes as the working set leaves the CPU caches, so each runtime is divided by that of
+ * a plain linear walk over the same graph, which suffers the same cache misses. Timings are
+ * taken after a warm-up, in batches of at least 20 ms, keeping the best of several batches.
+ */
+public class ComplexityRegressionTest {
+    private static final int SMALLEST = 1 << 12;
+    private static final int DOUBLINGS = 5;
+    private static final int AVERAGE_DEGREE = 4;
+    private static final int REPETITIONS = 5;
+    private static final long MIN_BATCH_NANOS = 20_000_000;
+    private static final long WARM_UP_NANOS = 300_000_000;
+
+    /**
+     * Counters may grow with a log factor (heap-based sorts) but not with a power of the size.
+     */
+    private static final double MAX_COUNTER_EXPONENT = 1.15;
+
+    /**
+     * Bound on the exponent of runtime relative to the linear walk, which is about 0 for a
+     * linear algorithm; a quadratic regression adds 1.
+     */
+    private static final double MAX_RELATIVE_TIME_EXPONENT = 0.7;
+    private static final int TIME_ATTEMPTS = 2;
+
+    private static volatile long sink;
+    private static List<Graph<Integer>> dags;
+    private static List<Graph<Integer>> digraphs;
+
+    @BeforeAll
+    public static void generateGraphs() {
+        dags = generate(true);
+        digraphs = generate(false);
+    }
+
+    @Test
+    public void testTopologicalSortsScaleLinearly() {
+        assertLinear("kahn", true, graph -> new KahnTopologicalSort<Integer>().sort(graph).metrics());
+        assertLinear("kahn_ids", true, graph -> {
+            KahnTopologicalSort<Integer> kahn = new KahnTopologicalSort<>();
+            kahn.sortIds(graph.getForwardAdjacency());
+            return kahn.getMetrics();
+        });
+        assertLinear("dfs", true, graph -> new DFSTopologicalSort<Integer>().sort(graph).metrics());
+        assertLinear("priority", true, graph ->
+                new PriorityTopologicalSort<Integer>().sort(graph, Comparator.<Integer>naturalOrder()).metrics());
+    }
+
+    @Test
+    public void testSCCAlgorithmsScaleLinearly() {
+        assertLinear("tarjan", false, graph -> new TarjanSCC<Integer>().findSCCs(graph).metrics());
+        assertLinear("kosaraju", false, graph -> new KosarajuSCC<Integer>().findSCCs(graph).metrics());
+    }
+
+    @Test
+    public void testDAGPathsScaleLinearly() {
+        assertLinear("shortest_paths", true, graph -> new DAGPathFinder<Integer>().shortestPaths(graph, 0).metrics());
+        assertLinear("critical_path", true, graph -> new DAGPathFinder<Integer>().criticalPath(graph).metrics());
+        assertLinear("analyze", true, graph -> new DAGPathFinder<Integer>().analyze(graph, 0).metrics());
+    }
+
+    @Test
+    public void testFitRecognisesQuadraticGrowth() {
+        double[] sizes = {1000, 2000, 4000, 8000};
+        double[] linear = {3000, 6000, 12000, 24000};
+        double[] quadratic = {1e6, 4e6, 16e6, 64e6};
+        assertEquals(1.0, growthExponent(sizes, linear), 1e-9);
+        assertEquals(2.0, growthExponent(sizes, quadratic), 1e-9);
+    }
+
+    private static void assertLinear(String name, boolean acyclic, Function<Graph<Integer>, Metrics> algorithm) {
+        List<Graph<Integer>> graphs = acyclic ? dags : digraphs;
+        double[] sizes = new double[DOUBLINGS];
+        List<Map<String, Long>> counters = new ArrayList<>();
+        for (int i = 0; i < DOUBLINGS; i++) {
+            Graph<Integer> graph = graphs.get(i);
+            sizes[i] = graph.getVertexCount() + graph.getEdgeCount();
+            counters.add(algorithm.apply(graph).getCounters());
+        }
+
+        TreeSet<String> names = new TreeSet<>();
+        counters.forEach(snapshot -> names.addAll(snapshot.keySet()));
+        assertFalse(names.isEmpty(), name + ": no operation counters");
+        for (String counter : names) {
+            // One is added so that counters which stay at zero on small graphs can be fitted
+            double[] values = new double[DOUBLINGS];
+            for (int i = 0; i < DOUBLINGS; i++) {
+                values[i] = 1 + counters.get(i).getOrDefault(counter, 0L);
+            }
+            double counterExponent = growthExponent(sizes, values);
+            assertTrue(counterExponent <= MAX_COUNTER_EXPONENT,
+                    name + ": " + counter + " grows as (V + E)^" + String.format("%.2f", counterExponent));
+        }
+
+        // A load spike on a shared machine can skew one fit, so only a repeated excess fails
+        double timeExponent = Double.MAX_VALUE;
+        for (int attempt = 0; attempt < TIME_ATTEMPTS && timeExponent > MAX_RELATIVE_TIME_EXPONENT; attempt++) {
+            double[] times = bestTimes(graphs, algorithm::apply);
+            double[] reference = bestTimes(graphs, ComplexityRegressionTest::walk);
+            double[] relative = new double[DOUBLINGS];
+            for (int i = 0; i < DOUBLINGS; i++) {
+                relative[i] = times[i] / reference[i];
+            }
+            timeExponent = Math.min(timeExponent, growthExponent(sizes, relative));
+        }
+        assertTrue(timeExponent <= MAX_RELATIVE_TIME_EXPONENT,
+                name + ": runtime relative to a linear walk grows as (V + E)^"
+                        + String.format("%.2f", timeExponent));
+    }
+
+    /**
+     * Best mean runtime per size in nanoseconds.
+     */
+    private static double[] bestTimes(List<Graph<Integer>> graphs, Consumer<Graph<Integer>> run) {
+        // Warm up until the hot loops are compiled, so the smallest sizes are not timed interpreted
+        long warmUpEnd = System.nanoTime() + WARM_UP_NANOS;
+        for (int i = 0; System.nanoTime() < warmUpEnd || i < DOUBLINGS; i++) {
+            run.accept(graphs.get(i % DOUBLINGS));
+        }
+
+        double[] times = new double[DOUBLINGS];
+        for (int i = 0; i < DOUBLINGS; i++) {
+            Graph<Integer> graph = graphs.get(i);
+            // Small graphs run in batches long enough to swamp timer and scheduling noise
+            long start = System.nanoTime();
+            run.accept(graph);
+            long single = Math.max(1, System.nanoTime() - start);
+            int batch = (int) Math.max(1, MIN_BATCH_NANOS / single);
+            double best = Double.MAX_VALUE;
+            for (int r = 0; r < REPETITIONS; r++) {
+                start = System.nanoTime();
+                for (int b = 0; b < batch; b++) {
+                    run.accept(graph);
+                }
+                best = Math.min(best, (double) (System.nanoTime() - start) / batch);
+            }
+            times[i] = best;
+        }
+        return times;
+    }
+
+    /**
+     * The linear reference: visits every vertex and follows every edge to its target once.
+     */
+    private static void walk(Graph<Integer> graph) {
+        long sum = 0;
+        for (Vertex<Integer> vertex : graph.getVertices()) {
+            for (Neighbor<Integer> neighbor : vertex.getNeighbors()) {
+                sum += neighbor.vertex().getId() + neighbor.edge().getWeight();
+            }
+        }
+        sink = sum;
+    }
+
+    /**
+     * Least-squares slope of log(cost) against log(size).
+     */
+    private static double growthExponent(double[] sizes, double[] costs) {
+        int n = sizes.length;
+        double meanX = 0;
+        double meanY = 0;
+        for (int i = 0; i < n; i++) {
+            meanX += Math.log(sizes[i]) / n;
+            meanY += Math.log(costs[i]) / n;
+        }
+        double covariance = 0;
+        double variance = 0;
+        for (int i = 0; i < n; i++) {
+            double dx = Math.log(sizes[i]) - meanX;
+            covariance += dx * (Math.log(costs[i]) - meanY);
+            variance += dx * dx;
+        }
+        return covariance / variance;
+    }
+
+    /**
+     * Random graphs with {@link #AVERAGE_DEGREE} edges per vertex. DAG edges always point to a
+     * larger id; general graphs also get edges back, giving components of varying size.
+     */
+    private static List<Graph<Integer>> generate(boolean acyclic) {
+        List<Graph<Integer>> graphs = new ArrayList<>(DOUBLINGS);
+        Random random = new Random(47);
+        for (int i = 0; i < DOUBLINGS; i++) {
+            int n = SMALLEST << i;
+            Graph<Integer> graph = new Graph<>();
+            for (int v = 0; v < n; v++) {
+                graph.addVertex(new Vertex<>(v));
+            }
+            // Vertex 0 points at every other vertex, so DAG searches from it reach the whole graph
+            for (int v = 1; acyclic && v < n; v++) {
+                graph.addEdge(0, v, 1 + random.nextInt(9));
+            }
+            for (int e = acyclic ? n : 0; e < AVERAGE_DEGREE * n; e++) {
+                int a = random.nextInt(n);
+                int b = random.nextInt(n);
+                if (a == b) {
+                    continue;
+                }
+                if (acyclic) {
+                    graph.addEdge(Math.min(a, b), Math.max(a, b), 1 + random.nextInt(9));
+                } else {
+                    graph.addEdge(a, b, 1 + random.nextInt(9));
+                }
+            }
+            graphs.add(graph);
+        }
+        return graphs;
+    }
+}
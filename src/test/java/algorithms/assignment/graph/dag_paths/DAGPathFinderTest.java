@@ -1,12 +1,15 @@
 package algorithms.assignment.graph.dag_paths;
 
 import algorithms.assignment.dag_paths.DAGPathFinder;
+import algorithms.assignment.dag_paths.result.DAGPathAnalysis;
 import algorithms.assignment.dag_paths.result.DAGPathResult;
 import algorithms.assignment.graph.Graph;
 import algorithms.assignment.graph.Vertex;
 import org.junit.jupiter.api.Test;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
 
 public class DAGPathFinderTest {
     @Test
@@ -27,4 +30,56 @@ public class DAGPathFinderTest {
         assertEquals(3.0, shortest.distances().get("C"));
         assertEquals(4.0, longest.distances().get("C"));
     }
+
+    @Test
+    public void testSingleSweepMatchesSeparateRuns() {
+        Random random = new Random(43);
+        for (int round = 0; round < 20; round++) {
+            int n = 2 + random.nextInt(60);
+            Graph<Integer> graph = new Graph<>();
+            for (int i = 0; i < n; i++) {
+                graph.addVertex(new Vertex<>(i));
+            }
+            for (int i = 0; i < 3 * n; i++) {
+                int a = random.nextInt(n);
+                int b = random.nextInt(n);
+                if (a != b) {
+                    graph.addEdge(Math.min(a, b), Math.max(a, b), random.nextInt(20) - 5);
+                }
+            }
+
+            DAGPathFinder<Integer> finder = new DAGPathFinder<>();
+            DAGPathAnalysis analysis = finder.analyze(graph, 0);
+            DAGPathResult<Integer> shortest = finder.shortestPaths(graph, 0);
+            DAGPathResult<Integer> longest = finder.longestPaths(graph, 0);
+
+            for (int v = 0; v < n; v++) {
+                assertEquals(shortest.distances().get(v), analysis.shortest().distances()[v]);
+                assertEquals(longest.distances().get(v), analysis.longest().distances()[v]);
+            }
+            assertEquals(longest.criticalPathLength(), analysis.criticalPathLength());
+
+            int[] path = analysis.criticalPath();
+            assertEquals(0, path[0]);
+            double length = 0;
+            for (int i = 0; i + 1 < path.length; i++) {
+                assertTrue(path[i] < path[i + 1]);
+                length = analysis.longest().distances()[path[i + 1]];
+            }
+            assertEquals(analysis.criticalPathLength(), length);
+        }
+    }
+
+    @Test
+    public void testAnalyzeRejectsCyclesAndUnknownSources() {
+        Graph<String> graph = new Graph<>();
+        graph.addVertex(new Vertex<>("A"));
+        graph.addVertex(new Vertex<>("B"));
+        graph.addEdge("A", "B");
+        graph.addEdge("B", "A");
+
+        DAGPathFinder<String> finder = new DAGPathFinder<>();
+        assertThrows(IllegalArgumentException.class, () -> finder.analyze(graph, "A"));
+        assertThrows(IllegalArgumentException.class, () -> finder.analyze(graph, "Z"));
+    }
 }
@@ -0,0 +1,94 @@
+package algorithms.assignment.graph.dag_paths;
+
+import algorithms.assignment.dag_paths.DAGPathFinder;
+import algorithms.assignment.dag_paths.IncrementalDAGPaths;
+import algorithms.assignment.dag_paths.result.DAGPathResult;
+import algorithms.assignment.graph.Graph;
+import algorithms.assignment.graph.Neighbor;
+import algorithms.assignment.graph.Vertex;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IncrementalDAGPathsTest {
+    @Test
+    public void testWeightChangeAndInsertion() {
+        Graph<String> graph = new Graph<>();
+        for (String label : List.of("A", "B", "C", "D")) graph.addVertex(new Vertex<>(label));
+        graph.addEdge("A", "B", 2);
+        graph.addEdge("B", "D", 2);
+        graph.addEdge("A", "C", 1);
+        graph.addEdge("C", "D", 1);
+
+        IncrementalDAGPaths<String> paths = new IncrementalDAGPaths<>(graph, "A", IncrementalDAGPaths.Mode.LONGEST);
+        assertEquals(4.0, paths.getDistance("D"));
+        assertEquals(List.of("A", "B", "D"), paths.getPath("D"));
+
+        paths.updateWeight("C", "D", 10);
+        assertEquals(11.0, paths.getDistance("D"));
+        assertEquals(List.of("A", "C", "D"), paths.getPath("D"));
+
+        // C comes after B in the initial order, so this insertion forces a reorder
+        paths.addEdge("C", "B", 20);
+        assertEquals(21.0, paths.getDistance("B"));
+        assertEquals(23.0, paths.getDistance("D"));
+        assertEquals(List.of("A", "C", "B", "D"), paths.getPath("D"));
+        assertThrows(IllegalArgumentException.class, () -> paths.addEdge("D", "C", 1));
+        assertEquals(5, graph.getEdgeCount());
+    }
+
+    @Test
+    public void testMatchesFullRecomputation() {
+        Random random = new Random(42);
+        int n = 60;
+        Graph<Integer> graph = new Graph<>();
+        for (int i = 0; i < n; i++) graph.addVertex(new Vertex<>(i));
+        for (int i = 0; i < 150; i++) {
+            int u = random.nextInt(n - 1);
+            int v = u + 1 + random.nextInt(n - u - 1);
+            graph.addEdge(u, v, 1 + random.nextInt(9));
+        }
+
+        IncrementalDAGPaths<Integer> longest = new IncrementalDAGPaths<>(graph, 0, IncrementalDAGPaths.Mode.LONGEST);
+        IncrementalDAGPaths<Integer> shortest = new IncrementalDAGPaths<>(graph, 0, IncrementalDAGPaths.Mode.SHORTEST);
+
+        for (int step = 0; step < 200; step++) {
+            if (random.nextBoolean()) {
+                List<int[]> edges = new ArrayList<>();
+                for (Vertex<Integer> v : graph.getVertices()) {
+                    for (Neighbor<Integer> nb : v.getNeighbors()) {
+                        edges.add(new int[]{v.getData(), nb.vertex().getData()});
+                    }
+                }
+                int[] e = edges.get(random.nextInt(edges.size()));
+                int weight = 1 + random.nextInt(20);
+                graph.setEdgeWeight(e[0], e[1], weight);
+                longest.updateWeight(e[0], e[1], weight);
+                shortest.updateWeight(e[0], e[1], weight);
+            } else {
+                int u = random.nextInt(n);
+                int v = random.nextInt(n);
+                int weight = 1 + random.nextInt(20);
+                try {
+                    longest.addEdge(u, v, weight);
+                } catch (IllegalArgumentException cycle) {
+                    continue;
+                }
+                // keep the second engine in sync with the already-inserted edge
+                shortest = new IncrementalDAGPaths<>(graph, 0, IncrementalDAGPaths.Mode.SHORTEST);
+            }
+
+            DAGPathFinder<Integer> finder = new DAGPathFinder<>();
+            DAGPathResult<Integer> expectedLongest = finder.longestPaths(graph, 0);
+            DAGPathResult<Integer> expectedShortest = finder.shortestPaths(graph, 0);
+            for (int i = 0; i < n; i++) {
+                assertEquals(expectedLongest.distances().get(i), longest.getDistance(i), "longest " + i);
+                assertEquals(expectedShortest.distances().get(i), shortest.getDistance(i), "shortest " + i);
+            }
+        }
+    }
+}
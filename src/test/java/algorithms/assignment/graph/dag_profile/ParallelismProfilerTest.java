@@ -0,0 +1,108 @@
+package algorithms.assignment.graph.dag_profile;
+
+import algorithms.assignment.dag_paths.DAGPathFinder;
+import algorithms.assignment.dag_paths.result.DAGDistanceResult;
+import algorithms.assignment.dag_profile.ParallelismProfiler;
+import algorithms.assignment.dag_profile.result.ParallelismProfile;
+import algorithms.assignment.graph.AdjacencyIndex;
+import algorithms.assignment.graph.Graph;
+import algorithms.assignment.graph.Vertex;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParallelismProfilerTest {
+    @Test
+    public void testDiamondLevelsAndTimeline() {
+        // A -3-> B -1-> D, A -1-> C -1-> D
+        Graph<String> graph = new Graph<>();
+        for (String v : new String[]{"A", "B", "C", "D"}) {
+            graph.addVertex(new Vertex<>(v));
+        }
+        graph.addEdge("A", "B", 3);
+        graph.addEdge("A", "C", 1);
+        graph.addEdge("B", "D", 1);
+        graph.addEdge("C", "D", 1);
+
+        ParallelismProfile profile = new ParallelismProfiler<String>(4).profile(graph);
+
+        assertArrayEquals(new int[]{0, 1, 1, 2}, profile.levels());
+        assertArrayEquals(new int[]{1, 2, 1}, profile.levelWidths());
+        assertEquals(3, profile.depth());
+        assertEquals(2, profile.maxWidth());
+        assertArrayEquals(new double[]{0, 3, 1, 4}, profile.earliestStarts());
+        // A busy [0, 3), C busy [1, 2), B busy [3, 4); D is a sink and takes no time
+        assertEquals(4.0, profile.makespan());
+        assertArrayEquals(new double[]{1, 2, 1, 1}, profile.concurrency(), 1e-9);
+    }
+
+    @Test
+    public void testWideGraphMatchesSequentialReference() {
+        Random random = new Random(44);
+        int layers = 6;
+        int width = 6000;
+        Graph<Integer> graph = new Graph<>();
+        for (int i = 0; i < layers * width; i++) {
+            graph.addVertex(new Vertex<>(i));
+        }
+        for (int layer = 1; layer < layers; layer++) {
+            for (int i = 0; i < width; i++) {
+                int v = layer * width + i;
+                for (int k = 0; k < 2; k++) {
+                    int u = random.nextInt(layer * width);
+                    graph.addEdge(u, v, 1 + random.nextInt(9));
+                }
+            }
+        }
+
+        ParallelismProfiler<Integer> profiler = new ParallelismProfiler<>(50);
+        ParallelismProfile profile = profiler.profile(graph);
+        assertTrue(profiler.getMetrics().getCounter("parallel_levels") > 0);
+
+        AdjacencyIndex forward = graph.getForwardAdjacency();
+        int n = forward.vertexCount();
+        int[] expectedLevels = new int[n];
+        double totalBusy = 0;
+        for (int v = 0; v < n; v++) {
+            for (int i = forward.start(v); i < forward.end(v); i++) {
+                int w = forward.target(i);
+                expectedLevels[w] = Math.max(expectedLevels[w], expectedLevels[v] + 1);
+            }
+        }
+        DAGDistanceResult critical = new DAGPathFinder<Integer>().criticalDistances(forward);
+        for (int v = 0; v < n; v++) {
+            int duration = 0;
+            for (int i = forward.start(v); i < forward.end(v); i++) {
+                duration = Math.max(duration, forward.weight(i));
+            }
+            totalBusy += duration;
+        }
+
+        assertArrayEquals(expectedLevels, profile.levels());
+        assertArrayEquals(critical.distances(), profile.earliestStarts());
+        int sum = 0;
+        for (int w : profile.levelWidths()) {
+            sum += w;
+        }
+        assertEquals(n, sum);
+
+        double area = 0;
+        for (double c : profile.concurrency()) {
+            area += c * profile.bucketWidth();
+        }
+        assertEquals(totalBusy, area, 1e-6 * totalBusy);
+    }
+
+    @Test
+    public void testCycleIsRejected() {
+        Graph<Integer> graph = new Graph<>();
+        graph.addVertex(new Vertex<>(0));
+        graph.addVertex(new Vertex<>(1));
+        graph.addEdge(0, 1);
+        graph.addEdge(1, 0);
+
+        assertThrows(IllegalArgumentException.class, () -> new ParallelismProfiler<Integer>().profile(graph));
+    }
+}
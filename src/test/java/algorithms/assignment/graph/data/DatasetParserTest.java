@@ -0,0 +1,87 @@
+package algorithms.assignment.graph.data;
+
+import algorithms.assignment.data.DatasetParser;
+import algorithms.assignment.data.DatasetParser.GraphDataset;
+import algorithms.assignment.data.DatasetParser.IndexedDataset;
+import algorithms.assignment.data.SymbolTable;
+import algorithms.assignment.graph.AdjacencyIndex;
+import algorithms.assignment.graph.Graph;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DatasetParserTest {
+    private static final String DATASETS = """
+            {"datasets": [
+              {"id": 1, "category": "small", "description": "diamond", "cyclic": false,
+               "vertices": ["A", "B", "C", "D", "B"],
+               "edges": [["A", "B", 3], ["A", "C"], ["B", "D", 2], ["C", "D", 5]]}
+            ]}
+            """;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testSymbolTableAssignsIdsOnFirstSight() {
+        SymbolTable symbols = new SymbolTable();
+        assertEquals(0, symbols.intern("x"));
+        assertEquals(1, symbols.intern("y"));
+        assertEquals(0, symbols.intern(new String("x")));
+        assertEquals(-1, symbols.idOf("z"));
+        assertEquals("y", symbols.label(1));
+        assertEquals(List.of("x", "y"), symbols.labels());
+    }
+
+    @Test
+    public void testGraphIdsMatchSymbolIds() throws IOException {
+        GraphDataset<String> dataset = DatasetParser.parse(write(DATASETS)).get(0);
+        Graph<String> graph = dataset.graph();
+
+        assertEquals(4, graph.getVertexCount());
+        assertEquals(4, graph.getEdgeCount());
+        assertEquals(0, graph.getVertex("A").getId());
+        assertEquals(3, graph.getVertex("D").getId());
+        assertEquals(1, graph.getVertex("A").getNeighbors().get(1).edge().getWeight());
+    }
+
+    @Test
+    public void testIndexedParseMatchesGraph() throws IOException {
+        String file = write(DATASETS);
+        Graph<String> graph = DatasetParser.parse(file).get(0).graph();
+        IndexedDataset indexed = DatasetParser.parseIndexed(file).get(0);
+
+        assertEquals("diamond", indexed.description());
+        AdjacencyIndex expected = graph.getForwardAdjacency();
+        AdjacencyIndex actual = indexed.adjacency();
+        assertEquals(expected.vertexCount(), actual.vertexCount());
+        assertEquals(expected.edgeCount(), actual.edgeCount());
+        for (int v = 0; v < expected.vertexCount(); v++) {
+            assertEquals(graph.getVertexById(v).getData(), indexed.symbols().label(v));
+            assertEquals(expected.start(v), actual.start(v));
+            for (int i = expected.start(v); i < expected.end(v); i++) {
+                assertEquals(expected.target(i), actual.target(i));
+                assertEquals(expected.weight(i), actual.weight(i));
+            }
+        }
+    }
+
+    @Test
+    public void testUnknownEndpointIsRejected() throws IOException {
+        String file = write(DATASETS.replace("[\"C\", \"D\", 5]", "[\"C\", \"E\", 5]"));
+        assertThrows(IllegalArgumentException.class, () -> DatasetParser.parse(file));
+        assertThrows(IllegalArgumentException.class, () -> DatasetParser.parseIndexed(file));
+    }
+
+    private String write(String json) throws IOException {
+        Path file = directory.resolve("datasets.json");
+        Files.writeString(file, json);
+        return file.toString();
+    }
+}
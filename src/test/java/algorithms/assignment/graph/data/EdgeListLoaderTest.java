@@ -0,0 +1,109 @@
+package algorithms.assignment.graph.data;
+
+import algorithms.assignment.data.EdgeListLoader;
+import algorithms.assignment.data.EdgeListLoader.LoadedGraph;
+import algorithms.assignment.graph.AdjacencyIndex;
+import algorithms.assignment.graph.Graph;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EdgeListLoaderTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testParsesSeparatorsCommentsAndDefaults() throws IOException {
+        Path file = write("from,to,weight\r\n# comment\r\nA,B,3\r\n\r\nB\tC\r\n A , C , -2 \r\nC,A");
+        LoadedGraph loaded = new EdgeListLoader(2, 4, true).load(file);
+
+        assertEquals(List.of("A", "B", "C"), loaded.symbols().labels());
+        AdjacencyIndex adjacency = loaded.adjacency();
+        assertEquals(4, adjacency.edgeCount());
+        assertEquals(2, adjacency.degree(0));
+        assertEquals(1, adjacency.target(adjacency.start(0)));
+        assertEquals(3, adjacency.weight(adjacency.start(0)));
+        assertEquals(-2, adjacency.weight(adjacency.start(0) + 1));
+        assertEquals(1, adjacency.weight(adjacency.start(1)));
+        assertEquals(0, adjacency.target(adjacency.start(2)));
+    }
+
+    @Test
+    public void testChunkedLoadMatchesSequentialReference() throws IOException {
+        Random random = new Random(39);
+        StringBuilder text = new StringBuilder();
+        List<String[]> edges = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            String from = "v" + random.nextInt(700);
+            String to = "v" + random.nextInt(700);
+            String weight = Integer.toString(random.nextInt(50));
+            edges.add(new String[]{from, to, weight});
+            text.append(from).append(i % 2 == 0 ? "," : "\t").append(to).append(',').append(weight).append('\n');
+        }
+        Path file = write(text.toString());
+
+        Map<String, Integer> ids = new LinkedHashMap<>();
+        List<List<int[]>> expected = new ArrayList<>();
+        for (String[] edge : edges) {
+            for (int k = 0; k < 2; k++) {
+                if (!ids.containsKey(edge[k])) {
+                    ids.put(edge[k], ids.size());
+                    expected.add(new ArrayList<>());
+                }
+            }
+            expected.get(ids.get(edge[0])).add(new int[]{ids.get(edge[1]), Integer.parseInt(edge[2])});
+        }
+
+        for (long chunkBytes : new long[]{1, 97, 4096, 1 << 20}) {
+            EdgeListLoader loader = new EdgeListLoader(4, chunkBytes, false);
+            LoadedGraph loaded = loader.load(file);
+            assertEquals(new ArrayList<>(ids.keySet()), loaded.symbols().labels());
+
+            AdjacencyIndex adjacency = loaded.adjacency();
+            for (int v = 0; v < ids.size(); v++) {
+                List<int[]> out = expected.get(v);
+                assertEquals(out.size(), adjacency.degree(v));
+                for (int i = 0; i < out.size(); i++) {
+                    assertEquals(out.get(i)[0], adjacency.target(adjacency.start(v) + i));
+                    assertEquals(out.get(i)[1], adjacency.weight(adjacency.start(v) + i));
+                }
+            }
+            assertEquals(5_000, loader.getMetrics().getCounter("edges"));
+            assertEquals(Files.size(file), loader.getMetrics().getCounter("bytes_read"));
+        }
+    }
+
+    @Test
+    public void testToGraphKeepsIds() throws IOException {
+        LoadedGraph loaded = new EdgeListLoader().load(write("x,y,2\ny,z\n"));
+        Graph<String> graph = loaded.toGraph();
+
+        assertEquals(3, graph.getVertexCount());
+        assertEquals(2, graph.getEdgeCount());
+        assertEquals(2, graph.getVertex("z").getId());
+        assertEquals(2, graph.getVertex("x").getNeighbors().get(0).edge().getWeight());
+    }
+
+    @Test
+    public void testMalformedLineReportsOffset() throws IOException {
+        Path file = write("A,B\nC\n");
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> new EdgeListLoader(1, 2, false).load(file));
+        assertTrue(e.getMessage().contains("byte 4"), e.getMessage());
+
+        assertThrows(IllegalArgumentException.class, () -> new EdgeListLoader().load(write("A,B,x\n")));
+        assertThrows(IllegalArgumentException.class, () -> new EdgeListLoader().load(write(",B\n")));
+    }
+
+    private Path write(String content) throws IOException {
+        Path file = Files.createTempFile(directory, "edges", ".csv");
+        Files.writeString(file, content);
+        return file;
+    }
+}
@@ -0,0 +1,262 @@
+package algorithms.assignment.graph.delta;
+
+import algorithms.assignment.dag_paths.DAGPathFinder;
+import algorithms.assignment.delta.AnalysisSession;
+import algorithms.assignment.delta.GraphDelta;
+import algorithms.assignment.delta.result.DeltaReport;
+import algorithms.assignment.graph.AdjacencyIndex;
+import algorithms.assignment.graph.Graph;
+import algorithms.assignment.graph.Neighbor;
+import algorithms.assignment.graph.Vertex;
+import algorithms.assignment.strongly_connected_components.TarjanSCC;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AnalysisSessionTest {
+    @Test
+    public void testDeltaFormatAndPlainApply() {
+        Graph<String> graph = new Graph<>();
+        for (String label : List.of("A", "B", "C", "D")) graph.addVertex(new Vertex<>(label));
+        graph.addEdge("A", "B", 1);
+        graph.addEdge("B", "C", 1);
+        graph.addEdge("C", "D", 1);
+        graph.addEdge("D", "B", 1);
+
+        GraphDelta<String> delta = GraphDelta.fromJson(new JSONObject("""
+                {"changes": [
+                  {"op": "add_vertex", "vertex": "E"},
+                  {"op": "add_edge", "from": "D", "to": "E", "weight": 4},
+                  {"op": "set_weight", "from": "A", "to": "B", "weight": 7},
+                  {"op": "remove_edge", "from": "C", "to": "D"},
+                  {"op": "remove_vertex", "vertex": "B"}
+                ]}"""));
+        assertEquals(5, delta.size());
+        assertEquals(delta.getChanges(), GraphDelta.fromJson(delta.toJson()).getChanges());
+
+        delta.applyTo(graph);
+        assertEquals(4, graph.getVertexCount());
+        assertEquals(1, graph.getEdgeCount());
+        assertNull(graph.getVertex("B"));
+        // E had the highest id and took over B's
+        assertEquals(1, graph.getVertex("E").getId());
+        assertEquals("E", graph.getVertexById(1).getData());
+        assertEquals(1, graph.getVertex("E").getInDegree());
+        assertEquals(0, graph.getVertex("C").getInDegree());
+
+        assertThrows(IllegalArgumentException.class, () -> new GraphDelta<String>().addVertex("A").applyTo(graph));
+        assertThrows(IllegalArgumentException.class,
+                () -> GraphDelta.fromJson(new JSONObject("{\"changes\": [{\"op\": \"rename\"}]}")));
+    }
+
+    @Test
+    public void testMergeSplitAndDistances() {
+        Graph<String> graph = new Graph<>();
+        for (String label : List.of("A", "B", "C", "D")) graph.addVertex(new Vertex<>(label));
+        graph.addEdge("A", "B", 2);
+        graph.addEdge("B", "C", 3);
+        graph.addEdge("C", "D", 4);
+
+        AnalysisSession<String> session = new AnalysisSession<>(graph);
+        assertEquals(4, session.getComponentCount());
+        assertEquals(9.0, session.getCriticalPathLength());
+
+        // C -> A closes a cycle over A, B and C
+        DeltaReport merge = session.apply(new GraphDelta<String>().addEdge("C", "A", 1));
+        assertEquals(2, session.getComponentCount());
+        assertEquals(2, merge.componentsMerged());
+        // The merged cycle and D, whose distance dropped
+        assertEquals(4, merge.verticesAffected());
+        assertTrue(session.sameComponent("A", "C"));
+        assertEquals(4.0, session.getDistance("D"));
+        assertEquals(List.of(Set.of("A", "B", "C"), Set.of("D")),
+                session.getTopologicalOrder().stream().map(Set::copyOf).toList());
+
+        DeltaReport split = session.apply(new GraphDelta<String>().removeEdge("B", "C").setWeight("C", "D", 10));
+        assertEquals(1, split.componentsSplit());
+        assertEquals(4, session.getComponentCount());
+        assertEquals(List.of(List.of("C"), List.of("A"), List.of("B"), List.of("D")), session.getTopologicalOrder());
+        assertEquals(10.0, session.getCriticalPathLength());
+        assertEquals(List.of(List.of("C"), List.of("D")), session.getCriticalPath());
+        assertEquals(3.0, session.getDistance("B"));
+
+        session.apply(new GraphDelta<String>().removeVertex("C").addVertex("E").addEdge("E", "D", 1));
+        assertEquals(4, session.getComponentCount());
+        assertEquals(1.0, session.getDistance("D"));
+        assertEquals(0.0, session.getDistance("E"));
+    }
+
+    @Test
+    public void testFailedChangeKeepsEarlierChangesAnalysed() {
+        Graph<String> graph = new Graph<>();
+        for (String label : List.of("A", "B")) graph.addVertex(new Vertex<>(label));
+        AnalysisSession<String> session = new AnalysisSession<>(graph);
+
+        GraphDelta<String> delta = new GraphDelta<String>().addEdge("A", "B", 5).addEdge("B", "A", 1).removeEdge("A", "X");
+        assertThrows(IllegalArgumentException.class, () -> session.apply(delta));
+        assertTrue(session.sameComponent("A", "B"));
+        assertEquals(1, session.getComponentCount());
+        // The two changes that went through were still recorded
+        assertEquals(1, session.getMetrics().getCounter("components_merged"));
+        assertEquals(2, session.getMetrics().getCounter("vertices_affected"));
+
+        graph.addVertex(new Vertex<>("C"));
+        assertThrows(IllegalStateException.class, () -> session.apply(new GraphDelta<>()));
+    }
+
+    @Test
+    public void testMatchesFullRecomputation() {
+        Random random = new Random(7);
+        Graph<Integer> graph = new Graph<>();
+        int nextLabel = 0;
+        for (; nextLabel < 120; nextLabel++) graph.addVertex(new Vertex<>(nextLabel));
+        for (int i = 0; i < 200; i++) {
+            graph.addEdge(random.nextInt(120), random.nextInt(120), 1 + random.nextInt(9));
+        }
+
+        AnalysisSession<Integer> session = new AnalysisSession<>(graph);
+        assertMatchesFullRun(graph, session);
+
+        for (int step = 0; step < 300; step++) {
+            GraphDelta<Integer> delta = new GraphDelta<>();
+            Graph<Integer> shadow = copyOf(graph);
+            int changes = 1 + random.nextInt(6);
+            for (int k = 0; k < changes; k++) {
+                List<Integer> labels = new ArrayList<>(shadow.getVertexKeys());
+                List<int[]> edges = edgesOf(shadow);
+                int kind = random.nextInt(10);
+                if (kind == 0 || labels.size() < 2) {
+                    delta.addVertex(nextLabel);
+                    shadow.addVertex(new Vertex<>(nextLabel++));
+                } else if (kind == 1) {
+                    Integer victim = labels.get(random.nextInt(labels.size()));
+                    delta.removeVertex(victim);
+                    shadow.removeVertex(victim);
+                } else if (kind <= 5 || edges.isEmpty()) {
+                    int u = labels.get(random.nextInt(labels.size()));
+                    int v = labels.get(random.nextInt(labels.size()));
+                    int weight = 1 + random.nextInt(9);
+                    delta.addEdge(u, v, weight);
+                    shadow.addEdge(u, v, weight);
+                } else if (kind <= 8) {
+                    int[] e = edges.get(random.nextInt(edges.size()));
+                    delta.removeEdge(e[0], e[1]);
+                    shadow.removeEdge(e[0], e[1]);
+                } else {
+                    int[] e = edges.get(random.nextInt(edges.size()));
+                    int weight = 1 + random.nextInt(20);
+                    delta.setWeight(e[0], e[1], weight);
+                    shadow.setEdgeWeight(e[0], e[1], weight);
+                }
+            }
+
+            DeltaReport report = session.apply(delta);
+            assertEquals(changes, report.changes());
+            assertEquals(shadow.getVertexCount(), graph.getVertexCount());
+            assertEquals(shadow.getEdgeCount(), graph.getEdgeCount());
+            assertMatchesFullRun(graph, session);
+        }
+    }
+
+    @Test
+    public void testSmallDeltaIsCheaperThanFullRun() {
+        Random random = new Random(3);
+        int n = 20_000;
+        Graph<Integer> graph = new Graph<>();
+        for (int i = 0; i < n; i++) graph.addVertex(new Vertex<>(i));
+        for (int i = 0; i < 4 * n; i++) {
+            int u = random.nextInt(n - 1);
+            graph.addEdge(u, u + 1 + random.nextInt(Math.min(50, n - u - 1)), 1 + random.nextInt(9));
+        }
+        graph.addEdge(n - 3, n - 2, 1);
+        graph.addEdge(n - 2, n - 1, 1);
+        AnalysisSession<Integer> session = new AnalysisSession<>(graph);
+        assertEquals(n, session.getComponentCount());
+
+        // A short cycle, a reweight and a new leaf near the end of the order
+        DeltaReport report = session.apply(new GraphDelta<Integer>()
+                .addEdge(n - 1, n - 3, 1)
+                .setWeight(n - 2, n - 1, 100)
+                .addVertex(n)
+                .addEdge(n - 1, n, 1));
+        assertTrue(session.getComponentCount() <= n - 1);
+        assertTrue(report.componentsAffected() >= 3);
+        assertTrue(report.workRatio() < 0.01, report.toString());
+        assertEquals(report.fullRunWork(), session.getMetrics().getCounter("full_run_work"));
+    }
+
+    private static void assertMatchesFullRun(Graph<Integer> graph, AnalysisSession<Integer> session) {
+        int n = graph.getVertexCount();
+        List<List<Vertex<Integer>>> sccs = new TarjanSCC<Integer>().findSCCs(graph).components();
+        assertEquals(sccs.size(), session.getComponentCount());
+        int[] componentOf = new int[n];
+        for (int c = 0; c < sccs.size(); c++) {
+            for (Vertex<Integer> v : sccs.get(c)) componentOf[v.getId()] = c;
+        }
+
+        // Same partition, and the order respects every edge
+        Map<Integer, Integer> position = new HashMap<>();
+        List<List<Integer>> order = session.getTopologicalOrder();
+        for (int i = 0; i < order.size(); i++) {
+            for (Integer v : order.get(i)) position.put(v, i);
+        }
+        assertEquals(n, position.size());
+        int[] sources = new int[graph.getEdgeCount()];
+        int[] targets = new int[graph.getEdgeCount()];
+        int[] weights = new int[graph.getEdgeCount()];
+        int count = 0;
+        for (Vertex<Integer> u : graph.getVertices()) {
+            for (Neighbor<Integer> nb : u.getNeighbors()) {
+                Vertex<Integer> v = nb.vertex();
+                boolean same = componentOf[u.getId()] == componentOf[v.getId()];
+                assertEquals(same, session.sameComponent(u.getData(), v.getData()));
+                if (same) {
+                    assertEquals(position.get(u.getData()), position.get(v.getData()));
+                } else {
+                    assertTrue(position.get(u.getData()) < position.get(v.getData()));
+                    sources[count] = componentOf[u.getId()];
+                    targets[count] = componentOf[v.getId()];
+                    weights[count] = nb.edge().getWeight();
+                    count++;
+                }
+            }
+        }
+
+        AdjacencyIndex condensation = AdjacencyIndex.fromEdges(sccs.size(), sources, targets, weights, count);
+        double[] distances = new DAGPathFinder<Integer>().criticalDistances(condensation).distances();
+        double longest = 0.0;
+        for (Vertex<Integer> v : graph.getVertices()) {
+            assertEquals(distances[componentOf[v.getId()]], session.getDistance(v.getData()), "vertex " + v.getData());
+            longest = Math.max(longest, distances[componentOf[v.getId()]]);
+        }
+        if (n > 0) {
+            assertEquals(longest, session.getCriticalPathLength());
+        }
+    }
+
+    private static Graph<Integer> copyOf(Graph<Integer> graph) {
+        Graph<Integer> copy = new Graph<>();
+        for (int v = 0; v < graph.getVertexCount(); v++) {
+            copy.addVertex(new Vertex<>(graph.getVertexById(v).getData()));
+        }
+        for (int v = 0; v < graph.getVertexCount(); v++) {
+            for (Neighbor<Integer> nb : graph.getVertexById(v).getNeighbors()) {
+                copy.addEdgeById(v, nb.vertex().getId(), nb.edge().getWeight());
+            }
+        }
+        return copy;
+    }
+
+    private static List<int[]> edgesOf(Graph<Integer> graph) {
+        List<int[]> edges = new ArrayList<>();
+        for (Vertex<Integer> v : graph.getVertices()) {
+            for (Neighbor<Integer> nb : v.getNeighbors()) {
+                edges.add(new int[]{v.getData(), nb.vertex().getData()});
+            }
+        }
+        return edges;
+    }
+}
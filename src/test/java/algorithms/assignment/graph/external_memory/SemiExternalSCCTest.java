@@ -0,0 +1,95 @@
+package algorithms.assignment.graph.external_memory;
+
+import algorithms.assignment.external_memory.EdgeFile;
+import algorithms.assignment.external_memory.SemiExternalSCC;
+import algorithms.assignment.external_memory.result.SemiExternalSCCResult;
+import algorithms.assignment.graph.AdjacencyIndex;
+import algorithms.assignment.graph.Graph;
+import algorithms.assignment.graph.Vertex;
+import algorithms.assignment.strongly_connected_components.TarjanSCC;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SemiExternalSCCTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testMatchesTarjanOnRandomGraphs() throws IOException {
+        Random random = new Random(41);
+        for (int round = 0; round < 20; round++) {
+            int n = 1 + random.nextInt(400);
+            Graph<Integer> graph = new Graph<>();
+            for (int i = 0; i < n; i++) {
+                graph.addVertex(new Vertex<>(i));
+            }
+            int edges = random.nextInt(3 * n);
+            for (int i = 0; i < edges; i++) {
+                graph.addEdge(random.nextInt(n), random.nextInt(n));
+            }
+
+            AdjacencyIndex forward = graph.getForwardAdjacency();
+            int[] expected = new int[n];
+            int expectedCount = new TarjanSCC<Integer>().forEachComponent(forward, (ids, offset, length) -> {
+                int min = Integer.MAX_VALUE;
+                for (int i = offset; i < offset + length; i++) {
+                    min = Math.min(min, ids[i]);
+                }
+                for (int i = offset; i < offset + length; i++) {
+                    expected[ids[i]] = min;
+                }
+            });
+
+            Path file = directory.resolve("edges-" + round + ".bin");
+            EdgeFile.write(file, forward);
+            SemiExternalSCCResult result = new SemiExternalSCC(1 + random.nextInt(64)).run(file);
+
+            assertArrayEquals(expected, result.componentIds());
+            assertEquals(expectedCount, result.componentCount());
+        }
+    }
+
+    @Test
+    public void testReportsPassesAndBytes() throws IOException {
+        Path file = directory.resolve("cycle.bin");
+        try (EdgeFile.Writer writer = EdgeFile.Writer.open(file, 4)) {
+            writer.add(0, 1);
+            writer.add(1, 2);
+            writer.add(2, 0);
+            writer.add(2, 3);
+        }
+
+        SemiExternalSCC scc = new SemiExternalSCC();
+        SemiExternalSCCResult result = scc.run(file);
+
+        assertArrayEquals(new int[]{0, 0, 0, 3}, result.componentIds());
+        assertEquals(2, result.componentCount());
+        long passes = scc.getMetrics().getCounter("passes");
+        assertTrue(passes >= 3);
+        assertEquals(passes * Files.size(file), scc.getMetrics().getCounter("bytes_read"));
+        assertEquals(passes * 4, scc.getMetrics().getCounter("edges_streamed"));
+    }
+
+    @Test
+    public void testRejectsCorruptFiles() throws IOException {
+        Path file = directory.resolve("edges.bin");
+        try (EdgeFile.Writer writer = EdgeFile.Writer.open(file, 2)) {
+            writer.add(0, 1);
+            assertThrows(IllegalArgumentException.class, () -> writer.add(0, 2));
+        }
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 1));
+        assertThrows(IOException.class, () -> new SemiExternalSCC().run(file));
+
+        Files.write(file, new byte[]{1, 2, 3});
+        assertThrows(IOException.class, () -> new SemiExternalSCC().run(file));
+    }
+}
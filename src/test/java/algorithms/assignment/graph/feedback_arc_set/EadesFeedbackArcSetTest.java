@@ -0,0 +1,88 @@
+package algorithms.assignment.graph.feedback_arc_set;
+
+import algorithms.assignment.feedback_arc_set.EadesFeedbackArcSet;
+import algorithms.assignment.feedback_arc_set.result.FeedbackArc;
+import algorithms.assignment.feedback_arc_set.result.FeedbackArcSetResult;
+import algorithms.assignment.graph.Graph;
+import algorithms.assignment.graph.Vertex;
+import algorithms.assignment.topological_sort.KahnTopologicalSort;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the Eades-Lin-Smyth feedback arc set heuristic.
+ */
+public class EadesFeedbackArcSetTest {
+
+    @Test
+    public void testAcyclicGraphHasEmptySet() {
+        Graph<Integer> graph = new Graph<>();
+        for (int i = 0; i < 4; i++) {
+            graph.addVertex(new Vertex<>(i));
+        }
+        graph.addEdge(0, 1);
+        graph.addEdge(1, 2);
+        graph.addEdge(0, 3);
+
+        FeedbackArcSetResult<Integer> result = new EadesFeedbackArcSet<Integer>().find(graph);
+        assertTrue(result.arcs().isEmpty());
+        assertEquals(3, graph.getEdgeCount());
+    }
+
+    @Test
+    public void testSimpleCycleLosesOneArc() {
+        Graph<Integer> graph = new Graph<>();
+        for (int i = 0; i < 3; i++) {
+            graph.addVertex(new Vertex<>(i));
+        }
+        graph.addEdge(0, 1, 4);
+        graph.addEdge(1, 2, 5);
+        graph.addEdge(2, 0, 6);
+
+        EadesFeedbackArcSet<Integer> fas = new EadesFeedbackArcSet<>();
+        FeedbackArcSetResult<Integer> result = fas.find(graph);
+        assertEquals(1, result.arcs().size());
+        assertEquals(3, graph.getEdgeCount());
+
+        fas.breakCycles(graph);
+        assertEquals(2, graph.getEdgeCount());
+        assertFalse(new KahnTopologicalSort<Integer>().sort(graph).hasCycle());
+    }
+
+    @Test
+    public void testSelfLoopsAreAlwaysArcs() {
+        Graph<Integer> graph = new Graph<>();
+        graph.addVertex(new Vertex<>(0));
+        graph.addVertex(new Vertex<>(1));
+        graph.addEdge(0, 0, 7);
+        graph.addEdge(0, 1);
+
+        FeedbackArcSetResult<Integer> result = new EadesFeedbackArcSet<Integer>().find(graph);
+        assertEquals(List.of(new FeedbackArc<>(0, 0, 7)), result.arcs());
+    }
+
+    @Test
+    public void testRandomGraphsBecomeAcyclic() {
+        Random random = new Random(33);
+        for (int round = 0; round < 20; round++) {
+            Graph<Integer> graph = new Graph<>();
+            int n = 5 + random.nextInt(60);
+            for (int i = 0; i < n; i++) {
+                graph.addVertex(new Vertex<>(i));
+            }
+            int edges = n * (1 + random.nextInt(4));
+            for (int e = 0; e < edges; e++) {
+                graph.addEdge(random.nextInt(n), random.nextInt(n));
+            }
+
+            FeedbackArcSetResult<Integer> result = new EadesFeedbackArcSet<Integer>().breakCycles(graph);
+            assertEquals(edges - result.arcs().size(), graph.getEdgeCount());
+            assertFalse(new KahnTopologicalSort<Integer>().sort(graph).hasCycle());
+            assertEquals(result.arcs().size(), result.metrics().getCounter("arcs_removed"));
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package algorithms.assignment.graph.metrics;
+
+import algorithms.assignment.graph.Graph;
+import algorithms.assignment.graph.Vertex;
+import algorithms.assignment.strongly_connected_components.KosarajuSCC;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AlgorithmPhaseEventTest {
+    @Test
+    public void testKosarajuPhasesAreRecorded() throws Exception {
+        Graph<Integer> graph = new Graph<>();
+        for (int i = 0; i < 4; i++) graph.addVertex(new Vertex<>(i));
+        graph.addEdge(0, 1);
+        graph.addEdge(1, 0);
+        graph.addEdge(2, 3);
+
+        Path file = Files.createTempFile("phases", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("algorithms.assignment.AlgorithmPhase").withThreshold(java.time.Duration.ZERO);
+            recording.start();
+            new KosarajuSCC<Integer>().findSCCs(graph);
+            recording.stop();
+            recording.dump(file);
+        }
+
+        Set<String> phases = new HashSet<>();
+        for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+            if (event.getString("algorithm").equals("kosaraju_scc")) {
+                phases.add(event.getString("phase"));
+                assertEquals(4, event.getInt("vertexCount"));
+                assertEquals(3, event.getLong("edgeCount"));
+            }
+        }
+        Files.deleteIfExists(file);
+
+        assertEquals(Set.of("first_dfs", "reverse_index", "second_dfs"), phases);
+    }
+}
@@ -0,0 +1,95 @@
+package algorithms.assignment.graph.metrics;
+
+import algorithms.assignment.graph.AdjacencyIndex;
+import algorithms.assignment.graph.Graph;
+import algorithms.assignment.graph.Vertex;
+import algorithms.assignment.metrics.AllocationCounter;
+import algorithms.assignment.metrics.LatencyHistogram;
+import algorithms.assignment.metrics.MetricsHttpServer;
+import algorithms.assignment.metrics.MetricsRegistry;
+import algorithms.assignment.strongly_connected_components.TarjanSCC;
+import algorithms.assignment.topological_sort.KahnTopologicalSort;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class MetricsRegistryTest {
+    @Test
+    public void testHistogramQuantiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long v = 1; v <= 100_000; v++) {
+            histogram.record(v * 1_000);
+        }
+
+        assertEquals(100_000, histogram.getCount());
+        assertEquals(50_000_000, histogram.getValueAtQuantile(0.5), 50_000_000 * 0.016);
+        assertEquals(99_000_000, histogram.getValueAtQuantile(0.99), 99_000_000 * 0.016);
+        assertEquals(99_900_000, histogram.getValueAtQuantile(0.999), 99_900_000 * 0.016);
+        assertEquals(100_000_000, histogram.getValueAtQuantile(1.0));
+    }
+
+    @Test
+    public void testAlgorithmRunsAreExported() throws Exception {
+        MetricsRegistry registry = MetricsRegistry.getDefault();
+        registry.reset();
+
+        Graph<Integer> graph = new Graph<>();
+        for (int i = 0; i < 3; i++) graph.addVertex(new Vertex<>(i));
+        graph.addEdge(0, 1);
+        graph.addEdge(1, 2);
+
+        TarjanSCC<Integer> tarjan = new TarjanSCC<>();
+        tarjan.findSCCs(graph);
+        tarjan.findSCCs(graph);
+
+        assertEquals(2, registry.getLatency("tarjan_scc", MetricsRegistry.TOTAL_PHASE).getCount());
+        assertEquals(6, registry.getCounterTotal("tarjan_scc", "scc_found"));
+
+        String prometheus = registry.toPrometheus();
+        assertTrue(prometheus.contains(
+                "graph_algorithm_latency_seconds_count{algorithm=\"tarjan_scc\",phase=\"total\"} 2"));
+        assertTrue(prometheus.contains(
+                "graph_algorithm_operations_total{algorithm=\"tarjan_scc\",counter=\"scc_found\"} 6"));
+
+        try (MetricsHttpServer server = new MetricsHttpServer(registry, new InetSocketAddress("127.0.0.1", 0))) {
+            URL url = new URL("http://127.0.0.1:" + server.getPort() + "/metrics.json");
+            try (InputStream in = url.openStream()) {
+                JSONObject json = new JSONObject(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+                assertEquals(2, json.getJSONObject("tarjan_scc").getJSONObject("latency")
+                        .getJSONObject("total").getLong("count"));
+            }
+        }
+    }
+
+    @Test
+    public void testAllocatedBytesAreRecordedAndExported() {
+        assumeTrue(AllocationCounter.isSupported());
+        MetricsRegistry registry = MetricsRegistry.getDefault();
+        registry.reset();
+
+        int n = 10_000;
+        Graph<Integer> graph = new Graph<>();
+        for (int i = 0; i < n; i++) graph.addVertex(new Vertex<>(i));
+        for (int i = 1; i < n; i++) graph.addEdge(i - 1, i);
+        AdjacencyIndex forward = graph.getForwardAdjacency();
+
+        KahnTopologicalSort<Integer> kahn = new KahnTopologicalSort<>();
+        kahn.sortIds(forward);
+        // The in-degree array and the order array are both allocated per run
+        long allocated = kahn.getMetrics().getAllocatedBytes();
+        assertTrue(allocated >= 8L * n, "allocated " + allocated);
+        assertTrue(kahn.getMetrics().getSummary().contains("Allocated: " + allocated + " bytes"));
+
+        assertEquals(allocated, registry.getAllocatedBytesTotal("kahn_topological_sort"));
+        assertTrue(registry.toPrometheus().contains(
+                "graph_algorithm_allocated_bytes_total{algorithm=\"kahn_topological_sort\"} " + allocated));
+        assertEquals(allocated, registry.toJson().getJSONObject("kahn_topological_sort").getLong("allocated_bytes"));
+    }
+}
@@ -0,0 +1,132 @@
+package algorithms.assignment.graph.reachability;
+
+import algorithms.assignment.graph.AdjacencyIndex;
+import algorithms.assignment.graph.Graph;
+import algorithms.assignment.graph.Vertex;
+import algorithms.assignment.reachability.BidirectionalReachability;
+import algorithms.assignment.reachability.result.PathQueryResult;
+import algorithms.assignment.util.EpochMarks;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BidirectionalReachabilityTest {
+    @Test
+    public void testFindsWitnessPath() {
+        Graph<String> graph = new Graph<>();
+        for (String v : List.of("A", "B", "C", "D", "E")) {
+            graph.addVertex(new Vertex<>(v));
+        }
+        graph.addEdge("A", "B");
+        graph.addEdge("B", "C");
+        graph.addEdge("C", "D");
+        graph.addEdge("E", "A");
+
+        BidirectionalReachability<String> reachability = new BidirectionalReachability<>(graph);
+        PathQueryResult<String> result = reachability.findPath("A", "D");
+        assertTrue(result.reachable());
+        assertEquals(List.of("A", "B", "C", "D"), result.path());
+
+        PathQueryResult<String> back = reachability.findPath("D", "A");
+        assertFalse(back.reachable());
+        assertTrue(back.path().isEmpty());
+
+        assertEquals(List.of("C"), reachability.findPath("C", "C").path());
+        assertThrows(IllegalArgumentException.class, () -> reachability.findPath("A", "Z"));
+    }
+
+    @Test
+    public void testAgreesWithBreadthFirstSearch() {
+        Random random = new Random(40);
+        Graph<Integer> graph = new Graph<>();
+        int n = 300;
+        for (int i = 0; i < n; i++) {
+            graph.addVertex(new Vertex<>(i));
+        }
+        for (int i = 0; i < 450; i++) {
+            graph.addEdge(random.nextInt(n), random.nextInt(n));
+        }
+
+        AdjacencyIndex forward = graph.getForwardAdjacency();
+        BidirectionalReachability<Integer> reachability = new BidirectionalReachability<>(graph);
+        for (int q = 0; q < 500; q++) {
+            int source = random.nextInt(n);
+            int target = random.nextInt(n);
+            int[] path = reachability.findPathIds(source, target);
+
+            assertEquals(reachableByBfs(forward, source, target), path.length > 0);
+            assertEquals(path.length > 0, reachability.isReachable(source, target));
+            if (path.length > 0) {
+                assertEquals(source, path[0]);
+                assertEquals(target, path[path.length - 1]);
+                for (int i = 0; i + 1 < path.length; i++) {
+                    assertTrue(hasEdge(forward, path[i], path[i + 1]));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testNearbyQueryTouchesSmallPartOfGraph() {
+        Graph<Integer> graph = new Graph<>();
+        int n = 20_000;
+        for (int i = 0; i < n; i++) {
+            graph.addVertex(new Vertex<>(i));
+        }
+        // Binary tree: everything is reachable from the root
+        for (int i = 1; i < n; i++) {
+            graph.addEdge((i - 1) / 2, i);
+        }
+
+        BidirectionalReachability<Integer> reachability = new BidirectionalReachability<>(graph);
+        PathQueryResult<Integer> result = reachability.findPath(0, n - 1);
+        assertTrue(result.reachable());
+        assertTrue(result.metrics().getCounter("vertices_visited") < 100);
+    }
+
+    @Test
+    public void testEpochMarksClearWithoutWiping() {
+        EpochMarks marks = new EpochMarks(4);
+        assertTrue(marks.mark(2));
+        assertFalse(marks.mark(2));
+        marks.clear();
+        assertFalse(marks.isMarked(2));
+        assertTrue(marks.mark(2));
+        marks.ensureCapacity(10);
+        assertTrue(marks.isMarked(2));
+        assertTrue(marks.mark(9));
+    }
+
+    private static boolean reachableByBfs(AdjacencyIndex forward, int source, int target) {
+        boolean[] seen = new boolean[forward.vertexCount()];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        queue.add(source);
+        seen[source] = true;
+        while (!queue.isEmpty()) {
+            int v = queue.poll();
+            if (v == target) {
+                return true;
+            }
+            for (int i = forward.start(v); i < forward.end(v); i++) {
+                if (!seen[forward.target(i)]) {
+                    seen[forward.target(i)] = true;
+                    queue.add(forward.target(i));
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasEdge(AdjacencyIndex forward, int from, int to) {
+        for (int i = forward.start(from); i < forward.end(from); i++) {
+            if (forward.target(i) == to) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
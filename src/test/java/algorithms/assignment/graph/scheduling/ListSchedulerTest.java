@@ -0,0 +1,108 @@
+package algorithms.assignment.graph.scheduling;
+
+import algorithms.assignment.graph.AdjacencyIndex;
+import algorithms.assignment.graph.Graph;
+import algorithms.assignment.graph.Vertex;
+import algorithms.assignment.scheduling.ListScheduler;
+import algorithms.assignment.scheduling.result.Schedule;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ListSchedulerTest {
+    @Test
+    public void testCriticalPathTaskStartsFirst() {
+        // Independent tasks 0 and 2, plus the chain 1 -> 3
+        Graph<Integer> graph = new Graph<>();
+        for (int i = 0; i < 4; i++) {
+            graph.addVertex(new Vertex<>(i));
+        }
+        graph.addEdge(1, 3);
+        long[] durations = {2, 3, 1, 5};
+
+        Schedule two = new ListScheduler<Integer>().schedule(graph, durations, 2);
+        // Task 1 heads the longest chain (3 + 5), so it starts at once and 3 follows it
+        assertEquals(0, two.startTimes()[1]);
+        assertEquals(3, two.startTimes()[3]);
+        assertEquals(8, two.makespan());
+        assertEquals(8, two.lowerBound());
+
+        Schedule one = new ListScheduler<Integer>().schedule(graph, durations, 1);
+        assertEquals(11, one.makespan());
+        assertEquals(1.0, one.utilization(), 1e-9);
+    }
+
+    @Test
+    public void testRandomSchedulesAreValid() {
+        Random random = new Random(45);
+        for (int round = 0; round < 20; round++) {
+            int n = 1 + random.nextInt(300);
+            Graph<Integer> graph = new Graph<>();
+            for (int i = 0; i < n; i++) {
+                graph.addVertex(new Vertex<>(i));
+            }
+            for (int i = 0; i < 2 * n; i++) {
+                int a = random.nextInt(n);
+                int b = random.nextInt(n);
+                if (a != b) {
+                    graph.addEdge(Math.min(a, b), Math.max(a, b));
+                }
+            }
+            long[] durations = random.longs(n, 0, 20).toArray();
+            int workerCount = 1 + random.nextInt(8);
+
+            for (ListScheduler.Priority priority : ListScheduler.Priority.values()) {
+                Schedule schedule = new ListScheduler<Integer>(priority).schedule(graph, durations, workerCount);
+                assertValid(graph.getForwardAdjacency(), durations, schedule);
+                assertTrue(schedule.makespan() >= schedule.lowerBound());
+            }
+
+            Schedule unbounded = new ListScheduler<Integer>().schedule(graph, durations, n);
+            assertEquals(unbounded.criticalPathLength(), unbounded.makespan());
+        }
+    }
+
+    @Test
+    public void testRejectsCyclesAndBadInput() {
+        Graph<Integer> graph = new Graph<>();
+        graph.addVertex(new Vertex<>(0));
+        graph.addVertex(new Vertex<>(1));
+        graph.addEdge(0, 1);
+
+        ListScheduler<Integer> scheduler = new ListScheduler<>();
+        assertThrows(IllegalArgumentException.class, () -> scheduler.schedule(graph, new long[]{1}, 2));
+        assertThrows(IllegalArgumentException.class, () -> scheduler.schedule(graph, new long[]{1, -1}, 2));
+        assertThrows(IllegalArgumentException.class, () -> scheduler.schedule(graph, new long[]{1, 1}, 0));
+        graph.addEdge(1, 0);
+        assertThrows(IllegalArgumentException.class, () -> scheduler.schedule(graph, new long[]{1, 1}, 2));
+    }
+
+    private static void assertValid(AdjacencyIndex forward, long[] durations, Schedule schedule) {
+        int n = forward.vertexCount();
+        for (int v = 0; v < n; v++) {
+            assertEquals(schedule.startTimes()[v] + durations[v], schedule.finishTimes()[v]);
+            for (int i = forward.start(v); i < forward.end(v); i++) {
+                assertTrue(schedule.finishTimes()[v] <= schedule.startTimes()[forward.target(i)]);
+            }
+        }
+
+        // Tasks on the same worker never overlap
+        Integer[] byStart = new Integer[n];
+        for (int v = 0; v < n; v++) {
+            byStart[v] = v;
+        }
+        Arrays.sort(byStart, (a, b) -> Long.compare(schedule.startTimes()[a], schedule.startTimes()[b]));
+        long[] busyUntil = new long[schedule.workerCount()];
+        for (int v : byStart) {
+            if (durations[v] == 0) {
+                continue;
+            }
+            int worker = schedule.workers()[v];
+            assertTrue(busyUntil[worker] <= schedule.startTimes()[v]);
+            busyUntil[worker] = schedule.finishTimes()[v];
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package algorithms.assignment.graph.service;
+
+import algorithms.assignment.graph.Graph;
+import algorithms.assignment.graph.Vertex;
+import algorithms.assignment.service.GraphAnalysisService;
+import algorithms.assignment.service.result.AnalysisReport;
+import algorithms.assignment.strongly_connected_components.KosarajuSCC;
+import algorithms.assignment.topological_sort.KahnTopologicalSort;
+import algorithms.assignment.util.CancellationToken;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GraphAnalysisServiceTest {
+    @Test
+    public void testPipelineCondensesCycles() throws Exception {
+        // A <-> B form one component; A -2-> C -3-> D and B -7-> D
+        Graph<String> graph = new Graph<>();
+        for (String v : new String[]{"A", "B", "C", "D"}) {
+            graph.addVertex(new Vertex<>(v));
+        }
+        graph.addEdge("A", "B", 1);
+        graph.addEdge("B", "A", 1);
+        graph.addEdge("A", "C", 2);
+        graph.addEdge("C", "D", 3);
+        graph.addEdge("B", "D", 7);
+
+        try (GraphAnalysisService service = new GraphAnalysisService(2, 4, Duration.ofSeconds(30))) {
+            AnalysisReport<String> report = service.analyze(graph).get(30, TimeUnit.SECONDS);
+
+            assertEquals(3, report.componentCount());
+            int[] componentOf = report.componentOf();
+            assertEquals(componentOf[0], componentOf[1]);
+            assertEquals(3, report.condensation().vertexCount());
+            assertEquals(3, report.condensation().edgeCount());
+            assertEquals(3, report.topologicalOrder().length);
+            assertEquals(7.0, report.criticalPathLength());
+            assertArrayEquals(new int[]{componentOf[1], componentOf[3]}, report.criticalPath());
+            assertTrue(report.metrics().containsKey("scc"));
+            assertTrue(report.metrics().containsKey("dag_paths"));
+        }
+    }
+
+    @Test
+    public void testExpiredDeadlineFailsWithTimeout() {
+        try (GraphAnalysisService service = new GraphAnalysisService(1, 1, Duration.ofSeconds(30))) {
+            CompletableFuture<AnalysisReport<Integer>> future = service.analyze(chain(10_000), Duration.ZERO);
+
+            ExecutionException error = assertThrows(ExecutionException.class, () -> future.get(30, TimeUnit.SECONDS));
+            assertInstanceOf(TimeoutException.class, error.getCause());
+        }
+    }
+
+    @Test
+    public void testSaturatedServiceRejectsAtOnce() throws Exception {
+        Graph<Integer> graph = chain(100_000);
+        try (GraphAnalysisService service = new GraphAnalysisService(1, 1, Duration.ofSeconds(30))) {
+            List<CompletableFuture<AnalysisReport<Integer>>> futures = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                futures.add(service.analyze(graph));
+            }
+
+            // One running and one queued at most; everything else fails without waiting
+            long rejected = futures.stream()
+                    .filter(f -> f.isCompletedExceptionally() && !f.isCancelled())
+                    .count();
+            assertTrue(rejected >= 18, "rejected " + rejected);
+            ExecutionException error = assertThrows(ExecutionException.class, () -> futures.get(19).get());
+            assertInstanceOf(RejectedExecutionException.class, error.getCause());
+
+            for (CompletableFuture<AnalysisReport<Integer>> future : futures) {
+                future.cancel(true);
+            }
+            // Cancelled work gives back its worker and queue slot
+            AnalysisReport<Integer> report = service.analyze(chain(3)).get(30, TimeUnit.SECONDS);
+            assertEquals(3, report.componentCount());
+        }
+    }
+
+    @Test
+    public void testTraversalsStopAtCheckpoints() {
+        Graph<Integer> graph = chain(5_000);
+        CancellationToken token = CancellationToken.create();
+        token.cancel();
+
+        assertThrows(CancellationException.class, () -> new KosarajuSCC<Integer>(token).findSCCs(graph));
+        assertThrows(CancellationException.class,
+                () -> new KahnTopologicalSort<Integer>(token).sortIds(graph.getForwardAdjacency()));
+        assertThrows(CancellationToken.DeadlineExceededException.class,
+                () -> new KahnTopologicalSort<Integer>(CancellationToken.withTimeout(Duration.ZERO))
+                        .sortIds(graph.getForwardAdjacency()));
+
+        // The shared token never stops anything
+        CancellationToken.NONE.cancel();
+        assertEquals(5_000, new KosarajuSCC<Integer>(CancellationToken.NONE).findSCCs(graph).components().size());
+    }
+
+    private static Graph<Integer> chain(int n) {
+        Graph<Integer> graph = new Graph<>();
+        for (int i = 0; i < n; i++) {
+            graph.addVertex(new Vertex<>(i));
+        }
+        for (int i = 1; i < n; i++) {
+            graph.addEdge(i - 1, i);
+        }
+        return graph;
+    }
+}
@@ -0,0 +1,80 @@
+package algorithms.assignment.graph.sharding;
+
+import algorithms.assignment.graph.Graph;
+import algorithms.assignment.graph.Vertex;
+import algorithms.assignment.sharding.ShardedSCC;
+import algorithms.assignment.sharding.result.ShardedAnalysisResult;
+import algorithms.assignment.strongly_connected_components.TarjanSCC;
+import algorithms.assignment.strongly_connected_components.result.SCCResult;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ShardedSCCTest {
+    @Test
+    public void testWorkerProcessesMatchTarjan() throws Exception {
+        Graph<Integer> graph = randomGraph(400, 700, 7);
+
+        ShardedAnalysisResult<Integer> sharded = new ShardedSCC<Integer>(3, true, Duration.ofMinutes(2)).analyze(graph);
+        SCCResult<Integer> tarjan = new TarjanSCC<Integer>().findSCCs(graph);
+
+        assertEquals(3, sharded.scc().metrics().getCounter("worker_processes"));
+        assertEquals(partition(tarjan.components()), partition(sharded.scc().components()));
+        assertCondensationOrder(graph, sharded);
+    }
+
+    @Test
+    public void testInProcessWorkersMatchTarjan() throws Exception {
+        for (int seed = 0; seed < 5; seed++) {
+            Graph<Integer> graph = randomGraph(150, 200 + 40 * seed, seed);
+
+            ShardedAnalysisResult<Integer> sharded = new ShardedSCC<Integer>(4, false, Duration.ofMinutes(1)).analyze(graph);
+            SCCResult<Integer> tarjan = new TarjanSCC<Integer>().findSCCs(graph);
+
+            assertEquals(partition(tarjan.components()), partition(sharded.scc().components()));
+            assertCondensationOrder(graph, sharded);
+        }
+    }
+
+    private static void assertCondensationOrder(Graph<Integer> graph, ShardedAnalysisResult<Integer> result) {
+        assertFalse(result.condensationOrder().hasCycle());
+        List<List<Vertex<Integer>>> components = result.scc().components();
+        int[] position = new int[components.size()];
+        List<Integer> order = result.condensationOrder().order();
+        for (int i = 0; i < order.size(); i++) {
+            position[order.get(i)] = i;
+        }
+        Map<Integer, Integer> componentOf = new HashMap<>();
+        for (int c = 0; c < components.size(); c++) {
+            for (Vertex<Integer> v : components.get(c)) componentOf.put(v.getData(), c);
+        }
+        for (Vertex<Integer> u : graph.getVertices()) {
+            u.getNeighbors().forEach(nb -> {
+                int cu = componentOf.get(u.getData());
+                int cv = componentOf.get(nb.vertex().getData());
+                assertTrue(cu == cv || position[cu] < position[cv]);
+            });
+        }
+    }
+
+    private static Set<Set<Integer>> partition(List<List<Vertex<Integer>>> components) {
+        Set<Set<Integer>> result = new HashSet<>();
+        for (List<Vertex<Integer>> component : components) {
+            Set<Integer> set = new HashSet<>();
+            for (Vertex<Integer> v : component) set.add(v.getData());
+            result.add(set);
+        }
+        return result;
+    }
+
+    private static Graph<Integer> randomGraph(int n, int m, long seed) {
+        Random random = new Random(seed);
+        Graph<Integer> graph = new Graph<>();
+        for (int i = 0; i < n; i++) graph.addVertex(new Vertex<>(i));
+        for (int i = 0; i < m; i++) graph.addEdge(random.nextInt(n), random.nextInt(n));
+        return graph;
+    }
+}
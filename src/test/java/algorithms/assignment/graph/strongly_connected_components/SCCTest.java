@@ -2,14 +2,21 @@ package algorithms.assignment.graph.strongly_connected_components;
 
 import algorithms.assignment.graph.Graph;
 import algorithms.assignment.graph.Vertex;
+import algorithms.assignment.strongly_connected_components.ComponentConsumer;
 import algorithms.assignment.strongly_connected_components.KosarajuSCC;
+import algorithms.assignment.strongly_connected_components.PathBasedSCC;
+import algorithms.assignment.strongly_connected_components.SCCSelector;
 import algorithms.assignment.strongly_connected_components.TarjanSCC;
 import algorithms.assignment.strongly_connected_components.result.SCCMetrics;
 import algorithms.assignment.strongly_connected_components.result.SCCResult;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.BiFunction;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -92,4 +99,124 @@ public class SCCTest {
         assertTrue(tarjanMetrics.getElapsedTimeNanos() > 0);
         assertTrue(tarjanMetrics.getCounter("dfs_calls") > 0);
     }
+
+    @Test
+    public void testStreamingMatchesMaterialized() {
+        Graph<Integer> graph = new Graph<>();
+        for (int i = 0; i < 7; i++) graph.addVertex(new Vertex<>(i));
+
+        graph.addEdge(0, 1);
+        graph.addEdge(1, 0);
+        graph.addEdge(1, 2);
+        graph.addEdge(2, 3);
+        graph.addEdge(3, 4);
+        graph.addEdge(4, 2);
+        graph.addEdge(4, 5);
+
+        Set<Set<Integer>> expected = Set.of(Set.of(0, 1), Set.of(2, 3, 4), Set.of(5), Set.of(6));
+        assertEquals(expected, streamed(tarjan::forEachComponent, graph));
+        assertEquals(expected, streamed(kosaraju::forEachComponent, graph));
+        assertEquals(4, tarjan.getMetrics().getCounter("scc_found"));
+        assertEquals(4, kosaraju.getMetrics().getCounter("scc_found"));
+    }
+
+    @Test
+    public void testDeepChainDoesNotOverflowStack() {
+        Graph<Integer> graph = new Graph<>();
+        int n = 200_000;
+        for (int i = 0; i < n; i++) graph.addVertex(new Vertex<>(i));
+        for (int i = 0; i + 1 < n; i++) graph.addEdge(i, i + 1);
+        graph.addEdge(n - 1, 0);
+
+        assertEquals(1, tarjan.forEachComponent(graph, (ids, offset, length) -> assertEquals(n, length)));
+        assertEquals(1, kosaraju.forEachComponent(graph, (ids, offset, length) -> assertEquals(n, length)));
+    }
+
+    @Test
+    public void testReusedInstancesStartFresh() {
+        Graph<Integer> large = new Graph<>();
+        for (int i = 0; i < 50; i++) large.addVertex(new Vertex<>(i));
+        for (int i = 0; i < 50; i++) large.addEdge(i, (i + 1) % 50);
+
+        Graph<Integer> small = new Graph<>();
+        for (int i = 0; i < 3; i++) small.addVertex(new Vertex<>(i));
+        small.addEdge(0, 1);
+        small.addEdge(1, 0);
+
+        for (int round = 0; round < 3; round++) {
+            assertEquals(1, streamed(tarjan::forEachComponent, large).size());
+            assertEquals(1, streamed(kosaraju::forEachComponent, large).size());
+            assertEquals(Set.of(Set.of(0, 1), Set.of(2)), streamed(tarjan::forEachComponent, small));
+            assertEquals(Set.of(Set.of(0, 1), Set.of(2)), streamed(kosaraju::forEachComponent, small));
+        }
+    }
+
+    @Test
+    public void testPathBasedMatchesTarjan() {
+        PathBasedSCC<Integer> pathBased = new PathBasedSCC<>();
+        Random random = new Random(49);
+        for (int round = 0; round < 30; round++) {
+            int n = 1 + random.nextInt(400);
+            Graph<Integer> graph = new Graph<>();
+            for (int i = 0; i < n; i++) graph.addVertex(new Vertex<>(i));
+            int edges = random.nextInt(3 * n);
+            for (int e = 0; e < edges; e++) graph.addEdge(random.nextInt(n), random.nextInt(n));
+
+            Set<Set<Integer>> expected = streamed(tarjan::forEachComponent, graph);
+            assertEquals(expected, streamed(pathBased::forEachComponent, graph));
+            assertEquals(expected.size(), pathBased.findSCCs(graph).components().size());
+        }
+
+        Graph<Integer> chain = new Graph<>();
+        int n = 200_000;
+        for (int i = 0; i < n; i++) chain.addVertex(new Vertex<>(i));
+        for (int i = 0; i + 1 < n; i++) chain.addEdge(i, i + 1);
+        chain.addEdge(n - 1, 0);
+        assertEquals(1, pathBased.forEachComponent(chain, (ids, offset, length) -> assertEquals(n, length)));
+    }
+
+    @Test
+    public void testSelectorRecordsItsChoice() {
+        Graph<Integer> small = new Graph<>();
+        for (int i = 0; i < 3; i++) small.addVertex(new Vertex<>(i));
+        small.addEdge(0, 1);
+        small.addEdge(1, 0);
+
+        SCCSelector<Integer> selector = new SCCSelector<>(null, () -> Long.MAX_VALUE);
+        assertEquals(2, selector.findSCCs(small).components().size());
+        assertEquals(1, selector.getSelectionMetrics().getCounter("engine_tarjan"));
+        assertEquals(SCCSelector.Engine.TARJAN.estimateBytes(3, 2),
+                selector.getSelectionMetrics().getCounter("estimated_bytes"));
+        // The engine's own metrics are left as the engine recorded them
+        assertEquals(0, selector.getMetrics().getCounter("engine_tarjan"));
+        assertEquals(2, selector.getMetrics().getCounter("scc_found"));
+
+        SCCSelector<Integer> selective = new SCCSelector<>(null, () -> Long.MAX_VALUE);
+        assertEquals(SCCSelector.Engine.PATH_BASED, selective.select(SCCSelector.SMALL_GRAPH + 1, 0));
+        // Without room for Tarjan's scratch even a small graph takes the lean engine
+        SCCSelector<Integer> starved = new SCCSelector<>(null, () -> 0);
+        assertEquals(2, starved.forEachComponent(small, (ids, offset, length) -> { }));
+        assertEquals(1, starved.getSelectionMetrics().getCounter("engine_path_based"));
+        assertEquals(0, starved.getSelectionMetrics().getCounter("engine_tarjan"));
+
+        SCCSelector<Integer> fixed = new SCCSelector<>(SCCSelector.Engine.KOSARAJU);
+        assertEquals(Set.of(Set.of(0, 1), Set.of(2)), streamed(fixed::forEachComponent, small));
+        assertEquals(1, fixed.getSelectionMetrics().getCounter("engine_kosaraju"));
+        assertTrue(SCCSelector.Engine.KOSARAJU.estimateBytes(1000, 8000)
+                > SCCSelector.Engine.PATH_BASED.estimateBytes(1000, 8000));
+    }
+
+    private static Set<Set<Integer>> streamed(BiFunction<Graph<Integer>, ComponentConsumer, Integer> algorithm,
+                                              Graph<Integer> graph) {
+        Set<Set<Integer>> components = new HashSet<>();
+        int count = algorithm.apply(graph, (ids, offset, length) -> {
+            Set<Integer> component = new HashSet<>();
+            for (int i = offset; i < offset + length; i++) {
+                component.add(graph.getVertexById(ids[i]).getData());
+            }
+            components.add(component);
+        });
+        assertEquals(components.size(), count);
+        return components;
+    }
 }
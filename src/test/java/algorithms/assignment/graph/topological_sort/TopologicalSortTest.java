@@ -4,11 +4,13 @@ import algorithms.assignment.graph.Graph;
 import algorithms.assignment.graph.Vertex;
 import algorithms.assignment.topological_sort.DFSTopologicalSort;
 import algorithms.assignment.topological_sort.KahnTopologicalSort;
+import algorithms.assignment.topological_sort.PriorityTopologicalSort;
 import algorithms.assignment.topological_sort.result.TopologicalSortMetrics;
 import algorithms.assignment.topological_sort.result.TopologicalSortResult;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.Comparator;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -229,5 +231,151 @@ public class TopologicalSortTest {
         assertTrue(dfsMetrics.getElapsedTimeNanos() > 0);
         assertTrue(dfsMetrics.getCounter("vertices_visited") > 0);
     }
-}
 
+    @Test
+    public void testPriorityOrderWithKeys() {
+        // 0 -> 3, 1 -> 3, 2 -> 3: roots are ready together and ordered by key
+        Graph<Integer> graph = new Graph<>();
+        for (int i = 0; i < 4; i++) {
+            graph.addVertex(new Vertex<>(i));
+        }
+        graph.addEdge(0, 3);
+        graph.addEdge(1, 3);
+        graph.addEdge(2, 3);
+
+        long[] keys = {5, 1, 3, 0};
+        TopologicalSortResult<Integer> result = new PriorityTopologicalSort<Integer>().sort(graph, keys);
+
+        assertFalse(result.hasCycle());
+        assertEquals(List.of(1, 2, 0, 3), result.order());
+        assertEquals(3, result.metrics().getCounter("edges_examined"));
+    }
+
+    @Test
+    public void testPriorityOrderWithComparator() {
+        Graph<String> graph = new Graph<>();
+        for (String label : List.of("c", "a", "d", "b")) {
+            graph.addVertex(new Vertex<>(label));
+        }
+        graph.addEdge("d", "a");
+
+        TopologicalSortResult<String> result = new PriorityTopologicalSort<String>()
+                .sort(graph, Comparator.naturalOrder());
+
+        assertEquals(List.of("b", "c", "d", "a"), result.order());
+    }
+
+    @Test
+    public void testPriorityOrderDetectsCycle() {
+        Graph<Integer> graph = new Graph<>();
+        for (int i = 0; i < 3; i++) {
+            graph.addVertex(new Vertex<>(i));
+        }
+        graph.addEdge(0, 1);
+        graph.addEdge(1, 2);
+        graph.addEdge(2, 1);
+
+        TopologicalSortResult<Integer> result = new PriorityTopologicalSort<Integer>(2).sort(graph, new long[3]);
+        assertTrue(result.hasCycle());
+        assertTrue(result.order().isEmpty());
+    }
+
+    @Test
+    public void testCycleWitness() {
+        // 0 -> 1 -> 2 -> 3 -> 1, plus a tail 3 -> 4 that is not on the cycle
+        Graph<Integer> graph = new Graph<>();
+        for (int i = 0; i < 5; i++) {
+            graph.addVertex(new Vertex<>(i));
+        }
+        graph.addEdge(0, 1);
+        graph.addEdge(1, 2);
+        graph.addEdge(2, 3);
+        graph.addEdge(3, 1);
+        graph.addEdge(3, 4);
+
+        assertValidCycle(graph, kahn.sort(graph).cycle());
+        assertValidCycle(graph, dfs.sort(graph).cycle());
+        assertValidCycle(graph, new PriorityTopologicalSort<Integer>().sort(graph, new long[5]).cycle());
+        assertTrue(kahn.sort(graph).cycle().containsAll(List.of(1, 2, 3)));
+    }
+
+    @Test
+    public void testSelfLoopWitness() {
+        Graph<Integer> graph = new Graph<>();
+        graph.addVertex(new Vertex<>(0));
+        graph.addEdge(0, 0);
+
+        assertEquals(List.of(0), kahn.sort(graph).cycle());
+        assertEquals(List.of(0), dfs.sort(graph).cycle());
+    }
+
+    @Test
+    public void testAcyclicHasNoWitness() {
+        Graph<Integer> graph = new Graph<>();
+        graph.addVertex(new Vertex<>(0));
+        graph.addVertex(new Vertex<>(1));
+        graph.addEdge(0, 1);
+
+        assertTrue(kahn.sort(graph).cycle().isEmpty());
+        assertTrue(dfs.sort(graph).cycle().isEmpty());
+    }
+
+    @Test
+    public void testReusedSortAfterAbortedCycle() {
+        // The cycle aborts the DFS with vertices still on its stack
+        Graph<Integer> cyclic = new Graph<>();
+        for (int i = 0; i < 3; i++) {
+            cyclic.addVertex(new Vertex<>(i));
+        }
+        cyclic.addEdge(0, 1);
+        cyclic.addEdge(1, 2);
+        cyclic.addEdge(2, 1);
+        assertTrue(dfs.sort(cyclic).hasCycle());
+
+        Graph<Integer> chain = new Graph<>();
+        for (int i = 0; i < 3; i++) {
+            chain.addVertex(new Vertex<>(i));
+        }
+        chain.addEdge(0, 1);
+        chain.addEdge(1, 2);
+        TopologicalSortResult<Integer> result = dfs.sort(chain);
+        assertFalse(result.hasCycle());
+        assertEquals(List.of(0, 1, 2), result.order());
+    }
+
+    @Test
+    public void testDeepChainAndLongCycle() {
+        // Far deeper than a recursive DFS could go on a default thread stack
+        int n = 200_000;
+        Graph<Integer> graph = new Graph<>();
+        for (int i = 0; i < n; i++) {
+            graph.addVertex(new Vertex<>(i));
+        }
+        for (int i = 0; i + 1 < n; i++) {
+            graph.addEdge(i, i + 1);
+        }
+        TopologicalSortResult<Integer> result = dfs.sort(graph);
+        assertFalse(result.hasCycle());
+        assertEquals(n, result.order().size());
+        assertEquals(0, result.order().get(0));
+
+        graph.addEdge(n - 1, 10);
+        List<Integer> cycle = dfs.sort(graph).cycle();
+        assertEquals(n - 10, cycle.size());
+        for (int i = 0; i < cycle.size(); i++) {
+            assertEquals(10 + i, cycle.get(i));
+        }
+    }
+
+    private static void assertValidCycle(Graph<Integer> graph, List<Integer> cycle) {
+        assertFalse(cycle.isEmpty());
+        assertEquals(cycle.size(), cycle.stream().distinct().count());
+        for (int i = 0; i < cycle.size(); i++) {
+            int from = cycle.get(i);
+            int to = cycle.get((i + 1) % cycle.size());
+            assertTrue(graph.getVertex(from).getNeighbors().stream()
+                            .anyMatch(neighbor -> neighbor.vertex().getData() == to),
+                    "missing edge " + from + " -> " + to + " in " + cycle);
+        }
+    }
+}